@@ -0,0 +1,49 @@
+package com.bahar.demo.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * BenchmarkRunner
+ * -------------------------
+ * نقطه‌ی ورود پروفایل benchmarks (mvn -Pbenchmarks test-compile exec:exec):
+ *  - بدون آرگومان: همه‌ی بنچمارک‌های این پکیج با ۱، ۴ و N thread (N = تعداد هسته‌ها)
+ *    و پروفایلر gc اجرا می‌شوند؛ نتیجه‌ی هر اجرا در target/jmh/&lt;threads&gt;t.json ذخیره می‌شود
+ *  - با آرگومان (-Djmh.args="..."): آرگومان‌ها مستقیماً به JMH داده می‌شوند
+ *
+ * فایل‌های JSON را می‌توان بین دو build مقایسه کرد تا پسرفت مسیر محافظت‌شده قبل از production دیده شود.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        Path output = Path.of("target", "jmh");
+        Files.createDirectories(output);
+
+        Set<Integer> threadCounts = new TreeSet<>(Set.of(1, 4, Runtime.getRuntime().availableProcessors()));
+        for (int threads : threadCounts) {
+            Options options = new OptionsBuilder()
+                    .include(BenchmarkRunner.class.getPackageName() + "\\..*")
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(output.resolve(threads + "t.json").toString())
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.bahar.demo.benchmark;
+
+import com.bahar.demo.config.ResilienceEventProperties;
+import com.bahar.demo.events.ResilienceEvent;
+import com.bahar.demo.events.ResilienceEventExporter;
+import com.bahar.demo.events.ResilienceEventPipeline;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EventPipelineBenchmark
+ * -------------------------
+ * هزینه‌ی ثبت یک رویداد resilience روی thread درخواست، با یک مقصد مشترک بین همه‌ی threadها:
+ *  - ringBuffer   → ResilienceEventPipeline.record (خانه‌ی از پیش ساخته‌شده، CAS، بدون ساخت شیء)
+ *  - lockedQueue  → ساخت یک شیء رویداد و offer در ArrayBlockingQueue (قفل مشترک) که یک thread خالی‌اش می‌کند
+ *
+ * exporter خط لوله none است تا فقط مسیر producer اندازه گرفته شود. با -prof gc باید gc.alloc.rate.norm
+ * در ringBuffer نزدیک صفر باشد.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventPipelineBenchmark {
+
+    /** رویداد معمولی صف قفل‌دار (مقایسه) */
+    private record QueuedEvent(long timestamp, ResilienceEvent.Type type, String source, String detail,
+                               int attempt, long durationNanos) {
+    }
+
+    private ResilienceEventPipeline pipeline;
+    private BlockingQueue<QueuedEvent> queue;
+    private Thread drainer;
+    private volatile boolean running;
+
+    @Setup
+    public void setUp() {
+        ResilienceEventProperties properties = new ResilienceEventProperties();
+        properties.setIdleWait(Duration.ofMillis(1));
+        pipeline = new ResilienceEventPipeline(properties, ResilienceEventExporter.NONE);
+
+        queue = new ArrayBlockingQueue<>(properties.getBufferSize());
+        running = true;
+        drainer = new Thread(() -> {
+            while (running) {
+                if (queue.poll() == null) {
+                    Thread.onSpinWait();
+                }
+            }
+        }, "locked-queue-drainer");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        pipeline.shutdown();
+        running = false;
+        drainer.join();
+    }
+
+    @Benchmark
+    public void ringBuffer() {
+        pipeline.record(ResilienceEvent.Type.ERROR, "externalService", "java.io.IOException", 0, 1_000);
+    }
+
+    @Benchmark
+    public boolean lockedQueue() {
+        return queue.offer(new QueuedEvent(System.currentTimeMillis(), ResilienceEvent.Type.ERROR,
+                "externalService", "java.io.IOException", 0, 1_000));
+    }
+}
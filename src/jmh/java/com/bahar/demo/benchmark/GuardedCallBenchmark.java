@@ -0,0 +1,240 @@
+package com.bahar.demo.benchmark;
+
+import com.bahar.demo.DemoApplication;
+import com.bahar.demo.cache.LastKnownGoodCache;
+import com.bahar.demo.config.SimulatorProperties;
+import com.bahar.demo.executor.BoundedCallbackExecutor;
+import com.bahar.demo.executor.NamedExecutorRegistry;
+import com.bahar.demo.service.ExternalService;
+import com.bahar.demo.service.ExternalServiceImpl;
+import com.bahar.demo.simulation.FaultInjector;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * GuardedCallBenchmark
+ * -------------------------
+ * هزینه‌ی لایه‌های resilience روی مسیر داغ callExternalApiSync:
+ *  - rawServiceCall          → متد سرویس بدون هیچ لایه‌ای (خط پایه)
+ *  - programmaticDecorator   → CircuitBreaker.decorateSupplier + Retry.decorateSupplier (بدون AOP)
+ *  - annotatedProxy          → Bean واقعی Spring با @CircuitBreaker/@Retry (proxy و aspectها)
+ *  - programmaticMode        → Bean واقعی Spring در حالت demo.resilience.mode=programmatic
+ *  - fallbackPath            → هر فراخوانی شکست می‌خورد و fallbackMethod (با reflection) اجرا می‌شود
+ *  - openCircuitRejection    → مدار به‌اجبار باز است؛ CallNotPermittedException + fallback
+ *
+ * downstream شبیه‌سازی‌شده با زمان‌بندی NEVER/ALWAYS تنظیم می‌شود تا نتیجه‌ی هر مسیر قطعی باشد.
+ * rate limiter و bulkhead مسیر sync در همه‌ی stateها عملاً نامحدودند (ظرفیت yml با ۵۰۰ فراخوانی در ثانیه
+ * در چند میلی‌ثانیه تمام می‌شود و بقیه‌ی فراخوانی‌ها fallback می‌شدند)؛ هزینه‌ی خود لایه‌ها سر جایش می‌ماند.
+ * stateهای مسیر موفق هنگام setup یک فراخوانی آزمایشی می‌کنند و با پاسخ fallback شکست می‌خورند.
+ * حالت‌های SampleTime صدک‌های latency (p50/p90/p99/...) را گزارش می‌دهند؛ تخصیص حافظه با -prof gc.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GuardedCallBenchmark {
+
+    /**
+     * سرویس بدون Spring + decorator برنامه‌نویسی‌شده با همان تنظیمات application.yml
+     */
+    @State(Scope.Benchmark)
+    public static class Direct {
+
+        ExternalServiceImpl service;
+        Supplier<String> decorated;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            SimulatorProperties simulator = new SimulatorProperties();
+            simulator.getEndpoints().put("callSync",
+                    new SimulatorProperties.Endpoint(SimulatorProperties.Schedule.NEVER, 0));
+            service = new ExternalServiceImpl(BoundedCallbackExecutor.withDefaults(),
+                    NamedExecutorRegistry.withDefaults(), new FaultInjector(simulator),
+                    LastKnownGoodCache.withDefaults());
+
+            CircuitBreaker circuitBreaker = CircuitBreaker.of("benchmark", CircuitBreakerConfig.custom()
+                    .slidingWindowSize(5)
+                    .minimumNumberOfCalls(3)
+                    .failureRateThreshold(60)
+                    .waitDurationInOpenState(Duration.ofSeconds(5))
+                    .permittedNumberOfCallsInHalfOpenState(2)
+                    .build());
+            Retry retry = Retry.of("benchmark", RetryConfig.custom()
+                    .maxAttempts(3)
+                    .waitDuration(Duration.ofMillis(500))
+                    .build());
+            decorated = Retry.decorateSupplier(retry,
+                    CircuitBreaker.decorateSupplier(circuitBreaker, service::callExternalApiSync));
+        }
+    }
+
+    /**
+     * پایه‌ی stateهایی که Spring Context واقعی (بدون وب‌سرور) بالا می‌آورند
+     */
+    public abstract static class SpringContext {
+
+        /** ظرفیت rate limiter و bulkhead مسیر sync بالاتر از هر throughput قابل اندازه‌گیری */
+        private static final String[] UNBOUNDED_SYNC_LIMITS = {
+                "resilience4j.ratelimiter.instances.externalServiceSync.limitForPeriod=1000000000",
+                "resilience4j.bulkhead.instances.externalServiceSync.maxConcurrentCalls=1000000000"
+        };
+
+        ConfigurableApplicationContext context;
+        ExternalService service;
+
+        /**
+         * properties به‌صورت آرگومان خط فرمان (--key=value) داده می‌شوند تا بر application.yml غلبه کنند؛
+         * SpringApplicationBuilder.properties() فقط مقدار پیش‌فرض می‌سازد و yml آن را override می‌کند.
+         */
+        void start(String... properties) {
+            String[] args = Stream.concat(Arrays.stream(UNBOUNDED_SYNC_LIMITS), Arrays.stream(properties))
+                    .map(p -> "--" + p)
+                    .toArray(String[]::new);
+            context = new SpringApplicationBuilder(DemoApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .properties("logging.level.root=WARN")
+                    .run(args);
+            service = context.getBean(ExternalService.class);
+        }
+
+        /**
+         * اطمینان از این که state واقعاً مسیر موفق را اندازه می‌گیرد نه fallback
+         */
+        void requireSuccess() {
+            String result = service.callExternalApiSync();
+            if (result.startsWith(ExternalServiceImpl.FALLBACK_PREFIX)) {
+                stop();
+                throw new IllegalStateException("Benchmark state measures the fallback path: " + result);
+            }
+        }
+
+        void stop() {
+            context.close();
+        }
+    }
+
+    /** مسیر موفق از طریق proxy */
+    @State(Scope.Benchmark)
+    public static class Annotated extends SpringContext {
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            start("demo.simulator.endpoints.callSync.schedule=NEVER");
+            requireSuccess();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            stop();
+        }
+    }
+
+    /** مسیر موفق در حالت programmatic (بدون proxy) */
+    @State(Scope.Benchmark)
+    public static class Programmatic extends SpringContext {
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            start("demo.simulator.endpoints.callSync.schedule=NEVER",
+                    "demo.resilience.mode=programmatic");
+            requireSuccess();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            stop();
+        }
+    }
+
+    /**
+     * مسیر fallback: همه‌ی تلاش‌ها شکست می‌خورند؛ RuntimeException در breaker ignore می‌شود
+     * تا مدار باز نشود و هر فراخوانی واقعاً از مسیر fallback عبور کند.
+     */
+    @State(Scope.Benchmark)
+    public static class Failing extends SpringContext {
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            start("demo.simulator.endpoints.callSync.schedule=ALWAYS",
+                    "resilience4j.circuitbreaker.instances.externalService.ignoreExceptions=java.lang.RuntimeException");
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            stop();
+        }
+    }
+
+    /** مسیر رد شدن توسط مدار باز */
+    @State(Scope.Benchmark)
+    public static class Open extends SpringContext {
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            start("demo.simulator.endpoints.callSync.schedule=NEVER");
+            context.getBean(CircuitBreakerRegistry.class)
+                    .circuitBreaker("externalService")
+                    .transitionToForcedOpenState();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            stop();
+        }
+    }
+
+    @Benchmark
+    public String rawServiceCall(Direct state) {
+        return state.service.callExternalApiSync();
+    }
+
+    @Benchmark
+    public String programmaticDecorator(Direct state) {
+        return state.decorated.get();
+    }
+
+    @Benchmark
+    public String annotatedProxy(Annotated state) {
+        return state.service.callExternalApiSync();
+    }
+
+    @Benchmark
+    public String programmaticMode(Programmatic state) {
+        return state.service.callExternalApiSync();
+    }
+
+    @Benchmark
+    public String fallbackPath(Failing state) {
+        return state.service.callExternalApiSync();
+    }
+
+    @Benchmark
+    public String openCircuitRejection(Open state) {
+        return state.service.callExternalApiSync();
+    }
+}
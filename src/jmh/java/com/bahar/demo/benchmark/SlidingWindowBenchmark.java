@@ -0,0 +1,82 @@
+package com.bahar.demo.benchmark;
+
+import com.bahar.demo.resilience.LockFreeSlidingTimeWindowMetrics;
+import io.github.resilience4j.core.metrics.FixedSizeSlidingWindowMetrics;
+import io.github.resilience4j.core.metrics.Metrics;
+import io.github.resilience4j.core.metrics.SlidingTimeWindowMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Clock;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SlidingWindowBenchmark
+ * -------------------------
+ * هزینه‌ی ثبت یک نتیجه در sliding window circuit breaker، با یک پنجره‌ی مشترک بین همه‌ی threadها:
+ *  - COUNT_BASED      → FixedSizeSlidingWindowMetrics در Resilience4j (synchronized)
+ *  - TIME_BASED       → SlidingTimeWindowMetrics در Resilience4j (synchronized، bucket ثانیه‌ای)
+ *  - LOCK_FREE_TIME   → LockFreeSlidingTimeWindowMetrics (bucket ثانیه‌ای با LongAdder و CAS)
+ *
+ * record همان کاری است که breaker بعد از هر فراخوانی انجام می‌دهد (ثبت + خواندن نرخ شکست)؛
+ * snapshot فقط مسیر خواندن است (مثل endpointهای actuator و gaugeها).
+ * با اجرای پیش‌فرض BenchmarkRunner (۱، ۴ و N thread) باید latency پنجره‌ی بدون قفل
+ * با زیاد شدن threadها تقریباً ثابت بماند.
+ * windowSize طول پنجره را عوض می‌کند (۱۰ = مقدار application.yml): هزینه‌ی record و snapshot در
+ * LOCK_FREE_TIME نباید با آن رشد کند (مجموع‌های نگه‌داشته‌شده، O(1)).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SlidingWindowBenchmark {
+
+    @Param({"COUNT_BASED", "TIME_BASED", "LOCK_FREE_TIME"})
+    public String window;
+
+    /** slidingWindowSize: ثانیه برای TIME_BASED و LOCK_FREE_TIME، تعداد فراخوانی برای COUNT_BASED */
+    @Param({"10", "60", "600"})
+    public int windowSize;
+
+    private Metrics metrics;
+
+    @Setup
+    public void setUp() {
+        metrics = switch (window) {
+            case "COUNT_BASED" -> new FixedSizeSlidingWindowMetrics(windowSize);
+            case "TIME_BASED" -> new SlidingTimeWindowMetrics(windowSize, Clock.systemUTC());
+            case "LOCK_FREE_TIME" -> new LockFreeSlidingTimeWindowMetrics(windowSize);
+            default -> throw new IllegalArgumentException(window);
+        };
+    }
+
+    private static Metrics.Outcome nextOutcome() {
+        int roll = ThreadLocalRandom.current().nextInt(10);
+        return roll < 6 ? Metrics.Outcome.SUCCESS
+                : roll < 8 ? Metrics.Outcome.ERROR
+                : roll < 9 ? Metrics.Outcome.SLOW_SUCCESS
+                : Metrics.Outcome.SLOW_ERROR;
+    }
+
+    @Benchmark
+    public float record() {
+        return metrics.record(1_000, TimeUnit.MICROSECONDS, nextOutcome()).getFailureRate();
+    }
+
+    @Benchmark
+    public float snapshot() {
+        return metrics.getSnapshot().getSlowCallRate();
+    }
+}
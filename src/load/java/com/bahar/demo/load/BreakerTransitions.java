@@ -0,0 +1,53 @@
+package com.bahar.demo.load;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * BreakerTransitions
+ * -------------------------
+ * به همه‌ی circuit breakerهای registry (و آن‌هایی که بعداً ساخته یا با reload جایگزین می‌شوند) گوش می‌دهد
+ * و تغییر وضعیت‌ها را با زمان نسبی به شروع اجرای جاری جمع می‌کند.
+ */
+final class BreakerTransitions {
+
+    /** یک تغییر وضعیت مدار */
+    record Transition(long atMillis, String breaker, String from, String to) {
+    }
+
+    private final List<Transition> transitions = new ArrayList<>();
+    private long runStartNanos = System.nanoTime();
+
+    BreakerTransitions(CircuitBreakerRegistry registry) {
+        registry.getAllCircuitBreakers().forEach(this::listen);
+        registry.getEventPublisher()
+                .onEntryAdded(event -> listen(event.getAddedEntry()))
+                .onEntryReplaced(event -> listen(event.getNewEntry()));
+    }
+
+    private void listen(CircuitBreaker circuitBreaker) {
+        circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            synchronized (this) {
+                transitions.add(new Transition((System.nanoTime() - runStartNanos) / 1_000_000,
+                        event.getCircuitBreakerName(),
+                        event.getStateTransition().getFromState().name(),
+                        event.getStateTransition().getToState().name()));
+            }
+        });
+    }
+
+    /** شروع اجرای جدید: تغییرات قبلی (مثلاً warmup) دور ریخته می‌شوند */
+    synchronized void startRun() {
+        transitions.clear();
+        runStartNanos = System.nanoTime();
+    }
+
+    synchronized List<Transition> drain() {
+        List<Transition> drained = List.copyOf(transitions);
+        transitions.clear();
+        return drained;
+    }
+}
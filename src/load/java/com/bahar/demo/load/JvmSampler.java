@@ -0,0 +1,75 @@
+package com.bahar.demo.load;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JvmSampler
+ * -------------------------
+ * در طول اندازه‌گیری هر endpoint هر ۱۰۰ میلی‌ثانیه تعداد thread و heap مصرفی را نمونه می‌گیرد
+ * و در پایان تعداد و زمان GC این بازه را از GarbageCollectorMXBeanها حساب می‌کند.
+ *
+ * اپلیکیشن و driver در یک JVM اجرا می‌شوند؛ اعداد شامل threadها و heap کلاینت HTTP هم هستند
+ * (برای مقایسه‌ی دو build با همان harness کافی است).
+ */
+final class JvmSampler implements AutoCloseable {
+
+    /** خلاصه‌ی مصرف JVM در یک بازه */
+    record Usage(int peakThreads, double averageThreads, long peakHeapBytes, long gcCount, long gcMillis) {
+    }
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "load-jvm-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final long gcCountAtStart = gcCount();
+    private final long gcMillisAtStart = gcMillis();
+    private int peakThreads;
+    private long threadSamplesSum;
+    private long samples;
+    private long peakHeapBytes;
+
+    JvmSampler() {
+        threads.resetPeakThreadCount();
+        scheduler.scheduleAtFixedRate(this::sample, 0, 100, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void sample() {
+        int threadCount = threads.getThreadCount();
+        peakThreads = Math.max(peakThreads, threadCount);
+        threadSamplesSum += threadCount;
+        samples++;
+        peakHeapBytes = Math.max(peakHeapBytes, memory.getHeapMemoryUsage().getUsed());
+    }
+
+    synchronized Usage usage() {
+        return new Usage(Math.max(peakThreads, threads.getPeakThreadCount()),
+                samples == 0 ? 0 : (double) threadSamplesSum / samples,
+                peakHeapBytes,
+                gcCount() - gcCountAtStart,
+                gcMillis() - gcMillisAtStart);
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount).filter(count -> count > 0).sum();
+    }
+
+    private static long gcMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime).filter(time -> time > 0).sum();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
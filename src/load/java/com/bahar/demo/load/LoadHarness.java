@@ -0,0 +1,104 @@
+package com.bahar.demo.load;
+
+import com.bahar.demo.DemoApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * LoadHarness
+ * -------------------------
+ * نقطه‌ی ورود پروفایل load (mvn -Pload test-compile exec:exec -Dload.args="--rate=200 --duration=60s"):
+ *  - اپلیکیشن روی پورت تصادفی localhost بالا می‌آید؛ downstream شبیه‌ساز (demo.simulator) با تأخیر و ظرفیت
+ *    محدود جایگزین سرویس واقعی است (قابل تغییر با --demo.simulator...=...)
+ *  - هر endpoint جداگانه: reset همه‌ی circuit breakerها، warmup، سپس اندازه‌گیری open-loop با OpenLoopDriver
+ *  - گزارش JSON (throughput، صدک‌های زمان پاسخ با تصحیح coordinated omission، نتیجه‌ها،
+ *    تغییر وضعیت مدارها، thread و heap) در --out نوشته می‌شود
+ *  - با --baseline=گزارش-قبلی، پسرفت‌ها چاپ می‌شوند و exit code برابر ۱ است
+ */
+public final class LoadHarness {
+
+    private LoadHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.parse(args);
+        ObjectMapper mapper = new ObjectMapper();
+        LoadReport report;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+                .properties(options.applicationProperties())
+                .run()) {
+            report = run(context, options);
+        }
+
+        Files.createDirectories(options.out().toAbsolutePath().getParent());
+        mapper.writerWithDefaultPrettyPrinter().writeValue(options.out().toFile(), report);
+        System.out.println("load report: " + options.out().toAbsolutePath());
+        report.endpoints().forEach(endpoint -> System.out.printf("%-16s %8.1f/s  p50 %8.1fms  p99 %8.1fms  max %8.1fms  %s%n",
+                endpoint.path(), endpoint.throughput(), endpoint.responseTimeMillis().p50(),
+                endpoint.responseTimeMillis().p99(), endpoint.responseTimeMillis().max(), endpoint.outcomes()));
+
+        if (options.baseline() != null) {
+            LoadReport baseline = mapper.readValue(options.baseline().toFile(), LoadReport.class);
+            List<String> regressions = report.regressionsAgainst(baseline, options.tolerance());
+            regressions.forEach(regression -> System.out.println("REGRESSION " + regression));
+            if (!regressions.isEmpty()) {
+                System.exit(1);
+            }
+        }
+    }
+
+    private static LoadReport run(ConfigurableApplicationContext context, LoadOptions options) throws InterruptedException {
+        int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        CircuitBreakerRegistry registry = context.getBean(CircuitBreakerRegistry.class);
+        BreakerTransitions transitions = new BreakerTransitions(registry);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        OpenLoopDriver driver = new OpenLoopDriver(client, options.maxOutstanding(), options.requestTimeout());
+
+        String startedAt = Instant.now().toString();
+        List<LoadReport.EndpointReport> endpoints = new ArrayList<>();
+        for (String path : options.endpoints()) {
+            URI uri = URI.create("http://localhost:" + port + path);
+            registry.getAllCircuitBreakers().forEach(CircuitBreaker::reset);
+            if (!options.warmup().isZero()) {
+                driver.run(uri, options.rate(), options.warmup());
+            }
+
+            transitions.startRun();
+            OpenLoopDriver.Run run;
+            JvmSampler.Usage usage;
+            try (JvmSampler sampler = new JvmSampler()) {
+                run = driver.run(uri, options.rate(), options.duration());
+                usage = sampler.usage();
+            }
+            endpoints.add(new LoadReport.EndpointReport(path, options.rate(), run.sent(), run.completed(),
+                    run.throughput(), run.outcomes(),
+                    LoadReport.Latency.of(run.responseTime()), LoadReport.Latency.of(run.serviceTime()),
+                    transitions.drain(), usage));
+        }
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("rate", options.rate());
+        settings.put("duration", options.duration().toString());
+        settings.put("warmup", options.warmup().toString());
+        settings.put("maxOutstanding", options.maxOutstanding());
+        settings.put("application", options.applicationProperties());
+        return new LoadReport(startedAt, System.getProperty("java.version"),
+                Runtime.getRuntime().availableProcessors(), settings, endpoints);
+    }
+}
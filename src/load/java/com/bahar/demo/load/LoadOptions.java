@@ -0,0 +1,83 @@
+package com.bahar.demo.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * LoadOptions
+ * -------------------------
+ * آرگومان‌های LoadHarness به شکل --key=value:
+ *  - rate           → درخواست در ثانیه برای هر endpoint (open-loop؛ مستقل از سرعت پاسخ)
+ *  - duration       → مدت اندازه‌گیری هر endpoint (مثلاً 30s)
+ *  - warmup         → مدت گرم کردن قبل از اندازه‌گیری (نتیجه‌اش دور ریخته می‌شود)
+ *  - endpoints      → مسیرها با کاما (پیش‌فرض: /api/callSync,/api/callAsync,/api/callback)
+ *  - maxOutstanding → سقف درخواست‌های بی‌پاسخ؛ بیشتر از آن درخواست فرستاده نمی‌شود، NOT_SENT شمرده می‌شود
+ *                    و با تأخیر requestTimeout در زمان پاسخ ثبت می‌شود
+ *  - requestTimeout → timeout سمت کلاینت
+ *  - out            → مسیر گزارش JSON
+ *  - baseline       → گزارش build قبلی برای مقایسه (اختیاری)
+ *  - tolerance      → بیشترین افت throughput / رشد p99 مجاز نسبت به baseline (0.2 = ۲۰٪)
+ *
+ * هر آرگومان دیگر (مثلاً --demo.simulator.endpoints.async.latency=50ms) به اپلیکیشن داده می‌شود.
+ */
+record LoadOptions(double rate,
+                   Duration duration,
+                   Duration warmup,
+                   List<String> endpoints,
+                   int maxOutstanding,
+                   Duration requestTimeout,
+                   Path out,
+                   Path baseline,
+                   double tolerance,
+                   Map<String, Object> applicationProperties) {
+
+    /** downstream جایگزین: شبیه‌ساز با تأخیر و ظرفیت محدود به جای پاسخ فوری */
+    private static final Map<String, Object> STAND_IN_DOWNSTREAM = Map.of(
+            "demo.simulator.endpoints.callSync.latency", "20ms",
+            "demo.simulator.endpoints.callSync.capacity", "50",
+            "demo.simulator.endpoints.async.latency", "20ms",
+            "demo.simulator.endpoints.async.capacity", "50");
+
+    static LoadOptions parse(String[] args) {
+        Map<String, String> harness = new LinkedHashMap<>();
+        Map<String, Object> application = new LinkedHashMap<>(STAND_IN_DOWNSTREAM);
+        application.put("server.port", "0");
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("expected --key=value but got " + arg);
+            }
+            String key = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (key.contains(".")) {
+                application.put(key, value);
+            } else {
+                harness.put(key, value);
+            }
+        }
+        LoadOptions options = new LoadOptions(
+                Double.parseDouble(harness.getOrDefault("rate", "100")),
+                Duration.parse("PT" + harness.getOrDefault("duration", "30s")),
+                Duration.parse("PT" + harness.getOrDefault("warmup", "5s")),
+                List.of(harness.getOrDefault("endpoints", "/api/callSync,/api/callAsync,/api/callback").split(",")),
+                Integer.parseInt(harness.getOrDefault("maxOutstanding", "5000")),
+                Duration.parse("PT" + harness.getOrDefault("requestTimeout", "30s")),
+                Path.of(harness.getOrDefault("out", "target/load/report.json")),
+                harness.containsKey("baseline") ? Path.of(harness.get("baseline")) : null,
+                Double.parseDouble(harness.getOrDefault("tolerance", "0.2")),
+                application);
+        List<String> unknown = new ArrayList<>(harness.keySet());
+        unknown.removeAll(List.of("rate", "duration", "warmup", "endpoints", "maxOutstanding",
+                "requestTimeout", "out", "baseline", "tolerance"));
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("unknown options " + unknown);
+        }
+        if (options.rate <= 0) {
+            throw new IllegalArgumentException("rate must be positive");
+        }
+        return options;
+    }
+}
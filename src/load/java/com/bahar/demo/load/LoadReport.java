@@ -0,0 +1,75 @@
+package com.bahar.demo.load;
+
+import com.bahar.demo.load.OpenLoopDriver.Outcome;
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * LoadReport
+ * -------------------------
+ * گزارش ماشین‌خوان یک اجرای LoadHarness (با Jackson به JSON نوشته و خوانده می‌شود).
+ * زمان‌ها به میلی‌ثانیه‌اند؛ throughput تعداد پاسخ‌های SUCCESS بر ثانیه است (fallback و خطا حساب نمی‌شوند).
+ *
+ * regressionsAgainst دو گزارش را endpoint به endpoint مقایسه می‌کند:
+ *  - افت throughput (فقط SUCCESS) بیشتر از tolerance
+ *  - رشد p99 زمان پاسخ بیشتر از tolerance
+ *  - endpointی که در baseline هست ولی در این اجرا نیست
+ */
+record LoadReport(String startedAt,
+                  String javaVersion,
+                  int availableProcessors,
+                  Map<String, Object> settings,
+                  List<EndpointReport> endpoints) {
+
+    /** نتیجه‌ی یک endpoint */
+    record EndpointReport(String path,
+                          double targetRate,
+                          long sent,
+                          long completed,
+                          double throughput,
+                          Map<Outcome, Long> outcomes,
+                          Latency responseTimeMillis,
+                          Latency serviceTimeMillis,
+                          List<BreakerTransitions.Transition> breakerTransitions,
+                          JvmSampler.Usage jvm) {
+    }
+
+    /** خلاصه‌ی یک هیستوگرام (میلی‌ثانیه) */
+    record Latency(double mean, double p50, double p90, double p99, double p999, double max) {
+
+        static Latency of(Histogram histogram) {
+            return new Latency(histogram.getMean() / 1000.0,
+                    histogram.getValueAtPercentile(50) / 1000.0,
+                    histogram.getValueAtPercentile(90) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0,
+                    histogram.getMaxValue() / 1000.0);
+        }
+    }
+
+    List<String> regressionsAgainst(LoadReport baseline, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        for (EndpointReport before : baseline.endpoints()) {
+            EndpointReport after = endpoints.stream()
+                    .filter(report -> report.path().equals(before.path()))
+                    .findFirst()
+                    .orElse(null);
+            if (after == null) {
+                regressions.add(before.path() + ": missing from this run");
+                continue;
+            }
+            if (after.throughput() < before.throughput() * (1 - tolerance)) {
+                regressions.add(String.format("%s: throughput %.1f/s -> %.1f/s",
+                        before.path(), before.throughput(), after.throughput()));
+            }
+            if (after.responseTimeMillis().p99() > before.responseTimeMillis().p99() * (1 + tolerance)) {
+                regressions.add(String.format("%s: p99 %.1fms -> %.1fms",
+                        before.path(), before.responseTimeMillis().p99(), after.responseTimeMillis().p99()));
+            }
+        }
+        return regressions;
+    }
+}
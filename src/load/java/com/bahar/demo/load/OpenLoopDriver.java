@@ -0,0 +1,142 @@
+package com.bahar.demo.load;
+
+import com.bahar.demo.service.ExternalServiceImpl;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * OpenLoopDriver
+ * -------------------------
+ * بار open-loop با نرخ ثابت روی یک endpoint:
+ *  - درخواست i در زمان برنامه‌ریزی‌شده‌ی start + i/rate فرستاده می‌شود، چه پاسخ‌های قبلی آمده باشند چه نه
+ *    (کلاینت async است؛ پاسخ کند، ارسال بعدی را عقب نمی‌اندازد)
+ *  - responseTime از زمان برنامه‌ریزی‌شده تا پاسخ اندازه گرفته می‌شود (تصحیح coordinated omission):
+ *    اگر خود driver عقب بیفتد، این عقب‌افتادن هم جزو تأخیر حساب می‌شود
+ *  - serviceTime از ارسال واقعی تا پاسخ است؛ فاصله‌ی این دو یعنی صف
+ *  - درخواستی که به خاطر maxOutstanding فرستاده نشده (NOT_SENT) با تأخیر requestTimeout در responseTime
+ *    ثبت می‌شود، مثل درخواستی که timeout خورده؛ وگرنه بدترین لحظه‌ها از صدک‌ها حذف می‌شوند
+ *  - throughput فقط پاسخ‌های SUCCESS را می‌شمارد؛ fallback و خطا کار انجام‌شده نیستند
+ *
+ * هیستوگرام‌ها HdrHistogram با دقت ۳ رقم معنی‌دار و واحد میکروثانیه‌اند.
+ */
+final class OpenLoopDriver {
+
+    /** نتیجه‌ی هر درخواست از روی status و متن پاسخ */
+    enum Outcome {
+        SUCCESS, FALLBACK, FAILURE, REJECTED, HTTP_ERROR, TRANSPORT_ERROR, NOT_SENT
+    }
+
+    /** خروجی خام یک اجرا */
+    record Run(long sent, long completed, double elapsedSeconds,
+               Map<Outcome, Long> outcomes, Histogram responseTime, Histogram serviceTime) {
+
+        /**
+         * @return پاسخ‌های SUCCESS بر ثانیه
+         */
+        double throughput() {
+            return outcomes.getOrDefault(Outcome.SUCCESS, 0L) / elapsedSeconds;
+        }
+    }
+
+    private final HttpClient client;
+    private final int maxOutstanding;
+    private final Duration requestTimeout;
+
+    OpenLoopDriver(HttpClient client, int maxOutstanding, Duration requestTimeout) {
+        this.client = client;
+        this.maxOutstanding = maxOutstanding;
+        this.requestTimeout = requestTimeout;
+    }
+
+    Run run(URI uri, double rate, Duration duration) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(requestTimeout).GET().build();
+        ConcurrentHistogram responseTime = new ConcurrentHistogram(3);
+        ConcurrentHistogram serviceTime = new ConcurrentHistogram(3);
+        Map<Outcome, LongAdder> outcomes = new EnumMap<>(Outcome.class);
+        for (Outcome outcome : Outcome.values()) {
+            outcomes.put(outcome, new LongAdder());
+        }
+        AtomicInteger outstanding = new AtomicInteger();
+        LongAdder completed = new LongAdder();
+        long[] lastCompletion = {0};
+        long notSentMicros = TimeUnit.NANOSECONDS.toMicros(requestTimeout.toNanos());
+
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long sent = 0;
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (outstanding.get() >= maxOutstanding) {
+                outcomes.get(Outcome.NOT_SENT).increment();
+                responseTime.recordValue(notSentMicros);
+                continue;
+            }
+            outstanding.incrementAndGet();
+            sent++;
+            long sentAt = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+                long now = System.nanoTime();
+                responseTime.recordValue(TimeUnit.NANOSECONDS.toMicros(now - intended));
+                serviceTime.recordValue(TimeUnit.NANOSECONDS.toMicros(now - sentAt));
+                outcomes.get(classify(response, error)).increment();
+                completed.increment();
+                synchronized (lastCompletion) {
+                    lastCompletion[0] = Math.max(lastCompletion[0], now);
+                }
+                outstanding.decrementAndGet();
+            });
+        }
+
+        long drainDeadline = System.nanoTime() + requestTimeout.toNanos();
+        while (outstanding.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        long finished;
+        synchronized (lastCompletion) {
+            finished = Math.max(lastCompletion[0], end);
+        }
+        Map<Outcome, Long> counts = new EnumMap<>(Outcome.class);
+        outcomes.forEach((outcome, count) -> counts.put(outcome, count.sum()));
+        return new Run(sent, completed.sum(), (finished - start) / 1e9, counts, responseTime, serviceTime);
+    }
+
+    static Outcome classify(HttpResponse<String> response, Throwable error) {
+        if (error != null) {
+            return Outcome.TRANSPORT_ERROR;
+        }
+        if (response.statusCode() != 200) {
+            return Outcome.HTTP_ERROR;
+        }
+        String body = response.body();
+        if (body.startsWith(ExternalServiceImpl.CALLBACK_REJECTED)) {
+            return Outcome.REJECTED;
+        }
+        if (body.contains(ExternalServiceImpl.FALLBACK_PREFIX)) {
+            return Outcome.FALLBACK;
+        }
+        if (body.contains("💥") || body.contains("❌")) {
+            return Outcome.FAILURE;
+        }
+        return Outcome.SUCCESS;
+    }
+}
@@ -0,0 +1,129 @@
+package com.bahar.demo.cache;
+
+import com.bahar.demo.config.FallbackCacheProperties;
+import com.bahar.demo.keyed.BreakerKeyContext;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * LastKnownGoodCache
+ * -------------------------
+ * آخرین پاسخ موفق هر عملیات (کلید = نام عملیات) تا fallback به جای یک پیام خطای خالی،
+ * داده‌ی قابل استفاده (با نشانه‌ی کهنگی) برگرداند:
+ *  - Caffeine با سقف اندازه (W-TinyLFU) و TTL از زمان ثبت → حافظه محدود و داده‌ی خیلی قدیمی سرو نمی‌شود
+ *  - ثبت و خواندن بدون قفل سراسری؛ مسیر fallback هیچ فراخوانی به downstream نمی‌زند
+ *  - کلید درخواست‌های tenantدار با scopedKey شامل کلید tenant است تا پاسخ یک tenant به دیگری سرو نشود
+ *  - متریک‌های استاندارد cache (cache.gets با hit/miss، cache.size، cache.evictions) با تگ cache=lastKnownGood
+ */
+public class LastKnownGoodCache implements MeterBinder {
+
+    private final Cache<String, Entry> cache;
+    private final Ticker ticker;
+
+    /**
+     * @param properties تنظیمات demo.fallback-cache
+     */
+    public LastKnownGoodCache(FallbackCacheProperties properties) {
+        this(properties, Ticker.systemTicker());
+    }
+
+    /**
+     * @param ticker منبع زمان (برای تست TTL و کهنگی بدون انتظار واقعی)
+     */
+    public LastKnownGoodCache(FallbackCacheProperties properties, Ticker ticker) {
+        this.ticker = ticker;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * ساخت نمونه با تنظیمات پیش‌فرض (برای Unit Test و استفاده بدون Spring)
+     */
+    public static LastKnownGoodCache withDefaults() {
+        return new LastKnownGoodCache(new FallbackCacheProperties());
+    }
+
+    /**
+     * کلید عملیات برای درخواست جاری: "operation@tenant" وقتی BreakerKeyContext کلید دارد، وگرنه خود operation
+     * (همان قاعده‌ی SingleFlightDecorator). باید روی thread درخواست خوانده شود.
+     *
+     * @param operation نام عملیات
+     */
+    public static String scopedKey(String operation) {
+        return BreakerKeyContext.current().map(key -> operation + "@" + key).orElse(operation);
+    }
+
+    /**
+     * ثبت پاسخ موفق
+     */
+    public void put(String key, String value) {
+        cache.put(key, new Entry(value, ticker.read()));
+    }
+
+    /**
+     * @return آخرین پاسخ موفق (اگر هنوز منقضی نشده باشد)
+     */
+    public Optional<Entry> get(String key) {
+        return Optional.ofNullable(cache.getIfPresent(key));
+    }
+
+    /**
+     * پیام fallback به‌علاوه‌ی آخرین پاسخ موفق (در صورت وجود) با نشانه‌ی کهنگی، مثلاً:
+     * "⚠️ Fallback response because: ... → last known good: ✅ Success on attempt 4 (stale 12s)"
+     *
+     * @param key      نام عملیات
+     * @param fallback پیام fallback معمولی
+     */
+    public String withLastKnownGood(String key, String fallback) {
+        return get(key).map(entry -> withLastKnownGood(fallback, entry)).orElse(fallback);
+    }
+
+    /**
+     * @param fallback پیام fallback معمولی
+     * @param entry    مقداری که قبلاً با get خوانده شده
+     */
+    public String withLastKnownGood(String fallback, Entry entry) {
+        return fallback + " → last known good: " + entry.value() + " (stale " + age(entry).toSeconds() + "s)";
+    }
+
+    /**
+     * @return عمر مقدار از زمان ثبت
+     */
+    public Duration age(Entry entry) {
+        return Duration.ofNanos(ticker.read() - entry.storedAtNanos());
+    }
+
+    /**
+     * حذف همه‌ی مقادیر (مثلاً بعد از تغییر قرارداد downstream یا در تست)
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * اجرای فوری کارهای نگه‌داری معوق (حذف‌های ناشی از سقف اندازه در Caffeine async انجام می‌شوند)
+     */
+    public void cleanUp() {
+        cache.cleanUp();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "lastKnownGood");
+    }
+
+    /** مقدار ذخیره‌شده به‌همراه زمان ثبت (nanoTime همان Ticker) */
+    public record Entry(String value, long storedAtNanos) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.bahar.demo.cluster;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+
+/**
+ * BreakerStateMessage
+ * -------------------------
+ * پیامی که یک replica درباره‌ی یک breaker سراسری منتشر می‌کند:
+ *  - TRANSITION → گذار محلی (from → to) به OPEN، HALF_OPEN یا CLOSED
+ *  - STATS      → آمار فعلی پنجره (from و to هر دو وضعیت فعلی) که هر publishInterval فرستاده می‌شود
+ *
+ * sequence برای هر فرستنده صعودی است؛ پیام قدیمی‌تر از آخرین پیام دیده‌شده (UDP بدون ترتیب) دور ریخته می‌شود.
+ */
+public record BreakerStateMessage(String instanceId, long sequence, String breaker, Kind kind,
+                                  CircuitBreaker.State from, CircuitBreaker.State to,
+                                  int bufferedCalls, int failedCalls, int slowCalls) {
+
+    public enum Kind {
+        TRANSITION,
+        STATS
+    }
+}
@@ -0,0 +1,408 @@
+package com.bahar.demo.cluster;
+
+import com.bahar.demo.config.BreakerSyncProperties;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.circuitbreaker.IllegalStateTransitionException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * BreakerStateSync
+ * -------------------------
+ * اشتراک وضعیت breakerهای سراسری بین replicaها تا کل fleet با هم باز شود و با هم (و با probe هماهنگ) بهبود یابد:
+ *  - گذار محلی به OPEN/HALF_OPEN/CLOSED منتشر می‌شود؛ replicaای که پیام OPEN می‌گیرد و مدارش بسته است
+ *    فوراً OPEN می‌شود (بدون اینکه خودش minimumNumberOfCalls بار شکست بخورد)
+ *  - probe هماهنگ: اولین replica که HALF_OPEN می‌شود probeLease را برمی‌دارد؛ بقیه وقتی زمانشان برای HALF_OPEN
+ *    می‌رسد دوباره OPEN می‌مانند. اگر probe موفق شد (HALF_OPEN → CLOSED) همه CLOSED می‌شوند و اگر شکست خورد
+ *    lease آزاد می‌شود تا replica بعدی probe کند. ادعای هم‌زمان: شناسه‌ی کوچک‌تر برنده است
+ *  - آمار پنجره (تعداد فراخوانی، شکست و کند) هر publishInterval منتشر می‌شود؛ با aggregateStats اگر مجموع
+ *    آمار این replica و replicaهای CLOSED دیگر به minimumNumberOfCalls برسد و نرخ شکست یا کندی از آستانه‌ی
+ *    config همین breaker بگذرد، مدار محلی باز و OPEN منتشر می‌شود
+ *
+ * گذاری که به خاطر پیام replica دیگر انجام می‌شود دوباره منتشر نمی‌شود (هر replica مستقیم از فرستنده می‌شنود).
+ * breaker با نام از registry خوانده می‌شود و بعد از reload تنظیمات (registry.replace) به نمونه‌ی جدید وصل می‌شود.
+ * breakerهای کلیددار (demo.keyed-breakers) منتشر نمی‌شوند.
+ *
+ * متریک‌ها:
+ *  - demo.breaker.sync.messages با تگ direction (sent، received، dropped)
+ *  - demo.breaker.sync.transitions با تگ cause (remote_open، remote_close، probe_yield، fleet_open)
+ *  - demo.breaker.sync.peers → تعداد replicaهایی که در peerTimeout اخیر پیام فرستاده‌اند
+ */
+public class BreakerStateSync implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(BreakerStateSync.class);
+
+    private final String instanceId;
+    private final Set<String> breakers;
+    private final CircuitBreakerRegistry registry;
+    private final BreakerStateTransport transport;
+    private final boolean aggregateStats;
+    private final long peerTimeoutNanos;
+    private final long probeLeaseNanos;
+    private final LongSupplier nanoClock;
+
+    /** بعد از restart با همان instanceId هم از sequence قبلی بزرگ‌تر است */
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1_000);
+    private final Map<String, PeerSeen> peers = new ConcurrentHashMap<>();
+    private final Map<String, BreakerView> views = new ConcurrentHashMap<>();
+    /** گذار در حال اجرا به خاطر پیام replica دیگر است و نباید منتشر شود */
+    private final ThreadLocal<Boolean> applyingRemote = ThreadLocal.withInitial(() -> false);
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder received = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder remoteOpened = new LongAdder();
+    private final LongAdder remoteClosed = new LongAdder();
+    private final LongAdder probeYielded = new LongAdder();
+    private final LongAdder fleetOpened = new LongAdder();
+
+    /**
+     * @param properties تنظیمات demo.breaker-sync
+     * @param registry   registry breakerهای resilience4j
+     * @param transport  انتقال پیام بین replicaها
+     * @param nanoClock  ساعت (System::nanoTime؛ در تست دستی)
+     */
+    public BreakerStateSync(BreakerSyncProperties properties, CircuitBreakerRegistry registry,
+                            BreakerStateTransport transport, LongSupplier nanoClock) {
+        String configuredId = properties.getInstanceId();
+        this.instanceId = configuredId == null || configuredId.isBlank() ? UUID.randomUUID().toString() : configuredId;
+        this.breakers = Set.copyOf(properties.getBreakers());
+        this.registry = registry;
+        this.transport = transport;
+        this.aggregateStats = properties.isAggregateStats();
+        this.peerTimeoutNanos = properties.getPeerTimeout().toNanos();
+        this.probeLeaseNanos = properties.getProbeLease().toNanos();
+        this.nanoClock = nanoClock;
+
+        breakers.forEach(name -> registry.find(name).ifPresent(this::attach));
+        registry.getEventPublisher()
+                .onEntryAdded(event -> attachIfSynced(event.getAddedEntry()))
+                .onEntryReplaced(event -> attachIfSynced(event.getNewEntry()));
+        transport.subscribe(this::onMessage);
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("breaker-sync-");
+        threadFactory.setDaemon(true);
+        this.scheduler = new ScheduledThreadPoolExecutor(1, threadFactory);
+        long interval = properties.getPublishInterval().toNanos();
+        scheduler.scheduleAtFixedRate(this::tick, interval, interval, TimeUnit.NANOSECONDS);
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    /**
+     * انتشار آمار پنجره‌ی هر breaker و بررسی آمار تجمیعی؛ هر publishInterval روی زمان‌بند صدا زده می‌شود
+     */
+    public void publishStats() {
+        long now = nanoClock.getAsLong();
+        peers.values().removeIf(peer -> now - peer.seenAt() > peerTimeoutNanos);
+        for (String name : breakers) {
+            registry.find(name).ifPresent(breaker -> {
+                CircuitBreaker.State state = breaker.getState();
+                publish(breaker, BreakerStateMessage.Kind.STATS, state, state);
+                if (aggregateStats) {
+                    evaluate(breaker, now);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        messages(registry, "sent", sent);
+        messages(registry, "received", received);
+        messages(registry, "dropped", dropped);
+        transitions(registry, "remote_open", remoteOpened);
+        transitions(registry, "remote_close", remoteClosed);
+        transitions(registry, "probe_yield", probeYielded);
+        transitions(registry, "fleet_open", fleetOpened);
+        Gauge.builder("demo.breaker.sync.peers", this, sync -> sync.livePeers())
+                .description("Replicas heard from within the peer timeout")
+                .register(registry);
+    }
+
+    private static void messages(MeterRegistry registry, String direction, LongAdder adder) {
+        FunctionCounter.builder("demo.breaker.sync.messages", adder, LongAdder::sum)
+                .tag("direction", direction)
+                .description("Breaker state messages exchanged with other replicas")
+                .register(registry);
+    }
+
+    private static void transitions(MeterRegistry registry, String cause, LongAdder adder) {
+        FunctionCounter.builder("demo.breaker.sync.transitions", adder, LongAdder::sum)
+                .tag("cause", cause)
+                .description("Local breaker transitions caused by other replicas")
+                .register(registry);
+    }
+
+    /**
+     * توقف زمان‌بند؛ transport جداگانه بسته می‌شود
+     */
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void tick() {
+        try {
+            publishStats();
+        } catch (RuntimeException e) {
+            log.warn("Publishing breaker stats failed: {}", e.toString());
+        }
+    }
+
+    private long livePeers() {
+        long now = nanoClock.getAsLong();
+        return peers.values().stream().filter(peer -> now - peer.seenAt() <= peerTimeoutNanos).count();
+    }
+
+    private void attachIfSynced(CircuitBreaker breaker) {
+        if (breakers.contains(breaker.getName())) {
+            attach(breaker);
+        }
+    }
+
+    private void attach(CircuitBreaker breaker) {
+        breaker.getEventPublisher().onStateTransition(event -> onLocalTransition(breaker, event.getStateTransition()));
+    }
+
+    private BreakerView view(String name) {
+        return views.computeIfAbsent(name, key -> new BreakerView(nanoClock.getAsLong()));
+    }
+
+    private void onLocalTransition(CircuitBreaker breaker, CircuitBreaker.StateTransition transition) {
+        if (registry.find(breaker.getName()).orElse(null) != breaker) {
+            return; // نمونه‌ی قبلی بعد از reload
+        }
+        CircuitBreaker.State from = transition.getFromState();
+        CircuitBreaker.State to = transition.getToState();
+        if (from == to || !synced(to)) {
+            return;
+        }
+        BreakerView view = view(breaker.getName());
+        long now = nanoClock.getAsLong();
+        if (to == CircuitBreaker.State.CLOSED) {
+            view.reset(now);
+        } else if (to == CircuitBreaker.State.OPEN) {
+            view.release(instanceId);
+        }
+        if (applyingRemote.get()) {
+            return;
+        }
+        if (to == CircuitBreaker.State.HALF_OPEN && !view.claimLocal(instanceId, now, probeLeaseNanos)) {
+            probeYielded.increment();
+            applyRemote(breaker::transitionToOpenState); // replica دیگری در حال probe است
+            return;
+        }
+        publish(breaker, BreakerStateMessage.Kind.TRANSITION, from, to);
+    }
+
+    private void onMessage(BreakerStateMessage message) {
+        if (instanceId.equals(message.instanceId()) || !breakers.contains(message.breaker())) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        if (!newer(message, now)) {
+            dropped.increment();
+            return;
+        }
+        received.increment();
+        CircuitBreaker breaker = registry.find(message.breaker()).orElse(null);
+        if (breaker == null) {
+            return;
+        }
+        BreakerView view = view(message.breaker());
+        view.record(message, now);
+        if (message.kind() == BreakerStateMessage.Kind.STATS) {
+            if (aggregateStats) {
+                evaluate(breaker, now);
+            }
+            return;
+        }
+        CircuitBreaker.State local = breaker.getState();
+        switch (message.to()) {
+            case OPEN -> {
+                view.release(message.instanceId());
+                if (local == CircuitBreaker.State.CLOSED || local == CircuitBreaker.State.HALF_OPEN) {
+                    remoteOpened.increment();
+                    applyRemote(breaker::transitionToOpenState);
+                }
+            }
+            case HALF_OPEN -> {
+                if (view.claimRemote(message.instanceId(), now, probeLeaseNanos)
+                        && local == CircuitBreaker.State.HALF_OPEN) {
+                    probeYielded.increment();
+                    applyRemote(breaker::transitionToOpenState);
+                }
+            }
+            case CLOSED -> {
+                if (message.from() == CircuitBreaker.State.HALF_OPEN
+                        && (local == CircuitBreaker.State.OPEN || local == CircuitBreaker.State.HALF_OPEN)) {
+                    remoteClosed.increment();
+                    applyRemote(breaker::transitionToClosedState);
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * باز کردن مدار محلی با مجموع آمار این replica و replicaهای CLOSED دیگر (فقط آمار بعد از آخرین CLOSED محلی)
+     */
+    private void evaluate(CircuitBreaker breaker, long now) {
+        if (breaker.getState() != CircuitBreaker.State.CLOSED) {
+            return;
+        }
+        long[] fleet = view(breaker.getName()).peerTotals(now, peerTimeoutNanos);
+        if (fleet[3] == 0) {
+            return; // بدون replica دیگر، تصمیم با خود breaker است
+        }
+        CircuitBreaker.Metrics metrics = breaker.getMetrics();
+        long buffered = metrics.getNumberOfBufferedCalls() + fleet[0];
+        long failed = metrics.getNumberOfFailedCalls() + fleet[1];
+        long slow = metrics.getNumberOfSlowCalls() + fleet[2];
+        CircuitBreakerConfig config = breaker.getCircuitBreakerConfig();
+        if (buffered < config.getMinimumNumberOfCalls()) {
+            return;
+        }
+        if (failed * 100f / buffered >= config.getFailureRateThreshold()
+                || slow * 100f / buffered >= config.getSlowCallRateThreshold()) {
+            fleetOpened.increment();
+            try {
+                breaker.transitionToOpenState(); // گذار محلی → OPEN برای بقیه منتشر می‌شود
+            } catch (IllegalStateTransitionException ignored) {
+                // هم‌زمان به وضعیت دیگری رفت
+            }
+        }
+    }
+
+    private boolean newer(BreakerStateMessage message, long now) {
+        boolean[] newer = new boolean[1];
+        peers.compute(message.instanceId(), (id, last) -> {
+            newer[0] = last == null || message.sequence() > last.sequence();
+            return newer[0] ? new PeerSeen(message.sequence(), now) : last;
+        });
+        return newer[0];
+    }
+
+    private void applyRemote(Runnable transition) {
+        applyingRemote.set(true);
+        try {
+            transition.run();
+        } catch (IllegalStateTransitionException ignored) {
+            // مدار در وضعیتی (مثلاً FORCED_OPEN) است که این گذار را نمی‌پذیرد
+        } finally {
+            applyingRemote.set(false);
+        }
+    }
+
+    private void publish(CircuitBreaker breaker, BreakerStateMessage.Kind kind,
+                         CircuitBreaker.State from, CircuitBreaker.State to) {
+        CircuitBreaker.Metrics metrics = breaker.getMetrics();
+        transport.publish(new BreakerStateMessage(instanceId, sequence.incrementAndGet(), breaker.getName(), kind,
+                from, to, metrics.getNumberOfBufferedCalls(), metrics.getNumberOfFailedCalls(),
+                metrics.getNumberOfSlowCalls()));
+        sent.increment();
+    }
+
+    private static boolean synced(CircuitBreaker.State state) {
+        return state == CircuitBreaker.State.OPEN || state == CircuitBreaker.State.HALF_OPEN
+                || state == CircuitBreaker.State.CLOSED;
+    }
+
+    private record PeerSeen(long sequence, long seenAt) {
+    }
+
+    private record PeerStats(BreakerStateMessage message, long receivedAt) {
+    }
+
+    /**
+     * آخرین آمار replicaهای دیگر و lease probe برای یک breaker؛ قفل فقط دور همین داده‌هاست
+     * و گذارهای breaker بیرون از آن انجام می‌شوند
+     */
+    private static final class BreakerView {
+
+        private final Map<String, PeerStats> stats = new HashMap<>();
+        private long closedSince;
+        private String prober;
+        private long probeSince;
+
+        BreakerView(long now) {
+            this.closedSince = now;
+        }
+
+        synchronized void reset(long now) {
+            stats.clear();
+            closedSince = now;
+            prober = null;
+        }
+
+        synchronized void record(BreakerStateMessage message, long now) {
+            stats.put(message.instanceId(), new PeerStats(message, now));
+        }
+
+        /**
+         * @return {فراخوانی‌ها، شکست‌ها، کندها، تعداد replica} از replicaهای CLOSED با آمار تازه
+         */
+        synchronized long[] peerTotals(long now, long timeoutNanos) {
+            long[] totals = new long[4];
+            stats.values().removeIf(peer -> now - peer.receivedAt() > timeoutNanos);
+            for (PeerStats peer : stats.values()) {
+                if (peer.receivedAt() - closedSince >= 0 && peer.message().to() == CircuitBreaker.State.CLOSED) {
+                    totals[0] += peer.message().bufferedCalls();
+                    totals[1] += peer.message().failedCalls();
+                    totals[2] += peer.message().slowCalls();
+                    totals[3]++;
+                }
+            }
+            return totals;
+        }
+
+        /** probe محلی فقط اگر lease آزاد، منقضی یا مال خود این replica باشد */
+        synchronized boolean claimLocal(String self, long now, long leaseNanos) {
+            if (prober == null || prober.equals(self) || now - probeSince > leaseNanos) {
+                prober = self;
+                probeSince = now;
+                return true;
+            }
+            return false;
+        }
+
+        /** probe replica دیگر؛ در ادعای هم‌زمان شناسه‌ی کوچک‌تر برنده است */
+        synchronized boolean claimRemote(String sender, long now, long leaseNanos) {
+            if (prober == null || prober.equals(sender) || now - probeSince > leaseNanos
+                    || sender.compareTo(prober) < 0) {
+                prober = sender;
+                probeSince = now;
+                return true;
+            }
+            return false;
+        }
+
+        synchronized void release(String holder) {
+            if (holder.equals(prober)) {
+                prober = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.bahar.demo.cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * BreakerStateTransport
+ * -------------------------
+ * انتقال پیام‌های وضعیت breaker بین replicaها؛ تحویل best-effort است (ممکن است پیام گم شود یا دیر برسد)
+ * و پیام‌های خود فرستنده هم ممکن است به او برگردند (BreakerStateSync آن‌ها را با instanceId کنار می‌گذارد).
+ *
+ * پیاده‌سازی‌ها:
+ *  - InProcessBreakerStateTransport → چند Context/نمونه در یک JVM (تست)
+ *  - MulticastBreakerStateTransport → UDP multicast در شبکه‌ی محلی
+ */
+public interface BreakerStateTransport {
+
+    /**
+     * ارسال پیام به بقیه‌ی replicaها؛ خطای شبکه به فراخواننده نمی‌رسد
+     */
+    void publish(BreakerStateMessage message);
+
+    /**
+     * ثبت گیرنده‌ی پیام‌های رسیده؛ روی thread خود transport صدا زده می‌شود
+     */
+    void subscribe(Consumer<BreakerStateMessage> listener);
+
+    /**
+     * قطع اتصال و آزاد کردن منابع
+     */
+    void close();
+}
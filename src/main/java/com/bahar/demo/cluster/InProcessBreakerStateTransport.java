@@ -0,0 +1,46 @@
+package com.bahar.demo.cluster;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * InProcessBreakerStateTransport
+ * -------------------------
+ * transport درون JVM: همه‌ی نمونه‌هایی که با یک نام کانال ساخته شده‌اند پیام‌های هم را می‌گیرند.
+ * تحویل هم‌زمان و روی thread فرستنده است (قطعی برای تست)؛ close نمونه را از کانال خارج می‌کند.
+ */
+public class InProcessBreakerStateTransport implements BreakerStateTransport {
+
+    private static final Map<String, List<InProcessBreakerStateTransport>> CHANNELS = new ConcurrentHashMap<>();
+
+    private final String channel;
+    private final List<Consumer<BreakerStateMessage>> listeners = new CopyOnWriteArrayList<>();
+
+    public InProcessBreakerStateTransport(String channel) {
+        this.channel = channel;
+        CHANNELS.computeIfAbsent(channel, name -> new CopyOnWriteArrayList<>()).add(this);
+    }
+
+    @Override
+    public void publish(BreakerStateMessage message) {
+        for (InProcessBreakerStateTransport member : CHANNELS.getOrDefault(channel, List.of())) {
+            member.listeners.forEach(listener -> listener.accept(message));
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<BreakerStateMessage> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void close() {
+        CHANNELS.computeIfPresent(channel, (name, members) -> {
+            members.remove(this);
+            return members.isEmpty() ? null : members;
+        });
+    }
+}
@@ -0,0 +1,119 @@
+package com.bahar.demo.cluster;
+
+import com.bahar.demo.config.BreakerSyncProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.net.NetworkInterface;
+import java.net.StandardSocketOptions;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * MulticastBreakerStateTransport
+ * -------------------------
+ * transport روی UDP multicast: هر پیام یک datagram JSON است که به group فرستاده می‌شود و هر replica
+ * عضو group (از جمله خود فرستنده، با loopback) آن را می‌گیرد. بدون broker و بدون ثبت replicaها؛
+ * ttl پیش‌فرض ۱ یعنی پیام از subnet بیرون نمی‌رود.
+ *
+ * یک thread daemon ("breaker-sync-multicast") پیام‌ها را می‌خواند؛ datagram نامعتبر نادیده گرفته می‌شود
+ * و خطای ارسال فقط log می‌شود (از دست رفتن یک پیام با انتشار دوره‌ای آمار جبران می‌شود).
+ */
+public class MulticastBreakerStateTransport implements BreakerStateTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(MulticastBreakerStateTransport.class);
+
+    private static final int MAX_DATAGRAM = 8 * 1024;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final List<Consumer<BreakerStateMessage>> listeners = new CopyOnWriteArrayList<>();
+    private final InetSocketAddress group;
+    private final NetworkInterface networkInterface;
+    private final MulticastSocket socket;
+    private final Thread receiver;
+
+    /**
+     * @throws UncheckedIOException اگر socket ساخته یا به group وصل نشود
+     */
+    public MulticastBreakerStateTransport(BreakerSyncProperties.Multicast properties) {
+        try {
+            this.group = new InetSocketAddress(InetAddress.getByName(properties.getGroup()), properties.getPort());
+            this.networkInterface = properties.getNetworkInterface() == null
+                    ? null : NetworkInterface.getByName(properties.getNetworkInterface());
+            this.socket = new MulticastSocket(properties.getPort());
+            socket.setTimeToLive(properties.getTtl());
+            socket.setOption(StandardSocketOptions.IP_MULTICAST_LOOP, true);
+            if (networkInterface != null) {
+                socket.setNetworkInterface(networkInterface);
+            }
+            socket.joinGroup(group, networkInterface);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot join multicast group " + properties.getGroup()
+                    + ":" + properties.getPort(), e);
+        }
+        this.receiver = new Thread(this::receive, "breaker-sync-multicast");
+        receiver.setDaemon(true);
+        receiver.start();
+    }
+
+    @Override
+    public void publish(BreakerStateMessage message) {
+        try {
+            byte[] payload = mapper.writeValueAsBytes(message);
+            socket.send(new DatagramPacket(payload, payload.length, group));
+        } catch (IOException e) {
+            log.warn("Cannot publish breaker state to {}: {}", group, e.getMessage());
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<BreakerStateMessage> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void close() {
+        try {
+            socket.leaveGroup(group, networkInterface);
+        } catch (IOException ignored) {
+            // socket در حال بسته شدن است
+        }
+        socket.close();
+    }
+
+    private void receive() {
+        byte[] buffer = new byte[MAX_DATAGRAM];
+        while (!socket.isClosed()) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+            } catch (IOException e) {
+                if (!socket.isClosed()) {
+                    log.warn("Breaker state receive failed: {}", e.getMessage());
+                }
+                continue;
+            }
+            BreakerStateMessage message;
+            try {
+                message = mapper.readValue(packet.getData(), packet.getOffset(), packet.getLength(),
+                        BreakerStateMessage.class);
+            } catch (IOException e) {
+                log.debug("Ignoring invalid breaker state datagram from {}", packet.getSocketAddress());
+                continue;
+            }
+            try {
+                listeners.forEach(listener -> listener.accept(message));
+            } catch (RuntimeException e) {
+                log.warn("Breaker state listener failed for {}: {}", message, e.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.bahar.demo.config;
+
+import com.bahar.demo.resilience.AdaptiveConcurrencyLimiter;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * AdaptiveLimitConfig
+ * -------------------------
+ * ساخت Bean محدودکننده‌ی تطبیقی هم‌زمانی از روی تنظیمات demo.adaptive-limit.
+ */
+@Configuration
+@EnableConfigurationProperties(AdaptiveLimitProperties.class)
+public class AdaptiveLimitConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(AdaptiveLimitProperties properties) {
+        return new AdaptiveConcurrencyLimiter(properties);
+    }
+}
@@ -0,0 +1,131 @@
+package com.bahar.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * AdaptiveLimitProperties
+ * -------------------------
+ * تنظیمات محدودکننده‌ی تطبیقی هم‌زمانی (بلاک demo.adaptive-limit در application.yml):
+ *  - enabled                        → فعال/غیرفعال کردن لایه روی callExternalApiSync و asyncProcess
+ *  - initialLimit/minLimit/maxLimit → سقف اولیه و بازه‌ی مجاز سقف in-flight
+ *  - sampleWindow                   → طول پنجره‌ی نمونه‌های تأخیر (ثانیه‌ای گرد می‌شود)
+ *  - updateInterval                 → فاصله‌ی به‌روزرسانی سقف
+ *  - minSamples                     → با نمونه‌ی کمتر از این در پنجره، سقف تغییر نمی‌کند
+ *  - latencyBuffer                  → تأخیر تا minRtt × (1 + latencyBuffer) «بدون صف» حساب می‌شود
+ *  - minRttInterval/minRttSamples   → هر چند وقت و با چند نمونه minRtt (تأخیر بدون بار) دوباره اندازه گرفته شود
+ */
+@ConfigurationProperties(prefix = "demo.adaptive-limit")
+public class AdaptiveLimitProperties {
+
+    /** فعال/غیرفعال کردن محدودکننده‌ی تطبیقی */
+    private boolean enabled = true;
+
+    /** سقف in-flight در شروع (و هنگام اولین اندازه‌گیری minRtt) */
+    private int initialLimit = 20;
+
+    /** کمترین سقف */
+    private int minLimit = 3;
+
+    /** بیشترین سقف */
+    private int maxLimit = 200;
+
+    /** پنجره‌ی نمونه‌های تأخیر */
+    private Duration sampleWindow = Duration.ofSeconds(2);
+
+    /** فاصله‌ی به‌روزرسانی سقف */
+    private Duration updateInterval = Duration.ofSeconds(1);
+
+    /** حداقل نمونه‌ی موفق در پنجره برای به‌روزرسانی */
+    private int minSamples = 10;
+
+    /** حاشیه‌ی مجاز تأخیر نسبت به minRtt */
+    private double latencyBuffer = 0.1;
+
+    /** فاصله‌ی اندازه‌گیری دوباره‌ی minRtt */
+    private Duration minRttInterval = Duration.ofMinutes(1);
+
+    /** تعداد نمونه‌ها برای اندازه‌گیری minRtt */
+    private int minRttSamples = 20;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public void setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public Duration getSampleWindow() {
+        return sampleWindow;
+    }
+
+    public void setSampleWindow(Duration sampleWindow) {
+        this.sampleWindow = sampleWindow;
+    }
+
+    public Duration getUpdateInterval() {
+        return updateInterval;
+    }
+
+    public void setUpdateInterval(Duration updateInterval) {
+        this.updateInterval = updateInterval;
+    }
+
+    public int getMinSamples() {
+        return minSamples;
+    }
+
+    public void setMinSamples(int minSamples) {
+        this.minSamples = minSamples;
+    }
+
+    public double getLatencyBuffer() {
+        return latencyBuffer;
+    }
+
+    public void setLatencyBuffer(double latencyBuffer) {
+        this.latencyBuffer = latencyBuffer;
+    }
+
+    public Duration getMinRttInterval() {
+        return minRttInterval;
+    }
+
+    public void setMinRttInterval(Duration minRttInterval) {
+        this.minRttInterval = minRttInterval;
+    }
+
+    public int getMinRttSamples() {
+        return minRttSamples;
+    }
+
+    public void setMinRttSamples(int minRttSamples) {
+        this.minRttSamples = minRttSamples;
+    }
+}
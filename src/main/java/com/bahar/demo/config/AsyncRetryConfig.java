@@ -0,0 +1,22 @@
+package com.bahar.demo.config;
+
+import com.bahar.demo.resilience.NonBlockingRetry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * AsyncRetryConfig
+ * -------------------------
+ * ساخت Bean موتور retry غیرمسدودکننده از روی تنظیمات demo.async-retry.
+ * زمان‌بند آن هنگام بسته شدن Context متوقف می‌شود.
+ */
+@Configuration
+@EnableConfigurationProperties(AsyncRetryProperties.class)
+public class AsyncRetryConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public NonBlockingRetry nonBlockingRetry(AsyncRetryProperties properties) {
+        return new NonBlockingRetry(properties);
+    }
+}
@@ -0,0 +1,105 @@
+package com.bahar.demo.config;
+
+import com.bahar.demo.resilience.ConcurrencyLimitExceededException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * AsyncRetryProperties
+ * -------------------------
+ * تنظیمات retry غیرمسدودکننده‌ی asyncProcess (بلاک demo.async-retry در application.yml):
+ *  - maxAttempts        → تعداد کل تلاش‌ها (شامل تلاش اول)
+ *  - baseDelay/maxDelay → backoff نمایی با decorrelated jitter بین این دو مقدار
+ *  - deadline           → سقف کل زمان؛ تلاشی که بعد از آن شروع شود زمان‌بندی نمی‌شود
+ *  - retryExceptions    → فقط این استثناءها retry می‌شوند (خالی = همه)
+ *  - ignoreExceptions   → این استثناءها هرگز retry نمی‌شوند (اولویت با این لیست است)
+ */
+@ConfigurationProperties(prefix = "demo.async-retry")
+public class AsyncRetryProperties {
+
+    /** فعال/غیرفعال کردن لایه‌ی retry روی asyncProcess */
+    private boolean enabled = true;
+
+    /** تعداد کل تلاش‌ها (۱ = بدون retry) */
+    private int maxAttempts = 3;
+
+    /** کمترین فاصله‌ی بین دو تلاش */
+    private Duration baseDelay = Duration.ofMillis(100);
+
+    /** سقف فاصله‌ی بین دو تلاش */
+    private Duration maxDelay = Duration.ofSeconds(1);
+
+    /** سقف کل زمان از اولین تلاش */
+    private Duration deadline = Duration.ofSeconds(3);
+
+    /** استثناءهای قابل retry (خالی = هر استثناء) */
+    private List<Class<? extends Throwable>> retryExceptions = new ArrayList<>();
+
+    /** ردِ ظرفیت (bulkhead، rate limiter، executor پر) retry نمی‌شود تا بار اضافه نسازد */
+    private List<Class<? extends Throwable>> ignoreExceptions = new ArrayList<>(List.of(
+            BulkheadFullException.class, RequestNotPermitted.class, CallNotPermittedException.class,
+            ConcurrencyLimitExceededException.class, RejectedExecutionException.class));
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public Duration getBaseDelay() {
+        return baseDelay;
+    }
+
+    public void setBaseDelay(Duration baseDelay) {
+        this.baseDelay = baseDelay;
+    }
+
+    public Duration getMaxDelay() {
+        return maxDelay;
+    }
+
+    public void setMaxDelay(Duration maxDelay) {
+        this.maxDelay = maxDelay;
+    }
+
+    public Duration getDeadline() {
+        return deadline;
+    }
+
+    public void setDeadline(Duration deadline) {
+        this.deadline = deadline;
+    }
+
+    public List<Class<? extends Throwable>> getRetryExceptions() {
+        return retryExceptions;
+    }
+
+    public void setRetryExceptions(List<Class<? extends Throwable>> retryExceptions) {
+        this.retryExceptions = retryExceptions;
+    }
+
+    public List<Class<? extends Throwable>> getIgnoreExceptions() {
+        return ignoreExceptions;
+    }
+
+    public void setIgnoreExceptions(List<Class<? extends Throwable>> ignoreExceptions) {
+        this.ignoreExceptions = ignoreExceptions;
+    }
+}
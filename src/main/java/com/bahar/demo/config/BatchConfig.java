@@ -0,0 +1,14 @@
+package com.bahar.demo.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * BatchConfig
+ * -------------------------
+ * فعال‌سازی تنظیمات demo.batch برای BatchController.
+ */
+@Configuration
+@EnableConfigurationProperties(BatchProperties.class)
+public class BatchConfig {
+}
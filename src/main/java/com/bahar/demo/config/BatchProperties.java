@@ -0,0 +1,37 @@
+package com.bahar.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * BatchProperties
+ * -------------------------
+ * تنظیمات endpoint دسته‌ای POST /api/batch (بلاک demo.batch در application.yml):
+ *  - maxItems       → سقف تعداد عملیات یک درخواست؛ بیشتر از آن پاسخ 400
+ *  - maxConcurrency → سقف عملیات هم‌زمان هر دسته؛ بقیه تا آزاد شدن جا منتظر می‌مانند
+ *                     (کار واقعی همچنان روی executor محدود "externalService" اجرا می‌شود)
+ */
+@ConfigurationProperties(prefix = "demo.batch")
+public class BatchProperties {
+
+    /** سقف تعداد عملیات یک درخواست */
+    private int maxItems = 500;
+
+    /** سقف عملیات هم‌زمان هر دسته */
+    private int maxConcurrency = 16;
+
+    public int getMaxItems() {
+        return maxItems;
+    }
+
+    public void setMaxItems(int maxItems) {
+        this.maxItems = maxItems;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+}
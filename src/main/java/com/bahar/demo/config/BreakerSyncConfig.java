@@ -0,0 +1,39 @@
+package com.bahar.demo.config;
+
+import com.bahar.demo.cluster.BreakerStateSync;
+import com.bahar.demo.cluster.BreakerStateTransport;
+import com.bahar.demo.cluster.InProcessBreakerStateTransport;
+import com.bahar.demo.cluster.MulticastBreakerStateTransport;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * BreakerSyncConfig
+ * -------------------------
+ * فقط با demo.breaker-sync.enabled=true: ساخت transport از روی demo.breaker-sync.transport
+ * (in-process یا multicast) و BreakerStateSync روی breakerهای سراسری registry.
+ * زمان‌بند sync و سپس socket/کانال transport هنگام بسته شدن Context متوقف می‌شوند.
+ */
+@Configuration
+@EnableConfigurationProperties(BreakerSyncProperties.class)
+@ConditionalOnProperty(prefix = "demo.breaker-sync", name = "enabled", havingValue = "true")
+public class BreakerSyncConfig {
+
+    @Bean(destroyMethod = "close")
+    public BreakerStateTransport breakerStateTransport(BreakerSyncProperties properties) {
+        return switch (properties.getTransport()) {
+            case IN_PROCESS -> new InProcessBreakerStateTransport(properties.getChannel());
+            case MULTICAST -> new MulticastBreakerStateTransport(properties.getMulticast());
+        };
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public BreakerStateSync breakerStateSync(BreakerSyncProperties properties,
+                                             CircuitBreakerRegistry circuitBreakerRegistry,
+                                             BreakerStateTransport breakerStateTransport) {
+        return new BreakerStateSync(properties, circuitBreakerRegistry, breakerStateTransport, System::nanoTime);
+    }
+}
@@ -0,0 +1,170 @@
+package com.bahar.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * BreakerSyncProperties
+ * -------------------------
+ * تنظیمات اشتراک وضعیت circuit breaker بین replicaها (بلاک demo.breaker-sync در application.yml):
+ *  - enabled         → پیش‌فرض خاموش: هر replica مدار خودش را دارد
+ *  - transport       → in-process (چند Context در یک JVM، برای تست) یا multicast (UDP)
+ *  - channel         → نام کانال in-process
+ *  - instanceId      → شناسه‌ی این replica (خالی = UUID تصادفی در هر اجرا)
+ *  - breakers        → نام breakerهای سراسری که وضعیتشان منتشر می‌شود
+ *  - publishInterval → فاصله‌ی انتشار آمار پنجره (تعداد فراخوانی/شکست/کند) و بررسی آمار تجمیعی
+ *  - peerTimeout     → آمار replicaای که در این مدت پیامی نفرستاده کنار گذاشته می‌شود
+ *  - probeLease      → مدت اعتبار ادعای «probe نیمه‌باز» یک replica؛ بعد از آن replica دیگری probe می‌کند
+ *  - aggregateStats  → باز کردن مدار با آمار مجموع replicaها (نه فقط آمار محلی)
+ *  - multicast       → group، port، networkInterface (خالی = پیش‌فرض سیستم) و ttl
+ */
+@ConfigurationProperties(prefix = "demo.breaker-sync")
+public class BreakerSyncProperties {
+
+    public enum Transport {
+        IN_PROCESS,
+        MULTICAST
+    }
+
+    private boolean enabled = false;
+
+    private Transport transport = Transport.MULTICAST;
+
+    private String channel = "default";
+
+    private String instanceId;
+
+    private List<String> breakers = new ArrayList<>(List.of("externalService", "externalServiceAsync"));
+
+    private Duration publishInterval = Duration.ofSeconds(1);
+
+    private Duration peerTimeout = Duration.ofSeconds(5);
+
+    private Duration probeLease = Duration.ofSeconds(10);
+
+    private boolean aggregateStats = true;
+
+    private final Multicast multicast = new Multicast();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Transport getTransport() {
+        return transport;
+    }
+
+    public void setTransport(Transport transport) {
+        this.transport = transport;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public void setChannel(String channel) {
+        this.channel = channel;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public void setInstanceId(String instanceId) {
+        this.instanceId = instanceId;
+    }
+
+    public List<String> getBreakers() {
+        return breakers;
+    }
+
+    public void setBreakers(List<String> breakers) {
+        this.breakers = breakers;
+    }
+
+    public Duration getPublishInterval() {
+        return publishInterval;
+    }
+
+    public void setPublishInterval(Duration publishInterval) {
+        this.publishInterval = publishInterval;
+    }
+
+    public Duration getPeerTimeout() {
+        return peerTimeout;
+    }
+
+    public void setPeerTimeout(Duration peerTimeout) {
+        this.peerTimeout = peerTimeout;
+    }
+
+    public Duration getProbeLease() {
+        return probeLease;
+    }
+
+    public void setProbeLease(Duration probeLease) {
+        this.probeLease = probeLease;
+    }
+
+    public boolean isAggregateStats() {
+        return aggregateStats;
+    }
+
+    public void setAggregateStats(boolean aggregateStats) {
+        this.aggregateStats = aggregateStats;
+    }
+
+    public Multicast getMulticast() {
+        return multicast;
+    }
+
+    public static class Multicast {
+
+        private String group = "239.255.42.99";
+
+        private int port = 45588;
+
+        private String networkInterface;
+
+        private int ttl = 1;
+
+        public String getGroup() {
+            return group;
+        }
+
+        public void setGroup(String group) {
+            this.group = group;
+        }
+
+        public int getPort() {
+            return port;
+        }
+
+        public void setPort(int port) {
+            this.port = port;
+        }
+
+        public String getNetworkInterface() {
+            return networkInterface;
+        }
+
+        public void setNetworkInterface(String networkInterface) {
+            this.networkInterface = networkInterface;
+        }
+
+        public int getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(int ttl) {
+            this.ttl = ttl;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.bahar.demo.config;
+
+import com.bahar.demo.executor.BoundedCallbackExecutor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * CallbackExecutorConfig
+ * -------------------------
+ * ساخت Bean موتور اجرای callback از روی تنظیمات demo.callback.executor.
+ * متد shutdown هنگام بسته شدن Context صدا زده می‌شود تا کارهای در جریان تخلیه شوند.
+ */
+@Configuration
+@EnableConfigurationProperties(CallbackExecutorProperties.class)
+public class CallbackExecutorConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public BoundedCallbackExecutor callbackExecutor(CallbackExecutorProperties properties) {
+        return new BoundedCallbackExecutor(properties);
+    }
+}
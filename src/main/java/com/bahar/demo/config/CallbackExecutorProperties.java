@@ -0,0 +1,84 @@
+package com.bahar.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * CallbackExecutorProperties
+ * -------------------------
+ * تنظیمات موتور اجرای callback (بلاک demo.callback.executor در application.yml):
+ *  - virtualThreads  → روی جاوا ۲۱+ برای هر callback یک virtual thread ساخته می‌شود
+ *  - maxPoolSize / queueCapacity → pool محدود platform thread (fallback روی جاوا ۱۷)
+ *  - maxInFlight     → سقف callbackهای در حال اجرا/در صف؛ بیش از آن رد (reject) می‌شود
+ *  - shutdownTimeout → حداکثر زمان انتظار برای تخلیه‌ی کارهای باقی‌مانده هنگام خاموشی
+ */
+@ConfigurationProperties(prefix = "demo.callback.executor")
+public class CallbackExecutorProperties {
+
+    /** استفاده از virtual thread در صورت پشتیبانی JVM */
+    private boolean virtualThreads = true;
+
+    /** حداکثر threadهای pool (فقط در حالت platform thread)؛ threadهای بیکار بعد از ۶۰ ثانیه آزاد می‌شوند */
+    private int maxPoolSize = 32;
+
+    /** ظرفیت صف pool (فقط در حالت platform thread) */
+    private int queueCapacity = 500;
+
+    /** حداکثر تعداد callbackهای هم‌زمان (در حال اجرا + در صف) */
+    private int maxInFlight = 1000;
+
+    /** مهلت تخلیه‌ی کارها هنگام shutdown */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    /** پیشوند نام threadها برای خوانایی در thread dump */
+    private String threadNamePrefix = "callback-";
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    public void setMaxPoolSize(int maxPoolSize) {
+        this.maxPoolSize = maxPoolSize;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    public Duration getShutdownTimeout() {
+        return shutdownTimeout;
+    }
+
+    public void setShutdownTimeout(Duration shutdownTimeout) {
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    public String getThreadNamePrefix() {
+        return threadNamePrefix;
+    }
+
+    public void setThreadNamePrefix(String threadNamePrefix) {
+        this.threadNamePrefix = threadNamePrefix;
+    }
+}
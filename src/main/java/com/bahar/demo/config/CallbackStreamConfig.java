@@ -0,0 +1,14 @@
+package com.bahar.demo.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * CallbackStreamConfig
+ * -------------------------
+ * فعال‌سازی تنظیمات demo.callback-stream برای CallbackStreamController.
+ */
+@Configuration
+@EnableConfigurationProperties(CallbackStreamProperties.class)
+public class CallbackStreamConfig {
+}
@@ -0,0 +1,86 @@
+package com.bahar.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * CallbackStreamProperties
+ * -------------------------
+ * تنظیمات جریان SSE نتیجه‌های processWithCallback (بلاک demo.callback-stream در application.yml):
+ *  - interval    → فاصله‌ی شروع فراخوانی‌ها برای هر مشترک (جایگزین poll کلاینت روی /api/callback)
+ *  - maxInFlight → سقف callbackهای در جریان هر مشترک؛ نوبت‌هایی که جا ندارند رد می‌شوند (صف نمی‌شوند)
+ *  - bufferSize  → سقف نتیجه‌های منتظر ارسال هر مشترک؛ کلاینت کند → قدیمی‌ترین نتیجه دور ریخته می‌شود
+ *  - heartbeat   → فاصله‌ی comment خالی برای زنده نگه داشتن اتصال از پشت proxy
+ *  - itemTimeout → deadline هر فراخوانی (اتصال طولانی deadline درخواست را ندارد)
+ *  - maxDuration → بیشترین عمر یک اتصال؛ بعد از آن جریان تمام می‌شود و کلاینت دوباره وصل می‌شود
+ */
+@ConfigurationProperties(prefix = "demo.callback-stream")
+public class CallbackStreamProperties {
+
+    /** فاصله‌ی شروع فراخوانی‌ها برای هر مشترک */
+    private Duration interval = Duration.ofSeconds(1);
+
+    /** سقف callbackهای در جریان هر مشترک */
+    private int maxInFlight = 2;
+
+    /** سقف نتیجه‌های منتظر ارسال هر مشترک */
+    private int bufferSize = 32;
+
+    /** فاصله‌ی heartbeat */
+    private Duration heartbeat = Duration.ofSeconds(15);
+
+    /** deadline هر فراخوانی */
+    private Duration itemTimeout = Duration.ofSeconds(5);
+
+    /** بیشترین عمر یک اتصال */
+    private Duration maxDuration = Duration.ofHours(1);
+
+    public Duration getInterval() {
+        return interval;
+    }
+
+    public void setInterval(Duration interval) {
+        this.interval = interval;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public Duration getHeartbeat() {
+        return heartbeat;
+    }
+
+    public void setHeartbeat(Duration heartbeat) {
+        this.heartbeat = heartbeat;
+    }
+
+    public Duration getItemTimeout() {
+        return itemTimeout;
+    }
+
+    public void setItemTimeout(Duration itemTimeout) {
+        this.itemTimeout = itemTimeout;
+    }
+
+    public Duration getMaxDuration() {
+        return maxDuration;
+    }
+
+    public void setMaxDuration(Duration maxDuration) {
+        this.maxDuration = maxDuration;
+    }
+}
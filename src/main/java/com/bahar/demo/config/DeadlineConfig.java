@@ -0,0 +1,31 @@
+package com.bahar.demo.config;
+
+import com.bahar.demo.deadline.DeadlineFilter;
+import com.bahar.demo.resilience.DeadlineDecorator;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * DeadlineConfig
+ * -------------------------
+ * سیم‌کشی deadline درخواست‌ها (demo.deadline):
+ *  - DeadlineFilter → خواندن بودجه از header و نصب آن روی thread درخواست
+ *  - DeadlineDecorator → اعمال min(TimeLimiter، بودجه) روی asyncProcess و callback
+ * زمان‌بند timeoutها هنگام بسته شدن Context متوقف می‌شود.
+ */
+@Configuration
+@EnableConfigurationProperties(DeadlineProperties.class)
+public class DeadlineConfig {
+
+    @Bean
+    public DeadlineFilter deadlineFilter(DeadlineProperties properties) {
+        return new DeadlineFilter(properties);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public DeadlineDecorator deadlineDecorator(TimeLimiterRegistry timeLimiterRegistry) {
+        return new DeadlineDecorator(timeLimiterRegistry);
+    }
+}
@@ -0,0 +1,50 @@
+package com.bahar.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * DeadlineProperties
+ * -------------------------
+ * بودجه‌ی زمانی درخواست‌ها (بلاک demo.deadline در application.yml):
+ *  - header         → نام header ورودی با بودجه‌ی کلاینت به میلی‌ثانیه
+ *  - defaultTimeout → بودجه‌ی درخواستی که header ندارد (یا مقدارش نامعتبر است)
+ *  - maxTimeout     → سقف بودجه، حتی اگر کلاینت بیشتر بخواهد
+ */
+@ConfigurationProperties(prefix = "demo.deadline")
+public class DeadlineProperties {
+
+    /** نام header بودجه‌ی زمانی (میلی‌ثانیه) */
+    private String header = "X-Request-Timeout-Ms";
+
+    /** بودجه‌ی پیش‌فرض */
+    private Duration defaultTimeout = Duration.ofSeconds(5);
+
+    /** سقف بودجه */
+    private Duration maxTimeout = Duration.ofSeconds(30);
+
+    public String getHeader() {
+        return header;
+    }
+
+    public void setHeader(String header) {
+        this.header = header;
+    }
+
+    public Duration getDefaultTimeout() {
+        return defaultTimeout;
+    }
+
+    public void setDefaultTimeout(Duration defaultTimeout) {
+        this.defaultTimeout = defaultTimeout;
+    }
+
+    public Duration getMaxTimeout() {
+        return maxTimeout;
+    }
+
+    public void setMaxTimeout(Duration maxTimeout) {
+        this.maxTimeout = maxTimeout;
+    }
+}
@@ -0,0 +1,36 @@
+package com.bahar.demo.config;
+
+import com.bahar.demo.downstream.Downstream;
+import com.bahar.demo.downstream.HttpDownstream;
+import com.bahar.demo.executor.NamedExecutorRegistry;
+import com.bahar.demo.service.ExternalServiceImpl;
+import com.bahar.demo.simulation.FaultInjector;
+import com.bahar.demo.simulation.SimulatedDownstream;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * DownstreamConfig
+ * -------------------------
+ * ساخت Bean downstream از روی demo.downstream.mode:
+ *  - simulated (پیش‌فرض) → SimulatedDownstream روی FaultInjector و executor "externalService"
+ *  - http                → HttpDownstream؛ connection pool هنگام بسته شدن Context آزاد می‌شود
+ */
+@Configuration
+@EnableConfigurationProperties(DownstreamProperties.class)
+public class DownstreamConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "demo.downstream", name = "mode", havingValue = "simulated", matchIfMissing = true)
+    public Downstream simulatedDownstream(FaultInjector faultInjector, NamedExecutorRegistry executors) {
+        return new SimulatedDownstream(faultInjector, executors.executor(ExternalServiceImpl.EXECUTOR_NAME));
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(prefix = "demo.downstream", name = "mode", havingValue = "http")
+    public HttpDownstream httpDownstream(DownstreamProperties properties) {
+        return new HttpDownstream(properties);
+    }
+}
@@ -0,0 +1,156 @@
+package com.bahar.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * DownstreamProperties
+ * -------------------------
+ * انتخاب و تنظیم downstream پشت ExternalServiceImpl (بلاک demo.downstream در application.yml):
+ *  - mode → SIMULATED (FaultInjector، پیش‌فرض) یا HTTP (فراخوانی واقعی با HttpDownstream)
+ *
+ * تنظیمات حالت HTTP:
+ *  - baseUrl / syncPath / asyncPath → آدرس downstream و مسیرهای callExternalApiSync و asyncProcess
+ *  - protocol               → HTTP_1_1 (keep-alive، یک درخواست روی هر اتصال) یا H2C (HTTP/2 بدون TLS؛ چند stream روی یک اتصال)
+ *  - maxConnections         → اندازه‌ی connection pool
+ *  - pendingAcquireMaxCount → درخواست‌های منتظر اتصال آزاد؛ بیشتر از آن فوراً با RejectedExecutionException رد می‌شود
+ *  - pendingAcquireTimeout  → بیشترین انتظار برای اتصال آزاد (بعد از آن هم RejectedExecutionException)
+ *  - maxIdleTime            → اتصال keep-alive بیکار بیشتر از این بسته می‌شود
+ *  - connectTimeout / readTimeout → timeout برقراری اتصال و انتظار برای پاسخ
+ *  - maxResponseSize        → بدنه‌ی پاسخ به صورت stream خوانده می‌شود و بزرگ‌تر از این شکست است
+ */
+@ConfigurationProperties(prefix = "demo.downstream")
+public class DownstreamProperties {
+
+    /** نوع downstream */
+    public enum Mode {
+        SIMULATED, HTTP
+    }
+
+    /** پروتکل HTTP حالت HTTP */
+    public enum Protocol {
+        HTTP_1_1, H2C
+    }
+
+    private Mode mode = Mode.SIMULATED;
+
+    private String baseUrl = "http://localhost:9090";
+
+    private String syncPath = "/sync";
+
+    private String asyncPath = "/async";
+
+    private Protocol protocol = Protocol.HTTP_1_1;
+
+    private int maxConnections = 50;
+
+    private int pendingAcquireMaxCount = 100;
+
+    private Duration pendingAcquireTimeout = Duration.ofMillis(500);
+
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+
+    private Duration connectTimeout = Duration.ofSeconds(1);
+
+    private Duration readTimeout = Duration.ofSeconds(2);
+
+    private DataSize maxResponseSize = DataSize.ofKilobytes(64);
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public void setBaseUrl(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public String getSyncPath() {
+        return syncPath;
+    }
+
+    public void setSyncPath(String syncPath) {
+        this.syncPath = syncPath;
+    }
+
+    public String getAsyncPath() {
+        return asyncPath;
+    }
+
+    public void setAsyncPath(String asyncPath) {
+        this.asyncPath = asyncPath;
+    }
+
+    public Protocol getProtocol() {
+        return protocol;
+    }
+
+    public void setProtocol(Protocol protocol) {
+        this.protocol = protocol;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    public int getPendingAcquireMaxCount() {
+        return pendingAcquireMaxCount;
+    }
+
+    public void setPendingAcquireMaxCount(int pendingAcquireMaxCount) {
+        this.pendingAcquireMaxCount = pendingAcquireMaxCount;
+    }
+
+    public Duration getPendingAcquireTimeout() {
+        return pendingAcquireTimeout;
+    }
+
+    public void setPendingAcquireTimeout(Duration pendingAcquireTimeout) {
+        this.pendingAcquireTimeout = pendingAcquireTimeout;
+    }
+
+    public Duration getMaxIdleTime() {
+        return maxIdleTime;
+    }
+
+    public void setMaxIdleTime(Duration maxIdleTime) {
+        this.maxIdleTime = maxIdleTime;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public Duration getReadTimeout() {
+        return readTimeout;
+    }
+
+    public void setReadTimeout(Duration readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+
+    public DataSize getMaxResponseSize() {
+        return maxResponseSize;
+    }
+
+    public void setMaxResponseSize(DataSize maxResponseSize) {
+        this.maxResponseSize = maxResponseSize;
+    }
+}
@@ -0,0 +1,22 @@
+package com.bahar.demo.config;
+
+import com.bahar.demo.executor.NamedExecutorRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * ExecutorsConfig
+ * -------------------------
+ * ساخت registry executorهای نام‌دار از روی تنظیمات demo.executors.
+ * هنگام بسته شدن Context همه‌ی executorها به‌صورت graceful خاموش می‌شوند.
+ */
+@Configuration
+@EnableConfigurationProperties(ExecutorsProperties.class)
+public class ExecutorsConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public NamedExecutorRegistry namedExecutorRegistry(ExecutorsProperties properties) {
+        return new NamedExecutorRegistry(properties);
+    }
+}
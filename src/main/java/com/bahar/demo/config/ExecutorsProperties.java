@@ -0,0 +1,183 @@
+package com.bahar.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ExecutorsProperties
+ * -------------------------
+ * تعریف executorهای نام‌دار برای هر downstream (بلاک demo.executors در application.yml):
+ *
+ * <pre>
+ * demo:
+ *   executors:
+ *     defaults:            ← مقادیر پایه برای executorهایی که صریحاً تعریف نشده‌اند
+ *       corePoolSize: 4
+ *     instances:
+ *       externalService:   ← نام executor = نام downstream
+ *         maxPoolSize: 32
+ *         queueType: ARRAY
+ *         rejectionPolicy: ABORT
+ * </pre>
+ *
+ * فیلدهایی که در instance مقدار ندارند از defaults گرفته می‌شوند (مشابه baseConfig در resilience4j).
+ * با صف ARRAY/LINKED همه‌ی maxPoolSize thread قبل از صف گرفتن استفاده می‌شوند و corePoolSize نادیده گرفته می‌شود
+ * (threadهای بیکار بعد از keepAlive آزاد می‌شوند)؛ corePoolSize فقط برای صف SYNCHRONOUS معنا دارد.
+ */
+@ConfigurationProperties(prefix = "demo.executors")
+public class ExecutorsProperties {
+
+    /** مقادیر پایه */
+    private Spec defaults = Spec.builtInDefaults();
+
+    /** executorهای نام‌دار */
+    private Map<String, Spec> instances = new LinkedHashMap<>();
+
+    public Spec getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(Spec defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<String, Spec> getInstances() {
+        return instances;
+    }
+
+    public void setInstances(Map<String, Spec> instances) {
+        this.instances = instances;
+    }
+
+    /**
+     * تنظیمات نهایی یک executor (instance ادغام‌شده با defaults)
+     *
+     * @param name نام executor
+     * @return Spec کامل
+     */
+    public Spec resolve(String name) {
+        Spec own = instances.get(name);
+        return own == null ? defaults : own.withFallback(defaults);
+    }
+
+    /** نوع صف ThreadPoolExecutor */
+    public enum QueueType {
+        /** صف آرایه‌ای با ظرفیت ثابت */
+        ARRAY,
+        /** صف پیوندی با ظرفیت queueCapacity */
+        LINKED,
+        /** بدون صف؛ هر task یا فوراً thread می‌گیرد یا rejection policy اعمال می‌شود */
+        SYNCHRONOUS
+    }
+
+    /**
+     * رفتار هنگام پر بودن pool و صف.
+     * سیاست‌های discard عمداً پشتیبانی نمی‌شوند: taskها CompletableFuture.supplyAsync هستند و task دورریخته
+     * Future خود را هرگز کامل نمی‌کند (فراخواننده تا timeout بیرونی معطل می‌ماند و rejection هم دیده نمی‌شود).
+     */
+    public enum RejectionPolicy {
+        /** پرتاب RejectedExecutionException (Future ناموفق برمی‌گردد) */
+        ABORT,
+        /** اجرای task روی thread فراخواننده (backpressure طبیعی) */
+        CALLER_RUNS
+    }
+
+    /**
+     * تنظیمات یک executor
+     * -------------------------
+     * مقادیر null یعنی «از defaults بگیر».
+     */
+    public static class Spec {
+
+        private Integer corePoolSize;
+        private Integer maxPoolSize;
+        private QueueType queueType;
+        private Integer queueCapacity;
+        private RejectionPolicy rejectionPolicy;
+        private Duration keepAlive;
+        private Boolean virtualThreads;
+
+        static Spec builtInDefaults() {
+            Spec spec = new Spec();
+            spec.corePoolSize = 4;
+            spec.maxPoolSize = 16;
+            spec.queueType = QueueType.ARRAY;
+            spec.queueCapacity = 200;
+            spec.rejectionPolicy = RejectionPolicy.ABORT;
+            spec.keepAlive = Duration.ofSeconds(60);
+            spec.virtualThreads = false;
+            return spec;
+        }
+
+        Spec withFallback(Spec base) {
+            Spec merged = new Spec();
+            merged.corePoolSize = corePoolSize != null ? corePoolSize : base.corePoolSize;
+            merged.maxPoolSize = maxPoolSize != null ? maxPoolSize : base.maxPoolSize;
+            merged.queueType = queueType != null ? queueType : base.queueType;
+            merged.queueCapacity = queueCapacity != null ? queueCapacity : base.queueCapacity;
+            merged.rejectionPolicy = rejectionPolicy != null ? rejectionPolicy : base.rejectionPolicy;
+            merged.keepAlive = keepAlive != null ? keepAlive : base.keepAlive;
+            merged.virtualThreads = virtualThreads != null ? virtualThreads : base.virtualThreads;
+            return merged;
+        }
+
+        public Integer getCorePoolSize() {
+            return corePoolSize;
+        }
+
+        public void setCorePoolSize(Integer corePoolSize) {
+            this.corePoolSize = corePoolSize;
+        }
+
+        public Integer getMaxPoolSize() {
+            return maxPoolSize;
+        }
+
+        public void setMaxPoolSize(Integer maxPoolSize) {
+            this.maxPoolSize = maxPoolSize;
+        }
+
+        public QueueType getQueueType() {
+            return queueType;
+        }
+
+        public void setQueueType(QueueType queueType) {
+            this.queueType = queueType;
+        }
+
+        public Integer getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(Integer queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public RejectionPolicy getRejectionPolicy() {
+            return rejectionPolicy;
+        }
+
+        public void setRejectionPolicy(RejectionPolicy rejectionPolicy) {
+            this.rejectionPolicy = rejectionPolicy;
+        }
+
+        public Duration getKeepAlive() {
+            return keepAlive;
+        }
+
+        public void setKeepAlive(Duration keepAlive) {
+            this.keepAlive = keepAlive;
+        }
+
+        public Boolean getVirtualThreads() {
+            return virtualThreads;
+        }
+
+        public void setVirtualThreads(Boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+        }
+    }
+}
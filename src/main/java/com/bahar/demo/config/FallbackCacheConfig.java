@@ -0,0 +1,21 @@
+package com.bahar.demo.config;
+
+import com.bahar.demo.cache.LastKnownGoodCache;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * FallbackCacheConfig
+ * -------------------------
+ * ساخت Bean cache آخرین پاسخ موفق از روی تنظیمات demo.fallback-cache.
+ */
+@Configuration
+@EnableConfigurationProperties(FallbackCacheProperties.class)
+public class FallbackCacheConfig {
+
+    @Bean
+    public LastKnownGoodCache lastKnownGoodCache(FallbackCacheProperties properties) {
+        return new LastKnownGoodCache(properties);
+    }
+}
@@ -0,0 +1,38 @@
+package com.bahar.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * FallbackCacheProperties
+ * -------------------------
+ * تنظیمات cache آخرین پاسخ موفق (بلاک demo.fallback-cache در application.yml):
+ *  - maximumSize → سقف تعداد کلیدها (حذف با سیاست W-TinyLFU در Caffeine)
+ *  - ttl         → عمر هر مقدار از زمان ثبت؛ مقدار قدیمی‌تر در fallback استفاده نمی‌شود
+ */
+@ConfigurationProperties(prefix = "demo.fallback-cache")
+public class FallbackCacheProperties {
+
+    /** سقف تعداد کلیدها */
+    private long maximumSize = 1_000;
+
+    /** عمر مقدار از زمان ثبت */
+    private Duration ttl = Duration.ofMinutes(10);
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+}
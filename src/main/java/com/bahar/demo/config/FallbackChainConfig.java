@@ -0,0 +1,62 @@
+package com.bahar.demo.config;
+
+import com.bahar.demo.cache.LastKnownGoodCache;
+import com.bahar.demo.downstream.Downstream;
+import com.bahar.demo.downstream.HttpDownstream;
+import com.bahar.demo.executor.NamedExecutorRegistry;
+import com.bahar.demo.fallback.FallbackChain;
+import com.bahar.demo.fallback.SystemLoad;
+import com.bahar.demo.resilience.AdaptiveConcurrencyLimiter;
+import com.bahar.demo.simulation.FaultInjector;
+import com.bahar.demo.simulation.SimulatedDownstream;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+/**
+ * FallbackChainConfig
+ * -------------------------
+ * ساخت Bean زنجیره‌ی fallback مسیر sync از روی تنظیمات demo.fallback-chain:
+ *  - منبع دوم: secondary.url خالی → endpoint "secondary" شبیه‌ساز (پیش‌فرض همیشه موفق) روی executor
+ *    "fallbackSecondary"؛ در غیر این صورت HttpDownstream با pool جدا ("fallbackSecondary") و readTimeout برابر budget
+ *  - بار: SystemLoad روی AdaptiveConcurrencyLimiter و CPU
+ *  - enabled=false → فقط آخرین پاسخ موفق (FallbackChain.lastKnownGoodOnly)
+ * pool منبع دوم هنگام بسته شدن Context آزاد می‌شود.
+ */
+@Configuration
+@EnableConfigurationProperties(FallbackChainProperties.class)
+public class FallbackChainConfig {
+
+    /** نام executor و pool منبع دوم */
+    private static final String SECONDARY_NAME = "fallbackSecondary";
+
+    @Bean(destroyMethod = "shutdown")
+    public FallbackChain fallbackChain(FallbackChainProperties properties, LastKnownGoodCache lastKnownGoodCache,
+                                       AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter,
+                                       FaultInjector faultInjector, NamedExecutorRegistry executors) {
+        if (!properties.isEnabled()) {
+            return FallbackChain.lastKnownGoodOnly(lastKnownGoodCache);
+        }
+        Downstream secondary = properties.getSecondary().isEnabled()
+                ? secondary(properties.getSecondary(), faultInjector, executors) : null;
+        return new FallbackChain(properties, lastKnownGoodCache, secondary,
+                new SystemLoad(adaptiveConcurrencyLimiter, properties.getLoadSampleInterval()));
+    }
+
+    private static Downstream secondary(FallbackChainProperties.Secondary secondary, FaultInjector faultInjector,
+                                        NamedExecutorRegistry executors) {
+        if (!StringUtils.hasText(secondary.getUrl())) {
+            FaultInjector.Endpoint endpoint = faultInjector.endpoint("secondary", SimulatorProperties.Schedule.NEVER, 0);
+            return new SimulatedDownstream(endpoint, endpoint, executors.executor(SECONDARY_NAME));
+        }
+        DownstreamProperties http = new DownstreamProperties();
+        http.setMode(DownstreamProperties.Mode.HTTP);
+        http.setBaseUrl(secondary.getUrl());
+        http.setSyncPath(secondary.getPath());
+        http.setAsyncPath(secondary.getPath());
+        http.setMaxConnections(secondary.getMaxConnections());
+        http.setReadTimeout(secondary.getBudget());
+        return new HttpDownstream(http, SECONDARY_NAME);
+    }
+}
@@ -0,0 +1,160 @@
+package com.bahar.demo.config;
+
+import com.bahar.demo.fallback.FailureKind;
+import com.bahar.demo.fallback.FallbackTier;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * FallbackChainProperties
+ * -------------------------
+ * تنظیمات زنجیره‌ی fallback مسیر sync (بلاک demo.fallback-chain در application.yml):
+ *  - enabled            → خاموش: فقط آخرین پاسخ موفق (رفتار قبلی fallbackWithLastKnownGood)
+ *  - policies           → ترتیب tierها برای هر نوع شکست (circuit-open، rejected، timeout، business، error)
+ *  - secondary          → منبع دوم ارزان‌تر: بودجه‌ی تأخیر، سقف بار و آدرس (خالی = شبیه‌ساز)
+ *  - staticDefault      → پاسخ ثابت tier آخر (خالی = فقط پیام fallback)
+ *  - loadSampleInterval → فاصله‌ی خواندن دوباره‌ی بار CPU (بار in-flight هر بار خوانده می‌شود)
+ */
+@ConfigurationProperties(prefix = "demo.fallback-chain")
+public class FallbackChainProperties {
+
+    private boolean enabled = true;
+
+    private Map<FailureKind, List<FallbackTier>> policies = defaultPolicies();
+
+    private Secondary secondary = new Secondary();
+
+    private String staticDefault = "📦 Default content (service degraded)";
+
+    private Duration loadSampleInterval = Duration.ofMillis(250);
+
+    /**
+     * پیش‌فرض: مدار باز و خطای عادی هر سه tier؛ timeout و ردِ ظرفیت فقط tierهای محلی
+     * (بودجه‌ی درخواست یا ظرفیت سیستم تمام شده)؛ خطای business فقط پاسخ ثابت (داده‌ی کهنه پنهانش نمی‌کند)
+     */
+    public static Map<FailureKind, List<FallbackTier>> defaultPolicies() {
+        Map<FailureKind, List<FallbackTier>> policies = new EnumMap<>(FailureKind.class);
+        policies.put(FailureKind.CIRCUIT_OPEN, List.of(FallbackTier.CACHED, FallbackTier.SECONDARY, FallbackTier.STATIC));
+        policies.put(FailureKind.ERROR, List.of(FallbackTier.CACHED, FallbackTier.SECONDARY, FallbackTier.STATIC));
+        policies.put(FailureKind.TIMEOUT, List.of(FallbackTier.CACHED, FallbackTier.STATIC));
+        policies.put(FailureKind.REJECTED, List.of(FallbackTier.CACHED, FallbackTier.STATIC));
+        policies.put(FailureKind.BUSINESS, List.of(FallbackTier.STATIC));
+        return policies;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Map<FailureKind, List<FallbackTier>> getPolicies() {
+        return policies;
+    }
+
+    public void setPolicies(Map<FailureKind, List<FallbackTier>> policies) {
+        this.policies = policies;
+    }
+
+    public Secondary getSecondary() {
+        return secondary;
+    }
+
+    public void setSecondary(Secondary secondary) {
+        this.secondary = secondary;
+    }
+
+    public String getStaticDefault() {
+        return staticDefault;
+    }
+
+    public void setStaticDefault(String staticDefault) {
+        this.staticDefault = staticDefault;
+    }
+
+    public Duration getLoadSampleInterval() {
+        return loadSampleInterval;
+    }
+
+    public void setLoadSampleInterval(Duration loadSampleInterval) {
+        this.loadSampleInterval = loadSampleInterval;
+    }
+
+    /**
+     * tier منبع دوم
+     * -------------------------
+     *  - enabled        → خاموش: tier همیشه رد می‌شود
+     *  - budget         → سقف انتظار برای پاسخ (همچنین محدود به deadline باقی‌مانده‌ی درخواست)
+     *  - maxLoad        → بار بیشتر از این (۰ تا ۱) → tier رد می‌شود تا fallback بار اضافه نسازد
+     *  - url/path       → downstream HTTP منبع دوم؛ url خالی = endpoint "secondary" شبیه‌ساز
+     *  - maxConnections → اندازه‌ی pool جدای منبع دوم
+     */
+    public static class Secondary {
+
+        private boolean enabled = true;
+
+        private Duration budget = Duration.ofMillis(50);
+
+        private double maxLoad = 0.7;
+
+        private String url;
+
+        private String path = "/fallback";
+
+        private int maxConnections = 10;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getBudget() {
+            return budget;
+        }
+
+        public void setBudget(Duration budget) {
+            this.budget = budget;
+        }
+
+        public double getMaxLoad() {
+            return maxLoad;
+        }
+
+        public void setMaxLoad(double maxLoad) {
+            this.maxLoad = maxLoad;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.bahar.demo.config;
+
+import com.bahar.demo.keyed.KeyedCircuitBreakers;
+import com.bahar.demo.resilience.Hedging;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * HedgingConfig
+ * -------------------------
+ * ساخت Bean hedging از روی تنظیمات demo.hedging.
+ * hedge فقط وقتی فرستاده می‌شود که مدار سراسری (demo.hedging.circuitBreaker) و مدار کلیددار tenant جاری
+ * هر دو CLOSED باشند؛ مدار با نام از registry خوانده می‌شود تا بعد از reload تنظیمات هم نمونه‌ی جدید دیده شود.
+ * زمان‌بند آن هنگام بسته شدن Context متوقف می‌شود.
+ */
+@Configuration
+@EnableConfigurationProperties(HedgingProperties.class)
+public class HedgingConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public Hedging hedging(HedgingProperties properties, CircuitBreakerRegistry circuitBreakerRegistry,
+                           KeyedCircuitBreakers keyedCircuitBreakers) {
+        return new Hedging(properties, () -> closed(circuitBreakerRegistry.find(properties.getCircuitBreaker())
+                .orElse(null)) && closed(keyedCircuitBreakers.current().orElse(null)));
+    }
+
+    private static boolean closed(CircuitBreaker circuitBreaker) {
+        return circuitBreaker == null || circuitBreaker.getState() == CircuitBreaker.State.CLOSED;
+    }
+}
@@ -0,0 +1,145 @@
+package com.bahar.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * HedgingProperties
+ * -------------------------
+ * تنظیمات hedging فراخوانی async downstream (بلاک demo.hedging در application.yml):
+ *  - enabled             → فعال/غیرفعال کردن hedging (فقط برای downstream idempotent)
+ *  - delay               → تأخیر ثابت قبل از تلاش دوم؛ خالی = تطبیقی از روی percentile تأخیر اخیر
+ *  - percentile          → percentile تأخیر تلاش‌های موفق اخیر که تأخیر تطبیقی از آن گرفته می‌شود
+ *  - minDelay/maxDelay   → بازه‌ی مجاز تأخیر تطبیقی (تا پیش از minSamples نمونه، maxDelay)
+ *  - sampleSize          → تعداد آخرین نمونه‌های تأخیر برای محاسبه‌ی percentile
+ *  - minSamples          → کمترین نمونه قبل از استفاده از percentile
+ *  - refreshInterval     → فاصله‌ی محاسبه‌ی دوباره‌ی تأخیر تطبیقی (خارج از مسیر درخواست)
+ *  - budget              → سقف بار اضافه: به ازای هر فراخوانی این کسر از یک hedge اعتبار جمع می‌شود (0.05 = ۵٪)
+ *  - budgetBurst         → سقف اعتبار جمع‌شده (تعداد hedge پشت‌سرهم بعد از دوره‌ی آرام)
+ *  - circuitBreaker      → در حالت غیر CLOSED این مدار (و مدار کلیددار tenant) hedge فرستاده نمی‌شود
+ */
+@ConfigurationProperties(prefix = "demo.hedging")
+public class HedgingProperties {
+
+    /** فعال/غیرفعال کردن hedging */
+    private boolean enabled = true;
+
+    /** تأخیر ثابت تلاش دوم (null = تطبیقی) */
+    private Duration delay;
+
+    /** percentile تأخیر اخیر برای تأخیر تطبیقی */
+    private double percentile = 0.95;
+
+    /** کمترین تأخیر تطبیقی */
+    private Duration minDelay = Duration.ofMillis(20);
+
+    /** بیشترین تأخیر تطبیقی (و تأخیر پیش از جمع شدن نمونه‌ی کافی) */
+    private Duration maxDelay = Duration.ofSeconds(1);
+
+    /** تعداد نمونه‌های تأخیر نگه‌داری‌شده */
+    private int sampleSize = 1024;
+
+    /** کمترین نمونه برای استفاده از percentile */
+    private int minSamples = 100;
+
+    /** فاصله‌ی محاسبه‌ی دوباره‌ی تأخیر تطبیقی */
+    private Duration refreshInterval = Duration.ofSeconds(1);
+
+    /** سقف بار اضافه‌ی hedge نسبت به کل فراخوانی‌ها */
+    private double budget = 0.05;
+
+    /** سقف اعتبار جمع‌شده بر حسب تعداد hedge */
+    private int budgetBurst = 10;
+
+    /** مدار سراسری مسیر async که وضعیتش شرط فرستادن hedge است */
+    private String circuitBreaker = "externalServiceAsync";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getDelay() {
+        return delay;
+    }
+
+    public void setDelay(Duration delay) {
+        this.delay = delay;
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    public void setPercentile(double percentile) {
+        this.percentile = percentile;
+    }
+
+    public Duration getMinDelay() {
+        return minDelay;
+    }
+
+    public void setMinDelay(Duration minDelay) {
+        this.minDelay = minDelay;
+    }
+
+    public Duration getMaxDelay() {
+        return maxDelay;
+    }
+
+    public void setMaxDelay(Duration maxDelay) {
+        this.maxDelay = maxDelay;
+    }
+
+    public int getSampleSize() {
+        return sampleSize;
+    }
+
+    public void setSampleSize(int sampleSize) {
+        this.sampleSize = sampleSize;
+    }
+
+    public int getMinSamples() {
+        return minSamples;
+    }
+
+    public void setMinSamples(int minSamples) {
+        this.minSamples = minSamples;
+    }
+
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    public double getBudget() {
+        return budget;
+    }
+
+    public void setBudget(double budget) {
+        this.budget = budget;
+    }
+
+    public int getBudgetBurst() {
+        return budgetBurst;
+    }
+
+    public void setBudgetBurst(int budgetBurst) {
+        this.budgetBurst = budgetBurst;
+    }
+
+    public String getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public void setCircuitBreaker(String circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+}
@@ -0,0 +1,33 @@
+package com.bahar.demo.config;
+
+import com.bahar.demo.keyed.BreakerKeyFilter;
+import com.bahar.demo.keyed.KeyedCircuitBreakers;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * KeyedBreakerConfig
+ * -------------------------
+ * ساخت KeyedCircuitBreakers از روی demo.keyed-breakers و config نام‌دار resilience4j
+ * (اگر config با آن نام تعریف نشده باشد، config پیش‌فرض registry) و فیلتر خواندن کلید از header.
+ */
+@Configuration
+@EnableConfigurationProperties(KeyedBreakerProperties.class)
+public class KeyedBreakerConfig {
+
+    @Bean
+    public KeyedCircuitBreakers keyedCircuitBreakers(KeyedBreakerProperties properties,
+                                                     CircuitBreakerRegistry circuitBreakerRegistry) {
+        return new KeyedCircuitBreakers(properties, circuitBreakerRegistry.getConfiguration(properties.getConfig())
+                .orElseGet(circuitBreakerRegistry::getDefaultConfig));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "demo.keyed-breakers", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public BreakerKeyFilter breakerKeyFilter(KeyedBreakerProperties properties) {
+        return new BreakerKeyFilter(properties);
+    }
+}
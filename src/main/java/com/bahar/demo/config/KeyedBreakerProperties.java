@@ -0,0 +1,80 @@
+package com.bahar.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * KeyedBreakerProperties
+ * -------------------------
+ * تنظیمات circuit breakerهای کلیددار (بلاک demo.keyed-breakers در application.yml):
+ *  - enabled      → خاموش: فقط breakerهای سراسری
+ *  - header       → header کلید درخواست (مثلاً tenant)؛ بدون header فقط breaker سراسری اعمال می‌شود
+ *  - maxKeyLength → کلید بلندتر کوتاه می‌شود
+ *  - config       → نام config در resilience4j.circuitbreaker.configs که breaker هر کلید از آن ساخته می‌شود
+ *  - maximumSize  → سقف تعداد breakerهای نگه‌داری‌شده
+ *  - idleTimeout  → breaker بدون فراخوانی در این مدت حذف می‌شود
+ */
+@ConfigurationProperties(prefix = "demo.keyed-breakers")
+public class KeyedBreakerProperties {
+
+    private boolean enabled = true;
+
+    private String header = "X-Tenant-Id";
+
+    private int maxKeyLength = 64;
+
+    private String config = "perKey";
+
+    private long maximumSize = 10_000;
+
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getHeader() {
+        return header;
+    }
+
+    public void setHeader(String header) {
+        this.header = header;
+    }
+
+    public int getMaxKeyLength() {
+        return maxKeyLength;
+    }
+
+    public void setMaxKeyLength(int maxKeyLength) {
+        this.maxKeyLength = maxKeyLength;
+    }
+
+    public String getConfig() {
+        return config;
+    }
+
+    public void setConfig(String config) {
+        this.config = config;
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(Duration idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+}
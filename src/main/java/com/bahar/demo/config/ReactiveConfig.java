@@ -0,0 +1,15 @@
+package com.bahar.demo.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * ReactiveConfig
+ * -------------------------
+ * فعال‌سازی تنظیمات demo.reactive برای ReactiveExternalServiceImpl.
+ * خود ReactiveCircuitBreakerFactory توسط spring-cloud-starter-circuitbreaker-reactor-resilience4j ساخته می‌شود.
+ */
+@Configuration
+@EnableConfigurationProperties(ReactiveProperties.class)
+public class ReactiveConfig {
+}
@@ -0,0 +1,83 @@
+package com.bahar.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * ReactiveProperties
+ * -------------------------
+ * تنظیمات endpointهای reactive (بلاک demo.reactive در application.yml):
+ *  - circuitBreakerName → نام instance در resilience4j.circuitbreaker (و resilience4j.timelimiter)
+ *  - retry              → Reactor retry با backoff نمایی و jitter (بدون بلاک کردن thread)؛ فقط مسیر callSync،
+ *                         callAsync از retry خود asyncProcess (demo.async-retry) استفاده می‌کند
+ */
+@ConfigurationProperties(prefix = "demo.reactive")
+public class ReactiveProperties {
+
+    /** نام circuit breaker در ReactiveCircuitBreakerFactory */
+    private String circuitBreakerName = "reactiveExternalService";
+
+    /** تنظیمات retry */
+    private final Retry retry = new Retry();
+
+    public String getCircuitBreakerName() {
+        return circuitBreakerName;
+    }
+
+    public void setCircuitBreakerName(String circuitBreakerName) {
+        this.circuitBreakerName = circuitBreakerName;
+    }
+
+    public Retry getRetry() {
+        return retry;
+    }
+
+    /** تنظیمات Retry.backoff در Reactor */
+    public static class Retry {
+
+        /** تعداد تلاش مجدد (بدون احتساب تلاش اول) */
+        private long maxRetries = 2;
+
+        /** حداقل فاصله‌ی بین تلاش‌ها */
+        private Duration minBackoff = Duration.ofMillis(100);
+
+        /** سقف فاصله‌ی بین تلاش‌ها */
+        private Duration maxBackoff = Duration.ofSeconds(1);
+
+        /** ضریب jitter بین ۰ و ۱ */
+        private double jitter = 0.5;
+
+        public long getMaxRetries() {
+            return maxRetries;
+        }
+
+        public void setMaxRetries(long maxRetries) {
+            this.maxRetries = maxRetries;
+        }
+
+        public Duration getMinBackoff() {
+            return minBackoff;
+        }
+
+        public void setMinBackoff(Duration minBackoff) {
+            this.minBackoff = minBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+
+        public double getJitter() {
+            return jitter;
+        }
+
+        public void setJitter(double jitter) {
+            this.jitter = jitter;
+        }
+    }
+}
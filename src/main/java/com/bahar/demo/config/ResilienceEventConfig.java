@@ -0,0 +1,53 @@
+package com.bahar.demo.config;
+
+import com.bahar.demo.events.ResilienceEventExporter;
+import com.bahar.demo.events.ResilienceEventPipeline;
+import com.bahar.demo.events.RollingFileEventExporter;
+import com.bahar.demo.events.SocketEventExporter;
+import com.bahar.demo.resilience.NonBlockingRetry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * ResilienceEventConfig
+ * -------------------------
+ * ساخت خط لوله‌ی رویدادها از روی demo.events: exporter (file، socket یا none) و ResilienceEventPipeline
+ * که به رویدادهای CircuitBreakerRegistry، RetryRegistry و retry غیرمسدودکننده‌ی async وصل می‌شود.
+ * هنگام بسته شدن Context رویدادهای باقی‌مانده export و سپس فایل/socket بسته می‌شود.
+ */
+@Configuration
+@EnableConfigurationProperties(ResilienceEventProperties.class)
+public class ResilienceEventConfig {
+
+    /** buffer بایتی exporter؛ هر دسته معمولاً با یک write نوشته می‌شود */
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    @Bean(destroyMethod = "shutdown")
+    public ResilienceEventPipeline resilienceEventPipeline(ResilienceEventProperties properties,
+                                                           CircuitBreakerRegistry circuitBreakerRegistry,
+                                                           RetryRegistry retryRegistry,
+                                                           NonBlockingRetry nonBlockingRetry) {
+        ResilienceEventPipeline pipeline = new ResilienceEventPipeline(properties,
+                properties.isEnabled() ? exporter(properties) : ResilienceEventExporter.NONE);
+        pipeline.recordEventsOf(circuitBreakerRegistry);
+        pipeline.recordEventsOf(retryRegistry);
+        pipeline.recordEventsOf(nonBlockingRetry);
+        return pipeline;
+    }
+
+    private static ResilienceEventExporter exporter(ResilienceEventProperties properties) {
+        return switch (properties.getExporter()) {
+            case FILE -> new RollingFileEventExporter(Path.of(properties.getFile().getDirectory()),
+                    properties.getFile().getBaseName(), properties.getFile().getMaxFileSize().toBytes(),
+                    properties.getFile().getMaxFiles(), WRITE_BUFFER_SIZE);
+            case SOCKET -> new SocketEventExporter(SocketEventExporter.address(properties.getSocket().getAddress()),
+                    properties.getSocket().getReconnectInterval(), WRITE_BUFFER_SIZE);
+            case NONE -> ResilienceEventExporter.NONE;
+        };
+    }
+}
@@ -0,0 +1,156 @@
+package com.bahar.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * ResilienceEventProperties
+ * -------------------------
+ * تنظیمات خط لوله‌ی رویدادهای breaker/retry/fallback (بلاک demo.events در application.yml):
+ *  - enabled    → خاموش: هیچ listener و thread consumerای ساخته نمی‌شود
+ *  - bufferSize → ظرفیت ring buffer (توان ۲)؛ وقتی پر است رویداد جدید دور ریخته و شمرده می‌شود
+ *  - batchSize  → بیشترین تعداد رویداد در هر دسته‌ی export
+ *  - idleWait   → خواب consumer وقتی ring خالی است (producer برای بیدار کردن آن کاری نمی‌کند)
+ *  - exporter   → file (NDJSON چرخشی)، socket (Unix domain یا TCP محلی) یا none
+ *  - file       → directory، baseName، maxFileSize و maxFiles (تعداد فایل‌ها با فایل جاری)
+ *  - socket     → address ("unix:/path" یا "host:port") و reconnectInterval
+ */
+@ConfigurationProperties(prefix = "demo.events")
+public class ResilienceEventProperties {
+
+    public enum Exporter {
+        FILE,
+        SOCKET,
+        NONE
+    }
+
+    private boolean enabled = true;
+
+    private int bufferSize = 65_536;
+
+    private int batchSize = 512;
+
+    private Duration idleWait = Duration.ofMillis(10);
+
+    private Exporter exporter = Exporter.FILE;
+
+    private final File file = new File();
+
+    private final Socket socket = new Socket();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getIdleWait() {
+        return idleWait;
+    }
+
+    public void setIdleWait(Duration idleWait) {
+        this.idleWait = idleWait;
+    }
+
+    public Exporter getExporter() {
+        return exporter;
+    }
+
+    public void setExporter(Exporter exporter) {
+        this.exporter = exporter;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public Socket getSocket() {
+        return socket;
+    }
+
+    public static class File {
+
+        private String directory = "logs/events";
+
+        private String baseName = "resilience-events";
+
+        private DataSize maxFileSize = DataSize.ofMegabytes(50);
+
+        private int maxFiles = 10;
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public String getBaseName() {
+            return baseName;
+        }
+
+        public void setBaseName(String baseName) {
+            this.baseName = baseName;
+        }
+
+        public DataSize getMaxFileSize() {
+            return maxFileSize;
+        }
+
+        public void setMaxFileSize(DataSize maxFileSize) {
+            this.maxFileSize = maxFileSize;
+        }
+
+        public int getMaxFiles() {
+            return maxFiles;
+        }
+
+        public void setMaxFiles(int maxFiles) {
+            this.maxFiles = maxFiles;
+        }
+    }
+
+    public static class Socket {
+
+        private String address = "unix:/tmp/resilience-events.sock";
+
+        private Duration reconnectInterval = Duration.ofSeconds(5);
+
+        public String getAddress() {
+            return address;
+        }
+
+        public void setAddress(String address) {
+            this.address = address;
+        }
+
+        public Duration getReconnectInterval() {
+            return reconnectInterval;
+        }
+
+        public void setReconnectInterval(Duration reconnectInterval) {
+            this.reconnectInterval = reconnectInterval;
+        }
+    }
+}
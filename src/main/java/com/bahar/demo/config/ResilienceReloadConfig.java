@@ -0,0 +1,60 @@
+package com.bahar.demo.config;
+
+import com.bahar.demo.resilience.ResilienceConfigFileWatcher;
+import com.bahar.demo.resilience.ResilienceConfigReloader;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * ResilienceReloadConfig
+ * -------------------------
+ * حالت file-watch (فقط وقتی demo.resilience.reload.file مقدار غیرخالی داشته باشد؛ "file:" خالی در yml = غیرفعال):
+ * فایل یک بار هنگام شروع اعمال می‌شود و سپس تغییراتش دنبال می‌شوند.
+ * thread ناظر هنگام بسته شدن Context متوقف می‌شود.
+ * با spring.main.lazy-initialization (پروفایل fast-startup) هم ناظر همان هنگام شروع ساخته می‌شود،
+ * چون هیچ Bean دیگری آن را تزریق نمی‌گیرد.
+ */
+@Configuration
+@EnableConfigurationProperties(ResilienceReloadProperties.class)
+public class ResilienceReloadConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    @Conditional(OnReloadFile.class)
+    public ResilienceConfigFileWatcher resilienceConfigFileWatcher(ResilienceReloadProperties properties,
+                                                                   ResilienceConfigReloader reloader) throws IOException {
+        ResilienceConfigFileWatcher watcher = new ResilienceConfigFileWatcher(Path.of(properties.getFile().trim()),
+                reloader, properties.isCarryOverState());
+        watcher.start();
+        return watcher;
+    }
+
+    /**
+     * demo.resilience.reload.file تنظیم شده و خالی نیست (ConditionalOnProperty مقدار "" را هم تنظیم‌شده می‌داند)
+     */
+    static class OnReloadFile extends SpringBootCondition {
+
+        @Override
+        public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            String file = context.getEnvironment().getProperty("demo.resilience.reload.file");
+            return StringUtils.hasText(file)
+                    ? ConditionOutcome.match("demo.resilience.reload.file is " + file)
+                    : ConditionOutcome.noMatch("demo.resilience.reload.file is blank");
+        }
+    }
+
+    @Bean
+    static LazyInitializationExcludeFilter resilienceConfigFileWatcherEagerly() {
+        return LazyInitializationExcludeFilter.forBeanTypes(ResilienceConfigFileWatcher.class);
+    }
+}
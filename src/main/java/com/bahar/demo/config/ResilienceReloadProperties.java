@@ -0,0 +1,39 @@
+package com.bahar.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * ResilienceReloadProperties
+ * -------------------------
+ * حالت file-watch برای تنظیمات CircuitBreaker/Retry (بلاک demo.resilience.reload در application.yml):
+ *  - file           → مسیر فایل properties؛ خالی = غیرفعال. هر تغییر فایل فوراً اعمال می‌شود، مثلاً:
+ *                       externalService.circuitbreaker.failureRateThreshold=40
+ *                       externalService.circuitbreaker.waitDurationInOpenState=10s
+ *                       externalService.retry.maxAttempts=2
+ *  - carryOverState → انتقال وضعیت مدار و sliding window به instance جدید
+ */
+@ConfigurationProperties(prefix = "demo.resilience.reload")
+public class ResilienceReloadProperties {
+
+    /** مسیر فایل properties (خالی = غیرفعال) */
+    private String file;
+
+    /** انتقال وضعیت مدار و sliding window به instance جدید */
+    private boolean carryOverState = true;
+
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public boolean isCarryOverState() {
+        return carryOverState;
+    }
+
+    public void setCarryOverState(boolean carryOverState) {
+        this.carryOverState = carryOverState;
+    }
+}
@@ -0,0 +1,21 @@
+package com.bahar.demo.config;
+
+import com.bahar.demo.simulation.FaultInjector;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * SimulatorConfig
+ * -------------------------
+ * ساخت Bean downstream شبیه‌سازی‌شده (FaultInjector) از روی تنظیمات demo.simulator.
+ */
+@Configuration
+@EnableConfigurationProperties(SimulatorProperties.class)
+public class SimulatorConfig {
+
+    @Bean
+    public FaultInjector faultInjector(SimulatorProperties properties) {
+        return new FaultInjector(properties);
+    }
+}
@@ -0,0 +1,105 @@
+package com.bahar.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * SimulatorProperties
+ * -------------------------
+ * تنظیمات downstream شبیه‌سازی‌شده (بلاک demo.simulator در application.yml):
+ *  - seed      → seed مشترک زمان‌بندی‌های RANDOM (با seed یکسان، الگوی شکست قابل تکرار است)
+ *  - endpoints → برای هر endpoint نوع زمان‌بندی و نرخ شکست و مدل تأخیر؛ endpointی که اینجا نیامده
+ *                از پیش‌فرض تعریف‌شده در خود سرویس استفاده می‌کند (بدون تأخیر)
+ *      · latency  → تأخیر هر فراخوانی بدون بار (0 = بدون تأخیر)
+ *      · capacity → تعداد فراخوانی هم‌زمانی که downstream بدون کند شدن سرویس می‌دهد؛
+ *                   بیشتر از آن تأخیر به نسبت هم‌زمانی بالا می‌رود (0 = نامحدود، تأخیر ثابت)
+ */
+@ConfigurationProperties(prefix = "demo.simulator")
+public class SimulatorProperties {
+
+    /** seed زمان‌بندی‌های تصادفی */
+    private long seed = 42L;
+
+    /** تنظیمات اختصاصی هر endpoint */
+    private Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public Map<String, Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(Map<String, Endpoint> endpoints) {
+        this.endpoints = endpoints;
+    }
+
+    /** نوع زمان‌بندی شکست */
+    public enum Schedule {
+        /** فرد شکست، زوج موفق */
+        ALTERNATING,
+        /** شکست با احتمال failureRate (قابل تکرار با seed) */
+        RANDOM,
+        /** هرگز شکست نمی‌خورد */
+        NEVER,
+        /** همیشه شکست می‌خورد */
+        ALWAYS
+    }
+
+    /** تنظیمات یک endpoint */
+    public static class Endpoint {
+
+        private Schedule schedule = Schedule.RANDOM;
+        private double failureRate = 0.5;
+        private Duration latency = Duration.ZERO;
+        private int capacity = 0;
+
+        public Endpoint() {
+        }
+
+        public Endpoint(Schedule schedule, double failureRate) {
+            this.schedule = schedule;
+            this.failureRate = failureRate;
+        }
+
+        public Schedule getSchedule() {
+            return schedule;
+        }
+
+        public void setSchedule(Schedule schedule) {
+            this.schedule = schedule;
+        }
+
+        public double getFailureRate() {
+            return failureRate;
+        }
+
+        public void setFailureRate(double failureRate) {
+            this.failureRate = failureRate;
+        }
+
+        public Duration getLatency() {
+            return latency;
+        }
+
+        public void setLatency(Duration latency) {
+            this.latency = latency;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.bahar.demo.config;
+
+import com.bahar.demo.resilience.SingleFlight;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * SingleFlightConfig
+ * -------------------------
+ * ساخت Bean ادغام‌کننده‌ی فراخوانی‌های هم‌زمان از روی تنظیمات demo.single-flight.
+ * زمان‌بند پنجره‌ی micro-batch هنگام بسته شدن Context متوقف می‌شود.
+ */
+@Configuration
+@EnableConfigurationProperties(SingleFlightProperties.class)
+public class SingleFlightConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public SingleFlight singleFlight(SingleFlightProperties properties) {
+        return new SingleFlight(properties);
+    }
+}
@@ -0,0 +1,39 @@
+package com.bahar.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * SingleFlightProperties
+ * -------------------------
+ * تنظیمات ادغام فراخوانی‌های هم‌زمان (بلاک demo.single-flight در application.yml):
+ *  - enabled → فعال/غیرفعال کردن لایه‌ی single-flight روی callExternalApiSync و asyncProcess
+ *  - window  → پنجره‌ی micro-batch: شروع فراخوانی مشترک این مقدار عقب می‌افتد تا درخواست‌های
+ *              بیشتری به آن بپیوندند (0 = بدون تأخیر؛ فقط فراخوانی‌های واقعاً هم‌پوشان ادغام می‌شوند)
+ */
+@ConfigurationProperties(prefix = "demo.single-flight")
+public class SingleFlightProperties {
+
+    /** فعال/غیرفعال کردن لایه‌ی single-flight */
+    private boolean enabled = true;
+
+    /** پنجره‌ی micro-batch قبل از شروع فراخوانی مشترک */
+    private Duration window = Duration.ZERO;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+}
@@ -0,0 +1,122 @@
+package com.bahar.demo.controller;
+
+import com.bahar.demo.config.BatchProperties;
+import com.bahar.demo.deadline.Deadline;
+import com.bahar.demo.deadline.DeadlineContext;
+import com.bahar.demo.keyed.BreakerKeyContext;
+import com.bahar.demo.resilience.SingleFlight;
+import com.bahar.demo.service.ExternalService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * BatchController
+ * -------------------------
+ * مسیر: POST /api/batch   (بدنه: [{"id": "a"}, {"id": "b"}, ...] ؛ پاسخ: application/x-ndjson)
+ *
+ * به جای N درخواست جدا به /api/callAsync، یک درخواست N عملیات asyncProcess را هم‌زمان اجرا می‌کند:
+ *  - حداکثر demo.batch.maxConcurrency عملیات هم‌زمان در هر دسته (کار روی executor محدود "externalService")
+ *  - هر عملیات فراخوانی خودش را به downstream دارد (SingleFlight.independent؛ عملیات‌های هم‌زمان دسته
+ *    در یک فراخوانی مشترک ادغام نمی‌شوند) و fallback خودش را (onSuccess/onError، مثل /api/callAsync)؛
+ *    شکست یکی بقیه را متوقف نمی‌کند
+ *  - نتیجه‌ها به ترتیب تمام شدن، هر کدام در یک خط JSON فرستاده می‌شوند؛ یک عملیات کند بقیه را نگه نمی‌دارد
+ *  - deadline درخواست (X-Request-Timeout-Ms) برای کل دسته است و به همه‌ی عملیات‌ها سپرده می‌شود
+ *  - کلید breaker درخواست (مثلاً X-Tenant-Id) هم برای همه‌ی عملیات‌ها حفظ می‌شود
+ *
+ * دسته‌ی خالی یا بزرگ‌تر از demo.batch.maxItems → پاسخ 400.
+ */
+@RestController
+@RequestMapping("/api")
+public class BatchController {
+
+    private final ExternalService externalService;
+    private final BatchProperties properties;
+
+    /**
+     * @param externalService سرویس خارجی تزریق‌شده توسط Spring
+     * @param properties      تنظیمات demo.batch
+     */
+    public BatchController(ExternalService externalService, BatchProperties properties) {
+        this.externalService = externalService;
+        this.properties = properties;
+    }
+
+    /**
+     * @param operations عملیات‌ها؛ id اختیاری است (پیش‌فرض: اندیس در لیست)
+     * @return جریان نتیجه‌ها به ترتیب تمام شدن
+     */
+    @PostMapping(path = "/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BatchResult> batch(@RequestBody List<BatchOperation> operations) {
+        if (operations.isEmpty() || operations.size() > properties.getMaxItems()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "batch size must be between 1 and " + properties.getMaxItems());
+        }
+        Deadline deadline = DeadlineContext.current();
+        Supplier<CompletableFuture<String>> call = BreakerKeyContext.wrap(
+                () -> SingleFlight.independent(externalService::asyncProcess));
+        long start = System.nanoTime();
+        return Flux.fromStream(IntStream.range(0, operations.size()).boxed())
+                .flatMap(index -> Mono.fromFuture(() -> run(idOf(operations.get(index), index), call, deadline, start)),
+                        properties.getMaxConcurrency());
+    }
+
+    private static String idOf(BatchOperation operation, int index) {
+        return operation == null || operation.id() == null ? String.valueOf(index) : operation.id();
+    }
+
+    private CompletableFuture<BatchResult> run(String id, Supplier<CompletableFuture<String>> call,
+                                               Deadline deadline, long start) {
+        CompletableFuture<String> future;
+        try {
+            // عملیات روی thread تکمیل عملیات قبلی شروع می‌شود؛ deadline و کلید breaker درخواست دوباره نصب می‌شوند
+            future = DeadlineContext.callWith(deadline, call);
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        return future.handle((value, error) -> {
+            long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+            if (error == null) {
+                return new BatchResult(id, BatchResult.SUCCESS, externalService.onSuccess(value), elapsedMillis);
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+            return new BatchResult(id, BatchResult.ERROR, externalService.onError(cause), elapsedMillis);
+        });
+    }
+
+    /**
+     * یک عملیات دسته
+     *
+     * @param id شناسه‌ی دلخواه کلاینت برای تطبیق نتیجه
+     */
+    public record BatchOperation(String id) {
+    }
+
+    /**
+     * نتیجه‌ی یک عملیات (یک خط NDJSON)
+     *
+     * @param id            شناسه‌ی عملیات
+     * @param status        SUCCESS یا ERROR
+     * @param message       پیام onSuccess/onError سرویس
+     * @param elapsedMillis زمان از شروع دسته تا تمام شدن این عملیات
+     */
+    public record BatchResult(String id, String status, String message, long elapsedMillis) {
+
+        public static final String SUCCESS = "SUCCESS";
+        public static final String ERROR = "ERROR";
+    }
+}
@@ -0,0 +1,88 @@
+package com.bahar.demo.controller;
+
+import com.bahar.demo.config.CallbackStreamProperties;
+import com.bahar.demo.deadline.Deadline;
+import com.bahar.demo.deadline.DeadlineContext;
+import com.bahar.demo.service.ExternalService;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * CallbackStreamController
+ * -------------------------
+ * مسیر: GET /api/callback/stream   (پاسخ: text/event-stream)
+ *
+ * به جای poll مداوم /api/callback، کلاینت (مثلاً داشبورد) یک اتصال باز نگه می‌دارد و سرور
+ * هر demo.callback-stream.interval یک processWithCallback اجرا و نتیجه‌اش را به صورت رویداد SSE می‌فرستد:
+ *  - event: callback ، id: شماره‌ی ترتیبی نتیجه در همین اتصال ، data: پیام callback
+ *  - backpressure: نوشتن روی سوکت یکی‌یکی درخواست می‌شود؛ callbackهای در جریان هر مشترک حداکثر
+ *    maxInFlight است و نوبت‌هایی که جا ندارند رد می‌شوند (کار روی BoundedCallbackExecutor انباشته نمی‌شود)
+ *  - buffer محدود هر مشترک (bufferSize)؛ کلاینت کند → قدیمی‌ترین نتیجه دور ریخته می‌شود
+ *    و فاصله در idها دیده می‌شود
+ *  - heartbeat: comment خالی هر demo.callback-stream.heartbeat تا proxyها اتصال بیکار را نبندند
+ *  - هر فراخوانی deadline خودش را دارد (itemTimeout)؛ اتصال بعد از maxDuration تمام می‌شود
+ *
+ * قطع اتصال کلاینت جریان را cancel می‌کند و فراخوانی جدیدی شروع نمی‌شود.
+ */
+@RestController
+@RequestMapping("/api")
+public class CallbackStreamController {
+
+    /** نام رویداد نتیجه‌ی callback */
+    public static final String CALLBACK_EVENT = "callback";
+
+    /** متن comment رویداد heartbeat */
+    public static final String HEARTBEAT_COMMENT = "heartbeat";
+
+    private final ExternalService externalService;
+    private final CallbackStreamProperties properties;
+
+    /**
+     * @param externalService سرویس خارجی تزریق‌شده توسط Spring
+     * @param properties      تنظیمات demo.callback-stream
+     */
+    public CallbackStreamController(ExternalService externalService, CallbackStreamProperties properties) {
+        this.externalService = externalService;
+        this.properties = properties;
+    }
+
+    /**
+     * @return جریان بی‌پایان (تا maxDuration) نتیجه‌های callback و heartbeatها
+     */
+    @GetMapping(path = "/callback/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> stream() {
+        return Flux.defer(() -> {
+            AtomicLong sequence = new AtomicLong();
+            Flux<ServerSentEvent<String>> results = Flux.interval(Duration.ZERO, properties.getInterval())
+                    .onBackpressureDrop()
+                    .flatMap(tick -> callOnce(), properties.getMaxInFlight())
+                    .map(message -> ServerSentEvent.builder(message)
+                            .event(CALLBACK_EVENT)
+                            .id(String.valueOf(sequence.incrementAndGet()))
+                            .build())
+                    .onBackpressureBuffer(properties.getBufferSize(), BufferOverflowStrategy.DROP_OLDEST);
+            Flux<ServerSentEvent<String>> heartbeats = Flux.interval(properties.getHeartbeat(), properties.getHeartbeat())
+                    .onBackpressureDrop()
+                    .map(tick -> ServerSentEvent.<String>builder().comment(HEARTBEAT_COMMENT).build());
+            // prefetch=1: جز buffer بالا هیچ صف دیگری بین تولید و سوکت نیست
+            return Flux.merge(1, results, heartbeats)
+                    .take(properties.getMaxDuration());
+        });
+    }
+
+    private Mono<String> callOnce() {
+        return Mono.create(sink -> DeadlineContext.callWith(Deadline.after(properties.getItemTimeout()), () -> {
+            externalService.processWithCallback(sink::success);
+            return null;
+        }));
+    }
+}
@@ -0,0 +1,63 @@
+package com.bahar.demo.controller;
+
+import com.bahar.demo.service.ReactiveExternalService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * ReactiveExternalController
+ * -------------------------
+ * نسخه‌ی non-blocking سه endpoint کنترلر ExternalController:
+ *  1) /reactive/callSync  → downstream + Reactor retry/backoff + ReactiveCircuitBreaker
+ *  2) /reactive/callAsync → asyncProcess به‌صورت Mono
+ *  3) /reactive/callback  → پل Consumer به Mono (بدون CompletableFuture دستی)
+ *
+ * خروجی همه Mono است؛ thread درخواست تا آماده شدن نتیجه اشغال نمی‌شود.
+ * منطق resilience مانند ExternalController در لایه‌ی سرویس است.
+ */
+@RestController
+@RequestMapping("/reactive")
+public class ReactiveExternalController {
+
+    /** سرویس reactive از طریق سازنده تزریق می‌شود */
+    private final ReactiveExternalService reactiveExternalService;
+
+    /**
+     * @param reactiveExternalService سرویس reactive تزریق‌شده توسط Spring
+     */
+    public ReactiveExternalController(ReactiveExternalService reactiveExternalService) {
+        this.reactiveExternalService = reactiveExternalService;
+    }
+
+    /**
+     * مسیر: GET /reactive/callSync
+     *
+     * @return Mono از "✅ Success on attempt X" یا "⚠️ Fallback response because: ..."
+     */
+    @GetMapping("/callSync")
+    public Mono<String> callSync() {
+        return reactiveExternalService.callSync();
+    }
+
+    /**
+     * مسیر: GET /reactive/callAsync
+     *
+     * @return Mono از پیام SUCCESS/ERROR سرویس
+     */
+    @GetMapping("/callAsync")
+    public Mono<String> callAsync() {
+        return reactiveExternalService.callAsync();
+    }
+
+    /**
+     * مسیر: GET /reactive/callback
+     *
+     * @return Mono از پیام callback سرویس
+     */
+    @GetMapping("/callback")
+    public Mono<String> callback() {
+        return reactiveExternalService.callback();
+    }
+}
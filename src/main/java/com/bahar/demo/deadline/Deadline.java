@@ -0,0 +1,64 @@
+package com.bahar.demo.deadline;
+
+import java.time.Duration;
+
+/**
+ * Deadline
+ * -------------------------
+ * لحظه‌ی پایان بودجه‌ی زمانی یک درخواست (بر پایه‌ی System.nanoTime، مستقل از تغییر ساعت سیستم):
+ *  - after(timeout) → deadline نسبی از همین لحظه
+ *  - none()         → بدون محدودیت (مثلاً فراخوانی خارج از درخواست HTTP)
+ *
+ * شیء immutable است و می‌تواند بین threadها (executor، زمان‌بند retry) جابه‌جا شود.
+ */
+public final class Deadline {
+
+    private static final Deadline NONE = new Deadline(0, false);
+
+    private final long expiresAtNanos;
+    private final boolean bounded;
+
+    private Deadline(long expiresAtNanos, boolean bounded) {
+        this.expiresAtNanos = expiresAtNanos;
+        this.bounded = bounded;
+    }
+
+    /**
+     * @param timeout بودجه‌ی زمانی از همین لحظه
+     */
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos(), true);
+    }
+
+    /** deadline نامحدود */
+    public static Deadline none() {
+        return NONE;
+    }
+
+    public boolean isBounded() {
+        return bounded;
+    }
+
+    public boolean isExpired() {
+        return bounded && System.nanoTime() - expiresAtNanos >= 0;
+    }
+
+    /**
+     * @return زمان باقی‌مانده به نانوثانیه (منفی یعنی گذشته؛ برای none برابر Long.MAX_VALUE)
+     */
+    public long remainingNanos() {
+        return bounded ? expiresAtNanos - System.nanoTime() : Long.MAX_VALUE;
+    }
+
+    /**
+     * @return زمان باقی‌مانده (هرگز منفی نیست)
+     */
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, remainingNanos()));
+    }
+
+    @Override
+    public String toString() {
+        return bounded ? "Deadline[remaining=" + remaining().toMillis() + "ms]" : "Deadline[none]";
+    }
+}
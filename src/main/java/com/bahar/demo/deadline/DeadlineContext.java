@@ -0,0 +1,58 @@
+package com.bahar.demo.deadline;
+
+import java.util.function.Supplier;
+
+/**
+ * DeadlineContext
+ * -------------------------
+ * deadline درخواست جاری روی thread فعلی (ThreadLocal):
+ *  - DeadlineFilter آن را برای هر درخواست HTTP باز می‌کند
+ *  - لایه‌های سرویس با current() آن را روی thread درخواست می‌خوانند و به کارهای async می‌سپارند
+ *  - کدی که کار را روی thread دیگری ادامه می‌دهد (مثل زمان‌بند retry) با callWith همان deadline را دوباره نصب می‌کند
+ *
+ * اگر deadlineی نصب نشده باشد، current() مقدار Deadline.none() برمی‌گرداند.
+ */
+public final class DeadlineContext {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private DeadlineContext() {
+    }
+
+    public static Deadline current() {
+        Deadline deadline = CURRENT.get();
+        return deadline == null ? Deadline.none() : deadline;
+    }
+
+    /**
+     * نصب deadline روی thread فعلی تا close شدن Scope (مقدار قبلی برگردانده می‌شود)
+     */
+    public static Scope open(Deadline deadline) {
+        Deadline previous = CURRENT.get();
+        CURRENT.set(deadline);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * اجرای action با deadline داده‌شده روی thread فعلی
+     */
+    public static <T> T callWith(Deadline deadline, Supplier<T> action) {
+        try (Scope ignored = open(deadline)) {
+            return action.get();
+        }
+    }
+
+    /** محدوده‌ی نصب deadline؛ برای try-with-resources */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
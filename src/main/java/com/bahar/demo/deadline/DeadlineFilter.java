@@ -0,0 +1,55 @@
+package com.bahar.demo.deadline;
+
+import com.bahar.demo.config.DeadlineProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * DeadlineFilter
+ * -------------------------
+ * بودجه‌ی زمانی هر درخواست را از header (پیش‌فرض X-Request-Timeout-Ms) می‌خواند و
+ * در DeadlineContext روی thread درخواست نصب می‌کند:
+ *  - بدون header یا با مقدار نامعتبر → defaultTimeout
+ *  - مقدار بزرگ‌تر از maxTimeout → maxTimeout
+ *
+ * Controller و سرویس‌ها روی همین thread اجرا می‌شوند و deadline را به کارهای async خود می‌سپارند؛
+ * بعد از برگشت thread (حتی در حالت async servlet) context پاک می‌شود.
+ */
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    private final DeadlineProperties properties;
+
+    public DeadlineFilter(DeadlineProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try (DeadlineContext.Scope ignored = DeadlineContext.open(Deadline.after(budget(request)))) {
+            chain.doFilter(request, response);
+        }
+    }
+
+    Duration budget(HttpServletRequest request) {
+        String header = request.getHeader(properties.getHeader());
+        if (header != null) {
+            try {
+                long millis = Long.parseLong(header.trim());
+                if (millis >= 0) {
+                    Duration requested = Duration.ofMillis(millis);
+                    return requested.compareTo(properties.getMaxTimeout()) > 0 ? properties.getMaxTimeout() : requested;
+                }
+            } catch (NumberFormatException ignored) {
+                // مقدار نامعتبر → بودجه‌ی پیش‌فرض
+            }
+        }
+        return properties.getDefaultTimeout();
+    }
+}
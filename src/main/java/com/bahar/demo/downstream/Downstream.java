@@ -0,0 +1,41 @@
+package com.bahar.demo.downstream;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Downstream
+ * -------------------------
+ * سرویس واقعی پشت ExternalServiceImpl (یک تلاش، بدون هیچ resilience):
+ *  - SimulatedDownstream → شبیه‌ساز درون‌پردازه‌ای (FaultInjector؛ پیش‌فرض)
+ *  - HttpDownstream      → فراخوانی HTTP واقعی با connection pool (demo.downstream.mode=http)
+ *
+ * CircuitBreaker/Retry/RateLimiter/Bulkhead روی متدهای ExternalServiceImpl هستند،
+ * پس هر پیاده‌سازی که اینجا قرار بگیرد همان محافظت را دارد.
+ * deadline درخواست (DeadlineContext) روی thread فراخوان خوانده می‌شود.
+ */
+public interface Downstream {
+
+    /**
+     * فراخوانی مسیر sync (مسدودکننده)
+     *
+     * @return متن پاسخ موفق
+     * @throws RuntimeException در صورت شکست downstream
+     */
+    String callSync();
+
+    /**
+     * فراخوانی مسیر async (غیرمسدودکننده)
+     * -------------------------
+     * هیچ‌وقت استثناء پرتاب نمی‌کند؛ شکست (از جمله ردِ ظرفیت با RejectedExecutionException
+     * و گذشتن deadline با TimeoutException) به شکل Future ناموفق برمی‌گردد.
+     *
+     * @return Future متن پاسخ موفق
+     */
+    CompletableFuture<String> callAsync();
+
+    /**
+     * آزاد کردن منابع (مثلاً connection pool)؛ پیش‌فرض کاری نمی‌کند
+     */
+    default void shutdown() {
+    }
+}
@@ -0,0 +1,35 @@
+package com.bahar.demo.downstream;
+
+/**
+ * DownstreamException
+ * -------------------------
+ * شکست یک فراخوانی HTTP به downstream:
+ *  - پاسخ غیر 2xx → status همان کد HTTP است
+ *  - خطای اتصال / timeout / پاسخ بیش از حد بزرگ → status برابر NO_STATUS و علت اصلی در cause
+ *
+ * مثل هر RuntimeException دیگری در CircuitBreaker و Retry شکست شمرده می‌شود.
+ */
+public class DownstreamException extends RuntimeException {
+
+    /** وقتی پاسخی از downstream دریافت نشده است */
+    public static final int NO_STATUS = -1;
+
+    private final int status;
+
+    public DownstreamException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public DownstreamException(String message, Throwable cause) {
+        super(message, cause);
+        this.status = NO_STATUS;
+    }
+
+    /**
+     * @return کد HTTP پاسخ یا NO_STATUS
+     */
+    public int status() {
+        return status;
+    }
+}
@@ -0,0 +1,150 @@
+package com.bahar.demo.downstream;
+
+import com.bahar.demo.config.DownstreamProperties;
+import com.bahar.demo.deadline.Deadline;
+import com.bahar.demo.deadline.DeadlineContext;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * HttpDownstream
+ * -------------------------
+ * downstream واقعی روی HTTP (demo.downstream.mode=http) با Reactor Netty:
+ *  - connection pool نام‌دار "downstream" با اتصال‌های keep-alive؛ اندازه، صف انتظار و زمان بیکاری از تنظیمات
+ *  - H2C: HTTP/2 بدون TLS؛ درخواست‌های هم‌زمان به صورت stream روی همان اتصال‌ها multiplex می‌شوند
+ *  - بدنه‌ی پاسخ تکه‌تکه خوانده می‌شود؛ به محض عبور از maxResponseSize فراخوانی شکست می‌خورد (بدون buffer نامحدود)
+ *  - متریک‌های pool با نام reactor.netty.connection.provider.* در Micrometer
+ *
+ * نگاشت خطاها (تا CircuitBreaker/Retry همان تصمیم‌های مسیر شبیه‌سازی‌شده را بگیرند):
+ *  - پاسخ غیر 2xx، خطای اتصال یا پاسخ بزرگ → DownstreamException (شکست downstream)
+ *  - readTimeout یا گذشتن deadline درخواست → TimeoutException (در مسیر sync داخل DownstreamException)
+ *  - pool پر (صف انتظار پر یا pendingAcquireTimeout) → RejectedExecutionException؛ مثل ردِ bulkhead
+ *    در CircuitBreaker و Retry ignore شده است، چون اشباع سمت ماست نه خرابی downstream
+ */
+public class HttpDownstream implements Downstream {
+
+    /** استثناءهای pool داخلی Reactor Netty (shaded) هنگام نبود اتصال آزاد */
+    private static final Set<String> POOL_EXHAUSTED = Set.of(
+            "PoolAcquirePendingLimitException", "PoolAcquireTimeoutException");
+
+    private final DownstreamProperties properties;
+    private final ConnectionProvider pool;
+    private final HttpClient client;
+    private final long maxResponseBytes;
+
+    /**
+     * @param properties تنظیمات demo.downstream
+     */
+    public HttpDownstream(DownstreamProperties properties) {
+        this(properties, "downstream");
+    }
+
+    /**
+     * @param properties تنظیمات اتصال
+     * @param poolName   نام connection pool (تگ name در متریک‌های pool)
+     */
+    public HttpDownstream(DownstreamProperties properties, String poolName) {
+        this.properties = properties;
+        this.maxResponseBytes = properties.getMaxResponseSize().toBytes();
+        this.pool = ConnectionProvider.builder(poolName)
+                .maxConnections(properties.getMaxConnections())
+                .pendingAcquireMaxCount(properties.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(properties.getPendingAcquireTimeout())
+                .maxIdleTime(properties.getMaxIdleTime())
+                .metrics(true)
+                .build();
+        this.client = HttpClient.create(pool)
+                .baseUrl(properties.getBaseUrl())
+                .protocol(properties.getProtocol() == DownstreamProperties.Protocol.H2C
+                        ? HttpProtocol.H2C : HttpProtocol.HTTP11)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getReadTimeout())
+                .keepAlive(true);
+    }
+
+    @Override
+    public String callSync() {
+        try {
+            return exchange(properties.getSyncPath()).block();
+        } catch (RuntimeException e) {
+            Throwable cause = Exceptions.unwrap(e);
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new DownstreamException(cause.getMessage(), cause);
+        }
+    }
+
+    @Override
+    public CompletableFuture<String> callAsync() {
+        return exchange(properties.getAsyncPath()).toFuture();
+    }
+
+    private Mono<String> exchange(String path) {
+        Deadline deadline = DeadlineContext.current();
+        if (deadline.isExpired()) {
+            return Mono.error(new TimeoutException("Request deadline exceeded"));
+        }
+        Mono<String> call = client.get()
+                .uri(path)
+                .response((response, body) -> readBody(body).map(text -> {
+                    int status = response.status().code();
+                    if (status < 200 || status >= 300) {
+                        throw new DownstreamException(status, "❌ Downstream responded " + status + ": " + text);
+                    }
+                    return text;
+                }))
+                .single()
+                .onErrorMap(this::translate);
+        return deadline.isBounded()
+                ? call.timeout(deadline.remaining(), Mono.error(() -> new TimeoutException("Request deadline exceeded")))
+                : call;
+    }
+
+    private Mono<String> readBody(ByteBufFlux body) {
+        return body.asByteArray()
+                .reduceWith(ByteArrayOutputStream::new, (buffer, chunk) -> {
+                    if (buffer.size() + chunk.length > maxResponseBytes) {
+                        throw new DownstreamException(DownstreamException.NO_STATUS,
+                                "❌ Downstream response larger than " + properties.getMaxResponseSize());
+                    }
+                    buffer.writeBytes(chunk);
+                    return buffer;
+                })
+                .map(buffer -> buffer.toString(StandardCharsets.UTF_8));
+    }
+
+    private Throwable translate(Throwable error) {
+        if (error instanceof DownstreamException || error instanceof TimeoutException) {
+            return error;
+        }
+        if (error instanceof ReadTimeoutException) {
+            return new TimeoutException("Downstream read timeout after " + properties.getReadTimeout());
+        }
+        if (POOL_EXHAUSTED.contains(error.getClass().getSimpleName())) {
+            return new RejectedExecutionException("Downstream connection pool exhausted", error);
+        }
+        return new DownstreamException("❌ Downstream unavailable: " + error, error);
+    }
+
+    /**
+     * آزاد کردن اتصال‌های pool (هنگام بسته شدن Context)
+     */
+    @Override
+    public void shutdown() {
+        pool.dispose();
+    }
+}
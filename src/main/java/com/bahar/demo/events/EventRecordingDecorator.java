@@ -0,0 +1,68 @@
+package com.bahar.demo.events;
+
+import com.bahar.demo.service.ExternalService;
+import com.bahar.demo.service.ExternalServiceDecorator;
+import com.bahar.demo.service.ExternalServiceImpl;
+import com.bahar.demo.service.ForwardingExternalService;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * EventRecordingDecorator
+ * -------------------------
+ * ثبت رویداد FALLBACK در ResilienceEventPipeline برای هر پاسخ fallback (شروع با FALLBACK_PREFIX) از
+ * callExternalApiSync (fallback مربوط به CircuitBreaker)، asyncProcess (آخرین پاسخ موفق) و processWithCallback؛
+ * source نام متد و durationNanos زمان کامل فراخوانی است. رویدادهای breaker و retry مستقیم از
+ * registryها ثبت می‌شوند.
+ *
+ * بیرون از DeadlineDecorator و داخل MeteredDecorator قرار دارد، پس fallback نهایی (بعد از retry و deadline) دیده می‌شود.
+ */
+@Component
+@Order(250)
+public class EventRecordingDecorator implements ExternalServiceDecorator {
+
+    private final ResilienceEventPipeline pipeline;
+
+    public EventRecordingDecorator(ResilienceEventPipeline pipeline) {
+        this.pipeline = pipeline;
+    }
+
+    @Override
+    public ExternalService decorate(ExternalService target) {
+        return new ForwardingExternalService(target) {
+            @Override
+            public String callExternalApiSync() {
+                long start = System.nanoTime();
+                String result = delegate.callExternalApiSync();
+                recordIfFallback("callExternalApiSync", result, start);
+                return result;
+            }
+
+            @Override
+            public CompletableFuture<String> asyncProcess() {
+                long start = System.nanoTime();
+                CompletableFuture<String> future = delegate.asyncProcess();
+                future.thenAccept(result -> recordIfFallback("asyncProcess", result, start));
+                return future;
+            }
+
+            @Override
+            public void processWithCallback(Consumer<String> callback) {
+                long start = System.nanoTime();
+                delegate.processWithCallback(message -> {
+                    recordIfFallback("processWithCallback", message, start);
+                    callback.accept(message);
+                });
+            }
+        };
+    }
+
+    private void recordIfFallback(String method, String result, long start) {
+        if (result != null && result.startsWith(ExternalServiceImpl.FALLBACK_PREFIX)) {
+            pipeline.record(ResilienceEvent.Type.FALLBACK, method, null, 0, System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.bahar.demo.events;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * EventRing
+ * -------------------------
+ * ring buffer چند producer / یک consumer به سبک Disruptor، بدون قفل:
+ *  - خانه‌ها یک بار ساخته می‌شوند و دوباره استفاده می‌شوند (ظرفیت توان ۲، اندیس با mask)
+ *  - producer شماره‌ی بعدی را با CAS روی claimed برمی‌دارد، خانه را پر می‌کند و با نوشتن همان شماره در
+ *    published منتشرش می‌کند؛ consumer فقط خانه‌هایی را می‌خواند که شماره‌ی منتشرشده‌شان با شماره‌ی مورد انتظار
+ *    برابر است، پس ترتیب حفظ می‌شود حتی اگر producerها خارج از ترتیب تمام کنند
+ *  - پر بودن ring یعنی consumer عقب است: tryClaim به جای انتظار ‎-1 برمی‌گرداند (thread درخواست بلاک نمی‌شود)
+ */
+final class EventRing {
+
+    private final ResilienceEvent[] slots;
+    private final int mask;
+    private final AtomicLongArray published;
+    private final AtomicLong claimed = new AtomicLong(-1);
+    /** آخرین شماره‌ای که consumer تمام کرده؛ فقط consumer می‌نویسد */
+    private final AtomicLong consumed = new AtomicLong(-1);
+
+    /**
+     * @param capacity ظرفیت؛ به توان ۲ بعدی گرد می‌شود
+     */
+    EventRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.slots = new ResilienceEvent[size];
+        this.mask = size - 1;
+        this.published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            slots[i] = new ResilienceEvent();
+            published.set(i, -1);
+        }
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * @return شماره‌ی خانه‌ی گرفته‌شده، یا ‎-1 اگر ring پر است
+     */
+    long tryClaim() {
+        long current;
+        do {
+            current = claimed.get();
+            if (current + 1 - consumed.get() > slots.length) {
+                return -1;
+            }
+        } while (!claimed.compareAndSet(current, current + 1));
+        return current + 1;
+    }
+
+    ResilienceEvent slot(long sequence) {
+        return slots[(int) (sequence & mask)];
+    }
+
+    void publish(long sequence) {
+        published.lazySet((int) (sequence & mask), sequence);
+    }
+
+    /**
+     * @return خانه‌ی شماره‌ی sequence اگر منتشر شده باشد، وگرنه null (فقط consumer)
+     */
+    ResilienceEvent poll(long sequence) {
+        int index = (int) (sequence & mask);
+        return published.get(index) == sequence ? slots[index] : null;
+    }
+
+    /** شماره‌ی بعدی که consumer باید بخواند */
+    long nextToConsume() {
+        return consumed.get() + 1;
+    }
+
+    /** آزاد کردن خانه‌ها تا sequence (فقط consumer) */
+    void release(long sequence) {
+        consumed.lazySet(sequence);
+    }
+
+    /** رویدادهای منتشرنشده یا export‌نشده */
+    long backlog() {
+        return claimed.get() - consumed.get();
+    }
+}
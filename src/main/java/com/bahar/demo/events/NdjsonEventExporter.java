@@ -0,0 +1,128 @@
+package com.bahar.demo.events;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * NdjsonEventExporter
+ * -------------------------
+ * پایه‌ی exporterهای بایتی: هر رویداد یک خط JSON در یک ByteBuffer مستقیم و قابل استفاده‌ی دوباره
+ * (بدون ساخت String یا byte[] برای هر رویداد)، مثلاً:
+ * {"seq":42,"ts":1760000000000,"type":"ERROR","source":"externalService","detail":"java.io.IOException","attempt":0,"durationNanos":1200000}
+ *
+ * buffer وقتی پر شود یا در flush پایان دسته با write به مقصد نوشته می‌شود؛ اگر write شکست بخورد
+ * محتوای buffer دور ریخته می‌شود تا خطای مقصد حافظه را پر نکند.
+ */
+public abstract class NdjsonEventExporter implements ResilienceEventExporter {
+
+    /** رشته‌ی بلندتر (نام استثناء، ...) کوتاه می‌شود تا هر خط در buffer جا شود */
+    static final int MAX_STRING = 256;
+
+    /** بیشترین طول یک خط: فیلدهای عددی + دو رشته با بدترین escape (\\uXXXX) */
+    private static final int MAX_LINE = 256 + 2 * MAX_STRING * 6;
+
+    private final ByteBuffer buffer;
+
+    protected NdjsonEventExporter(int bufferSize) {
+        this.buffer = ByteBuffer.allocateDirect(Math.max(bufferSize, 2 * MAX_LINE));
+    }
+
+    @Override
+    public void export(ResilienceEvent event) throws IOException {
+        if (buffer.remaining() < MAX_LINE) {
+            flush();
+        }
+        encode(event, buffer);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        buffer.flip();
+        try {
+            if (buffer.hasRemaining()) {
+                write(buffer);
+            }
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    /**
+     * نوشتن کامل bytes (از position تا limit) در مقصد
+     */
+    protected abstract void write(ByteBuffer bytes) throws IOException;
+
+    static void encode(ResilienceEvent event, ByteBuffer out) {
+        ascii(out, "{\"seq\":");
+        number(out, event.getSequence());
+        ascii(out, ",\"ts\":");
+        number(out, event.getTimestamp());
+        ascii(out, ",\"type\":\"");
+        ascii(out, event.getType().name());
+        ascii(out, "\",\"source\":");
+        string(out, event.getSource());
+        ascii(out, ",\"detail\":");
+        string(out, event.getDetail());
+        ascii(out, ",\"attempt\":");
+        number(out, event.getAttempt());
+        ascii(out, ",\"durationNanos\":");
+        number(out, event.getDurationNanos());
+        ascii(out, "}\n");
+    }
+
+    private static void ascii(ByteBuffer out, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            out.put((byte) text.charAt(i));
+        }
+    }
+
+    private static void number(ByteBuffer out, long value) {
+        if (value < 0) {
+            out.put((byte) '-');
+            if (value == Long.MIN_VALUE) {
+                ascii(out, "9223372036854775808");
+                return;
+            }
+            value = -value;
+        }
+        long divisor = 1;
+        while (value / divisor >= 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            out.put((byte) ('0' + value / divisor % 10));
+        }
+    }
+
+    /** رشته‌ی JSON با escape و UTF-8، بدون ساخت byte[] */
+    private static void string(ByteBuffer out, String value) {
+        if (value == null) {
+            ascii(out, "null");
+            return;
+        }
+        out.put((byte) '"');
+        int length = Math.min(value.length(), MAX_STRING);
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.put((byte) '\\').put((byte) c);
+            } else if (c < 0x20) {
+                ascii(out, "\\u00");
+                out.put((byte) Character.forDigit(c >> 4, 16)).put((byte) Character.forDigit(c & 0xF, 16));
+            } else if (c < 0x80) {
+                out.put((byte) c);
+            } else if (c < 0x800) {
+                out.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                out.put((byte) (0xF0 | codePoint >> 18)).put((byte) (0x80 | codePoint >> 12 & 0x3F))
+                        .put((byte) (0x80 | codePoint >> 6 & 0x3F)).put((byte) (0x80 | codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                out.put((byte) '?');
+            } else {
+                out.put((byte) (0xE0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3F)).put((byte) (0x80 | c & 0x3F));
+            }
+        }
+        out.put((byte) '"');
+    }
+}
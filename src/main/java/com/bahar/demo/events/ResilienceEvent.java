@@ -0,0 +1,74 @@
+package com.bahar.demo.events;
+
+/**
+ * ResilienceEvent
+ * -------------------------
+ * یک خانه‌ی از پیش ساخته‌شده در ring buffer خط لوله‌ی رویدادها؛ producer فیلدها را بازنویسی می‌کند
+ * (بدون ساخت شیء در thread درخواست) و consumer قبل از آزاد شدن خانه آن را export می‌کند.
+ * exporter نباید ارجاع به این شیء را بعد از export نگه دارد.
+ *
+ *  - sequence      → شماره‌ی رویداد در ring (صعودی؛ رویداد دورریخته‌شده شماره نمی‌گیرد)
+ *  - timestamp     → epoch millis
+ *  - source        → نام breaker/retry یا متد سرویس (برای FALLBACK)
+ *  - detail        → گذار (CLOSED_TO_OPEN) یا نام کلاس استثناء؛ ممکن است null باشد
+ *  - attempt       → شماره‌ی تلاش retry (بقیه ۰)
+ *  - durationNanos → مدت فراخوانی یا انتظار retry (بقیه ۰)
+ */
+public final class ResilienceEvent {
+
+    public enum Type {
+        STATE_TRANSITION,
+        ERROR,
+        NOT_PERMITTED,
+        RETRY,
+        RETRY_EXHAUSTED,
+        FALLBACK
+    }
+
+    private long sequence;
+    private long timestamp;
+    private Type type;
+    private String source;
+    private String detail;
+    private int attempt;
+    private long durationNanos;
+
+    void set(long sequence, long timestamp, Type type, String source, String detail, int attempt,
+             long durationNanos) {
+        this.sequence = sequence;
+        this.timestamp = timestamp;
+        this.type = type;
+        this.source = source;
+        this.detail = detail;
+        this.attempt = attempt;
+        this.durationNanos = durationNanos;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+
+    public int getAttempt() {
+        return attempt;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+}
@@ -0,0 +1,44 @@
+package com.bahar.demo.events;
+
+import java.io.IOException;
+
+/**
+ * ResilienceEventExporter
+ * -------------------------
+ * مقصد رویدادهای خط لوله؛ فقط از thread consumer صدا زده می‌شود (نیازی به thread-safe بودن نیست):
+ * export برای هر رویداد یک دسته و flush در پایان دسته.
+ *
+ * پیاده‌سازی‌ها: RollingFileEventExporter (فایل‌های NDJSON چرخشی) و SocketEventExporter (socket محلی).
+ */
+public interface ResilienceEventExporter {
+
+    /** exporter که هیچ چیز نمی‌نویسد (demo.events.exporter=none) */
+    ResilienceEventExporter NONE = new ResilienceEventExporter() {
+        @Override
+        public void export(ResilienceEvent event) {
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    /**
+     * @param event خانه‌ی ring؛ بعد از برگشت دوباره استفاده می‌شود
+     */
+    void export(ResilienceEvent event) throws IOException;
+
+    /**
+     * نوشتن باقی‌مانده‌ی دسته
+     */
+    void flush() throws IOException;
+
+    /**
+     * flush و آزاد کردن فایل/socket
+     */
+    void close();
+}
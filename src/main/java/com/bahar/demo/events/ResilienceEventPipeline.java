@@ -0,0 +1,262 @@
+package com.bahar.demo.events;
+
+import com.bahar.demo.config.ResilienceEventProperties;
+import com.bahar.demo.resilience.NonBlockingRetry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * ResilienceEventPipeline
+ * -------------------------
+ * خط لوله‌ی رویدادهای resilience با تاریخچه‌ی کامل (به جای بافر ۱۰ تایی eventConsumerBufferSize در actuator):
+ *  - producerها (listenerهای breaker/retry و EventRecordingDecorator) رویداد را با record در یک خانه‌ی
+ *    از پیش ساخته‌شده‌ی EventRing می‌نویسند: بدون قفل و بدون ساخت شیء در thread درخواست
+ *  - یک thread consumer ("resilience-events") رویدادها را به ترتیب و دسته‌ای (تا batchSize) به exporter
+ *    می‌دهد و وقتی ring خالی است idleWait می‌خوابد؛ producer هیچ‌وقت منتظر نمی‌ماند
+ *  - ring پر (exporter کند یا قطع) → رویداد جدید دور ریخته و در dropped شمرده می‌شود
+ *  - خطای exporter فقط همان دسته را از دست می‌دهد (failed) و یک بار log می‌شود تا دوباره موفق شود
+ *
+ * رویدادها: STATE_TRANSITION، ERROR و NOT_PERMITTED همه‌ی breakerهای CircuitBreakerRegistry،
+ * RETRY و RETRY_EXHAUSTED همه‌ی retryهای RetryRegistry (نمونه‌های اضافه/جایگزین‌شده بعد از reload هم)
+ * و retry غیرمسدودکننده‌ی asyncProcess (source = ASYNC_RETRY)، و FALLBACK از EventRecordingDecorator. breakerهای کلیددار (demo.keyed-breakers) در registry نیستند.
+ *
+ * متریک‌ها:
+ *  - demo.events با تگ outcome (exported، dropped، failed)
+ *  - demo.events.backlog → رویدادهای در ring که هنوز export نشده‌اند
+ */
+public class ResilienceEventPipeline implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ResilienceEventPipeline.class);
+
+    /** source رویدادهای NonBlockingRetry */
+    public static final String ASYNC_RETRY = "asyncRetry";
+
+    private final boolean enabled;
+    private final EventRing ring;
+    private final ResilienceEventExporter exporter;
+    private final int batchSize;
+    private final long idleWaitNanos;
+    private final Thread consumer;
+    private volatile boolean running = true;
+    /** خطای export در حال حاضر log شده است (فقط thread consumer) */
+    private boolean failing;
+
+    private final LongAdder exported = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    /**
+     * @param properties تنظیمات demo.events
+     * @param exporter   مقصد رویدادها؛ هنگام shutdown بسته می‌شود
+     */
+    public ResilienceEventPipeline(ResilienceEventProperties properties, ResilienceEventExporter exporter) {
+        this.enabled = properties.isEnabled();
+        this.ring = new EventRing(enabled ? properties.getBufferSize() : 2);
+        this.exporter = exporter;
+        this.batchSize = Math.max(1, properties.getBatchSize());
+        this.idleWaitNanos = Math.max(1, properties.getIdleWait().toNanos());
+        this.consumer = new Thread(this::consume, "resilience-events");
+        consumer.setDaemon(true);
+        if (enabled) {
+            consumer.start();
+        }
+    }
+
+    /**
+     * نمونه‌ی غیرفعال (برای Unit Test و استفاده بدون Spring): record کاری نمی‌کند
+     */
+    public static ResilienceEventPipeline disabled() {
+        ResilienceEventProperties properties = new ResilienceEventProperties();
+        properties.setEnabled(false);
+        return new ResilienceEventPipeline(properties, ResilienceEventExporter.NONE);
+    }
+
+    /**
+     * ثبت یک رویداد؛ روی thread فراخواننده، بدون قفل و بدون ساخت شیء
+     *
+     * @param source        نام breaker/retry یا متد سرویس
+     * @param detail        گذار یا نام کلاس استثناء (ممکن است null باشد)
+     * @param attempt       شماره‌ی تلاش retry (بقیه ۰)
+     * @param durationNanos مدت فراخوانی یا انتظار retry (بقیه ۰)
+     */
+    public void record(ResilienceEvent.Type type, String source, String detail, int attempt, long durationNanos) {
+        if (!enabled) {
+            return;
+        }
+        long sequence = ring.tryClaim();
+        if (sequence < 0) {
+            dropped.increment();
+            return;
+        }
+        ring.slot(sequence).set(sequence, System.currentTimeMillis(), type, source, detail, attempt, durationNanos);
+        ring.publish(sequence);
+    }
+
+    /**
+     * ثبت رویدادهای همه‌ی breakerهای registry (فعلی و بعدی)
+     */
+    public void recordEventsOf(CircuitBreakerRegistry registry) {
+        if (!enabled) {
+            return;
+        }
+        registry.getAllCircuitBreakers().forEach(this::attach);
+        registry.getEventPublisher()
+                .onEntryAdded(event -> attach(event.getAddedEntry()))
+                .onEntryReplaced(event -> attach(event.getNewEntry()));
+    }
+
+    /**
+     * ثبت رویدادهای همه‌ی retryهای registry (فعلی و بعدی)
+     */
+    public void recordEventsOf(RetryRegistry registry) {
+        if (!enabled) {
+            return;
+        }
+        registry.getAllRetries().forEach(this::attach);
+        registry.getEventPublisher()
+                .onEntryAdded(event -> attach(event.getAddedEntry()))
+                .onEntryReplaced(event -> attach(event.getNewEntry()));
+    }
+
+    /**
+     * ثبت retryها و پایان retryهای مسیر async (demo.async-retry)
+     */
+    public void recordEventsOf(NonBlockingRetry retry) {
+        if (!enabled) {
+            return;
+        }
+        retry.setListener(new NonBlockingRetry.Listener() {
+            @Override
+            public void onRetry(int attempt, Throwable error, long delayNanos) {
+                record(ResilienceEvent.Type.RETRY, ASYNC_RETRY, className(error), attempt, delayNanos);
+            }
+
+            @Override
+            public void onExhausted(int attempts, Throwable error) {
+                record(ResilienceEvent.Type.RETRY_EXHAUSTED, ASYNC_RETRY, className(error), attempts, 0);
+            }
+        });
+    }
+
+    private void attach(CircuitBreaker breaker) {
+        String name = breaker.getName();
+        breaker.getEventPublisher()
+                .onStateTransition(event -> record(ResilienceEvent.Type.STATE_TRANSITION, name,
+                        event.getStateTransition().name(), 0, 0))
+                .onError(event -> record(ResilienceEvent.Type.ERROR, name,
+                        event.getThrowable().getClass().getName(), 0, event.getElapsedDuration().toNanos()))
+                .onCallNotPermitted(event -> record(ResilienceEvent.Type.NOT_PERMITTED, name, null, 0, 0));
+    }
+
+    private void attach(Retry retry) {
+        String name = retry.getName();
+        retry.getEventPublisher()
+                .onRetry(event -> record(ResilienceEvent.Type.RETRY, name, className(event.getLastThrowable()),
+                        event.getNumberOfRetryAttempts(), event.getWaitInterval().toNanos()))
+                .onError(event -> record(ResilienceEvent.Type.RETRY_EXHAUSTED, name,
+                        className(event.getLastThrowable()), event.getNumberOfRetryAttempts(), 0));
+    }
+
+    private static String className(Throwable throwable) {
+        return throwable == null ? null : throwable.getClass().getName();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        counter(registry, "exported", exported);
+        counter(registry, "dropped", dropped);
+        counter(registry, "failed", failed);
+        Gauge.builder("demo.events.backlog", ring, EventRing::backlog)
+                .description("Recorded resilience events not yet exported")
+                .register(registry);
+    }
+
+    private static void counter(MeterRegistry registry, String outcome, LongAdder adder) {
+        FunctionCounter.builder("demo.events", adder, LongAdder::sum)
+                .tag("outcome", outcome)
+                .description("Resilience events by export outcome")
+                .register(registry);
+    }
+
+    /**
+     * توقف consumer بعد از export رویدادهای باقی‌مانده و بستن exporter؛
+     * در حالت غیرفعال consumer اجرا نشده و exporter همین‌جا بسته می‌شود
+     */
+    public void shutdown() {
+        running = false;
+        if (!enabled) {
+            exporter.close();
+            return;
+        }
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void consume() {
+        while (running) {
+            if (!drain()) {
+                LockSupport.parkNanos(idleWaitNanos);
+            }
+        }
+        while (drain()) {
+            // رویدادهای ثبت‌شده قبل از توقف
+        }
+        exporter.close();
+    }
+
+    /**
+     * export یک دسته؛ فقط روی thread consumer
+     *
+     * @return آیا رویدادی بود
+     */
+    private boolean drain() {
+        long first = ring.nextToConsume();
+        int count = 0;
+        Exception error = null;
+        try {
+            ResilienceEvent event;
+            while (count < batchSize && (event = ring.poll(first + count)) != null) {
+                count++;
+                exporter.export(event);
+            }
+            if (count > 0) {
+                exporter.flush();
+            }
+        } catch (IOException | RuntimeException e) {
+            error = e;
+        }
+        if (count == 0) {
+            return false;
+        }
+        ring.release(first + count - 1);
+        if (error == null) {
+            exported.add(count);
+            failing = false;
+        } else {
+            failed.add(count);
+            if (!failing) {
+                failing = true;
+                log.warn("Exporting resilience events failed, dropping batches until it recovers: {}",
+                        error.toString());
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,101 @@
+package com.bahar.demo.events;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * RollingFileEventExporter
+ * -------------------------
+ * نوشتن رویدادها در فایل NDJSON چرخشی: baseName.ndjson فایل جاری است و وقتی از maxFileBytes بزرگ‌تر شود
+ * به baseName.1.ndjson منتقل می‌شود (قبلی‌ها یک شماره جلو می‌روند)؛ فقط maxFiles فایل (با فایل جاری)
+ * نگه داشته می‌شود و قدیمی‌ترین حذف می‌شود. هر دسته با یک write روی FileChannel نوشته می‌شود
+ * (fsync نمی‌شود؛ با crash فرایند آخرین دسته‌ها ممکن است در page cache بمانند).
+ */
+public class RollingFileEventExporter extends NdjsonEventExporter {
+
+    private final Path directory;
+    private final String baseName;
+    private final long maxFileBytes;
+    private final int maxFiles;
+    private FileChannel channel;
+    private long size;
+
+    /**
+     * @throws UncheckedIOException اگر پوشه ساخته نشود
+     */
+    public RollingFileEventExporter(Path directory, String baseName, long maxFileBytes, int maxFiles,
+                                    int bufferSize) {
+        super(bufferSize);
+        this.directory = directory;
+        this.baseName = baseName;
+        this.maxFileBytes = Math.max(1, maxFileBytes);
+        this.maxFiles = Math.max(1, maxFiles);
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create event log directory " + directory, e);
+        }
+    }
+
+    /** فایل جاری (index 0) یا فایل چرخیده‌ی شماره‌ی index */
+    Path file(int index) {
+        return directory.resolve(index == 0 ? baseName + ".ndjson" : baseName + "." + index + ".ndjson");
+    }
+
+    @Override
+    protected void write(ByteBuffer bytes) throws IOException {
+        if (channel == null) {
+            open();
+        }
+        if (size > 0 && size + bytes.remaining() > maxFileBytes) {
+            roll();
+        }
+        while (bytes.hasRemaining()) {
+            size += channel.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            flush();
+        } catch (IOException ignored) {
+            // در حال توقف؛ دسته‌ی آخر از دست می‌رود
+        }
+        closeChannel();
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(file(0), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        size = channel.size();
+    }
+
+    private void roll() throws IOException {
+        closeChannel();
+        Files.deleteIfExists(file(maxFiles - 1));
+        for (int index = maxFiles - 2; index >= 0; index--) {
+            if (Files.exists(file(index))) {
+                Files.move(file(index), file(index + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        open();
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // چیزی برای بازیابی نیست
+            }
+            channel = null;
+        }
+    }
+}
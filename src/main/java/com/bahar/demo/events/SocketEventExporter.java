@@ -0,0 +1,101 @@
+package com.bahar.demo.events;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * SocketEventExporter
+ * -------------------------
+ * ارسال خطوط NDJSON به یک socket محلی (مثلاً agent جمع‌آوری log):
+ *  - آدرس "unix:/path/to.sock" → Unix domain socket، یا "host:port" → TCP
+ *  - اتصال تنبل است؛ اگر وصل نشود یا write شکست بخورد اتصال بسته می‌شود و تا reconnectInterval
+ *    دسته‌ها دور ریخته می‌شوند (IOException → شمارش failed در خط لوله)، بدون انتظار روی thread consumer
+ */
+public class SocketEventExporter extends NdjsonEventExporter {
+
+    private final SocketAddress address;
+    private final long reconnectNanos;
+    private SocketChannel channel;
+    private long nextAttempt = System.nanoTime();
+
+    public SocketEventExporter(SocketAddress address, Duration reconnectInterval, int bufferSize) {
+        super(bufferSize);
+        this.address = address;
+        this.reconnectNanos = reconnectInterval.toNanos();
+    }
+
+    /**
+     * @param address "unix:/path" یا "host:port"
+     * @throws IllegalArgumentException آدرس نامعتبر
+     */
+    public static SocketAddress address(String address) {
+        if (address.startsWith("unix:")) {
+            return UnixDomainSocketAddress.of(Path.of(address.substring("unix:".length())));
+        }
+        int colon = address.lastIndexOf(':');
+        if (colon <= 0) {
+            throw new IllegalArgumentException("Expected unix:/path or host:port but got '" + address + "'");
+        }
+        return InetSocketAddress.createUnresolved(address.substring(0, colon),
+                Integer.parseInt(address.substring(colon + 1)));
+    }
+
+    @Override
+    protected void write(ByteBuffer bytes) throws IOException {
+        if (channel == null) {
+            connect();
+        }
+        try {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        } catch (IOException e) {
+            disconnect();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (channel != null) {
+                flush();
+            }
+        } catch (IOException ignored) {
+            // در حال توقف؛ دسته‌ی آخر از دست می‌رود
+        }
+        disconnect();
+    }
+
+    private void connect() throws IOException {
+        if (System.nanoTime() - nextAttempt < 0) {
+            throw new IOException("Not connected to " + address + "; retrying later");
+        }
+        SocketAddress target = address instanceof InetSocketAddress inet && inet.isUnresolved()
+                ? new InetSocketAddress(inet.getHostString(), inet.getPort()) : address;
+        try {
+            channel = SocketChannel.open(target);
+        } catch (IOException e) {
+            nextAttempt = System.nanoTime() + reconnectNanos;
+            throw e;
+        }
+    }
+
+    private void disconnect() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // چیزی برای بازیابی نیست
+            }
+            channel = null;
+            nextAttempt = System.nanoTime() + reconnectNanos;
+        }
+    }
+}
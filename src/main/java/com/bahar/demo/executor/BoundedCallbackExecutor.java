@@ -0,0 +1,173 @@
+package com.bahar.demo.executor;
+
+import com.bahar.demo.config.CallbackExecutorProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * BoundedCallbackExecutor
+ * -------------------------
+ * موتور اجرای callbackها به جای new Thread() برای هر درخواست:
+ *  - روی جاوا ۲۱+ هر callback روی یک virtual thread اجرا می‌شود
+ *  - در غیر این صورت یک ThreadPoolExecutor محدود (max threads + صف) استفاده می‌شود
+ *  - یک Semaphore تعداد callbackهای in-flight را محدود می‌کند؛ اگر پر باشد tryExecute() فوراً false برمی‌گرداند
+ *  - هنگام خاموشی، کار جدید پذیرفته نمی‌شود و کارهای باقی‌مانده تا shutdownTimeout تخلیه می‌شوند
+ *  - متریک‌های active / queued / rejected از طریق Micrometer (actuator) منتشر می‌شوند
+ */
+public class BoundedCallbackExecutor implements MeterBinder {
+
+    private final ExecutorService delegate;
+    private final boolean virtual;
+    private final Semaphore permits;
+    private final int maxInFlight;
+    private final long shutdownTimeoutMillis;
+
+    /** تعداد taskهایی که واقعاً در حال اجرا هستند */
+    private final AtomicInteger active = new AtomicInteger();
+
+    /** تعداد درخواست‌های رد‌شده (به دلیل پر بودن ظرفیت یا خاموشی) */
+    private final LongAdder rejected = new LongAdder();
+
+    private volatile boolean shuttingDown;
+
+    /**
+     * @param properties تنظیمات demo.callback.executor
+     */
+    public BoundedCallbackExecutor(CallbackExecutorProperties properties) {
+        ExecutorService virtualExecutor = properties.isVirtualThreads()
+                ? VirtualThreads.newPerTaskExecutor(properties.getThreadNamePrefix()).orElse(null)
+                : null;
+        this.virtual = virtualExecutor != null;
+        this.delegate = virtual ? virtualExecutor : newPlatformPool(properties);
+        this.maxInFlight = properties.getMaxInFlight();
+        this.permits = new Semaphore(maxInFlight);
+        this.shutdownTimeoutMillis = properties.getShutdownTimeout().toMillis();
+    }
+
+    /**
+     * pool محدود platform thread
+     * -------------------------
+     * ThreadPoolExecutor فقط وقتی صف پر شود از core به max می‌رسد؛ چون Semaphore خودش سقف in-flight را
+     * نگه می‌دارد، core = max گذاشته می‌شود تا قبل از صف گرفتن همه‌ی threadها استفاده شوند،
+     * و allowCoreThreadTimeOut باعث می‌شود threadهای بیکار آزاد شوند.
+     */
+    private static ThreadPoolExecutor newPlatformPool(CallbackExecutorProperties properties) {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                properties.getMaxPoolSize(),
+                properties.getMaxPoolSize(),
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                new CustomizableThreadFactory(properties.getThreadNamePrefix()),
+                new ThreadPoolExecutor.AbortPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * ساخت نمونه با تنظیمات پیش‌فرض (برای Unit Test و استفاده بدون Spring)
+     */
+    public static BoundedCallbackExecutor withDefaults() {
+        return new BoundedCallbackExecutor(new CallbackExecutorProperties());
+    }
+
+    /**
+     * تلاش برای اجرای task بدون بلاک شدن
+     * -------------------------
+     * @param task کاری که باید اجرا شود
+     * @return true اگر پذیرفته شد؛ false اگر ظرفیت پر است یا executor در حال خاموشی است
+     */
+    public boolean tryExecute(Runnable task) {
+        if (shuttingDown || !permits.tryAcquire()) {
+            rejected.increment();
+            return false;
+        }
+        try {
+            delegate.execute(() -> {
+                active.incrementAndGet();
+                try {
+                    task.run();
+                } finally {
+                    active.decrementAndGet();
+                    permits.release();
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            rejected.increment();
+            return false;
+        }
+    }
+
+    /** تعداد callbackهای پذیرفته‌شده که هنوز تمام نشده‌اند (در حال اجرا + در صف) */
+    public int inFlight() {
+        return maxInFlight - permits.availablePermits();
+    }
+
+    /** تعداد callbackهای در حال اجرا */
+    public int activeCount() {
+        return active.get();
+    }
+
+    /** تعداد callbackهای منتظر thread */
+    public int queuedCount() {
+        return Math.max(0, inFlight() - activeCount());
+    }
+
+    /** آیا از virtual thread استفاده می‌شود؟ */
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * خاموشی graceful
+     * -------------------------
+     * کار جدید رد می‌شود، کارهای پذیرفته‌شده تا shutdownTimeout فرصت تمام شدن دارند
+     * و پس از آن interrupt می‌شوند (callback با پیام خطا فراخوانی می‌شود).
+     */
+    public void shutdown() {
+        shuttingDown = true;
+        delegate.shutdown();
+        try {
+            if (!delegate.awaitTermination(shutdownTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                delegate.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            delegate.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        String type = virtual ? "virtual" : "platform";
+        Gauge.builder("demo.callback.executor.active", this, BoundedCallbackExecutor::activeCount)
+                .tag("threads", type)
+                .description("Callbacks currently running")
+                .register(registry);
+        Gauge.builder("demo.callback.executor.queued", this, BoundedCallbackExecutor::queuedCount)
+                .tag("threads", type)
+                .description("Accepted callbacks waiting for a thread")
+                .register(registry);
+        Gauge.builder("demo.callback.executor.limit", this, e -> e.maxInFlight)
+                .tag("threads", type)
+                .description("Maximum in-flight callbacks")
+                .register(registry);
+        FunctionCounter.builder("demo.callback.executor.rejected", rejected, LongAdder::sum)
+                .tag("threads", type)
+                .description("Callbacks rejected because the executor was saturated or shutting down")
+                .register(registry);
+    }
+}
@@ -0,0 +1,201 @@
+package com.bahar.demo.executor;
+
+import com.bahar.demo.config.ExecutorsProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * NamedExecutorRegistry
+ * -------------------------
+ * یک executor اختصاصی برای هر downstream (به جای ForkJoinPool.commonPool مشترک):
+ *  - executor با اولین درخواست ساخته و cache می‌شود (تنظیمات از demo.executors)
+ *  - executorهای تعریف‌شده در yml هنگام ساخت registry ساخته می‌شوند
+ *  - متریک‌های استاندارد Micrometer (executor.active, executor.queued, ...) با تگ name
+ *    به‌علاوه‌ی demo.executor.saturation و demo.executor.rejected منتشر می‌شوند
+ *
+ * نکته: executor با virtualThreads=true سقف thread ندارد؛ محدودیت هم‌زمانی باید در لایه‌ی بالاتر اعمال شود.
+ * با صف محدود (ARRAY/LINKED)، ThreadPoolExecutor فقط وقتی صف پر شود از core به max می‌رسد؛ پس مثل
+ * BoundedCallbackExecutor، core = maxPoolSize و allowCoreThreadTimeOut گذاشته می‌شود تا قبل از صف گرفتن
+ * همه‌ی threadها استفاده شوند و threadهای بیکار آزاد شوند. corePoolSize فقط برای صف SYNCHRONOUS معنا دارد.
+ */
+public class NamedExecutorRegistry implements MeterBinder {
+
+    private final ExecutorsProperties properties;
+    private final Map<String, Entry> executors = new ConcurrentHashMap<>();
+    private volatile MeterRegistry meterRegistry;
+
+    /**
+     * @param properties تنظیمات demo.executors
+     */
+    public NamedExecutorRegistry(ExecutorsProperties properties) {
+        this.properties = properties;
+        properties.getInstances().keySet().forEach(this::executor);
+    }
+
+    /**
+     * ساخت registry با تنظیمات پیش‌فرض (برای Unit Test و استفاده بدون Spring)
+     */
+    public static NamedExecutorRegistry withDefaults() {
+        return new NamedExecutorRegistry(new ExecutorsProperties());
+    }
+
+    /**
+     * دریافت executor نام‌دار
+     *
+     * @param name نام downstream
+     * @return executor اختصاصی (در صورت نبود، با تنظیمات defaults ساخته می‌شود)
+     */
+    public ExecutorService executor(String name) {
+        return executors.computeIfAbsent(name, this::create).executor;
+    }
+
+    /**
+     * نام executorهای ساخته‌شده تا این لحظه
+     */
+    public Set<String> names() {
+        return Set.copyOf(executors.keySet());
+    }
+
+    /**
+     * pool زیرین executor نام‌دار (برای مشاهده و تغییر اندازه در زمان اجرا، مثلاً از actuator)
+     *
+     * @param name نام downstream
+     * @return pool در صورت وجود؛ برای executor ساخته‌نشده یا مبتنی بر virtual thread خالی است
+     */
+    public Optional<ThreadPoolExecutor> pool(String name) {
+        Entry entry = executors.get(name);
+        return entry == null ? Optional.empty() : Optional.ofNullable(entry.pool);
+    }
+
+    private Entry create(String name) {
+        ExecutorsProperties.Spec spec = properties.resolve(name);
+        Entry entry;
+        if (Boolean.TRUE.equals(spec.getVirtualThreads())) {
+            entry = VirtualThreads.newPerTaskExecutor(name + "-")
+                    .map(executor -> new Entry(name, executor, null, new LongAdder()))
+                    .orElseGet(() -> platform(name, spec));
+        } else {
+            entry = platform(name, spec);
+        }
+        MeterRegistry registry = meterRegistry;
+        if (registry != null) {
+            entry.bindTo(registry);
+        }
+        return entry;
+    }
+
+    private Entry platform(String name, ExecutorsProperties.Spec spec) {
+        LongAdder rejected = new LongAdder();
+        RejectedExecutionHandler policy = switch (spec.getRejectionPolicy()) {
+            case ABORT -> new ThreadPoolExecutor.AbortPolicy();
+            case CALLER_RUNS -> new ThreadPoolExecutor.CallerRunsPolicy();
+        };
+        RejectedExecutionHandler counting = (task, pool) -> {
+            rejected.increment();
+            policy.rejectedExecution(task, pool);
+        };
+        BlockingQueue<Runnable> queue = switch (spec.getQueueType()) {
+            case ARRAY -> new ArrayBlockingQueue<>(spec.getQueueCapacity());
+            case LINKED -> new LinkedBlockingQueue<>(spec.getQueueCapacity());
+            case SYNCHRONOUS -> new SynchronousQueue<>();
+        };
+        boolean bounded = spec.getQueueType() != ExecutorsProperties.QueueType.SYNCHRONOUS;
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                bounded ? spec.getMaxPoolSize() : spec.getCorePoolSize(),
+                spec.getMaxPoolSize(),
+                spec.getKeepAlive().toMillis(), TimeUnit.MILLISECONDS,
+                queue,
+                new CustomizableThreadFactory(name + "-"),
+                counting);
+        if (bounded && spec.getKeepAlive().toMillis() > 0) {
+            pool.allowCoreThreadTimeOut(true);
+        }
+        return new Entry(name, pool, pool, rejected);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.meterRegistry = registry;
+        executors.values().forEach(entry -> entry.bindTo(registry));
+    }
+
+    /**
+     * خاموشی graceful همه‌ی executorها (کارهای در صف اجرا می‌شوند، کار جدید رد می‌شود)
+     */
+    public void shutdown() {
+        executors.values().forEach(entry -> entry.executor.shutdown());
+        for (Entry entry : executors.values()) {
+            try {
+                if (!entry.executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                    entry.executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                entry.executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /** executor به‌همراه pool زیرین (برای محاسبه‌ی saturation) و شمارنده‌ی reject */
+    private static final class Entry {
+
+        private final String name;
+        private final ExecutorService executor;
+        private final ThreadPoolExecutor pool;
+        private final LongAdder rejected;
+
+        private Entry(String name, ExecutorService executor, ThreadPoolExecutor pool, LongAdder rejected) {
+            this.name = name;
+            this.executor = executor;
+            this.pool = pool;
+            this.rejected = rejected;
+        }
+
+        /**
+         * اشغال ظرفیت: (threadهای فعال + صف) / (max threads + ظرفیت صف)
+         * برای virtual thread همیشه ۰ است (سقفی وجود ندارد).
+         */
+        private double saturation() {
+            if (pool == null) {
+                return 0;
+            }
+            int queued = pool.getQueue().size();
+            int capacity = pool.getMaximumPoolSize() + queued + pool.getQueue().remainingCapacity();
+            return capacity == 0 ? 0 : (double) (pool.getActiveCount() + queued) / capacity;
+        }
+
+        private void bindTo(MeterRegistry registry) {
+            Tags tags = Tags.of("name", name);
+            if (pool != null) {
+                new ExecutorServiceMetrics(pool, name, Tags.empty()).bindTo(registry);
+            }
+            Gauge.builder("demo.executor.saturation", this, Entry::saturation)
+                    .tags(tags)
+                    .description("Fraction of threads plus queue slots in use")
+                    .register(registry);
+            FunctionCounter.builder("demo.executor.rejected", rejected, LongAdder::sum)
+                    .tags(tags)
+                    .description("Tasks rejected by the executor's rejection policy")
+                    .register(registry);
+        }
+    }
+}
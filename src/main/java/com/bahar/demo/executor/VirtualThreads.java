@@ -0,0 +1,42 @@
+package com.bahar.demo.executor;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * VirtualThreads
+ * -------------------------
+ * پروژه با جاوا ۱۷ کامپایل می‌شود، اما اگر روی جاوا ۲۱+ اجرا شود
+ * می‌خواهیم از virtual thread استفاده کنیم.
+ * به همین دلیل API مربوطه (Thread.ofVirtual و Executors.newThreadPerTaskExecutor)
+ * یک بار با reflection در زمان ساخت executor صدا زده می‌شود؛ مسیر اجرای task هیچ reflection ندارد.
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * ساخت یک ExecutorService که برای هر task یک virtual thread نام‌دار می‌سازد.
+     *
+     * @param threadNamePrefix پیشوند نام threadها
+     * @return executor در صورت پشتیبانی JVM، وگرنه Optional.empty()
+     */
+    public static Optional<ExecutorService> newPerTaskExecutor(String threadNamePrefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, threadNamePrefix, 0L);
+            ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            ExecutorService executor = (ExecutorService) Executors.class
+                    .getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, factory);
+            return Optional.of(executor);
+        } catch (ReflectiveOperationException e) {
+            // جاوا < ۲۱ → مسیر platform thread
+            return Optional.empty();
+        }
+    }
+}
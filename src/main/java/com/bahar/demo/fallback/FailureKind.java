@@ -0,0 +1,59 @@
+package com.bahar.demo.fallback;
+
+import com.bahar.demo.downstream.DownstreamException;
+import com.bahar.demo.resilience.ConcurrencyLimitExceededException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+
+import java.net.SocketTimeoutException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * FailureKind
+ * -------------------------
+ * دسته‌بندی علت fallback برای انتخاب tierها (demo.fallback-chain.policies):
+ *  - CIRCUIT_OPEN → CallNotPermittedException (مدار سراسری یا tenant باز است)
+ *  - REJECTED     → ردِ ظرفیت محلی (RateLimiter، Bulkhead، سقف تطبیقی، executor یا pool پر)
+ *  - TIMEOUT      → TimeoutException یا SocketTimeoutException در زنجیره‌ی cause (deadline، read timeout)
+ *  - BUSINESS     → پاسخ 4xx از downstream (تکرار یا داده‌ی دیگر نتیجه را درست نمی‌کند)
+ *  - ERROR        → بقیه‌ی شکست‌ها
+ */
+public enum FailureKind {
+    CIRCUIT_OPEN,
+    REJECTED,
+    TIMEOUT,
+    BUSINESS,
+    ERROR;
+
+    /**
+     * @param error استثناء fallback (CompletionException/ExecutionException باز می‌شود)
+     */
+    public static FailureKind of(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof CallNotPermittedException) {
+            return CIRCUIT_OPEN;
+        }
+        if (cause instanceof RequestNotPermitted || cause instanceof BulkheadFullException
+                || cause instanceof ConcurrencyLimitExceededException || cause instanceof RejectedExecutionException) {
+            return REJECTED;
+        }
+        for (Throwable t = cause; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof TimeoutException || t instanceof SocketTimeoutException) {
+                return TIMEOUT;
+            }
+        }
+        if (cause instanceof DownstreamException downstream
+                && downstream.status() >= 400 && downstream.status() < 500) {
+            return BUSINESS;
+        }
+        return ERROR;
+    }
+}
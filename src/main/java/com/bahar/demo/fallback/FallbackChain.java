@@ -0,0 +1,207 @@
+package com.bahar.demo.fallback;
+
+import com.bahar.demo.cache.LastKnownGoodCache;
+import com.bahar.demo.config.FallbackChainProperties;
+import com.bahar.demo.deadline.DeadlineContext;
+import com.bahar.demo.downstream.Downstream;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+/**
+ * FallbackChain
+ * -------------------------
+ * fallback پله‌ای مسیر sync به جای یک پیام ثابت برای همه‌ی شکست‌ها:
+ *  - نوع شکست (FailureKind) ترتیب tierها را از demo.fallback-chain.policies انتخاب می‌کند،
+ *    مثلاً مدار باز: CACHED → SECONDARY → STATIC، ولی timeout: CACHED → STATIC
+ *  - اولین tier که پاسخ دارد برنده است؛ tier خالی یا ناموفق نوبت را به بعدی می‌دهد
+ *  - SECONDARY تنها tier با I/O است: با بار بیشتر از maxLoad (SystemLoad) اصلاً فراخوانی نمی‌شود و
+ *    انتظارش به min(budget، deadline باقی‌مانده‌ی درخواست) محدود است؛ پس fallback گران‌تر از مسیر اصلی
+ *    نمی‌شود و زیر بار سرویس پله‌پله (داده‌ی تازه‌تر → ارزان‌تر) پایین می‌آید نه یک‌باره
+ *  - همه‌ی پاسخ‌ها با پیام fallbackMethod (FALLBACK_PREFIX) شروع می‌شوند تا outcome=fallback در متریک‌ها
+ *    و رویدادها همان بماند؛ بدون هیچ tier موفق، همان پیام برمی‌گردد
+ *
+ * متریک‌ها:
+ *  - demo.fallback با تگ‌های failure (circuit_open، rejected، timeout، business، error) و
+ *    tier (cached، secondary، static، none)
+ *  - demo.fallback.skipped با تگ reason (cache_empty، secondary_load، secondary_budget، secondary_timeout،
+ *    secondary_failed، secondary_unavailable)
+ *  - demo.fallback.load → بار فعلی که SECONDARY با آن سنجیده می‌شود
+ */
+public class FallbackChain implements MeterBinder {
+
+    /** دلیل رد شدن یک tier */
+    private enum Skip {
+        CACHE_EMPTY,
+        SECONDARY_LOAD,
+        SECONDARY_BUDGET,
+        SECONDARY_TIMEOUT,
+        SECONDARY_FAILED,
+        SECONDARY_UNAVAILABLE
+    }
+
+    private static final int NONE = FallbackTier.values().length;
+
+    private final Map<FailureKind, List<FallbackTier>> policies = new EnumMap<>(FailureKind.class);
+    private final LastKnownGoodCache cache;
+    private final Downstream secondary;
+    private final long secondaryBudgetNanos;
+    private final double secondaryMaxLoad;
+    private final String staticDefault;
+    private final DoubleSupplier load;
+
+    private final LongAdder[][] served = new LongAdder[FailureKind.values().length][NONE + 1];
+    private final LongAdder[] skipped = new LongAdder[Skip.values().length];
+
+    /**
+     * @param properties تنظیمات demo.fallback-chain
+     * @param cache      آخرین پاسخ‌های موفق (tier CACHED)
+     * @param secondary  منبع دوم (tier SECONDARY)؛ null = در دسترس نیست. هنگام shutdown بسته می‌شود
+     * @param load       بار فعلی بین ۰ و ۱ (SystemLoad)
+     */
+    public FallbackChain(FallbackChainProperties properties, LastKnownGoodCache cache, Downstream secondary,
+                         DoubleSupplier load) {
+        for (FailureKind kind : FailureKind.values()) {
+            policies.put(kind, List.copyOf(properties.getPolicies().getOrDefault(kind, List.of())));
+        }
+        this.cache = cache;
+        this.secondary = properties.getSecondary().isEnabled() ? secondary : null;
+        this.secondaryBudgetNanos = properties.getSecondary().getBudget().toNanos();
+        this.secondaryMaxLoad = properties.getSecondary().getMaxLoad();
+        this.staticDefault = properties.getStaticDefault();
+        this.load = load;
+        for (LongAdder[] row : served) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] = new LongAdder();
+            }
+        }
+        for (int i = 0; i < skipped.length; i++) {
+            skipped[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * فقط آخرین پاسخ موفق، برای همه‌ی شکست‌ها (رفتار demo.fallback-chain.enabled=false،
+     * برای Unit Test و استفاده بدون Spring)
+     */
+    public static FallbackChain lastKnownGoodOnly(LastKnownGoodCache cache) {
+        FallbackChainProperties properties = new FallbackChainProperties();
+        Map<FailureKind, List<FallbackTier>> policies = new EnumMap<>(FailureKind.class);
+        for (FailureKind kind : FailureKind.values()) {
+            policies.put(kind, List.of(FallbackTier.CACHED));
+        }
+        properties.setPolicies(policies);
+        properties.getSecondary().setEnabled(false);
+        return new FallbackChain(properties, cache, null, () -> 0);
+    }
+
+    /**
+     * پاسخ fallback از اولین tier موفق
+     *
+     * @param key     کلید عملیات در LastKnownGoodCache
+     * @param message پیام fallbackMethod (با FALLBACK_PREFIX)
+     * @param error   استثناء اصلی
+     * @return پیام fallback، در صورت وجود همراه با پاسخ tier
+     */
+    public String fallback(String key, String message, Exception error) {
+        FailureKind kind = FailureKind.of(error);
+        for (FallbackTier tier : policies.get(kind)) {
+            String result = switch (tier) {
+                case CACHED -> cached(key, message);
+                case SECONDARY -> secondary(message);
+                case STATIC -> staticDefault == null || staticDefault.isBlank()
+                        ? message : message + " → default: " + staticDefault;
+            };
+            if (result != null) {
+                served[kind.ordinal()][tier.ordinal()].increment();
+                return result;
+            }
+        }
+        served[kind.ordinal()][NONE].increment();
+        return message;
+    }
+
+    private String cached(String key, String message) {
+        Optional<LastKnownGoodCache.Entry> entry = cache.get(key);
+        if (entry.isEmpty()) {
+            skipped[Skip.CACHE_EMPTY.ordinal()].increment();
+            return null;
+        }
+        return cache.withLastKnownGood(message, entry.get());
+    }
+
+    private String secondary(String message) {
+        if (secondary == null) {
+            skipped[Skip.SECONDARY_UNAVAILABLE.ordinal()].increment();
+            return null;
+        }
+        if (load.getAsDouble() > secondaryMaxLoad) {
+            skipped[Skip.SECONDARY_LOAD.ordinal()].increment();
+            return null;
+        }
+        long budget = Math.min(secondaryBudgetNanos, DeadlineContext.current().remainingNanos());
+        if (budget <= 0) {
+            skipped[Skip.SECONDARY_BUDGET.ordinal()].increment();
+            return null;
+        }
+        CompletableFuture<String> future = secondary.callAsync();
+        try {
+            return message + " → secondary: " + future.get(budget, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            skipped[Skip.SECONDARY_TIMEOUT.ordinal()].increment();
+        } catch (ExecutionException e) {
+            skipped[Skip.SECONDARY_FAILED.ordinal()].increment();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            skipped[Skip.SECONDARY_FAILED.ordinal()].increment();
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (FailureKind kind : FailureKind.values()) {
+            for (int tier = 0; tier <= NONE; tier++) {
+                String name = tier == NONE ? "none" : FallbackTier.values()[tier].name().toLowerCase(Locale.ROOT);
+                FunctionCounter.builder("demo.fallback", served[kind.ordinal()][tier], LongAdder::sum)
+                        .tag("failure", kind.name().toLowerCase(Locale.ROOT))
+                        .tag("tier", name)
+                        .description("Sync fallback responses by failure kind and serving tier")
+                        .register(registry);
+            }
+        }
+        for (Skip skip : Skip.values()) {
+            FunctionCounter.builder("demo.fallback.skipped", skipped[skip.ordinal()], LongAdder::sum)
+                    .tag("reason", skip.name().toLowerCase(Locale.ROOT))
+                    .description("Fallback tiers passed over")
+                    .register(registry);
+        }
+        Gauge.builder("demo.fallback.load", load, DoubleSupplier::getAsDouble)
+                .description("Current load the secondary fallback tier is gated on")
+                .register(registry);
+    }
+
+    /**
+     * بستن منبع دوم (مثلاً connection pool آن)
+     */
+    public void shutdown() {
+        if (secondary != null) {
+            secondary.shutdown();
+        }
+    }
+}
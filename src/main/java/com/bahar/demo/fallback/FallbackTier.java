@@ -0,0 +1,15 @@
+package com.bahar.demo.fallback;
+
+/**
+ * FallbackTier
+ * -------------------------
+ * پله‌های زنجیره‌ی fallback، از نزدیک‌ترین به پاسخ واقعی تا کم‌ارزش‌ترین:
+ *  - CACHED    → آخرین پاسخ موفق از LastKnownGoodCache (محلی، بدون I/O)
+ *  - SECONDARY → منبع دوم ارزان‌تر (تنها tier با I/O؛ بودجه‌ی تأخیر و سقف بار دارد)
+ *  - STATIC    → پاسخ ثابت (همیشه در دسترس)
+ */
+public enum FallbackTier {
+    CACHED,
+    SECONDARY,
+    STATIC
+}
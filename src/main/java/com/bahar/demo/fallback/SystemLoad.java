@@ -0,0 +1,65 @@
+package com.bahar.demo.fallback;
+
+import com.bahar.demo.resilience.AdaptiveConcurrencyLimiter;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleSupplier;
+
+/**
+ * SystemLoad
+ * -------------------------
+ * بار فعلی (۰ تا ۱) برای انتخاب tier در FallbackChain؛ بیشینه‌ی دو سیگنال:
+ *  - in-flight / سقف AdaptiveConcurrencyLimiter → فشار روی downstream (هر بار خوانده می‌شود)
+ *  - بار CPU کل سیستم → هر sampleInterval یک بار خوانده می‌شود (خواندن آن از /proc ارزان نیست
+ *    و مسیر fallback زیر بار بیشترین فراخوانی را دارد)
+ */
+public class SystemLoad implements DoubleSupplier {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final DoubleSupplier cpu;
+    private final long sampleIntervalNanos;
+    private final AtomicLong nextSampleAt = new AtomicLong(System.nanoTime());
+    private volatile double cpuLoad;
+
+    /**
+     * @param limiter        سقف تطبیقی in-flight مسیرهای sync/async
+     * @param sampleInterval فاصله‌ی خواندن دوباره‌ی بار CPU
+     */
+    public SystemLoad(AdaptiveConcurrencyLimiter limiter, Duration sampleInterval) {
+        this(limiter, sampleInterval, SystemLoad::systemCpuLoad);
+    }
+
+    /**
+     * @param cpu منبع بار CPU (برای تست)
+     */
+    public SystemLoad(AdaptiveConcurrencyLimiter limiter, Duration sampleInterval, DoubleSupplier cpu) {
+        this.limiter = limiter;
+        this.cpu = cpu;
+        this.sampleIntervalNanos = sampleInterval.toNanos();
+    }
+
+    @Override
+    public double getAsDouble() {
+        long now = System.nanoTime();
+        long due = nextSampleAt.get();
+        if (now - due >= 0 && nextSampleAt.compareAndSet(due, now + sampleIntervalNanos)) {
+            cpuLoad = Math.max(0, Math.min(1, cpu.getAsDouble()));
+        }
+        double concurrency = (double) limiter.inFlight() / Math.max(1, limiter.limit());
+        return Math.max(cpuLoad, Math.min(1, concurrency));
+    }
+
+    /**
+     * @return بار CPU سیستم؛ ۰ اگر JVM آن را ارائه نکند
+     */
+    private static double systemCpuLoad() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean sun) {
+            return sun.getCpuLoad();
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,64 @@
+package com.bahar.demo.keyed;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * BreakerKeyContext
+ * -------------------------
+ * کلید circuit breaker درخواست جاری (مثلاً tenant) روی thread فعلی (ThreadLocal)، مثل DeadlineContext:
+ *  - BreakerKeyFilter آن را از header درخواست HTTP نصب می‌کند
+ *  - KeyedCircuitBreakers روی thread فراخوانی downstream آن را می‌خواند
+ *  - کدی که کار را روی thread دیگری ادامه می‌دهد (retry، single-flight، batch) با wrap همان کلید را همراه می‌برد
+ *
+ * بدون کلید، فقط breakerهای سراسری (externalService/externalServiceAsync) اعمال می‌شوند.
+ */
+public final class BreakerKeyContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private BreakerKeyContext() {
+    }
+
+    public static Optional<String> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * نصب کلید روی thread فعلی تا close شدن Scope (مقدار قبلی برگردانده می‌شود)
+     */
+    public static Scope open(String key) {
+        String previous = CURRENT.get();
+        CURRENT.set(key);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * @return supplierی که کلید فعلی (در لحظه‌ی wrap) را روی هر threadی که اجرا شود دوباره نصب می‌کند
+     */
+    public static <T> Supplier<T> wrap(Supplier<T> action) {
+        String key = CURRENT.get();
+        if (key == null) {
+            return action;
+        }
+        return () -> {
+            try (Scope ignored = open(key)) {
+                return action.get();
+            }
+        };
+    }
+
+    /** محدوده‌ی نصب کلید؛ برای try-with-resources */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,48 @@
+package com.bahar.demo.keyed;
+
+import com.bahar.demo.config.KeyedBreakerProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * BreakerKeyFilter
+ * -------------------------
+ * کلید breaker هر درخواست را از header (پیش‌فرض X-Tenant-Id) می‌خواند و در BreakerKeyContext نصب می‌کند:
+ *  - بدون header یا مقدار خالی → بدون کلید (فقط breaker سراسری)
+ *  - مقدار بلندتر از maxKeyLength کوتاه می‌شود تا کلید ناخواسته حافظه‌ی زیادی نگیرد
+ */
+public class BreakerKeyFilter extends OncePerRequestFilter {
+
+    private final KeyedBreakerProperties properties;
+
+    public BreakerKeyFilter(KeyedBreakerProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = key(request);
+        if (key == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        try (BreakerKeyContext.Scope ignored = BreakerKeyContext.open(key)) {
+            chain.doFilter(request, response);
+        }
+    }
+
+    String key(HttpServletRequest request) {
+        String header = request.getHeader(properties.getHeader());
+        if (header == null || header.isBlank()) {
+            return null;
+        }
+        String key = header.trim();
+        return key.length() > properties.getMaxKeyLength() ? key.substring(0, properties.getMaxKeyLength()) : key;
+    }
+}
@@ -0,0 +1,145 @@
+package com.bahar.demo.keyed;
+
+import com.bahar.demo.config.KeyedBreakerProperties;
+import com.bahar.demo.downstream.Downstream;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * KeyedCircuitBreakers
+ * -------------------------
+ * یک circuit breaker جدا برای هر کلید (مثلاً tenant از header X-Tenant-Id) تا شکست یک tenant
+ * مدار را برای بقیه باز نکند:
+ *  - breaker کلید در اولین استفاده از config نام‌دار resilience4j (demo.keyed-breakers.config) ساخته می‌شود
+ *  - نگه‌داری در Caffeine با سقف تعداد (W-TinyLFU) و حذف breaker بیکار (expireAfterAccess)؛
+ *    خواندن breaker موجود بدون قفل است و فقط ساخت کلید جدید روی همان bin قفل می‌گیرد
+ *  - breakerها عمداً در CircuitBreakerRegistry ثبت نمی‌شوند (registry بی‌سقف است و برای هر instance
+ *    health indicator و بافر رویداد می‌سازد)؛ state هر breaker فقط پنجره‌ی کوچک config خودش است
+ *  - breaker حذف‌شده (بیکار یا بیرون‌رانده با سقف) در استفاده‌ی بعدی بسته (CLOSED) از نو ساخته می‌شود
+ *
+ * decorate هر فراخوانی downstream را (داخل CircuitBreaker/Retry سراسری) با breaker کلید جاری می‌پوشاند؛
+ * breaker باز کلید → CallNotPermittedException که در breakerهای سراسری ignore و در retry تکرار نمی‌شود.
+ *
+ * متریک‌ها: cache.size/cache.evictions/... با تگ cache=keyedCircuitBreakers و
+ * demo.keyed.breakers{state=closed|open|half_open} (شمارش در زمان scrape).
+ */
+public class KeyedCircuitBreakers implements MeterBinder {
+
+    /** پیشوند نام breakerهای کلیددار (برای پیام fallback و رویدادها) */
+    public static final String NAME_PREFIX = "externalService:";
+
+    private final boolean enabled;
+    private final CircuitBreakerConfig config;
+    private final Cache<String, CircuitBreaker> breakers;
+
+    /**
+     * @param properties تنظیمات demo.keyed-breakers
+     * @param config     config breakerهای کلیددار
+     */
+    public KeyedCircuitBreakers(KeyedBreakerProperties properties, CircuitBreakerConfig config) {
+        this(properties, config, Ticker.systemTicker());
+    }
+
+    /**
+     * @param ticker منبع زمان (برای تست حذف breaker بیکار بدون انتظار واقعی)
+     */
+    public KeyedCircuitBreakers(KeyedBreakerProperties properties, CircuitBreakerConfig config, Ticker ticker) {
+        this.enabled = properties.isEnabled();
+        this.config = config;
+        this.breakers = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * نمونه‌ی غیرفعال (برای Unit Test و استفاده بدون Spring): decorate همان downstream را برمی‌گرداند
+     */
+    public static KeyedCircuitBreakers disabled() {
+        KeyedBreakerProperties properties = new KeyedBreakerProperties();
+        properties.setEnabled(false);
+        return new KeyedCircuitBreakers(properties, CircuitBreakerConfig.ofDefaults());
+    }
+
+    /**
+     * @return breaker کلید (در صورت نبود، همین حالا ساخته می‌شود)
+     */
+    public CircuitBreaker forKey(String key) {
+        return breakers.get(key, k -> CircuitBreaker.of(NAME_PREFIX + k, config));
+    }
+
+    /**
+     * @return breaker کلید BreakerKeyContext روی thread فعلی؛ بدون کلید یا در حالت غیرفعال خالی
+     */
+    public Optional<CircuitBreaker> current() {
+        return enabled ? BreakerKeyContext.current().map(this::forKey) : Optional.empty();
+    }
+
+    /**
+     * پوشاندن فراخوانی‌های downstream با breaker کلید جاری
+     */
+    public Downstream decorate(Downstream downstream) {
+        if (!enabled) {
+            return downstream;
+        }
+        return new Downstream() {
+            @Override
+            public String callSync() {
+                Optional<CircuitBreaker> breaker = current();
+                return breaker.isEmpty()
+                        ? downstream.callSync()
+                        : breaker.get().executeSupplier(downstream::callSync);
+            }
+
+            @Override
+            public CompletableFuture<String> callAsync() {
+                Optional<CircuitBreaker> breaker = current();
+                return breaker.isEmpty()
+                        ? downstream.callAsync()
+                        : breaker.get().executeCompletionStage(downstream::callAsync).toCompletableFuture();
+            }
+        };
+    }
+
+    /**
+     * @return تعداد تقریبی breakerهای نگه‌داری‌شده
+     */
+    public long size() {
+        return breakers.estimatedSize();
+    }
+
+    /**
+     * اجرای فوری کارهای نگه‌داری معوق Caffeine (حذف‌های ناشی از سقف یا بیکاری)
+     */
+    public void cleanUp() {
+        breakers.cleanUp();
+    }
+
+    private long count(CircuitBreaker.State state) {
+        return breakers.asMap().values().stream().filter(breaker -> breaker.getState() == state).count();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, breakers, "keyedCircuitBreakers");
+        for (CircuitBreaker.State state : new CircuitBreaker.State[]{
+                CircuitBreaker.State.CLOSED, CircuitBreaker.State.OPEN, CircuitBreaker.State.HALF_OPEN}) {
+            Gauge.builder("demo.keyed.breakers", this, keyed -> keyed.count(state))
+                    .tag("state", state.name().toLowerCase())
+                    .description("Key-scoped circuit breakers by state")
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.bahar.demo.metrics;
+
+import com.bahar.demo.resilience.ConcurrencyLimitExceededException;
+import com.bahar.demo.service.ExternalService;
+import com.bahar.demo.service.ExternalServiceDecorator;
+import com.bahar.demo.service.ExternalServiceImpl;
+import com.bahar.demo.service.ForwardingExternalService;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * MeteredDecorator
+ * -------------------------
+ * بیرونی‌ترین لایه: تأخیر کامل callExternalApiSync، asyncProcess و processWithCallback
+ * (همان چیزی که کنترلر می‌بیند، شامل retry، fallback و deadline) در Timer "demo.external.calls":
+ *  - method   → نام متد
+ *  - outcome  → success | failure | fallback | not_permitted (مدار باز، ردِ bulkhead/rate limiter/executor/سقف تطبیقی)
+ *  - executor → جایی که کار اجرا می‌شود: caller (thread درخواست)، externalService، callback
+ *
+ * هزینه‌ی هر فراخوانی: یک System.nanoTime در شروع و یک record روی Timer از قبل ساخته‌شده
+ * (بدون lookup در registry یا ساخت tag در مسیر داغ).
+ * histogram درصدی در application.yml روشن می‌شود (management.metrics.distribution.percentiles-histogram)
+ * تا p50/p99/... در Prometheus از روی bucketها قابل محاسبه باشند.
+ *
+ * تعداد تلاش‌ها جداگانه ثبت می‌شود: demo.async.retry.attempts (NonBlockingRetry) و resilience4j.retry.calls.
+ */
+@Component
+@Order(300)
+public class MeteredDecorator implements ExternalServiceDecorator {
+
+    /** نام Timer */
+    public static final String METRIC = "demo.external.calls";
+
+    enum Outcome {
+        SUCCESS, FAILURE, FALLBACK, NOT_PERMITTED;
+
+        final String tag = name().toLowerCase();
+    }
+
+    private final Timer[] sync;
+    private final Timer[] async;
+    private final Timer[] callback;
+
+    public MeteredDecorator(MeterRegistry registry) {
+        this.sync = timers(registry, "callExternalApiSync", "caller");
+        this.async = timers(registry, "asyncProcess", ExternalServiceImpl.EXECUTOR_NAME);
+        this.callback = timers(registry, "processWithCallback", "callback");
+    }
+
+    private static Timer[] timers(MeterRegistry registry, String method, String executor) {
+        Outcome[] outcomes = Outcome.values();
+        Timer[] timers = new Timer[outcomes.length];
+        for (Outcome outcome : outcomes) {
+            timers[outcome.ordinal()] = Timer.builder(METRIC)
+                    .tag("method", method)
+                    .tag("outcome", outcome.tag)
+                    .tag("executor", executor)
+                    .description("ExternalService call latency as seen by the caller")
+                    .register(registry);
+        }
+        return timers;
+    }
+
+    @Override
+    public ExternalService decorate(ExternalService target) {
+        return new ForwardingExternalService(target) {
+            @Override
+            public String callExternalApiSync() {
+                long start = System.nanoTime();
+                try {
+                    String result = delegate.callExternalApiSync();
+                    record(sync, ofResult(result), start);
+                    return result;
+                } catch (RuntimeException e) {
+                    record(sync, ofError(e), start);
+                    throw e;
+                }
+            }
+
+            @Override
+            public CompletableFuture<String> asyncProcess() {
+                long start = System.nanoTime();
+                CompletableFuture<String> future;
+                try {
+                    future = delegate.asyncProcess();
+                } catch (RuntimeException e) {
+                    record(async, ofError(e), start);
+                    throw e;
+                }
+                future.whenComplete((result, error) ->
+                        record(async, error == null ? ofResult(result) : ofError(error), start));
+                return future;
+            }
+
+            @Override
+            public void processWithCallback(Consumer<String> callback) {
+                long start = System.nanoTime();
+                delegate.processWithCallback(message -> {
+                    record(MeteredDecorator.this.callback, ofCallback(message), start);
+                    callback.accept(message);
+                });
+            }
+        };
+    }
+
+    private static void record(Timer[] timers, Outcome outcome, long start) {
+        timers[outcome.ordinal()].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    static Outcome ofResult(String result) {
+        return result != null && result.startsWith(ExternalServiceImpl.FALLBACK_PREFIX)
+                ? Outcome.FALLBACK : Outcome.SUCCESS;
+    }
+
+    static Outcome ofCallback(String message) {
+        if (ExternalServiceImpl.CALLBACK_REJECTED.equals(message)) {
+            return Outcome.NOT_PERMITTED;
+        }
+        if (message != null && message.startsWith("✅")) {
+            return Outcome.SUCCESS;
+        }
+        return ofResult(message) == Outcome.FALLBACK ? Outcome.FALLBACK : Outcome.FAILURE;
+    }
+
+    static Outcome ofError(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof CallNotPermittedException
+                || cause instanceof BulkheadFullException
+                || cause instanceof RequestNotPermitted
+                || cause instanceof RejectedExecutionException
+                || cause instanceof ConcurrencyLimitExceededException
+                ? Outcome.NOT_PERMITTED : Outcome.FAILURE;
+    }
+}
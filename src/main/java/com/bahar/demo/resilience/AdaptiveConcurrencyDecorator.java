@@ -0,0 +1,91 @@
+package com.bahar.demo.resilience;
+
+import com.bahar.demo.service.ExternalService;
+import com.bahar.demo.service.ExternalServiceDecorator;
+import com.bahar.demo.service.ExternalServiceImpl;
+import com.bahar.demo.service.ForwardingExternalService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * AdaptiveConcurrencyDecorator
+ * -------------------------
+ * callExternalApiSync و asyncProcess را پشت AdaptiveConcurrencyLimiter قرار می‌دهد:
+ *  - بیش از سقف فعلی → بدون صف و بدون فراخوانی downstream رد می‌شود:
+ *      · sync: پاسخ fallback (fallbackWithLastKnownGood، همان fallback مدار باز)
+ *      · async: Future ناموفق با ConcurrencyLimitExceededException؛ LastKnownGoodDecorator
+ *        در صورت وجود آخرین پاسخ موفق، آن را با fallbackMethod برمی‌گرداند و AsyncRetry آن را retry نمی‌کند
+ *  - پاسخ موفق → تأخیرش نمونه‌ی سقف بعدی است؛ پاسخ fallback (مثلاً مدار باز) نمونه حساب نمی‌شود
+ *
+ * نزدیک‌ترین لایه به سرویس (بعد از حالت programmatic) و داخل AsyncRetryDecorator است:
+ * هر تلاش async جداگانه مجوز می‌گیرد و تأخیر خودش را می‌سنجد. در حالت annotation، تأخیر sync
+ * شامل retryهای داخل proxy است. processWithCallback سقف جداگانه‌ی خودش را دارد (BoundedCallbackExecutor).
+ * با demo.adaptive-limit.enabled=false این Bean ساخته نمی‌شود.
+ */
+@Component
+@Order(50)
+@ConditionalOnProperty(prefix = "demo.adaptive-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AdaptiveConcurrencyDecorator implements ExternalServiceDecorator {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public AdaptiveConcurrencyDecorator(AdaptiveConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public ExternalService decorate(ExternalService target) {
+        return new ForwardingExternalService(target) {
+            @Override
+            public String callExternalApiSync() {
+                Optional<AdaptiveConcurrencyLimiter.Permit> acquired = limiter.tryAcquire();
+                if (acquired.isEmpty()) {
+                    return delegate.fallbackWithLastKnownGood(new ConcurrencyLimitExceededException(limiter.limit()));
+                }
+                AdaptiveConcurrencyLimiter.Permit permit = acquired.get();
+                try {
+                    String result = delegate.callExternalApiSync();
+                    if (result != null && result.startsWith(ExternalServiceImpl.FALLBACK_PREFIX)) {
+                        permit.onIgnore();
+                    } else {
+                        permit.onSuccess();
+                    }
+                    return result;
+                } catch (RuntimeException e) {
+                    permit.onFailure();
+                    throw e;
+                }
+            }
+
+            @Override
+            public CompletableFuture<String> asyncProcess() {
+                Optional<AdaptiveConcurrencyLimiter.Permit> acquired = limiter.tryAcquire();
+                if (acquired.isEmpty()) {
+                    return CompletableFuture.failedFuture(new ConcurrencyLimitExceededException(limiter.limit()));
+                }
+                AdaptiveConcurrencyLimiter.Permit permit = acquired.get();
+                CompletableFuture<String> future;
+                try {
+                    future = delegate.asyncProcess();
+                } catch (RuntimeException e) {
+                    permit.onFailure();
+                    throw e;
+                }
+                future.whenComplete((value, error) -> {
+                    if (error == null) {
+                        permit.onSuccess();
+                    } else if (future.isCancelled()) {
+                        permit.onIgnore();
+                    } else {
+                        permit.onFailure();
+                    }
+                });
+                return future;
+            }
+        };
+    }
+}
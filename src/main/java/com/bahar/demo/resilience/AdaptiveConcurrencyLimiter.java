@@ -0,0 +1,266 @@
+package com.bahar.demo.resilience;
+
+import com.bahar.demo.config.AdaptiveLimitProperties;
+import io.github.resilience4j.core.metrics.Metrics;
+import io.github.resilience4j.core.metrics.Snapshot;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * AdaptiveConcurrencyLimiter
+ * -------------------------
+ * سقف تطبیقی فراخوانی‌های هم‌زمان (in-flight) به downstream، به روش gradient:
+ *  - minRtt: تأخیر بدون بار؛ میانگین minRttSamples فراخوانی موفق، در شروع (با سقف initialLimit) و بعد هر
+ *    minRttInterval (چون ظرفیت و تأخیر downstream در طول روز عوض می‌شوند). هنگام اندازه‌گیری دوباره سقف
+ *    نصف می‌شود نه minLimit: بار نزدیک ظرفیت تأخیر را از صف خالی می‌کند ولی ترافیک عادی (تا نصف سقف)
+ *    رد نمی‌شود. سقف قبلی با پایان اندازه‌گیری برمی‌گردد
+ *  - sampleRtt: میانگین تأخیر فراخوانی‌های موفق در LockFreeSlidingTimeWindowMetrics (sampleWindow)
+ *  - هر updateInterval:
+ *      gradient = clamp(minRtt × (1 + latencyBuffer) / sampleRtt, 0.5, 2)
+ *      limit    = limit × gradient + √limit      (√limit: حاشیه‌ی کوچک برای کشف ظرفیت بیشتر)
+ *    تأخیر بالاتر از minRtt یعنی درخواست‌ها در downstream صف شده‌اند → سقف کم می‌شود؛
+ *    تأخیر نزدیک minRtt → سقف تا ظرفیت واقعی بالا می‌رود
+ *  - اگر بیشترین in-flight بازه کمتر از نصف سقف باشد، سقف بالا نمی‌رود (بار کم، نشانه‌ی ظرفیت نیست)
+ *
+ * tryAcquire بدون قفل است (یک CAS روی in-flight)؛ فراخوانی اضافه منتظر نمی‌ماند و فوراً رد می‌شود.
+ * فقط تأخیر فراخوانی‌های موفق نمونه است: شکست‌ها (ردهای فوری یا timeout) تصویر ظرفیت را خراب می‌کنند.
+ *
+ * متریک‌ها: demo.adaptive.limit، demo.adaptive.inflight، demo.adaptive.min.rtt
+ * و demo.adaptive.calls با تگ outcome (success، failure، shed).
+ */
+public class AdaptiveConcurrencyLimiter implements MeterBinder {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int minSamples;
+    private final int minRttSamples;
+    private final double latencyBuffer;
+    private final long updateIntervalMillis;
+    private final long minRttIntervalMillis;
+    private final Clock clock;
+    private final LockFreeSlidingTimeWindowMetrics window;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final AtomicLong nextUpdateAt = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicBoolean measuringMinRtt = new AtomicBoolean(true);
+    private final LongAdder minRttSum = new LongAdder();
+    private final LongAdder minRttCount = new LongAdder();
+
+    /** سقف فعلی tryAcquire */
+    private volatile int limit;
+    /** تخمین اعشاری سقف؛ فقط thread برنده‌ی به‌روزرسانی آن را می‌نویسد */
+    private volatile double estimatedLimit;
+    /** تأخیر بدون بار (نانوثانیه)؛ ۰ = هنوز اندازه گرفته نشده */
+    private volatile long minRttNanos;
+    private volatile long nextMinRttAt;
+
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+
+    /**
+     * @param properties تنظیمات demo.adaptive-limit
+     * @param clock      منبع زمان (برای شبیه‌سازی قابل تعویض است)
+     */
+    public AdaptiveConcurrencyLimiter(AdaptiveLimitProperties properties, Clock clock) {
+        if (properties.getMinLimit() < 1 || properties.getMaxLimit() < properties.getMinLimit()) {
+            throw new IllegalArgumentException("require 1 <= minLimit <= maxLimit");
+        }
+        this.minLimit = properties.getMinLimit();
+        this.maxLimit = properties.getMaxLimit();
+        this.minSamples = properties.getMinSamples();
+        this.minRttSamples = Math.max(1, properties.getMinRttSamples());
+        this.latencyBuffer = properties.getLatencyBuffer();
+        this.updateIntervalMillis = properties.getUpdateInterval().toMillis();
+        this.minRttIntervalMillis = properties.getMinRttInterval().toMillis();
+        this.clock = clock;
+        this.window = new LockFreeSlidingTimeWindowMetrics(
+                (int) Math.max(1, properties.getSampleWindow().toSeconds()), clock);
+        this.estimatedLimit = clamp(properties.getInitialLimit(), minLimit, maxLimit);
+        this.limit = (int) estimatedLimit;
+    }
+
+    public AdaptiveConcurrencyLimiter(AdaptiveLimitProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    /**
+     * ساخت نمونه با تنظیمات پیش‌فرض (برای Unit Test و استفاده بدون Spring)
+     */
+    public static AdaptiveConcurrencyLimiter withDefaults() {
+        return new AdaptiveConcurrencyLimiter(new AdaptiveLimitProperties());
+    }
+
+    /**
+     * گرفتن مجوز یک فراخوانی
+     *
+     * @return مجوز؛ خالی اگر in-flight به سقف رسیده باشد (فراخوانی باید فوراً رد شود)
+     */
+    public Optional<Permit> tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                shed.increment();
+                return Optional.empty();
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        peakInFlight.accumulateAndGet(current + 1, Math::max);
+        return Optional.of(new Permit(clock.instant()));
+    }
+
+    private void onSample(long rttNanos) {
+        long now = clock.millis();
+        if (measuringMinRtt.get()) {
+            minRttSum.add(rttNanos);
+            minRttCount.increment();
+            if (minRttCount.sum() >= minRttSamples && measuringMinRtt.compareAndSet(true, false)) {
+                minRttNanos = Math.max(1, minRttSum.sum() / Math.max(1, minRttCount.sum()));
+                nextMinRttAt = now + minRttIntervalMillis;
+                nextUpdateAt.set(now + updateIntervalMillis);
+                limit = (int) estimatedLimit;
+            }
+            return;
+        }
+        window.record(rttNanos, TimeUnit.NANOSECONDS, Metrics.Outcome.SUCCESS);
+        long due = nextUpdateAt.get();
+        if (now >= due && nextUpdateAt.compareAndSet(due, now + updateIntervalMillis)) {
+            update(now);
+        }
+    }
+
+    private void update(long now) {
+        int peak = peakInFlight.getAndSet(inFlight.get());
+        if (now >= nextMinRttAt) {
+            minRttSum.reset();
+            minRttCount.reset();
+            measuringMinRtt.set(true);
+            limit = (int) clamp(estimatedLimit / 2, minLimit, maxLimit);
+            return;
+        }
+        Snapshot snapshot = window.getSnapshot();
+        if (snapshot.getTotalNumberOfCalls() < minSamples) {
+            return;
+        }
+        double sampleRtt = Math.max(1, snapshot.getAverageDuration().toNanos());
+        double gradient = clamp(minRttNanos * (1 + latencyBuffer) / sampleRtt, 0.5, 2.0);
+        double estimate = estimatedLimit;
+        if (gradient >= 1.0 && peak < estimate / 2) {
+            return;
+        }
+        double next = estimate * gradient;
+        next = clamp(next + Math.sqrt(next), minLimit, maxLimit);
+        estimatedLimit = next;
+        limit = (int) next;
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    /**
+     * @return سقف فعلی in-flight
+     */
+    public int limit() {
+        return limit;
+    }
+
+    /**
+     * @return تعداد فراخوانی‌های در حال اجرا
+     */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return آخرین تأخیر بدون بار اندازه‌گیری‌شده (صفر تا اولین اندازه‌گیری)
+     */
+    public Duration minRtt() {
+        return Duration.ofNanos(minRttNanos);
+    }
+
+    /**
+     * @return true وقتی minRtt در حال اندازه‌گیری است (به‌روزرسانی سقف متوقف است)
+     */
+    public boolean isMeasuringMinRtt() {
+        return measuringMinRtt.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("demo.adaptive.limit", this, AdaptiveConcurrencyLimiter::limit)
+                .description("Current adaptive concurrency limit")
+                .register(registry);
+        Gauge.builder("demo.adaptive.inflight", inFlight, AtomicInteger::get)
+                .description("Calls currently holding an adaptive concurrency permit")
+                .register(registry);
+        TimeGauge.builder("demo.adaptive.min.rtt", this, TimeUnit.NANOSECONDS, limiter -> limiter.minRttNanos)
+                .description("Last measured no-load latency of the downstream")
+                .register(registry);
+        counter(registry, "success", successes);
+        counter(registry, "failure", failures);
+        counter(registry, "shed", shed);
+    }
+
+    private static void counter(MeterRegistry registry, String outcome, LongAdder adder) {
+        FunctionCounter.builder("demo.adaptive.calls", adder, LongAdder::sum)
+                .tag("outcome", outcome)
+                .description("Calls by adaptive concurrency limiter outcome")
+                .register(registry);
+    }
+
+    /**
+     * مجوز یک فراخوانی؛ دقیقاً یکی از onSuccess/onFailure/onIgnore باید صدا زده شود (تکرار بی‌اثر است)
+     */
+    public final class Permit {
+
+        private final Instant start;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(Instant start) {
+            this.start = start;
+        }
+
+        /** فراخوانی موفق؛ تأخیرش نمونه‌ی سقف بعدی است */
+        public void onSuccess() {
+            if (release()) {
+                successes.increment();
+                onSample(Duration.between(start, clock.instant()).toNanos());
+            }
+        }
+
+        /** فراخوانی ناموفق؛ فقط مجوز آزاد می‌شود */
+        public void onFailure() {
+            if (release()) {
+                failures.increment();
+            }
+        }
+
+        /** نتیجه‌ای که چیزی درباره‌ی downstream نمی‌گوید (مثلاً cancel یا پاسخ fallback) */
+        public void onIgnore() {
+            release();
+        }
+
+        private boolean release() {
+            if (released.compareAndSet(false, true)) {
+                inFlight.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.bahar.demo.resilience;
+
+import com.bahar.demo.service.ExternalService;
+import com.bahar.demo.service.ExternalServiceDecorator;
+import com.bahar.demo.service.ForwardingExternalService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * AsyncRetryDecorator
+ * -------------------------
+ * asyncProcess را با NonBlockingRetry می‌پیچد؛ بقیه‌ی متدها بدون تغییر عبور می‌کنند.
+ *
+ * این لایه بیرون از لایه‌ی resilience قرار می‌گیرد، پس هر تلاش دوباره از RateLimiter/Bulkhead
+ * مسیر async عبور می‌کند و ردِ ظرفیت (طبق ignoreExceptions) retry نمی‌شود.
+ * با demo.async-retry.enabled=false این Bean ساخته نمی‌شود.
+ */
+@Component
+@Order(100)
+@ConditionalOnProperty(prefix = "demo.async-retry", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AsyncRetryDecorator implements ExternalServiceDecorator {
+
+    private final NonBlockingRetry retry;
+
+    public AsyncRetryDecorator(NonBlockingRetry retry) {
+        this.retry = retry;
+    }
+
+    @Override
+    public ExternalService decorate(ExternalService target) {
+        return new ForwardingExternalService(target) {
+            @Override
+            public CompletableFuture<String> asyncProcess() {
+                return retry.execute(delegate::asyncProcess);
+            }
+        };
+    }
+}
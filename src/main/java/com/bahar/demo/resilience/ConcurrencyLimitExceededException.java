@@ -0,0 +1,15 @@
+package com.bahar.demo.resilience;
+
+/**
+ * ConcurrencyLimitExceededException
+ * -------------------------
+ * ردِ فوری فراخوانی وقتی تعداد in-flight به سقف فعلی AdaptiveConcurrencyLimiter رسیده است.
+ * مثل BulkheadFullException ردِ ظرفیت است، نه خرابی downstream: retry نمی‌شود و مدار را باز نمی‌کند.
+ * stack trace ساخته نمی‌شود (مسیر داغ زیر بار).
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    public ConcurrencyLimitExceededException(int limit) {
+        super("Adaptive concurrency limit " + limit + " reached", null, false, false);
+    }
+}
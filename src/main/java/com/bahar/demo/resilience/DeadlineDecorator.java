@@ -0,0 +1,151 @@
+package com.bahar.demo.resilience;
+
+import com.bahar.demo.deadline.Deadline;
+import com.bahar.demo.deadline.DeadlineContext;
+import com.bahar.demo.service.ExternalService;
+import com.bahar.demo.service.ExternalServiceDecorator;
+import com.bahar.demo.service.ForwardingExternalService;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * DeadlineDecorator
+ * -------------------------
+ * بیرونی‌ترین لایه‌ی زمانی روی asyncProcess و processWithCallback:
+ *  - asyncProcess: سقف زمان = min(timeoutDuration در TimeLimiter "externalServiceAsync"، بودجه‌ی باقی‌مانده‌ی درخواست)
+ *      · نتیجه‌ها (موفقیت/خطا/timeout) در همان TimeLimiter ثبت می‌شوند (رویدادها و متریک‌های Resilience4j)
+ *      · با timeout، Future زیرین cancel می‌شود (اگر cancelRunningFuture=true)؛ retryهای زمان‌بندی‌شده
+ *        و کارهایی که هنوز در صف executor هستند دیگر اجرا نمی‌شوند
+ *      · اگر بودجه از قبل تمام شده باشد، اصلاً کاری شروع نمی‌شود
+ *  - processWithCallback: callback دقیقاً یک بار فراخوانی می‌شود؛ اگر تا deadline خبری نشود،
+ *    پاسخ fallbackMethod (با TimeoutException) تحویل داده می‌شود و پاسخ دیرهنگام دور ریخته می‌شود
+ *
+ * timeout روی یک زمان‌بند تک‌threadی اجرا می‌شود؛ هیچ threadی منتظر نمی‌ماند.
+ * بیرون از لایه‌ی retry قرار دارد، پس deadline کل رشته‌ی تلاش‌ها را محدود می‌کند.
+ */
+@Order(200)
+public class DeadlineDecorator implements ExternalServiceDecorator {
+
+    /** نام instance در resilience4j.timelimiter */
+    static final String INSTANCE = "externalServiceAsync";
+
+    private final TimeLimiter timeLimiter;
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    public DeadlineDecorator(TimeLimiterRegistry timeLimiterRegistry) {
+        this.timeLimiter = timeLimiterRegistry.timeLimiter(INSTANCE);
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("deadline-");
+        threadFactory.setDaemon(true);
+        this.scheduler = new ScheduledThreadPoolExecutor(1, threadFactory);
+        this.scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    @Override
+    public ExternalService decorate(ExternalService target) {
+        return new ForwardingExternalService(target) {
+            @Override
+            public CompletableFuture<String> asyncProcess() {
+                return limitAsync(delegate);
+            }
+
+            @Override
+            public void processWithCallback(Consumer<String> callback) {
+                limitCallback(delegate, callback);
+            }
+        };
+    }
+
+    private CompletableFuture<String> limitAsync(ExternalService target) {
+        Deadline deadline = DeadlineContext.current();
+        long cap = timeLimiter.getTimeLimiterConfig().getTimeoutDuration().toNanos();
+        long remaining = deadline.remainingNanos();
+        if (remaining <= 0) {
+            TimeoutException e = deadlineExceeded();
+            timeLimiter.onError(e);
+            return CompletableFuture.failedFuture(e);
+        }
+        boolean byDeadline = remaining < cap;
+
+        CompletableFuture<String> future;
+        try {
+            future = target.asyncProcess();
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<String> underlying = future;
+        CompletableFuture<String> result = new CompletableFuture<>();
+        ScheduledFuture<?> timer = scheduler.schedule(() -> {
+            TimeoutException e = byDeadline
+                    ? deadlineExceeded()
+                    : TimeLimiter.createdTimeoutExceptionWithName(timeLimiter.getName(), null);
+            if (result.completeExceptionally(e)) {
+                timeLimiter.onError(e);
+                if (timeLimiter.getTimeLimiterConfig().shouldCancelRunningFuture()) {
+                    underlying.cancel(true);
+                }
+            }
+        }, Math.min(cap, remaining), TimeUnit.NANOSECONDS);
+
+        future.whenComplete((value, error) -> {
+            timer.cancel(false);
+            if (error == null) {
+                if (result.complete(value)) {
+                    timeLimiter.onSuccess();
+                }
+            } else if (result.completeExceptionally(error)) {
+                timeLimiter.onError(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            }
+        });
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                underlying.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private void limitCallback(ExternalService target, Consumer<String> callback) {
+        Deadline deadline = DeadlineContext.current();
+        AtomicBoolean delivered = new AtomicBoolean();
+        if (!deadline.isBounded()) {
+            target.processWithCallback(message -> deliverOnce(delivered, callback, message));
+            return;
+        }
+        ScheduledFuture<?> timer = scheduler.schedule(
+                () -> deliverOnce(delivered, callback, target.fallbackMethod(deadlineExceeded())),
+                Math.max(0, deadline.remainingNanos()), TimeUnit.NANOSECONDS);
+        target.processWithCallback(message -> {
+            timer.cancel(false);
+            deliverOnce(delivered, callback, message);
+        });
+    }
+
+    private static void deliverOnce(AtomicBoolean delivered, Consumer<String> callback, String message) {
+        if (delivered.compareAndSet(false, true)) {
+            callback.accept(message);
+        }
+    }
+
+    private static TimeoutException deadlineExceeded() {
+        return new TimeoutException("Request deadline exceeded");
+    }
+
+    /**
+     * توقف زمان‌بند timeoutها (هنگام بسته شدن Context)
+     */
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,371 @@
+package com.bahar.demo.resilience;
+
+import com.bahar.demo.config.HedgingProperties;
+import com.bahar.demo.deadline.Deadline;
+import com.bahar.demo.deadline.DeadlineContext;
+import com.bahar.demo.downstream.Downstream;
+import com.bahar.demo.keyed.BreakerKeyContext;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Hedging
+ * -------------------------
+ * hedging برای فراخوانی async و idempotent downstream تا تأخیر دم (p99) را یک تلاش کند تعیین نکند:
+ *  - اگر تلاش اول بعد از «تأخیر hedge» هنوز تمام نشده باشد، تلاش دوم موازی شروع می‌شود؛
+ *    اولین موفقیت برنده است و تلاش دیگر cancel می‌شود (شکست یکی → منتظر دیگری؛ هر دو → اولین خطا)
+ *  - تأخیر hedge: ثابت (delay) یا percentile تأخیر تلاش‌های موفق اخیر در بازه‌ی [minDelay, maxDelay]؛
+ *    percentile روی زمان‌بند و خارج از مسیر درخواست دوباره محاسبه می‌شود
+ *  - بودجه: هر فراخوانی budget (مثلاً ۰.۰۵) اعتبار جمع می‌کند و هر hedge یک واحد مصرف می‌کند،
+ *    پس بار اضافه در بلندمدت از budget بیشتر نمی‌شود (سقف اعتبار = budgetBurst)
+ *  - شکست تلاش اول قبل از تأخیر hedge، hedge نمی‌سازد (این کار retry است نه hedging)
+ *  - deadline درخواست و کلید breaker روی thread زمان‌بند هم نصب می‌شوند؛ hedge بعد از deadline شروع نمی‌شود
+ *
+ * رابطه با circuit breaker: decorate داخل CircuitBreaker سراسری و breaker کلیددار قرار می‌گیرد، پس هر
+ * فراخوانی hedge‌شده فقط یک نتیجه در failureRateThreshold ثبت می‌کند و تلاش بازنده (cancel‌شده) اصلاً
+ * دیده نمی‌شود. علاوه بر این، وقتی breakersClosed برقرار نیست (مدار HALF_OPEN/OPEN) hedge فرستاده نمی‌شود
+ * تا downstream در حال بهبود بار دوبرابر نگیرد.
+ *
+ * متریک‌ها:
+ *  - demo.hedging.calls با تگ outcome
+ *    (not_needed، primary_won، hedge_won، failed، skipped_budget، skipped_breaker، skipped_deadline)
+ *  - demo.hedging.delay → تأخیر hedge فعلی
+ */
+public class Hedging implements MeterBinder {
+
+    /** اعتبار یک hedge بر حسب واحدهای داخلی بودجه */
+    private static final long CREDITS_PER_HEDGE = 1_000;
+
+    private static final int WAITING = 0;
+    private static final int FIRED = 1;
+    private static final int SETTLED = 2;
+
+    private final boolean enabled;
+    private final long fixedDelayNanos;
+    private final long minDelayNanos;
+    private final long maxDelayNanos;
+    private final double percentile;
+    private final int minSamples;
+    private final AtomicLongArray samples;
+    private final AtomicLong sampleCount = new AtomicLong();
+    private volatile long adaptiveDelayNanos;
+
+    private final long creditsPerCall;
+    private final long maxCredits;
+    private final AtomicLong credits;
+
+    private final BooleanSupplier breakersClosed;
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    private final LongAdder notNeeded = new LongAdder();
+    private final LongAdder primaryWon = new LongAdder();
+    private final LongAdder hedgeWon = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder skippedBudget = new LongAdder();
+    private final LongAdder skippedBreaker = new LongAdder();
+    private final LongAdder skippedDeadline = new LongAdder();
+
+    /**
+     * @param properties     تنظیمات demo.hedging
+     * @param breakersClosed آیا مدارهای مربوط (سراسری و کلید جاری) بسته‌اند؛ روی thread زمان‌بند صدا زده می‌شود
+     */
+    public Hedging(HedgingProperties properties, BooleanSupplier breakersClosed) {
+        this.enabled = properties.isEnabled();
+        this.fixedDelayNanos = properties.getDelay() == null ? -1 : properties.getDelay().toNanos();
+        this.minDelayNanos = properties.getMinDelay().toNanos();
+        this.maxDelayNanos = Math.max(minDelayNanos, properties.getMaxDelay().toNanos());
+        this.percentile = Math.min(1, Math.max(0, properties.getPercentile()));
+        this.samples = new AtomicLongArray(Math.max(1, properties.getSampleSize()));
+        this.minSamples = Math.max(1, Math.min(properties.getMinSamples(), samples.length()));
+        this.adaptiveDelayNanos = maxDelayNanos;
+        this.creditsPerCall = Math.round(Math.max(0, properties.getBudget()) * CREDITS_PER_HEDGE);
+        this.maxCredits = Math.max(1, properties.getBudgetBurst()) * CREDITS_PER_HEDGE;
+        this.credits = new AtomicLong(maxCredits);
+        this.breakersClosed = breakersClosed;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("hedging-");
+        threadFactory.setDaemon(true);
+        this.scheduler = new ScheduledThreadPoolExecutor(1, threadFactory);
+        this.scheduler.setRemoveOnCancelPolicy(true);
+        if (enabled && fixedDelayNanos < 0) {
+            long refresh = properties.getRefreshInterval().toNanos();
+            scheduler.scheduleAtFixedRate(this::refreshDelay, refresh, refresh, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * نمونه‌ی غیرفعال (برای Unit Test و استفاده بدون Spring): decorate همان downstream را برمی‌گرداند
+     */
+    public static Hedging disabled() {
+        HedgingProperties properties = new HedgingProperties();
+        properties.setEnabled(false);
+        return new Hedging(properties, () -> true);
+    }
+
+    /**
+     * hedging روی callAsync؛ callSync بدون تغییر (hedge مسیر sync یک thread اضافه بلاک می‌کند)
+     */
+    public Downstream decorate(Downstream downstream) {
+        if (!enabled) {
+            return downstream;
+        }
+        return new Downstream() {
+            @Override
+            public String callSync() {
+                return downstream.callSync();
+            }
+
+            @Override
+            public CompletableFuture<String> callAsync() {
+                return execute(downstream::callAsync);
+            }
+        };
+    }
+
+    /**
+     * اجرای یک فراخوانی با hedging
+     *
+     * @param call یک تلاش؛ هر بار یک CompletionStage جدید می‌سازد و نباید بلاک کند
+     * @return Futureی که با اولین موفقیت، یا بعد از شکست همه‌ی تلاش‌ها با اولین خطا کامل می‌شود
+     */
+    public <T> CompletableFuture<T> execute(Supplier<? extends CompletionStage<T>> call) {
+        deposit();
+        Deadline deadline = DeadlineContext.current();
+        Race<T> race = new Race<>(BreakerKeyContext.wrap(call), BreakerKeyContext.wrap(breakersClosed::getAsBoolean),
+                deadline);
+        race.primary = race.attempt();
+
+        long delay = delayNanos();
+        if (race.primary.isDone()) {
+            race.state.set(SETTLED);
+            notNeeded.increment();
+        } else if (deadline.remainingNanos() <= delay) {
+            race.state.set(SETTLED);
+            skippedDeadline.increment();
+        } else {
+            try {
+                race.timer = scheduler.schedule(race::fire, delay, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                race.state.set(SETTLED); // در حال خاموشی
+            }
+        }
+        race.primary.whenComplete((value, error) -> race.onComplete(false, value, error));
+        race.result.whenComplete((value, error) -> {
+            if (race.result.isCancelled()) {
+                race.cancelAll();
+            }
+        });
+        return race.result;
+    }
+
+    /**
+     * @return تأخیر hedge فعلی (ثابت یا تطبیقی)
+     */
+    public long delayNanos() {
+        return fixedDelayNanos >= 0 ? fixedDelayNanos : adaptiveDelayNanos;
+    }
+
+    /**
+     * محاسبه‌ی دوباره‌ی تأخیر تطبیقی از روی آخرین نمونه‌ها (روی thread زمان‌بند)
+     */
+    void refreshDelay() {
+        int count = (int) Math.min(sampleCount.get(), samples.length());
+        if (count < minSamples) {
+            adaptiveDelayNanos = maxDelayNanos;
+            return;
+        }
+        long[] sorted = new long[count];
+        for (int i = 0; i < count; i++) {
+            sorted[i] = samples.get(i);
+        }
+        Arrays.sort(sorted);
+        int index = Math.max(0, (int) Math.ceil(percentile * count) - 1);
+        adaptiveDelayNanos = Math.min(maxDelayNanos, Math.max(minDelayNanos, sorted[index]));
+    }
+
+    private void record(long latencyNanos) {
+        long index = sampleCount.getAndIncrement();
+        samples.set((int) (index % samples.length()), latencyNanos);
+    }
+
+    /** افزودن اعتبار یک فراخوانی؛ در حالت پر بودن بودجه بدون نوشتن */
+    private void deposit() {
+        if (credits.get() < maxCredits) {
+            credits.getAndUpdate(current -> Math.min(maxCredits, current + creditsPerCall));
+        }
+    }
+
+    /** برداشتن اعتبار یک hedge */
+    private boolean withdraw() {
+        long current;
+        do {
+            current = credits.get();
+            if (current < CREDITS_PER_HEDGE) {
+                return false;
+            }
+        } while (!credits.compareAndSet(current, current - CREDITS_PER_HEDGE));
+        return true;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        counter(registry, "not_needed", notNeeded);
+        counter(registry, "primary_won", primaryWon);
+        counter(registry, "hedge_won", hedgeWon);
+        counter(registry, "failed", failed);
+        counter(registry, "skipped_budget", skippedBudget);
+        counter(registry, "skipped_breaker", skippedBreaker);
+        counter(registry, "skipped_deadline", skippedDeadline);
+        TimeGauge.builder("demo.hedging.delay", this, TimeUnit.NANOSECONDS, Hedging::delayNanos)
+                .description("Current delay before a hedged attempt is sent")
+                .register(registry);
+    }
+
+    private static void counter(MeterRegistry registry, String outcome, LongAdder adder) {
+        FunctionCounter.builder("demo.hedging.calls", adder, LongAdder::sum)
+                .tag("outcome", outcome)
+                .description("Hedged async calls by outcome")
+                .register(registry);
+    }
+
+    /**
+     * توقف زمان‌بند؛ بعد از آن فراخوانی‌ها بدون hedge اجرا می‌شوند
+     */
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * وضعیت یک فراخوانی: تلاش اول، hedge احتمالی و Future نتیجه
+     * state: WAITING (زمان‌بند منتظر) → FIRED (زمان hedge رسید) یا SETTLED (تلاش اول زودتر تمام شد)
+     */
+    private final class Race<T> {
+
+        private final Supplier<? extends CompletionStage<T>> call;
+        private final Supplier<Boolean> breakersClosed;
+        private final Deadline deadline;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        /** تلاش‌های در جریان بعد از FIRED */
+        private final AtomicInteger pending = new AtomicInteger(1);
+        private final AtomicReference<Throwable> firstError = new AtomicReference<>();
+        /** hedge مجاز شد (از این به بعد نتیجه با هر دو تلاش تعیین می‌شود) */
+        private volatile boolean hedging;
+        private volatile CompletableFuture<T> primary;
+        private volatile CompletableFuture<T> hedge;
+        private volatile ScheduledFuture<?> timer;
+
+        private Race(Supplier<? extends CompletionStage<T>> call, Supplier<Boolean> breakersClosed, Deadline deadline) {
+            this.call = call;
+            this.breakersClosed = breakersClosed;
+            this.deadline = deadline;
+        }
+
+        private CompletableFuture<T> attempt() {
+            long start = System.nanoTime();
+            CompletableFuture<T> future;
+            try {
+                future = DeadlineContext.callWith(deadline, call).toCompletableFuture();
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            future.whenComplete((value, error) -> {
+                if (error == null) {
+                    record(System.nanoTime() - start);
+                }
+            });
+            return future;
+        }
+
+        /** رسیدن زمان hedge (روی thread زمان‌بند) */
+        private void fire() {
+            if (!state.compareAndSet(WAITING, FIRED)) {
+                return;
+            }
+            if (deadline.isExpired()) {
+                skippedDeadline.increment();
+                return;
+            }
+            if (!breakersClosed.get()) {
+                skippedBreaker.increment();
+                return;
+            }
+            if (!withdraw()) {
+                skippedBudget.increment();
+                return;
+            }
+            pending.incrementAndGet();
+            hedging = true;
+            if (result.isDone()) {
+                return;
+            }
+            CompletableFuture<T> started = attempt();
+            hedge = started;
+            if (result.isDone()) {
+                started.cancel(true); // تلاش اول در همین فاصله برنده شد
+            }
+            started.whenComplete((value, error) -> onComplete(true, value, error));
+        }
+
+        /**
+         * پایان یک تلاش؛ خروجی فقط یک بار شمرده می‌شود (not_needed اینجا، skipped_* در fire)
+         */
+        private void onComplete(boolean hedged, T value, Throwable error) {
+            if (!hedged && state.compareAndSet(WAITING, SETTLED)) {
+                ScheduledFuture<?> scheduled = timer;
+                if (scheduled != null) {
+                    scheduled.cancel(false);
+                }
+                notNeeded.increment();
+            }
+            if (error == null) {
+                if (result.complete(value) && hedging) {
+                    (hedged ? hedgeWon : primaryWon).increment();
+                    cancel(hedged ? primary : hedge);
+                }
+                return;
+            }
+            if (!hedging) {
+                result.completeExceptionally(error);
+                return;
+            }
+            firstError.compareAndSet(null, error);
+            if (pending.decrementAndGet() == 0 && result.completeExceptionally(firstError.get())) {
+                failed.increment();
+            }
+        }
+
+        private void cancelAll() {
+            state.set(SETTLED);
+            ScheduledFuture<?> scheduled = timer;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+            cancel(primary);
+            cancel(hedge);
+        }
+
+        private void cancel(CompletableFuture<T> attempt) {
+            if (attempt != null) {
+                attempt.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.bahar.demo.resilience;
+
+import com.bahar.demo.cache.LastKnownGoodCache;
+import com.bahar.demo.service.ExternalService;
+import com.bahar.demo.service.ExternalServiceDecorator;
+import com.bahar.demo.service.ForwardingExternalService;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * LastKnownGoodDecorator
+ * -------------------------
+ * fallback مسیر async با آخرین پاسخ موفق:
+ *  - هر نتیجه‌ی موفق asyncProcess در LastKnownGoodCache (کلید "asyncProcess") ثبت می‌شود
+ *  - اگر asyncProcess شکست بخورد (خطای downstream، ردِ ظرفیت، پایان retryها) و مقدار منقضی‌نشده‌ای
+ *    در cache باشد، Future با پیام fallbackMethod + آخرین پاسخ موفق (با نشانه‌ی کهنگی) کامل می‌شود
+ *  - بدون مقدار در cache، همان خطای اصلی به exceptionally(onError) می‌رسد
+ *  - کلید cache شامل کلید tenant درخواست است (LastKnownGoodCache.scopedKey)؛ روی thread فراخوان گرفته می‌شود
+ *    چون callbackهای Future روی thread دیگری اجرا می‌شوند
+ *
+ * بیرون از لایه‌ی retry و داخل DeadlineDecorator قرار دارد: فقط شکست نهایی (بعد از همه‌ی تلاش‌ها)
+ * به cache می‌رسد و timeout درخواست همچنان timeout می‌ماند. مسیر sync همین cache را
+ * از fallback مربوط به CircuitBreaker (fallbackWithLastKnownGood) می‌خواند.
+ */
+@Component
+@Order(150)
+public class LastKnownGoodDecorator implements ExternalServiceDecorator {
+
+    /** نام عملیات asyncProcess در LastKnownGoodCache (کلید واقعی: LastKnownGoodCache.scopedKey) */
+    public static final String CACHE_KEY = "asyncProcess";
+
+    private final LastKnownGoodCache cache;
+
+    public LastKnownGoodDecorator(LastKnownGoodCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public ExternalService decorate(ExternalService target) {
+        return new ForwardingExternalService(target) {
+            @Override
+            public CompletableFuture<String> asyncProcess() {
+                return withLastKnownGood(delegate);
+            }
+        };
+    }
+
+    private CompletableFuture<String> withLastKnownGood(ExternalService target) {
+        String key = LastKnownGoodCache.scopedKey(CACHE_KEY);
+        CompletableFuture<String> future;
+        try {
+            future = target.asyncProcess();
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<String> underlying = future;
+        CompletableFuture<String> result = new CompletableFuture<>();
+        future.whenComplete((value, error) -> {
+            if (error == null) {
+                cache.put(key, value);
+                result.complete(value);
+                return;
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+            Optional<LastKnownGoodCache.Entry> lastKnownGood = cache.get(key);
+            if (lastKnownGood.isEmpty()) {
+                result.completeExceptionally(cause);
+                return;
+            }
+            Exception exception = cause instanceof Exception e ? e : new CompletionException(cause);
+            result.complete(cache.withLastKnownGood(target.fallbackMethod(exception), lastKnownGood.get()));
+        });
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                underlying.cancel(true);
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,144 @@
+package com.bahar.demo.resilience;
+
+import com.bahar.demo.executor.NamedExecutorRegistry;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * LimitsEndpoint
+ * -------------------------
+ * مشاهده و تنظیم محدودیت‌های ظرفیت در زمان اجرا، بدون restart:
+ *  - GET  /actuator/limits         → bulkheadها، rate limiterها و poolهای executorهای نام‌دار
+ *  - POST /actuator/limits/{name}  → تغییر یک یا چند مقدار برای instanceهای هم‌نام، مثلاً:
+ *      {"maxConcurrentCalls": 50}        → Bulkhead.changeConfig
+ *      {"limitForPeriod": 200}           → RateLimiter.changeLimitForPeriod
+ *      {"maxPoolSize": 64}               → ThreadPoolExecutor.setMaximumPoolSize
+ *
+ * مقدار نامعتبر یا نام ناموجود → پاسخ 400 (InvalidEndpointRequestException).
+ * تغییرات فقط در حافظه‌اند؛ با restart دوباره مقادیر application.yml اعمال می‌شوند.
+ */
+@Component
+@Endpoint(id = "limits")
+public class LimitsEndpoint {
+
+    private final BulkheadRegistry bulkheadRegistry;
+    private final RateLimiterRegistry rateLimiterRegistry;
+    private final NamedExecutorRegistry executors;
+
+    public LimitsEndpoint(BulkheadRegistry bulkheadRegistry, RateLimiterRegistry rateLimiterRegistry,
+                          NamedExecutorRegistry executors) {
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.rateLimiterRegistry = rateLimiterRegistry;
+        this.executors = executors;
+    }
+
+    @ReadOperation
+    public Limits limits() {
+        Map<String, BulkheadLimit> bulkheads = new TreeMap<>();
+        bulkheadRegistry.getAllBulkheads().forEach(b -> bulkheads.put(b.getName(), BulkheadLimit.of(b)));
+        Map<String, RateLimit> rateLimiters = new TreeMap<>();
+        rateLimiterRegistry.getAllRateLimiters().forEach(r -> rateLimiters.put(r.getName(), RateLimit.of(r)));
+        Map<String, PoolLimit> pools = new TreeMap<>();
+        executors.names().forEach(name -> executors.pool(name).ifPresent(p -> pools.put(name, PoolLimit.of(p))));
+        return new Limits(bulkheads, rateLimiters, pools);
+    }
+
+    /**
+     * @param name               نام instance (bulkhead / rate limiter / executor)
+     * @param maxConcurrentCalls سقف جدید Bulkhead (≥ 0)
+     * @param limitForPeriod     سقف جدید RateLimiter در هر دوره (≥ 1)
+     * @param maxPoolSize        حداکثر thread جدید executor (≥ 1)
+     */
+    @WriteOperation
+    public Limits update(@Selector String name,
+                         @Nullable Integer maxConcurrentCalls,
+                         @Nullable Integer limitForPeriod,
+                         @Nullable Integer maxPoolSize) {
+        try {
+            if (maxConcurrentCalls != null) {
+                Bulkhead bulkhead = bulkheadRegistry.find(name)
+                        .orElseThrow(() -> unknown("bulkhead", name));
+                bulkhead.changeConfig(BulkheadConfig.from(bulkhead.getBulkheadConfig())
+                        .maxConcurrentCalls(maxConcurrentCalls)
+                        .build());
+            }
+            if (limitForPeriod != null) {
+                rateLimiterRegistry.find(name)
+                        .orElseThrow(() -> unknown("rate limiter", name))
+                        .changeLimitForPeriod(limitForPeriod);
+            }
+            if (maxPoolSize != null) {
+                resize(executors.pool(name).orElseThrow(() -> unknown("executor pool", name)), maxPoolSize);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+        return limits();
+    }
+
+    /**
+     * اگر سقف جدید از core کمتر باشد، core هم پایین می‌آید (ThreadPoolExecutor اجازه‌ی max < core نمی‌دهد)؛
+     * pool با صف محدود (core = max، allowCoreThreadTimeOut) core را همراه max تغییر می‌دهد
+     */
+    private static void resize(ThreadPoolExecutor pool, int maxPoolSize) {
+        if (maxPoolSize < pool.getCorePoolSize()) {
+            pool.setCorePoolSize(maxPoolSize);
+        }
+        pool.setMaximumPoolSize(maxPoolSize);
+        if (pool.allowsCoreThreadTimeOut()) {
+            pool.setCorePoolSize(maxPoolSize);
+        }
+    }
+
+    private static InvalidEndpointRequestException unknown(String kind, String name) {
+        String message = "No " + kind + " named '" + name + "'";
+        return new InvalidEndpointRequestException(message, message);
+    }
+
+    public record Limits(Map<String, BulkheadLimit> bulkheads,
+                         Map<String, RateLimit> rateLimiters,
+                         Map<String, PoolLimit> executors) {
+    }
+
+    public record BulkheadLimit(int maxConcurrentCalls, int availableConcurrentCalls, long maxWaitMillis) {
+
+        static BulkheadLimit of(Bulkhead bulkhead) {
+            return new BulkheadLimit(bulkhead.getBulkheadConfig().getMaxConcurrentCalls(),
+                    bulkhead.getMetrics().getAvailableConcurrentCalls(),
+                    bulkhead.getBulkheadConfig().getMaxWaitDuration().toMillis());
+        }
+    }
+
+    public record RateLimit(int limitForPeriod, long limitRefreshPeriodMillis, long timeoutMillis,
+                            int availablePermissions) {
+
+        static RateLimit of(RateLimiter rateLimiter) {
+            return new RateLimit(rateLimiter.getRateLimiterConfig().getLimitForPeriod(),
+                    rateLimiter.getRateLimiterConfig().getLimitRefreshPeriod().toMillis(),
+                    rateLimiter.getRateLimiterConfig().getTimeoutDuration().toMillis(),
+                    rateLimiter.getMetrics().getAvailablePermissions());
+        }
+    }
+
+    public record PoolLimit(int corePoolSize, int maxPoolSize, int activeCount, int queued) {
+
+        static PoolLimit of(ThreadPoolExecutor pool) {
+            return new PoolLimit(pool.getCorePoolSize(), pool.getMaximumPoolSize(),
+                    pool.getActiveCount(), pool.getQueue().size());
+        }
+    }
+}
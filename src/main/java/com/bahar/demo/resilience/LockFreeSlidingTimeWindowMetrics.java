@@ -0,0 +1,261 @@
+package com.bahar.demo.resilience;
+
+import io.github.resilience4j.core.metrics.Metrics;
+import io.github.resilience4j.core.metrics.Snapshot;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LockFreeSlidingTimeWindowMetrics
+ * -------------------------
+ * پنجره‌ی زمانی لغزان (N ثانیه‌ی اخیر) با همان قرارداد Metrics در Resilience4j، اما بدون قفل:
+ *  - هر ثانیه یک bucket دارد (آرایه‌ی حلقوی به طول N، اندیس = ثانیه mod N)
+ *  - مجموع کل پنجره در LongAdderهای جدا نگه داشته می‌شود: هر ثبت هم به bucket و هم به مجموع اضافه می‌شود
+ *    و bucketی که از پنجره خارج می‌شود (با یک CAS جایگزین می‌شود) یک بار از مجموع کم می‌شود
+ *  - ثبت یک نتیجه: چند LongAdder.increment و برگرداندن نمای زنده‌ی همان مجموع → O(1)، مستقل از N،
+ *    بدون synchronized و بدون ساخت شیء
+ *    (SlidingTimeWindowMetrics و FixedSizeSlidingWindowMetrics در Resilience4j 2.2.0 هر record را synchronized می‌کنند)
+ *  - ورود به ثانیه‌ی جدید: فقط یک thread (برنده‌ی CAS روی head) bucketهای ثانیه‌های جاافتاده را خالی می‌کند؛
+ *    هر bucket در هر دور پنجره حداکثر یک بار → O(1) سرشکن. بقیه‌ی threadها منتظر نمی‌مانند
+ *  - getSnapshot: کپی مجموع‌ها → O(1)
+ *
+ * snapshot زیر ثبت‌های هم‌زمان دقیقاً اتمیک نیست (مقادیر LongAdder جداگانه خوانده می‌شوند)؛
+ * برای نرخ شکست/کندی در یک پنجره‌ی چندثانیه‌ای این خطای لحظه‌ای قابل چشم‌پوشی است.
+ * نمای برگشتی record زنده است (هر getter مقدار فعلی را می‌خواند)؛ circuit breaker آن را بلافاصله می‌خواند.
+ * thread ثبت‌کننده‌ای که بین گرفتن bucket و افزودن به آن بیش از کل پنجره متوقف بماند (مثلاً pause طولانی GC)
+ * ثبتش را در مجموع نگه می‌دارد بدون این که بعداً کم شود.
+ */
+public class LockFreeSlidingTimeWindowMetrics implements Metrics {
+
+    private final int windowSeconds;
+    private final Clock clock;
+    private final AtomicReferenceArray<Bucket> buckets;
+    /** آخرین ثانیه‌ای که bucketهای تا آن خالی شده‌اند */
+    private final AtomicLong head = new AtomicLong(Long.MIN_VALUE);
+
+    /** مجموع bucketهای داخل پنجره */
+    private final Bucket totals = new Bucket(Long.MIN_VALUE);
+    private final Snapshot live = new LiveSnapshot();
+
+    /**
+     * @param windowSeconds طول پنجره بر حسب ثانیه (همان slidingWindowSize در حالت TIME_BASED)
+     * @param clock         منبع زمان (برای تست قابل تعویض است)
+     */
+    public LockFreeSlidingTimeWindowMetrics(int windowSeconds, Clock clock) {
+        if (windowSeconds < 1) {
+            throw new IllegalArgumentException("windowSeconds must be >= 1");
+        }
+        this.windowSeconds = windowSeconds;
+        this.clock = clock;
+        this.buckets = new AtomicReferenceArray<>(windowSeconds);
+        for (int i = 0; i < windowSeconds; i++) {
+            buckets.set(i, new Bucket(Long.MIN_VALUE));
+        }
+    }
+
+    public LockFreeSlidingTimeWindowMetrics(int windowSeconds) {
+        this(windowSeconds, Clock.systemUTC());
+    }
+
+    @Override
+    public Snapshot record(long duration, TimeUnit durationUnit, Outcome outcome) {
+        long second = currentSecond();
+        advance(second);
+        long nanos = durationUnit.toNanos(duration);
+        bucket(second).add(outcome, nanos);
+        totals.add(outcome, nanos);
+        return live;
+    }
+
+    @Override
+    public Snapshot getSnapshot() {
+        advance(currentSecond());
+        return new WindowSnapshot(totals.calls.sum(), totals.failed.sum(), totals.slow.sum(),
+                totals.slowFailed.sum(), totals.durationNanos.sum());
+    }
+
+    private long currentSecond() {
+        return Math.floorDiv(clock.millis(), 1000L);
+    }
+
+    /**
+     * خالی کردن bucketهای ثانیه‌هایی که از آخرین پیشروی گذشته‌اند (حداکثر N تا)؛ فقط برنده‌ی CAS
+     */
+    private void advance(long second) {
+        long previous = head.get();
+        while (second > previous) {
+            if (head.compareAndSet(previous, second)) {
+                long from = previous == Long.MIN_VALUE || second - previous >= windowSeconds
+                        ? second - windowSeconds + 1 : previous + 1;
+                for (long t = from; t <= second; t++) {
+                    bucket(t);
+                }
+                return;
+            }
+            previous = head.get();
+        }
+    }
+
+    private Bucket bucket(long second) {
+        int index = (int) Math.floorMod(second, (long) windowSeconds);
+        while (true) {
+            Bucket current = buckets.get(index);
+            if (current.second == second) {
+                return current;
+            }
+            if (current.second > second) {
+                return current; // ساعت کمی عقب رفته؛ در bucket جدیدتر ثبت می‌شود
+            }
+            Bucket fresh = new Bucket(second);
+            if (buckets.compareAndSet(index, current, fresh)) {
+                totals.subtract(current);
+                return fresh;
+            }
+        }
+    }
+
+    /** شمارنده‌های یک ثانیه */
+    private static final class Bucket {
+        final long second;
+        final LongAdder calls = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final LongAdder slow = new LongAdder();
+        final LongAdder slowFailed = new LongAdder();
+        final LongAdder durationNanos = new LongAdder();
+
+        Bucket(long second) {
+            this.second = second;
+        }
+
+        void add(Outcome outcome, long nanos) {
+            calls.increment();
+            durationNanos.add(nanos);
+            switch (outcome) {
+                case ERROR -> failed.increment();
+                case SLOW_SUCCESS -> slow.increment();
+                case SLOW_ERROR -> {
+                    failed.increment();
+                    slow.increment();
+                    slowFailed.increment();
+                }
+                default -> {
+                    // SUCCESS: فقط calls
+                }
+            }
+        }
+
+        void subtract(Bucket expired) {
+            calls.add(-expired.calls.sum());
+            failed.add(-expired.failed.sum());
+            slow.add(-expired.slow.sum());
+            slowFailed.add(-expired.slowFailed.sum());
+            durationNanos.add(-expired.durationNanos.sum());
+        }
+    }
+
+    /** نمای زنده‌ی مجموع پنجره (بدون کپی) */
+    private final class LiveSnapshot implements Counts {
+
+        @Override
+        public long calls() {
+            return totals.calls.sum();
+        }
+
+        @Override
+        public long failed() {
+            return totals.failed.sum();
+        }
+
+        @Override
+        public long slow() {
+            return totals.slow.sum();
+        }
+
+        @Override
+        public long slowFailed() {
+            return totals.slowFailed.sum();
+        }
+
+        @Override
+        public long durationNanos() {
+            return totals.durationNanos.sum();
+        }
+    }
+
+    /** مجموع‌های پنجره؛ نرخ‌ها مثل Resilience4j بر حسب درصد (0..100). calls یک بار خوانده می‌شود چون نمای زنده بین دو خواندن عوض می‌شود */
+    interface Counts extends Snapshot {
+
+        long calls();
+
+        long failed();
+
+        long slow();
+
+        long slowFailed();
+
+        long durationNanos();
+
+        @Override
+        default Duration getTotalDuration() {
+            return Duration.ofNanos(durationNanos());
+        }
+
+        @Override
+        default Duration getAverageDuration() {
+            long calls = calls();
+            return calls == 0 ? Duration.ZERO : Duration.ofNanos(durationNanos() / calls);
+        }
+
+        @Override
+        default int getTotalNumberOfSlowCalls() {
+            return (int) slow();
+        }
+
+        @Override
+        default int getNumberOfSlowSuccessfulCalls() {
+            return (int) (slow() - slowFailed());
+        }
+
+        @Override
+        default int getNumberOfSlowFailedCalls() {
+            return (int) slowFailed();
+        }
+
+        @Override
+        default float getSlowCallRate() {
+            long calls = calls();
+            return calls == 0 ? 0 : slow() * 100.0f / calls;
+        }
+
+        @Override
+        default int getNumberOfSuccessfulCalls() {
+            return (int) (calls() - failed());
+        }
+
+        @Override
+        default int getNumberOfFailedCalls() {
+            return (int) failed();
+        }
+
+        @Override
+        default int getTotalNumberOfCalls() {
+            return (int) calls();
+        }
+
+        @Override
+        default float getFailureRate() {
+            long calls = calls();
+            return calls == 0 ? 0 : failed() * 100.0f / calls;
+        }
+    }
+
+    /** کپی مجموع پنجره در یک لحظه */
+    record WindowSnapshot(long calls, long failed, long slow, long slowFailed, long durationNanos)
+            implements Counts {
+    }
+}
@@ -0,0 +1,255 @@
+package com.bahar.demo.resilience;
+
+import com.bahar.demo.config.AsyncRetryProperties;
+import com.bahar.demo.deadline.Deadline;
+import com.bahar.demo.deadline.DeadlineContext;
+import com.bahar.demo.keyed.BreakerKeyContext;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+
+/**
+ * NonBlockingRetry
+ * -------------------------
+ * موتور retry برای عملیات async (CompletionStage) که هیچ threadی را در فاصله‌ی تلاش‌ها نگه نمی‌دارد:
+ *  - بعد از شکست، تلاش بعدی روی یک ScheduledExecutorService تک‌threadی زمان‌بندی می‌شود (نه Thread.sleep)
+ *  - فاصله‌ها: backoff نمایی با decorrelated jitter → min(maxDelay, random(baseDelay, 3 × فاصله‌ی قبلی))
+ *    تا کلاینت‌هایی که هم‌زمان شکست خورده‌اند هم‌زمان برنگردند (retry storm)
+ *  - فقط استثناءهای قابل retry (retryExceptions منهای ignoreExceptions) دوباره تلاش می‌شوند
+ *  - deadline کل: min(deadline تنظیمات، deadline درخواست جاری در DeadlineContext)؛
+ *    اگر تلاش بعدی بعد از آن شروع شود، همان خطای آخر برگردانده می‌شود
+ *  - deadline درخواست روی thread زمان‌بند هم نصب می‌شود تا لایه‌های داخلی آن را ببینند
+ *  - اگر Future نتیجه cancel شود، تلاش‌های زمان‌بندی‌شده اجرا نمی‌شوند و تلاش در حال اجرا هم cancel می‌شود
+ *
+ * نکته: Supplier هر تلاش روی thread زمان‌بند صدا زده می‌شود، پس خودش نباید بلاک کند
+ * (مثلاً asyncProcess فقط کار را به executor خودش می‌سپارد).
+ *
+ * متریک‌ها:
+ *  - demo.async.retry.calls با تگ outcome
+ *    (success، success_after_retry، exhausted، not_retryable، deadline_exceeded)
+ *  - demo.async.retry.attempts با تگ attempt → تعداد فراخوانی‌هایی که در تلاش شماره‌ی N تمام شده‌اند
+ *
+ * هر retry و پایان retryها به Listener (مثلاً ResilienceEventPipeline) هم گزارش می‌شود.
+ */
+public class NonBlockingRetry implements MeterBinder {
+
+    /**
+     * گیرنده‌ی رویدادهای retry؛ روی thread تکمیل تلاش صدا زده می‌شود و نباید بلاک کند
+     */
+    public interface Listener {
+
+        /**
+         * @param attempt    شماره‌ی تلاش شکست‌خورده
+         * @param error      خطای آن تلاش
+         * @param delayNanos فاصله تا تلاش بعدی
+         */
+        void onRetry(int attempt, Throwable error, long delayNanos);
+
+        /**
+         * @param attempts تعداد تلاش‌ها (برابر maxAttempts)
+         * @param error    خطای آخرین تلاش
+         */
+        void onExhausted(int attempts, Throwable error);
+    }
+
+    private static final Listener NO_LISTENER = new Listener() {
+        @Override
+        public void onRetry(int attempt, Throwable error, long delayNanos) {
+        }
+
+        @Override
+        public void onExhausted(int attempts, Throwable error) {
+        }
+    };
+
+    private final int maxAttempts;
+    private final long baseDelayNanos;
+    private final long maxDelayNanos;
+    private final long deadlineNanos;
+    private final Predicate<Throwable> retryable;
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    private final LongAdder success = new LongAdder();
+    private final LongAdder successAfterRetry = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+    private final LongAdder notRetryable = new LongAdder();
+    private final LongAdder deadlineExceeded = new LongAdder();
+    /** اندیس i = فراخوانی‌هایی که در تلاش i+1 تمام شده‌اند */
+    private final LongAdder[] finishedAtAttempt;
+    private volatile Listener listener = NO_LISTENER;
+
+    /**
+     * @param properties تنظیمات demo.async-retry
+     */
+    public NonBlockingRetry(AsyncRetryProperties properties) {
+        this.maxAttempts = Math.max(1, properties.getMaxAttempts());
+        this.baseDelayNanos = properties.getBaseDelay().toNanos();
+        this.maxDelayNanos = Math.max(baseDelayNanos, properties.getMaxDelay().toNanos());
+        this.deadlineNanos = properties.getDeadline().toNanos();
+        this.retryable = predicate(properties.getRetryExceptions(), properties.getIgnoreExceptions());
+        this.finishedAtAttempt = new LongAdder[maxAttempts];
+        for (int i = 0; i < maxAttempts; i++) {
+            finishedAtAttempt[i] = new LongAdder();
+        }
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("async-retry-");
+        threadFactory.setDaemon(true);
+        this.scheduler = new ScheduledThreadPoolExecutor(1, threadFactory);
+        this.scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * ساخت نمونه با تنظیمات پیش‌فرض (برای Unit Test و استفاده بدون Spring)
+     */
+    public static NonBlockingRetry withDefaults() {
+        return new NonBlockingRetry(new AsyncRetryProperties());
+    }
+
+    /**
+     * @param listener گیرنده‌ی رویدادهای retry (null = هیچ)
+     */
+    public void setListener(Listener listener) {
+        this.listener = listener == null ? NO_LISTENER : listener;
+    }
+
+    /**
+     * اجرای عملیات با retry
+     *
+     * @param attempt یک تلاش؛ هر بار یک CompletionStage جدید می‌سازد و نباید بلاک کند
+     * @return Futureی که با اولین موفقیت، یا با خطای آخرین تلاش کامل می‌شود
+     */
+    public <T> CompletableFuture<T> execute(Supplier<? extends CompletionStage<T>> attempt) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Deadline requestDeadline = DeadlineContext.current();
+        long deadline = System.nanoTime() + Math.min(deadlineNanos, requestDeadline.remainingNanos());
+        attempt(BreakerKeyContext.wrap(attempt), result, 1, baseDelayNanos, deadline, requestDeadline);
+        return result;
+    }
+
+    private <T> void attempt(Supplier<? extends CompletionStage<T>> call, CompletableFuture<T> result,
+                             int number, long previousDelay, long deadline, Deadline requestDeadline) {
+        if (result.isDone()) {
+            return;
+        }
+        CompletionStage<T> stage;
+        try {
+            stage = DeadlineContext.callWith(requestDeadline, call);
+        } catch (RuntimeException e) {
+            stage = CompletableFuture.failedFuture(e);
+        }
+        CompletionStage<T> current = stage;
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                current.toCompletableFuture().cancel(true);
+            }
+        });
+        stage.whenComplete((value, error) -> {
+            if (error == null) {
+                finishedAtAttempt[number - 1].increment();
+                (number == 1 ? success : successAfterRetry).increment();
+                result.complete(value);
+                return;
+            }
+            Throwable cause = unwrap(error);
+            if (!retryable.test(cause)) {
+                finishedAtAttempt[number - 1].increment();
+                notRetryable.increment();
+                result.completeExceptionally(error);
+                return;
+            }
+            if (number >= maxAttempts) {
+                finishedAtAttempt[number - 1].increment();
+                exhausted.increment();
+                listener.onExhausted(number, cause);
+                result.completeExceptionally(error);
+                return;
+            }
+            long delay = nextDelay(previousDelay, baseDelayNanos, maxDelayNanos, ThreadLocalRandom.current());
+            if (System.nanoTime() + delay - deadline > 0) {
+                finishedAtAttempt[number - 1].increment();
+                deadlineExceeded.increment();
+                result.completeExceptionally(error);
+                return;
+            }
+            listener.onRetry(number, cause, delay);
+            try {
+                scheduler.schedule(() -> attempt(call, result, number + 1, delay, deadline, requestDeadline),
+                        delay, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                finishedAtAttempt[number - 1].increment();
+                result.completeExceptionally(error); // در حال خاموشی
+            }
+        });
+    }
+
+    /**
+     * decorrelated jitter: عدد تصادفی بین base و سه برابر فاصله‌ی قبلی، با سقف max
+     */
+    static long nextDelay(long previousDelay, long base, long max, RandomGenerator random) {
+        long upper = Math.min(max, previousDelay > Long.MAX_VALUE / 3 ? Long.MAX_VALUE : previousDelay * 3);
+        if (upper <= base) {
+            return Math.min(base, max);
+        }
+        return random.nextLong(base, upper + 1);
+    }
+
+    private static Predicate<Throwable> predicate(List<Class<? extends Throwable>> retry,
+                                                  List<Class<? extends Throwable>> ignore) {
+        return error -> ignore.stream().noneMatch(type -> type.isInstance(error))
+                && (retry.isEmpty() || retry.stream().anyMatch(type -> type.isInstance(error)));
+    }
+
+    /** استثناء واقعی داخل CompletionException/ExecutionException */
+    private static Throwable unwrap(Throwable error) {
+        Throwable current = error;
+        while ((current instanceof CompletionException || current instanceof ExecutionException)
+                && current.getCause() != null) {
+            current = current.getCause();
+        }
+        return current;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        counter(registry, "success", success);
+        counter(registry, "success_after_retry", successAfterRetry);
+        counter(registry, "exhausted", exhausted);
+        counter(registry, "not_retryable", notRetryable);
+        counter(registry, "deadline_exceeded", deadlineExceeded);
+        for (int i = 0; i < finishedAtAttempt.length; i++) {
+            FunctionCounter.builder("demo.async.retry.attempts", finishedAtAttempt[i], LongAdder::sum)
+                    .tag("attempt", String.valueOf(i + 1))
+                    .description("Async calls by the attempt number they finished on")
+                    .register(registry);
+        }
+    }
+
+    private static void counter(MeterRegistry registry, String outcome, LongAdder adder) {
+        FunctionCounter.builder("demo.async.retry.calls", adder, LongAdder::sum)
+                .tag("outcome", outcome)
+                .description("Async calls by final retry outcome")
+                .register(registry);
+    }
+
+    /**
+     * توقف زمان‌بند؛ retryهای از قبل زمان‌بندی‌شده هنوز اجرا می‌شوند (در حد deadline)،
+     * اما retry جدید پذیرفته نمی‌شود و خطای آخر برگردانده می‌شود.
+     */
+    public void shutdown() {
+        scheduler.shutdown();
+    }
+}
@@ -0,0 +1,92 @@
+package com.bahar.demo.resilience;
+
+import com.bahar.demo.service.ExternalService;
+import com.bahar.demo.service.ForwardingExternalService;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.retry.Retry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+/**
+ * ProgrammaticExternalService
+ * -------------------------
+ * همان رفتار annotationهای Resilience4j روی callExternalApiSync و asyncProcess، اما بدون proxy و reflection:
+ * زنجیره‌ی Supplierها یک بار در سازنده ساخته می‌شود و هر فراخوانی فقط get() همان زنجیره است.
+ *
+ * ترتیب لایه‌ها دقیقاً مطابق ترتیب aspectهای Resilience4j است:
+ *  Retry ( fallback ( CircuitBreaker ( RateLimiter ( Bulkhead ( callExternalApiSync ) ) ) ) )
+ *  CircuitBreaker ( RateLimiter ( Bulkhead ( asyncProcess ) ) )   ← مجوز bulkhead تا تکمیل Future نگه داشته می‌شود
+ *  - RetryAspect بیرونی‌ترین aspect است
+ *  - fallbackWithLastKnownGood روی @CircuitBreaker تعریف شده، پس داخل Retry اعمال می‌شود
+ *    (در نتیجه Retry پاسخ fallback را موفقیت می‌بیند — همان رفتار نسخه‌ی annotation)
+ *
+ * با تعویض CircuitBreaker/Retry در registry (ResilienceConfigReloader)، swap زنجیره‌ی sync و swapAsync
+ * زنجیره‌ی async را از نو می‌سازند؛ فراخوانی‌های در جریان با زنجیره‌ی قبلی تمام می‌شوند.
+ */
+public class ProgrammaticExternalService extends ForwardingExternalService {
+
+    private final Supplier<String> limitedSync;
+    private volatile Supplier<String> guardedSync;
+    private final Supplier<CompletionStage<String>> limitedAsync;
+    private volatile Supplier<CompletionStage<String>> guardedAsync;
+
+    /**
+     * @param target             سرویس اصلی بدون proxy (متدها مستقیم صدا زده می‌شوند)
+     * @param circuitBreaker     instance از CircuitBreakerRegistry
+     * @param retry              instance از RetryRegistry
+     * @param syncRateLimiter    سقف نرخ مسیر sync
+     * @param syncBulkhead       سقف هم‌زمانی مسیر sync
+     * @param asyncCircuitBreaker مدار مسیر async (instance جدا؛ نتیجه‌ی Future ثبت می‌شود)
+     * @param asyncRateLimiter   سقف نرخ مسیر async
+     * @param asyncBulkhead      سقف Futureهای در حال اجرای مسیر async
+     */
+    public ProgrammaticExternalService(ExternalService target, CircuitBreaker circuitBreaker, Retry retry,
+                                       RateLimiter syncRateLimiter, Bulkhead syncBulkhead,
+                                       CircuitBreaker asyncCircuitBreaker,
+                                       RateLimiter asyncRateLimiter, Bulkhead asyncBulkhead) {
+        super(target);
+        this.limitedSync = RateLimiter.decorateSupplier(syncRateLimiter,
+                Bulkhead.decorateSupplier(syncBulkhead, target::callExternalApiSync));
+        swap(circuitBreaker, retry);
+
+        this.limitedAsync = RateLimiter.decorateCompletionStage(asyncRateLimiter,
+                Bulkhead.decorateCompletionStage(asyncBulkhead, target::asyncProcess));
+        swapAsync(asyncCircuitBreaker);
+    }
+
+    /**
+     * ساخت دوباره‌ی زنجیره‌ی sync با CircuitBreaker/Retry جدید (یک نوشتن volatile؛ بدون قفل در مسیر فراخوانی)
+     */
+    public void swap(CircuitBreaker circuitBreaker, Retry retry) {
+        Supplier<String> breaker = CircuitBreaker.decorateSupplier(circuitBreaker, limitedSync);
+        Supplier<String> withFallback = () -> {
+            try {
+                return breaker.get();
+            } catch (Exception e) {
+                return delegate.fallbackWithLastKnownGood(e);
+            }
+        };
+        this.guardedSync = Retry.decorateSupplier(retry, withFallback);
+    }
+
+    /**
+     * ساخت دوباره‌ی زنجیره‌ی async با CircuitBreaker جدید
+     */
+    public void swapAsync(CircuitBreaker circuitBreaker) {
+        this.guardedAsync = CircuitBreaker.decorateCompletionStage(circuitBreaker, limitedAsync);
+    }
+
+    @Override
+    public String callExternalApiSync() {
+        return guardedSync.get();
+    }
+
+    @Override
+    public CompletableFuture<String> asyncProcess() {
+        return guardedAsync.get().toCompletableFuture();
+    }
+}
@@ -0,0 +1,80 @@
+package com.bahar.demo.resilience;
+
+import com.bahar.demo.service.ExternalService;
+import com.bahar.demo.service.ExternalServiceDecorator;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * ProgrammaticResilienceDecorator
+ * -------------------------
+ * حالت سیم‌کشی «programmatic» (demo.resilience.mode=programmatic):
+ *  - proxy AOP سرویس کنار گذاشته می‌شود و شیء اصلی (بدون aspect) گرفته می‌شود
+ *  - به جای آن ProgrammaticExternalService با decoratorهای از پیش ساخته‌شده جایگزین می‌شود
+ *  - CircuitBreaker، Retry، RateLimiter و Bulkhead از همان registryهای Resilience4j (تنظیمات yml) گرفته می‌شوند
+ *
+ * اگر CircuitBreaker یا Retry این instanceها در registry تعویض شود (ResilienceConfigReloader)،
+ * زنجیره‌ی مربوط (sync یا async) با instanceهای جدید از نو ساخته می‌شود.
+ *
+ * در حالت پیش‌فرض (annotation) این Bean ساخته نمی‌شود و رفتار قبلی بدون تغییر باقی می‌ماند.
+ * این لایه نزدیک‌ترین لایه به سرویس اصلی است (HIGHEST_PRECEDENCE).
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "demo.resilience", name = "mode", havingValue = "programmatic")
+public class ProgrammaticResilienceDecorator implements ExternalServiceDecorator {
+
+    /** نام instance در resilience4j.circuitbreaker / resilience4j.retry */
+    static final String INSTANCE = "externalService";
+
+    /** نام instance محدودیت‌های مسیر sync در resilience4j.bulkhead / resilience4j.ratelimiter */
+    static final String SYNC_LIMITS = "externalServiceSync";
+
+    /** نام instance مسیر async در resilience4j.circuitbreaker / resilience4j.bulkhead / resilience4j.ratelimiter */
+    static final String ASYNC_LIMITS = "externalServiceAsync";
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final RetryRegistry retryRegistry;
+    private final RateLimiterRegistry rateLimiterRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+
+    public ProgrammaticResilienceDecorator(CircuitBreakerRegistry circuitBreakerRegistry, RetryRegistry retryRegistry,
+                                           RateLimiterRegistry rateLimiterRegistry, BulkheadRegistry bulkheadRegistry) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.retryRegistry = retryRegistry;
+        this.rateLimiterRegistry = rateLimiterRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+    }
+
+    @Override
+    public ExternalService decorate(ExternalService target) {
+        Object raw = AopProxyUtils.getSingletonTarget(target);
+        ExternalService unproxied = raw instanceof ExternalService service ? service : target;
+        ProgrammaticExternalService service = new ProgrammaticExternalService(unproxied,
+                circuitBreakerRegistry.circuitBreaker(INSTANCE),
+                retryRegistry.retry(INSTANCE),
+                rateLimiterRegistry.rateLimiter(SYNC_LIMITS),
+                bulkheadRegistry.bulkhead(SYNC_LIMITS),
+                circuitBreakerRegistry.circuitBreaker(ASYNC_LIMITS),
+                rateLimiterRegistry.rateLimiter(ASYNC_LIMITS),
+                bulkheadRegistry.bulkhead(ASYNC_LIMITS));
+        circuitBreakerRegistry.getEventPublisher().onEntryReplaced(event -> swapIfOwn(service, event.getNewEntry().getName()));
+        retryRegistry.getEventPublisher().onEntryReplaced(event -> swapIfOwn(service, event.getNewEntry().getName()));
+        return service;
+    }
+
+    private void swapIfOwn(ProgrammaticExternalService service, String name) {
+        if (INSTANCE.equals(name)) {
+            service.swap(circuitBreakerRegistry.circuitBreaker(INSTANCE), retryRegistry.retry(INSTANCE));
+        } else if (ASYNC_LIMITS.equals(name)) {
+            service.swapAsync(circuitBreakerRegistry.circuitBreaker(ASYNC_LIMITS));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.bahar.demo.resilience;
+
+import com.bahar.demo.resilience.ResilienceConfigReloader.BreakerSettings;
+import com.bahar.demo.resilience.ResilienceConfigReloader.RetrySettings;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * ResilienceConfigEndpoint
+ * -------------------------
+ * مشاهده و تعویض تنظیمات CircuitBreaker/Retry در زمان اجرا (ResilienceConfigReloader):
+ *  - GET  /actuator/resilienceconfig         → تنظیمات و وضعیت فعلی همه‌ی instanceها
+ *  - POST /actuator/resilienceconfig/{name}  → تغییر یک یا چند مقدار، مثلاً:
+ *      {"failureRateThreshold": 40, "waitDurationInOpenState": "10s"}
+ *      {"maxAttempts": 2, "retryWaitDuration": "200ms"}
+ *      {"slidingWindowSize": 20, "carryOverState": false}   ← پیش‌فرض carryOverState=true
+ *
+ * مقدار نامعتبر یا نام ناموجود → پاسخ 400 (InvalidEndpointRequestException).
+ * تغییرات فقط در حافظه‌اند؛ برای ماندگاری از فایل demo.resilience.reload.file استفاده کنید.
+ */
+@Component
+@Endpoint(id = "resilienceconfig")
+public class ResilienceConfigEndpoint {
+
+    private final ResilienceConfigReloader reloader;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final RetryRegistry retryRegistry;
+
+    public ResilienceConfigEndpoint(ResilienceConfigReloader reloader, CircuitBreakerRegistry circuitBreakerRegistry,
+                                    RetryRegistry retryRegistry) {
+        this.reloader = reloader;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.retryRegistry = retryRegistry;
+    }
+
+    @ReadOperation
+    public Configs configs() {
+        Map<String, BreakerConfig> breakers = new TreeMap<>();
+        circuitBreakerRegistry.getAllCircuitBreakers().forEach(b -> breakers.put(b.getName(), BreakerConfig.of(b)));
+        Map<String, RetryAttempts> retries = new TreeMap<>();
+        retryRegistry.getAllRetries().forEach(r -> retries.put(r.getName(), RetryAttempts.of(r)));
+        return new Configs(breakers, retries);
+    }
+
+    /**
+     * @param name              نام instance (circuit breaker و/یا retry)
+     * @param retryWaitDuration فاصله‌ی بین تلاش‌های Retry (waitDuration)
+     * @param carryOverState    انتقال وضعیت و sliding window به breaker جدید (پیش‌فرض true)
+     */
+    @WriteOperation
+    public Configs update(@Selector String name,
+                          @Nullable Float failureRateThreshold,
+                          @Nullable Integer slidingWindowSize,
+                          @Nullable Integer minimumNumberOfCalls,
+                          @Nullable Duration waitDurationInOpenState,
+                          @Nullable Integer permittedNumberOfCallsInHalfOpenState,
+                          @Nullable Float slowCallRateThreshold,
+                          @Nullable Duration slowCallDurationThreshold,
+                          @Nullable Integer maxAttempts,
+                          @Nullable Duration retryWaitDuration,
+                          @Nullable Boolean carryOverState) {
+        BreakerSettings breaker = new BreakerSettings(failureRateThreshold, slidingWindowSize, minimumNumberOfCalls,
+                waitDurationInOpenState, permittedNumberOfCallsInHalfOpenState, slowCallRateThreshold,
+                slowCallDurationThreshold);
+        RetrySettings retry = new RetrySettings(maxAttempts, retryWaitDuration);
+        try {
+            if (!breaker.isEmpty()) {
+                reloader.reloadCircuitBreaker(name, breaker, carryOverState == null || carryOverState);
+            }
+            if (!retry.isEmpty()) {
+                reloader.reloadRetry(name, retry);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+        return configs();
+    }
+
+    public record Configs(Map<String, BreakerConfig> circuitBreakers, Map<String, RetryAttempts> retries) {
+    }
+
+    public record BreakerConfig(String state, float failureRateThreshold, int slidingWindowSize,
+                                String slidingWindowType, int minimumNumberOfCalls, long waitDurationInOpenStateMillis,
+                                int permittedNumberOfCallsInHalfOpenState, float slowCallRateThreshold,
+                                long slowCallDurationThresholdMillis, int bufferedCalls, float failureRate) {
+
+        static BreakerConfig of(CircuitBreaker breaker) {
+            CircuitBreakerConfig config = breaker.getCircuitBreakerConfig();
+            return new BreakerConfig(breaker.getState().name(),
+                    config.getFailureRateThreshold(),
+                    config.getSlidingWindowSize(),
+                    config.getSlidingWindowType().name(),
+                    config.getMinimumNumberOfCalls(),
+                    config.getWaitIntervalFunctionInOpenState().apply(1),
+                    config.getPermittedNumberOfCallsInHalfOpenState(),
+                    config.getSlowCallRateThreshold(),
+                    config.getSlowCallDurationThreshold().toMillis(),
+                    breaker.getMetrics().getNumberOfBufferedCalls(),
+                    breaker.getMetrics().getFailureRate());
+        }
+    }
+
+    public record RetryAttempts(int maxAttempts, long waitDurationMillis) {
+
+        static RetryAttempts of(Retry retry) {
+            return new RetryAttempts(retry.getRetryConfig().getMaxAttempts(),
+                    retry.getRetryConfig().getIntervalBiFunction().apply(1, null));
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.bahar.demo.resilience;
+
+import com.bahar.demo.resilience.ResilienceConfigReloader.BreakerSettings;
+import com.bahar.demo.resilience.ResilienceConfigReloader.RetrySettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * ResilienceConfigFileWatcher
+ * -------------------------
+ * حالت file-watch برای ResilienceConfigReloader:
+ *  - فایل properties با کلیدهای "<instance>.circuitbreaker.<field>" و "<instance>.retry.<field>"
+ *    (همان نام‌های resilience4j در application.yml؛ مدت‌ها مثل "10s" یا "500ms")
+ *  - با هر تغییر فایل (WatchService روی پوشه‌ی آن، روی یک thread daemon) دوباره خوانده می‌شود
+ *    و فقط instanceهایی که مقادیرشان نسبت به آخرین اعمال تغییر کرده تعویض می‌شوند
+ *  - فایل نامعتبر اعمال نمی‌شود و تنظیمات فعلی دست نمی‌خورند (همه یا هیچ؛ خطا log می‌شود)
+ *  - حذف یک کلید از فایل مقدار قبلی را برنمی‌گرداند؛ مقدار جدید باید صریح نوشته شود
+ */
+public class ResilienceConfigFileWatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(ResilienceConfigFileWatcher.class);
+
+    private static final Set<String> BREAKER_FIELDS = Set.of("failureRateThreshold", "slidingWindowSize",
+            "minimumNumberOfCalls", "waitDurationInOpenState", "permittedNumberOfCallsInHalfOpenState",
+            "slowCallRateThreshold", "slowCallDurationThreshold");
+
+    private static final Set<String> RETRY_FIELDS = Set.of("maxAttempts", "waitDuration");
+
+    private final Path file;
+    private final ResilienceConfigReloader reloader;
+    private final boolean carryOverState;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    /** آخرین مقادیر اعمال‌شده برای هر "<instance>.<kind>" */
+    private final Map<String, Map<String, String>> applied = new HashMap<>();
+
+    /**
+     * @param file مسیر فایل properties؛ باید داخل یک پوشه باشد (پوشه‌ی آن دنبال می‌شود)
+     * @throws IllegalArgumentException اگر مسیر پوشه‌ی والد نداشته باشد (مثلاً "/")
+     */
+    public ResilienceConfigFileWatcher(Path file, ResilienceConfigReloader reloader, boolean carryOverState)
+            throws IOException {
+        this.file = file.toAbsolutePath();
+        Path directory = this.file.getParent();
+        if (directory == null || this.file.getFileName() == null) {
+            throw new IllegalArgumentException("Resilience config file must be a file inside a directory: " + file);
+        }
+        this.reloader = reloader;
+        this.carryOverState = carryOverState;
+        this.watchService = this.file.getFileSystem().newWatchService();
+        directory.register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        this.thread = new Thread(this::watch, "resilience-config-watcher");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * اعمال فعلی فایل (اگر وجود داشته باشد) و شروع دنبال کردن تغییرات
+     */
+    public void start() {
+        reload();
+        thread.start();
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = key.pollEvents().stream()
+                        .anyMatch(event -> file.getFileName().equals(event.context()));
+                key.reset();
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // shutdown
+        }
+    }
+
+    /**
+     * خواندن و اعمال فایل؛ خطاها فقط log می‌شوند تا thread ناظر زنده بماند
+     */
+    public synchronized void reload() {
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        try {
+            apply(read());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring resilience config file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private Map<String, Map<String, String>> read() throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+        Map<String, Map<String, String>> sections = new TreeMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            int field = key.lastIndexOf('.');
+            if (field < 0 || key.indexOf('.') == field) {
+                throw new IllegalArgumentException("Expected <instance>.<circuitbreaker|retry>.<field>: " + key);
+            }
+            sections.computeIfAbsent(key.substring(0, field), k -> new HashMap<>())
+                    .put(key.substring(field + 1), properties.getProperty(key).trim());
+        }
+        return sections;
+    }
+
+    private void apply(Map<String, Map<String, String>> sections) {
+        Map<String, BreakerSettings> breakers = new TreeMap<>();
+        Map<String, RetrySettings> retries = new TreeMap<>();
+        for (Map.Entry<String, Map<String, String>> section : sections.entrySet()) {
+            if (section.getValue().equals(applied.get(section.getKey()))) {
+                continue;
+            }
+            int kind = section.getKey().lastIndexOf('.');
+            String name = section.getKey().substring(0, kind);
+            Map<String, String> values = section.getValue();
+            switch (section.getKey().substring(kind + 1)) {
+                case "circuitbreaker" -> {
+                    requireKnown(values, BREAKER_FIELDS, section.getKey());
+                    breakers.put(name, new BreakerSettings(
+                            value(values, "failureRateThreshold", Float::valueOf),
+                            value(values, "slidingWindowSize", Integer::valueOf),
+                            value(values, "minimumNumberOfCalls", Integer::valueOf),
+                            value(values, "waitDurationInOpenState", DurationStyle::detectAndParse),
+                            value(values, "permittedNumberOfCallsInHalfOpenState", Integer::valueOf),
+                            value(values, "slowCallRateThreshold", Float::valueOf),
+                            value(values, "slowCallDurationThreshold", DurationStyle::detectAndParse)));
+                }
+                case "retry" -> {
+                    requireKnown(values, RETRY_FIELDS, section.getKey());
+                    retries.put(name, new RetrySettings(
+                            value(values, "maxAttempts", Integer::valueOf),
+                            value(values, "waitDuration", DurationStyle::detectAndParse)));
+                }
+                default -> throw new IllegalArgumentException("Unknown section: " + section.getKey());
+            }
+        }
+        if (breakers.isEmpty() && retries.isEmpty()) {
+            return;
+        }
+        reloader.reloadAll(breakers, retries, carryOverState);
+        applied.clear();
+        applied.putAll(sections);
+    }
+
+    private static void requireKnown(Map<String, String> values, Set<String> known, String section) {
+        values.keySet().stream()
+                .filter(field -> !known.contains(field))
+                .findFirst()
+                .ifPresent(field -> {
+                    throw new IllegalArgumentException("Unknown field: " + section + "." + field);
+                });
+    }
+
+    private static <T> T value(Map<String, String> values, String field, Function<String, T> parser) {
+        String value = values.get(field);
+        return value == null ? null : parser.apply(value);
+    }
+
+    /**
+     * توقف thread ناظر (هنگام بسته شدن Context)
+     */
+    public void shutdown() throws IOException {
+        thread.interrupt();
+        watchService.close();
+    }
+}
@@ -0,0 +1,204 @@
+package com.bahar.demo.resilience;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ResilienceConfigReloader
+ * -------------------------
+ * تعویض تنظیمات CircuitBreaker و Retry یک instance در زمان اجرا، بدون restart:
+ *  - config جدید از روی config فعلی ساخته می‌شود (فقط مقادیر داده‌شده تغییر می‌کنند)
+ *  - یک instance جدید ساخته و با registry.replace به‌صورت اتمیک جایگزین می‌شود
+ *    (aspectها هر فراخوانی instance را از registry می‌گیرند؛ فراخوانی‌های در جریان با instance قبلی تمام می‌شوند
+ *    و هیچ قفلی در مسیر فراخوانی نیست)
+ *  - carryOverState: وضعیت مدار (OPEN/FORCED_OPEN/...) و نتایج ثبت‌شده در sliding window به instance جدید
+ *    منتقل می‌شوند؛ تعداد موفق/ناموفق‌ها به‌صورت درهم (با همان نسبت) دوباره ثبت می‌شوند.
+ *    ترتیب دقیق نتایج و کند بودن فراخوانی‌ها منتقل نمی‌شود و زمان انتظار حالت OPEN از نو شروع می‌شود.
+ *
+ * تعویض‌ها با هم سریال می‌شوند (synchronized) تا دو تغییر هم‌زمان روی هم ننویسند.
+ */
+@Component
+public class ResilienceConfigReloader {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final RetryRegistry retryRegistry;
+
+    public ResilienceConfigReloader(CircuitBreakerRegistry circuitBreakerRegistry, RetryRegistry retryRegistry) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.retryRegistry = retryRegistry;
+    }
+
+    /**
+     * @param name            نام instance در resilience4j.circuitbreaker
+     * @param settings        مقادیر جدید (null = بدون تغییر)
+     * @param carryOverState  انتقال وضعیت و نتایج sliding window به instance جدید
+     * @return instance جدید
+     * @throws IllegalArgumentException نام ناموجود یا مقدار نامعتبر
+     */
+    public synchronized CircuitBreaker reloadCircuitBreaker(String name, BreakerSettings settings,
+                                                           boolean carryOverState) {
+        return reloadAll(Map.of(name, settings), Map.of(), carryOverState).get(0);
+    }
+
+    /**
+     * @param name     نام instance در resilience4j.retry
+     * @param settings مقادیر جدید (null = بدون تغییر)
+     * @return instance جدید
+     * @throws IllegalArgumentException نام ناموجود یا مقدار نامعتبر
+     */
+    public synchronized Retry reloadRetry(String name, RetrySettings settings) {
+        Retry current = retryRegistry.find(name)
+                .orElseThrow(() -> new IllegalArgumentException("No retry named '" + name + "'"));
+        Retry replacement = Retry.of(name, settings.applyTo(current.getRetryConfig()), current.getTags());
+        retryRegistry.replace(name, replacement);
+        return replacement;
+    }
+
+    /**
+     * تعویض چند instance با هم: همه‌ی configها اول ساخته و اعتبارسنجی می‌شوند،
+     * پس اگر یکی نامعتبر باشد هیچ‌کدام تعویض نمی‌شوند.
+     *
+     * @return breakerهای جدید به ترتیب ورودی
+     */
+    public synchronized List<CircuitBreaker> reloadAll(Map<String, BreakerSettings> breakers,
+                                                       Map<String, RetrySettings> retries,
+                                                       boolean carryOverState) {
+        Map<CircuitBreaker, CircuitBreaker> breakerSwaps = new LinkedHashMap<>();
+        breakers.forEach((name, settings) -> {
+            CircuitBreaker current = circuitBreakerRegistry.find(name)
+                    .orElseThrow(() -> new IllegalArgumentException("No circuit breaker named '" + name + "'"));
+            breakerSwaps.put(current, CircuitBreaker.of(name,
+                    settings.applyTo(current.getCircuitBreakerConfig()), current.getTags()));
+        });
+        Map<String, Retry> retrySwaps = new LinkedHashMap<>();
+        retries.forEach((name, settings) -> {
+            Retry current = retryRegistry.find(name)
+                    .orElseThrow(() -> new IllegalArgumentException("No retry named '" + name + "'"));
+            retrySwaps.put(name, Retry.of(name, settings.applyTo(current.getRetryConfig()), current.getTags()));
+        });
+
+        breakerSwaps.forEach((current, replacement) -> {
+            if (carryOverState) {
+                carryOver(current, replacement);
+            }
+            circuitBreakerRegistry.replace(replacement.getName(), replacement);
+        });
+        retrySwaps.forEach(retryRegistry::replace);
+        return List.copyOf(breakerSwaps.values());
+    }
+
+    /**
+     * نتایج sliding window را درهم (با حفظ نسبت شکست) در breaker جدید ثبت می‌کند، سپس وضعیت را منتقل می‌کند
+     */
+    static void carryOver(CircuitBreaker from, CircuitBreaker to) {
+        CircuitBreaker.Metrics metrics = from.getMetrics();
+        int failed = metrics.getNumberOfFailedCalls();
+        int total = failed + metrics.getNumberOfSuccessfulCalls();
+        RuntimeException carried = new RuntimeException("Carried over from previous configuration");
+        int replayedFailures = 0;
+        for (int i = 0; i < total && to.getState() == CircuitBreaker.State.CLOSED; i++) {
+            if ((long) (i + 1) * failed / total > replayedFailures) {
+                replayedFailures++;
+                to.onError(0, TimeUnit.NANOSECONDS, carried);
+            } else {
+                to.onSuccess(0, TimeUnit.NANOSECONDS);
+            }
+        }
+        switch (from.getState()) {
+            case OPEN -> openIfClosed(to);
+            case HALF_OPEN -> {
+                openIfClosed(to);
+                to.transitionToHalfOpenState();
+            }
+            case FORCED_OPEN -> to.transitionToForcedOpenState();
+            case DISABLED -> to.transitionToDisabledState();
+            case METRICS_ONLY -> to.transitionToMetricsOnlyState();
+            default -> {
+                // CLOSED: نتایج بالا کافی‌اند (ممکن است با آستانه‌ی جدید خودش OPEN شده باشد)
+            }
+        }
+    }
+
+    private static void openIfClosed(CircuitBreaker breaker) {
+        if (breaker.getState() == CircuitBreaker.State.CLOSED) {
+            breaker.transitionToOpenState();
+        }
+    }
+
+    /**
+     * مقادیر قابل تغییر CircuitBreaker (null = بدون تغییر)
+     */
+    public record BreakerSettings(@Nullable Float failureRateThreshold,
+                                  @Nullable Integer slidingWindowSize,
+                                  @Nullable Integer minimumNumberOfCalls,
+                                  @Nullable Duration waitDurationInOpenState,
+                                  @Nullable Integer permittedNumberOfCallsInHalfOpenState,
+                                  @Nullable Float slowCallRateThreshold,
+                                  @Nullable Duration slowCallDurationThreshold) {
+
+        public boolean isEmpty() {
+            return failureRateThreshold == null && slidingWindowSize == null && minimumNumberOfCalls == null
+                    && waitDurationInOpenState == null && permittedNumberOfCallsInHalfOpenState == null
+                    && slowCallRateThreshold == null && slowCallDurationThreshold == null;
+        }
+
+        CircuitBreakerConfig applyTo(CircuitBreakerConfig current) {
+            CircuitBreakerConfig.Builder builder = CircuitBreakerConfig.from(current);
+            if (failureRateThreshold != null) {
+                builder.failureRateThreshold(failureRateThreshold);
+            }
+            if (slidingWindowSize != null) {
+                builder.slidingWindowSize(slidingWindowSize);
+            }
+            if (minimumNumberOfCalls != null) {
+                builder.minimumNumberOfCalls(minimumNumberOfCalls);
+            }
+            if (waitDurationInOpenState != null) {
+                builder.waitDurationInOpenState(waitDurationInOpenState);
+            }
+            if (permittedNumberOfCallsInHalfOpenState != null) {
+                builder.permittedNumberOfCallsInHalfOpenState(permittedNumberOfCallsInHalfOpenState);
+            }
+            if (slowCallRateThreshold != null) {
+                builder.slowCallRateThreshold(slowCallRateThreshold);
+            }
+            if (slowCallDurationThreshold != null) {
+                builder.slowCallDurationThreshold(slowCallDurationThreshold);
+            }
+            return builder.build();
+        }
+    }
+
+    /**
+     * مقادیر قابل تغییر Retry (null = بدون تغییر)
+     */
+    public record RetrySettings(@Nullable Integer maxAttempts, @Nullable Duration waitDuration) {
+
+        public boolean isEmpty() {
+            return maxAttempts == null && waitDuration == null;
+        }
+
+        RetryConfig applyTo(RetryConfig current) {
+            RetryConfig.Builder<Object> builder = RetryConfig.from(current);
+            if (maxAttempts != null) {
+                builder.maxAttempts(maxAttempts);
+            }
+            if (waitDuration != null) {
+                builder.waitDuration(waitDuration);
+            }
+            return builder.build();
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.bahar.demo.resilience;
+
+import com.bahar.demo.config.SingleFlightProperties;
+import com.bahar.demo.deadline.Deadline;
+import com.bahar.demo.deadline.DeadlineContext;
+import com.bahar.demo.keyed.BreakerKeyContext;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * SingleFlight
+ * -------------------------
+ * ادغام فراخوانی‌های هم‌زمان با کلید یکسان (single-flight):
+ *  - اولین فراخواننده (leader) فراخوانی واقعی را انجام می‌دهد و Future آن را در یک ConcurrentHashMap ثبت می‌کند
+ *  - فراخواننده‌های بعدی (follower) تا وقتی آن فراخوانی در جریان است فقط به همان نتیجه می‌پیوندند
+ *    → یک بار عبور از Retry/CircuitBreaker و یک درخواست به downstream به جای N بار
+ *  - با تکمیل فراخوانی، کلید حذف می‌شود؛ نتیجه cache نمی‌شود
+ *  - پنجره‌ی micro-batch (window > 0): شروع فراخوانی مشترک به اندازه‌ی window عقب می‌افتد تا
+ *    درخواست‌های نزدیک به هم هم به آن بپیوندند (مسیر async روی زمان‌بند، بدون بلاک کردن thread)
+ *
+ * هر فراخواننده‌ی async یک کپی مستقل از Future مشترک می‌گیرد: cancel یا timeout یک فراخواننده
+ * (مثلاً در DeadlineDecorator) بقیه را cancel نمی‌کند. فراخوانی مشترک با deadline درخواستِ leader اجرا می‌شود.
+ *
+ * فراخوانی‌هایی که عمداً مستقل‌اند (مثلاً عملیات‌های یک دسته در BatchController) با independent اجرا
+ * می‌شوند و SingleFlightDecorator آن‌ها را ادغام نمی‌کند.
+ *
+ * متریک: demo.single.flight.calls با تگ role (leader، follower).
+ */
+public class SingleFlight implements MeterBinder {
+
+    /** فراخوانی جاری thread بدون ادغام است */
+    private static final ThreadLocal<Boolean> INDEPENDENT = new ThreadLocal<>();
+
+    private final long windowNanos;
+    private final ConcurrentMap<String, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder followers = new LongAdder();
+
+    /**
+     * @param properties تنظیمات demo.single-flight
+     */
+    public SingleFlight(SingleFlightProperties properties) {
+        this.windowNanos = Math.max(0, properties.getWindow().toNanos());
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("single-flight-");
+        threadFactory.setDaemon(true);
+        this.scheduler = new ScheduledThreadPoolExecutor(1, threadFactory);
+    }
+
+    /**
+     * ساخت نمونه با تنظیمات پیش‌فرض (برای Unit Test و استفاده بدون Spring)
+     */
+    public static SingleFlight withDefaults() {
+        return new SingleFlight(new SingleFlightProperties());
+    }
+
+    /**
+     * اجرای action بدون ادغام: فراخوانی‌های ExternalService داخل آن (روی همین thread) هر کدام
+     * فراخوانی خودشان را به downstream دارند
+     */
+    public static <T> T independent(Supplier<T> action) {
+        if (Boolean.TRUE.equals(INDEPENDENT.get())) {
+            return action.get();
+        }
+        INDEPENDENT.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            INDEPENDENT.remove();
+        }
+    }
+
+    /**
+     * @return آیا فراخوانی جاری thread داخل independent است
+     */
+    public static boolean isIndependent() {
+        return Boolean.TRUE.equals(INDEPENDENT.get());
+    }
+
+    /**
+     * اجرای عملیات async با ادغام
+     *
+     * @param key  کلید ادغام (فراخوانی‌های هم‌زمان با کلید یکسان یک نتیجه را به اشتراک می‌گذارند)
+     * @param call فراخوانی واقعی؛ فقط برای leader صدا زده می‌شود و نباید بلاک کند
+     * @return کپی مستقل از نتیجه‌ی مشترک
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> execute(String key, Supplier<? extends CompletionStage<T>> call) {
+        CompletableFuture<T> shared = new CompletableFuture<>();
+        CompletableFuture<?> existing = inFlight.putIfAbsent(key, shared);
+        if (existing != null) {
+            followers.increment();
+            return ((CompletableFuture<T>) existing).copy();
+        }
+        leaders.increment();
+        shared.whenComplete((value, error) -> inFlight.remove(key, shared));
+        if (windowNanos == 0) {
+            start(call, shared);
+        } else {
+            Deadline deadline = DeadlineContext.current();
+            try {
+                Supplier<? extends CompletionStage<T>> keyed = BreakerKeyContext.wrap(call);
+                scheduler.schedule(() -> DeadlineContext.callWith(deadline, () -> {
+                    start(keyed, shared);
+                    return null;
+                }), windowNanos, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                shared.completeExceptionally(e); // در حال خاموشی
+            }
+        }
+        return shared.copy();
+    }
+
+    private static <T> void start(Supplier<? extends CompletionStage<T>> call, CompletableFuture<T> shared) {
+        CompletionStage<T> stage;
+        try {
+            stage = call.get();
+        } catch (RuntimeException e) {
+            stage = CompletableFuture.failedFuture(e);
+        }
+        stage.whenComplete((value, error) -> {
+            if (error == null) {
+                shared.complete(value);
+            } else {
+                shared.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            }
+        });
+    }
+
+    /**
+     * اجرای عملیات sync با ادغام
+     * -------------------------
+     * leader فراخوانی را روی thread خودش انجام می‌دهد (بعد از window، اگر تنظیم شده باشد)؛
+     * followerها تا آماده شدن همان نتیجه منتظر می‌مانند و همان مقدار یا همان استثناء را می‌گیرند.
+     *
+     * @param key  کلید ادغام
+     * @param call فراخوانی واقعی؛ فقط برای leader صدا زده می‌شود
+     * @return نتیجه‌ی مشترک
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T executeSync(String key, Supplier<T> call) {
+        CompletableFuture<T> shared = new CompletableFuture<>();
+        CompletableFuture<?> existing = inFlight.putIfAbsent(key, shared);
+        if (existing != null) {
+            followers.increment();
+            return join((CompletableFuture<T>) existing);
+        }
+        leaders.increment();
+        try {
+            awaitWindow();
+            T value = call.get();
+            shared.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            shared.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, shared);
+        }
+    }
+
+    private void awaitWindow() {
+        if (windowNanos == 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(windowNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // بدون پنجره ادامه می‌دهیم
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> shared) {
+        try {
+            return shared.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @return تعداد کلیدهایی که فراخوانی‌شان در جریان است
+     */
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        counter(registry, "leader", leaders);
+        counter(registry, "follower", followers);
+    }
+
+    private static void counter(MeterRegistry registry, String role, LongAdder adder) {
+        FunctionCounter.builder("demo.single.flight.calls", adder, LongAdder::sum)
+                .tag("role", role)
+                .description("Calls by single-flight role (follower = coalesced into an in-flight call)")
+                .register(registry);
+    }
+
+    /**
+     * توقف زمان‌بند پنجره‌ی micro-batch؛ فراخوانی‌های جدید با پنجره رد می‌شوند
+     */
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,61 @@
+package com.bahar.demo.resilience;
+
+import com.bahar.demo.keyed.BreakerKeyContext;
+import com.bahar.demo.service.ExternalService;
+import com.bahar.demo.service.ExternalServiceDecorator;
+import com.bahar.demo.service.ForwardingExternalService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * SingleFlightDecorator
+ * -------------------------
+ * callExternalApiSync و asyncProcess را با SingleFlight می‌پیچد؛ بقیه‌ی متدها بدون تغییر عبور می‌کنند.
+ * کلید ادغام نام متد است (این متدها آرگومان ندارند)، پس همه‌ی فراخوانی‌های هم‌زمان یک متد ادغام می‌شوند؛
+ * با کلید breaker (BreakerKeyContext، مثلاً tenant) فقط فراخوانی‌های همان کلید با هم ادغام می‌شوند
+ * تا نتیجه‌ی breaker یک tenant به tenant دیگر نرسد.
+ * فراخوانی داخل SingleFlight.independent (عملیات‌های دسته) بدون ادغام مستقیم عبور می‌کند.
+ *
+ * بیرون از retry، CircuitBreaker و cache آخرین پاسخ موفق قرار دارد (یک عبور برای کل گروه، شامل fallback)
+ * و داخل DeadlineDecorator، تا deadline هر فراخواننده روی کپی خودش اعمال شود.
+ * با demo.single-flight.enabled=false این Bean ساخته نمی‌شود.
+ */
+@Component
+@Order(175)
+@ConditionalOnProperty(prefix = "demo.single-flight", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SingleFlightDecorator implements ExternalServiceDecorator {
+
+    private final SingleFlight singleFlight;
+
+    public SingleFlightDecorator(SingleFlight singleFlight) {
+        this.singleFlight = singleFlight;
+    }
+
+    @Override
+    public ExternalService decorate(ExternalService target) {
+        return new ForwardingExternalService(target) {
+            @Override
+            public String callExternalApiSync() {
+                if (SingleFlight.isIndependent()) {
+                    return delegate.callExternalApiSync();
+                }
+                return singleFlight.executeSync(key("callExternalApiSync"), delegate::callExternalApiSync);
+            }
+
+            @Override
+            public CompletableFuture<String> asyncProcess() {
+                if (SingleFlight.isIndependent()) {
+                    return delegate.asyncProcess();
+                }
+                return singleFlight.execute(key("asyncProcess"), delegate::asyncProcess);
+            }
+        };
+    }
+
+    private static String key(String method) {
+        return BreakerKeyContext.current().map(key -> method + "@" + key).orElse(method);
+    }
+}
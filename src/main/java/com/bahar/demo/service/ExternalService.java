@@ -46,6 +46,18 @@ public interface ExternalService {
      */
     String fallbackMethod(Exception e);
 
+    /**
+     * Fallback همراه با آخرین پاسخ موفق
+     * -------------------------
+     * همان پیام fallbackMethod، به‌علاوه‌ی آخرین پاسخ موفق callExternalApiSync (اگر هنوز در cache باشد)
+     * با نشانه‌ی کهنگی؛ بسته به نوع شکست و بار، به جای آن پاسخ منبع دوم یا پاسخ ثابت (demo.fallback-chain).
+     * در مسیر sync همین متد fallback مربوط به CircuitBreaker است.
+     *
+     * @param e استثناء اصلی رخ‌داده
+     * @return پیام fallback، در صورت وجود همراه با پاسخ یکی از tierهای fallback
+     */
+    String fallbackWithLastKnownGood(Exception e);
+
     /**
      * Callback ساده با Consumer
      * -------------------------
@@ -0,0 +1,35 @@
+package com.bahar.demo.service;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * ExternalServiceDecoratingPostProcessor
+ * -------------------------
+ * بعد از ساخت Bean سرویس (و proxy AOP آن)، همه‌ی ExternalServiceDecoratorها را به ترتیب @Order
+ * روی آن اعمال می‌کند. Controllerها همان اینترفیس ExternalService را تزریق می‌گیرند و از لایه‌ها خبر ندارند.
+ *
+ * decoratorها به‌صورت lazy (ObjectProvider) گرفته می‌شوند تا BeanPostProcessor باعث ساخت زودهنگام Beanها نشود.
+ */
+@Component
+public class ExternalServiceDecoratingPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<ExternalServiceDecorator> decorators;
+
+    public ExternalServiceDecoratingPostProcessor(ObjectProvider<ExternalServiceDecorator> decorators) {
+        this.decorators = decorators;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (!(bean instanceof ExternalService service) || bean instanceof ForwardingExternalService) {
+            return bean;
+        }
+        for (ExternalServiceDecorator decorator : decorators.orderedStream().toList()) {
+            service = decorator.decorate(service);
+        }
+        return service;
+    }
+}
@@ -0,0 +1,20 @@
+package com.bahar.demo.service;
+
+/**
+ * ExternalServiceDecorator
+ * -------------------------
+ * نقطه‌ی توسعه برای پیچیدن Bean سرویس ExternalService در زمان startup.
+ * هر Bean از این نوع یک لایه اضافه می‌کند؛ ترتیب با @Order تعیین می‌شود
+ * (عدد کوچک‌تر = نزدیک‌تر به سرویس اصلی، عدد بزرگ‌تر = بیرونی‌تر).
+ *
+ * اعمال لایه‌ها توسط ExternalServiceDecoratingPostProcessor انجام می‌شود.
+ */
+@FunctionalInterface
+public interface ExternalServiceDecorator {
+
+    /**
+     * @param target سرویس فعلی (ممکن است proxy AOP یا لایه‌ی قبلی باشد)
+     * @return سرویس پیچیده‌شده
+     */
+    ExternalService decorate(ExternalService target);
+}
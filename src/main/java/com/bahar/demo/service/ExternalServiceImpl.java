@@ -1,10 +1,28 @@
 package com.bahar.demo.service;
 
+import com.bahar.demo.cache.LastKnownGoodCache;
+import com.bahar.demo.config.SimulatorProperties.Schedule;
+import com.bahar.demo.deadline.Deadline;
+import com.bahar.demo.deadline.DeadlineContext;
+import com.bahar.demo.downstream.Downstream;
+import com.bahar.demo.executor.BoundedCallbackExecutor;
+import com.bahar.demo.executor.NamedExecutorRegistry;
+import com.bahar.demo.fallback.FallbackChain;
+import com.bahar.demo.keyed.KeyedCircuitBreakers;
+import com.bahar.demo.resilience.Hedging;
+import com.bahar.demo.simulation.FaultInjector;
+import com.bahar.demo.simulation.SimulatedDownstream;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
 import io.github.resilience4j.retry.annotation.Retry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.stereotype.Service;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 
 /**
@@ -12,27 +30,110 @@ import java.util.function.Consumer;
  * -------------------------
  * شامل:
  *  - یک متد SYNC ساده (call)
- *  - یک متد SYNC با CircuitBreaker/Retry (callExternalApiSync + fallbackMethod)
+ *  - یک متد SYNC با CircuitBreaker/Retry/RateLimiter/Bulkhead (callExternalApiSync + fallbackWithLastKnownGood روی FallbackChain)
  *  - دو مدل Callback: Consumer و CompletableFuture
  *  - هندلرهای onSuccess/onError برای chain در CompletableFuture
  */
 @Service
+@ImportRuntimeHints(FallbackMethodRuntimeHints.class)
 public class ExternalServiceImpl implements ExternalService {
 
-    /** شمارنده‌ی فراخوانی‌ها برای شبیه‌سازی الگوی شکست/موفقیت در حالت sync */
-    private int counter = 0;
+    /** نام executor اختصاصی این downstream در demo.executors */
+    public static final String EXECUTOR_NAME = "externalService";
+
+    /** ابتدای همه‌ی پاسخ‌های fallback (برای تشخیص outcome=fallback در متریک‌ها) */
+    public static final String FALLBACK_PREFIX = "⚠️ Fallback response because: ";
+
+    /** پاسخ callback وقتی ظرفیت in-flight پر است */
+    public static final String CALLBACK_REJECTED = "❌ ظرفیت پردازش callback تکمیل است؛ لطفاً بعداً تلاش کنید";
+
+    /** کلید آخرین پاسخ موفق callExternalApiSync در LastKnownGoodCache (با کلید tenant؛ LastKnownGoodCache.scopedKey) */
+    public static final String SYNC_CACHE_KEY = "callExternalApiSync";
+
+    /** زمان شبیه‌سازی‌شده‌ی پردازش callback */
+    private static final long CALLBACK_WORK_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    /** endpoint شبیه‌سازی‌شده‌ی call() (پیش‌فرض: ۶۰٪ شکست) */
+    private final FaultInjector.Endpoint callEndpoint;
+
+    /**
+     * downstream واقعی callExternalApiSync و asyncProcess (شبیه‌ساز یا HTTP؛ demo.downstream.mode)،
+     * پشت breaker کلیددار (مثلاً هر tenant) وقتی درخواست کلید دارد (demo.keyed-breakers)
+     * و با hedging روی مسیر async (demo.hedging)؛ hedge داخل breakerهاست تا هر فراخوانی یک بار ثبت شود
+     */
+    private final Downstream downstream;
+
+    /** موتور اجرای callbackها (به جای ساخت Thread جدید برای هر درخواست) */
+    private final BoundedCallbackExecutor callbackExecutor;
+
+    /** آخرین پاسخ موفق برای fallback */
+    private final LastKnownGoodCache lastKnownGood;
+
+    /** fallback پله‌ای مسیر sync (آخرین پاسخ موفق → منبع دوم → پاسخ ثابت) */
+    private final FallbackChain fallbackChain;
+
+    /**
+     * سازنده‌ی اصلی (Constructor Injection توسط Spring)
+     *
+     * @param callbackExecutor executor محدود برای processWithCallback
+     * @param downstream       downstream مسیرهای sync و async (demo.downstream)
+     * @param keyedBreakers    breakerهای کلیددار روی downstream (demo.keyed-breakers)
+     * @param hedging          hedging مسیر async downstream (demo.hedging)
+     * @param faultInjector    downstream شبیه‌سازی‌شده‌ی call() (demo.simulator)
+     * @param lastKnownGood    cache آخرین پاسخ موفق (demo.fallback-cache)
+     * @param fallbackChain    fallback پله‌ای مسیر sync (demo.fallback-chain)
+     */
+    @Autowired
+    public ExternalServiceImpl(BoundedCallbackExecutor callbackExecutor,
+                               Downstream downstream,
+                               KeyedCircuitBreakers keyedBreakers,
+                               Hedging hedging,
+                               FaultInjector faultInjector,
+                               LastKnownGoodCache lastKnownGood,
+                               FallbackChain fallbackChain) {
+        this.callbackExecutor = callbackExecutor;
+        this.downstream = keyedBreakers.decorate(hedging.decorate(downstream));
+        this.lastKnownGood = lastKnownGood;
+        this.fallbackChain = fallbackChain;
+        this.callEndpoint = faultInjector.endpoint("call", Schedule.RANDOM, 0.6);
+    }
+
+    /**
+     * سازنده با downstream شبیه‌سازی‌شده روی executor اختصاصی "externalService"؛ fallback فقط آخرین پاسخ موفق
+     *
+     * @param callbackExecutor executor محدود برای processWithCallback
+     * @param executors        registry executorهای نام‌دار (demo.executors)
+     * @param faultInjector    downstream شبیه‌سازی‌شده (demo.simulator)
+     * @param lastKnownGood    cache آخرین پاسخ موفق (demo.fallback-cache)
+     */
+    public ExternalServiceImpl(BoundedCallbackExecutor callbackExecutor,
+                               NamedExecutorRegistry executors,
+                               FaultInjector faultInjector,
+                               LastKnownGoodCache lastKnownGood) {
+        this(callbackExecutor, new SimulatedDownstream(faultInjector, executors.executor(EXECUTOR_NAME)),
+                KeyedCircuitBreakers.disabled(), Hedging.disabled(), faultInjector, lastKnownGood,
+                FallbackChain.lastKnownGoodOnly(lastKnownGood));
+    }
+
+    /**
+     * سازنده با تنظیمات پیش‌فرض (برای Unit Test و استفاده بدون Spring)
+     */
+    public ExternalServiceImpl() {
+        this(BoundedCallbackExecutor.withDefaults(), NamedExecutorRegistry.withDefaults(), FaultInjector.withDefaults(),
+                LastKnownGoodCache.withDefaults());
+    }
 
     /**
      * متد تست ساده (SYNC)
      * -------------------------
-     * با احتمال ۶۰٪ استثناء پرتاب می‌کند تا سناریوی شکست را شبیه‌سازی کند.
+     * با احتمال ۶۰٪ (زمان‌بندی seedable در FaultInjector) استثناء پرتاب می‌کند تا سناریوی شکست را شبیه‌سازی کند.
      *
      * @return پیام موفقیت
      * @throws RuntimeException در صورت شبیه‌سازی خطا
      */
     @Override
     public String call() {
-        if (Math.random() < 0.6) {
+        if (callEndpoint.fails(callEndpoint.nextAttempt())) {
             throw new RuntimeException("Simulated failure in external service");
         }
         return "✅ External service success!";
@@ -41,15 +142,21 @@ public class ExternalServiceImpl implements ExternalService {
     /**
      * متد SYNC با Resilience4j (CircuitBreaker + Retry)
      * -------------------------
-     * منطق شبیه‌سازی:
-     *  - هر بار فراخوانی، counter++ می‌شود.
-     *  - اگر counter زوج باشد: موفقیت
-     *  - اگر فرد باشد: استثناء (شکست)
+     * یک تلاش = یک فراخوانی Downstream.callSync (شبیه‌ساز یا HTTP واقعی، demo.downstream.mode).
+     * منطق شبیه‌سازی (SimulatedDownstream، endpoint "callSync"):
+     *  - هر فراخوانی یک شماره‌ی تلاش یکتا می‌گیرد (AtomicLong؛ بدون از دست رفتن update زیر هم‌زمانی).
+     *  - با زمان‌بندی پیش‌فرض ALTERNATING: شماره‌ی زوج → موفقیت، فرد → استثناء (شکست)
+     *  - تأخیر طبق مدل تأخیر endpoint (demo.simulator.endpoints.callSync.latency/capacity؛ پیش‌فرض بدون تأخیر)
      *
      * رفتار Resilience4j:
      *  - @Retry(name="externalService"): در صورت شکست، چند بار تلاش مجدد می‌کند (طبق yml).
-     *  - @CircuitBreaker(name="externalService", fallbackMethod="fallbackMethod"):
-     *      اگر نرخ شکست زیاد شود یا مدار باز باشد، به جای متد اصلی، fallbackMethod صدا زده می‌شود.
+     *  - @CircuitBreaker(name="externalService", fallbackMethod="fallbackWithLastKnownGood"):
+     *      اگر نرخ شکست زیاد شود یا مدار باز باشد، به جای متد اصلی، fallbackWithLastKnownGood صدا زده می‌شود
+     *      (پیام fallback + پاسخ اولین tier موفق FallbackChain؛ بدون هیچ فراخوانی اضافه به downstream اصلی).
+     *  - @RateLimiter/@Bulkhead(name="externalServiceSync"): داخل CircuitBreaker اجرا می‌شوند؛
+     *      درخواست اضافه بدون انتظار رد می‌شود (RequestNotPermitted / BulkheadFullException)
+     *      و مستقیم به fallback می‌رسد. این دو استثناء در CircuitBreaker و Retry ignore شده‌اند
+     *      تا نه مدار را باز کنند و نه thread تامکت را برای retry نگه دارند.
      *
      * نکته: امضای fallback باید با امضای متد همخوان باشد (نوع خروجی یکسان + پارامتر Exception در انتها).
      *
@@ -57,15 +164,14 @@ public class ExternalServiceImpl implements ExternalService {
      * @throws RuntimeException در تلاش‌های فرد (پیش از اعمال مکانیزم‌های resilience)
      */
     @Override
-    @CircuitBreaker(name = "externalService", fallbackMethod = "fallbackMethod")
+    @CircuitBreaker(name = "externalService", fallbackMethod = "fallbackWithLastKnownGood")
     @Retry(name = "externalService")
+    @RateLimiter(name = "externalServiceSync")
+    @Bulkhead(name = "externalServiceSync")
     public String callExternalApiSync() {
-        counter++;
-        if (counter % 2 == 0) {
-            return "✅ Success on attempt " + counter;
-        } else {
-            throw new RuntimeException("❌ External API failed on attempt " + counter);
-        }
+        String result = downstream.callSync();
+        lastKnownGood.put(LastKnownGoodCache.scopedKey(SYNC_CACHE_KEY), result);
+        return result;
     }
 
     /**
@@ -78,16 +184,37 @@ public class ExternalServiceImpl implements ExternalService {
      */
     @Override
     public String fallbackMethod(Exception e) {
-        return "⚠️ Fallback response because: " + e.getMessage();
+        return FALLBACK_PREFIX + e.getMessage();
+    }
+
+    /**
+     * Fallback مسیر sync همراه با پاسخ زنجیره‌ی fallback
+     * -------------------------
+     * پیام fallbackMethod + پاسخ اولین tier موفق FallbackChain برای نوع این شکست (demo.fallback-chain)، مثلاً:
+     * "⚠️ Fallback response because: ... → last known good: ✅ Success on attempt 4 (stale 12s)"
+     * "⚠️ Fallback response because: ... → secondary: ✅ موفق شد!"
+     * "⚠️ Fallback response because: ... → default: 📦 Default content (service degraded)"
+     *
+     * @param e استثناء اصلی رخ‌داده
+     * @return پیام fallback، در صورت وجود همراه با پاسخ یکی از tierها
+     */
+    @Override
+    public String fallbackWithLastKnownGood(Exception e) {
+        return fallbackChain.fallback(LastKnownGoodCache.scopedKey(SYNC_CACHE_KEY), fallbackMethod(e), e);
     }
 
     /**
      * مدل Callback ساده با Consumer
      * -------------------------
-     * کار را در یک Thread جدا اجرا می‌کند (شبیه‌سازی async).
+     * کار روی BoundedCallbackExecutor اجرا می‌شود (virtual thread یا pool محدود).
      * بعد از ۵۰۰ms:
      *  - در سناریوی موفقیت → callback.accept("✅ ...")
      *  - در سناریوی InterruptedException → callback.accept("❌ ...")
+     * اگر ظرفیت in-flight پر باشد (یا سرویس در حال خاموشی باشد)، callback فوراً
+     * با پیام رد (❌) فراخوانی می‌شود و هیچ threadی ساخته نمی‌شود.
+     *
+     * deadline درخواست (DeadlineContext) روی thread فراخوان گرفته می‌شود: کار بیش از بودجه‌ی باقی‌مانده
+     * ادامه پیدا نمی‌کند و در آن صورت پاسخ fallbackMethod (با TimeoutException) تحویل داده می‌شود.
      *
      * توجه: این روش purely callback-style است و Future برنمی‌گرداند.
      *
@@ -95,23 +222,52 @@ public class ExternalServiceImpl implements ExternalService {
      */
     @Override
     public void processWithCallback(Consumer<String> callback) {
-        new Thread(() -> {
+        Deadline deadline = DeadlineContext.current();
+        boolean accepted = callbackExecutor.tryExecute(() -> {
             try {
-                Thread.sleep(500); // شبیه‌سازی تأخیر
+                long budget = Math.min(CALLBACK_WORK_NANOS, deadline.remainingNanos());
+                if (budget > 0) {
+                    TimeUnit.NANOSECONDS.sleep(budget); // شبیه‌سازی تأخیر (حداکثر تا deadline)
+                }
+                if (budget < CALLBACK_WORK_NANOS) {
+                    callback.accept(fallbackMethod(new TimeoutException("Request deadline exceeded")));
+                    return;
+                }
                 callback.accept("✅ کار با موفقیت انجام شد!");
             } catch (InterruptedException e) {
                 callback.accept("❌ خطا در پردازش");
                 Thread.currentThread().interrupt(); // رعایت best practice
             }
-        }).start();
+        });
+        if (!accepted) {
+            callback.accept(CALLBACK_REJECTED);
+        }
     }
 
     /**
      * مدل async با CompletableFuture
      * -------------------------
-     * عملیات را به‌صورت غیرهمزمان اجرا می‌کند:
-     *  - ۵۰٪ احتمال پرتاب استثناء (شکست)
+     * یک تلاش = یک فراخوانی Downstream.callAsync (شبیه‌ساز یا HTTP واقعی، demo.downstream.mode)؛
+     * تلاش کند بعد از تأخیر hedge یک تلاش موازی هم می‌گیرد و اولین موفقیت برمی‌گردد (demo.hedging).
+     * در حالت شبیه‌سازی، عملیات به‌صورت غیرهمزمان روی executor اختصاصی "externalService" اجرا می‌شود:
+     *  - ۵۰٪ احتمال پرتاب استثناء (شکست) — زمان‌بندی seedable در FaultInjector
      *  - ۵۰٪ احتمال موفقیت
+     *  - تأخیر طبق مدل تأخیر endpoint "async" (پیش‌فرض بدون تأخیر)
+     *
+     * اگر executor اشباع باشد (rejectionPolicy=ABORT؛ در حالت HTTP: connection pool پر)، به جای پرتاب استثناء روی thread درخواست،
+     * یک Future ناموفق برمی‌گردد تا مسیر exceptionally(onError) آن را هندل کند.
+     *
+     * محدودیت‌ها (instance "externalServiceAsync"، مستقل از مسیر sync):
+     *  - @CircuitBreaker: پنجره‌ی زمانی ۱۰ ثانیه‌ای با تشخیص فراخوانی کند؛ نتیجه‌ی Future (نه ثبت آن) شمرده می‌شود
+     *    و هر تلاش AsyncRetryDecorator جداگانه ثبت می‌شود. مدار باز → Future ناموفق با CallNotPermittedException
+     *  - @RateLimiter: بیش از سقف نرخ → Future ناموفق با RequestNotPermitted
+     *  - @Bulkhead (SEMAPHORE): مجوز تا تکمیل Future نگه داشته می‌شود، پس سقف روی کارهای در حال اجراست
+     *    (نه فقط روی ثبت آن‌ها)؛ بیش از سقف → Future ناموفق با BulkheadFullException
+     *  - executor اختصاصی همان نقش thread-pool bulkhead را دارد (threadها و صف محدود، ABORT)
+     * همه‌ی ردها فوری‌اند و مثل خطای عادی به exceptionally(onError) می‌رسند.
+     *
+     * deadline درخواست (DeadlineContext) همراه کار به executor می‌رود؛ کاری که تا نوبت اجرایش
+     * deadline آن گذشته باشد اجرا نمی‌شود و با TimeoutException تمام می‌شود.
      *
      * مدیریت نتیجه:
      *  - در Controller با thenApply(onSuccess) و exceptionally(onError) هندل می‌شود.
@@ -119,13 +275,11 @@ public class ExternalServiceImpl implements ExternalService {
      * @return CompletableFuture از رشته‌ی نتیجه (موفقیت) یا استثناء (شکست)
      */
     @Override
+    @CircuitBreaker(name = "externalServiceAsync")
+    @RateLimiter(name = "externalServiceAsync")
+    @Bulkhead(name = "externalServiceAsync")
     public CompletableFuture<String> asyncProcess() {
-        return CompletableFuture.supplyAsync(() -> {
-            if (Math.random() < 0.5) {
-                throw new RuntimeException("❌ شکست خورد!");
-            }
-            return "✅ موفق شد!";
-        });
+        return downstream.callAsync();
     }
 
     /**
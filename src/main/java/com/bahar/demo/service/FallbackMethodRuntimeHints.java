@@ -0,0 +1,51 @@
+package com.bahar.demo.service;
+
+import org.springframework.aot.hint.ExecutableMode;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.core.annotation.MergedAnnotation;
+import org.springframework.core.annotation.MergedAnnotations;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * FallbackMethodRuntimeHints
+ * -------------------------
+ * resilience4j متد fallback را در زمان اجرا با reflection و از روی نام (fallbackMethod در annotation) پیدا می‌کند.
+ * در build با Spring AOT (پروفایل startup) این hintها ثبت می‌شوند تا جست‌وجو در image بسته (native) هم کار کند:
+ *  - متدهای دارای annotation resilience4j → introspect (خواندن annotation)
+ *  - همه‌ی overloadهای نام fallbackMethod → invoke
+ *
+ * کلاس‌ها به صورت صریح فهرست شده‌اند؛ سرویس جدید با annotation resilience4j باید اینجا اضافه شود.
+ */
+class FallbackMethodRuntimeHints implements RuntimeHintsRegistrar {
+
+    static final List<Class<?>> ANNOTATED_SERVICES = List.of(ExternalServiceImpl.class);
+
+    private static final String RESILIENCE4J_PACKAGE = "io.github.resilience4j.";
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> service : ANNOTATED_SERVICES) {
+            for (Method method : service.getDeclaredMethods()) {
+                MergedAnnotations.from(method).stream()
+                        .filter(annotation -> annotation.getType().getName().startsWith(RESILIENCE4J_PACKAGE))
+                        .forEach(annotation -> register(hints, service, method, annotation));
+            }
+        }
+    }
+
+    private static void register(RuntimeHints hints, Class<?> service, Method method,
+                                 MergedAnnotation<?> annotation) {
+        hints.reflection().registerMethod(method, ExecutableMode.INTROSPECT);
+        String fallback = annotation.getValue("fallbackMethod", String.class).orElse("");
+        if (fallback.isEmpty()) {
+            return;
+        }
+        Arrays.stream(service.getDeclaredMethods())
+                .filter(candidate -> candidate.getName().equals(fallback))
+                .forEach(candidate -> hints.reflection().registerMethod(candidate, ExecutableMode.INVOKE));
+    }
+}
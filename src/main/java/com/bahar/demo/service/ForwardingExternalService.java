@@ -0,0 +1,67 @@
+package com.bahar.demo.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * ForwardingExternalService
+ * -------------------------
+ * پایه‌ی لایه‌هایی که دور ExternalService پیچیده می‌شوند (decorator):
+ * همه‌ی متدها به delegate پاس داده می‌شوند و هر لایه فقط متدهای مورد نظرش را override می‌کند.
+ */
+public abstract class ForwardingExternalService implements ExternalService {
+
+    /** سرویس زیرین */
+    protected final ExternalService delegate;
+
+    protected ForwardingExternalService(ExternalService delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * @return لایه‌ی زیرین (برای پیمایش زنجیره‌ی decoratorها در عیب‌یابی و تست)
+     */
+    public ExternalService getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String call() {
+        return delegate.call();
+    }
+
+    @Override
+    public String callExternalApiSync() {
+        return delegate.callExternalApiSync();
+    }
+
+    @Override
+    public String fallbackMethod(Exception e) {
+        return delegate.fallbackMethod(e);
+    }
+
+    @Override
+    public String fallbackWithLastKnownGood(Exception e) {
+        return delegate.fallbackWithLastKnownGood(e);
+    }
+
+    @Override
+    public void processWithCallback(Consumer<String> callback) {
+        delegate.processWithCallback(callback);
+    }
+
+    @Override
+    public CompletableFuture<String> asyncProcess() {
+        return delegate.asyncProcess();
+    }
+
+    @Override
+    public String onSuccess(String result) {
+        return delegate.onSuccess(result);
+    }
+
+    @Override
+    public String onError(Throwable ex) {
+        return delegate.onError(ex);
+    }
+}
@@ -0,0 +1,35 @@
+package com.bahar.demo.service;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * اینترفیس ReactiveExternalService
+ * -------------------------
+ * نسخه‌ی non-blocking همان سه سناریوی ExternalService:
+ *  - هیچ متدی thread را بلاک نمی‌کند؛ نتیجه به‌صورت Mono برمی‌گردد
+ *  - CircuitBreaker از طریق ReactiveCircuitBreakerFactory و Retry با Reactor backoff اعمال می‌شود
+ *    (به جای AOP و Thread.sleep بین تلاش‌ها)
+ */
+public interface ReactiveExternalService {
+
+    /**
+     * فراخوانی downstream با CircuitBreaker + Retry (معادل callExternalApiSync)
+     *
+     * @return Mono از پیام موفقیت یا پیام fallback
+     */
+    Mono<String> callSync();
+
+    /**
+     * فراخوانی async (معادل asyncProcess + onSuccess/onError)
+     *
+     * @return Mono از پیام SUCCESS یا ERROR
+     */
+    Mono<String> callAsync();
+
+    /**
+     * پل callback به Mono (معادل processWithCallback)
+     *
+     * @return Mono از پیامی که callback سرویس تولید می‌کند
+     */
+    Mono<String> callback();
+}
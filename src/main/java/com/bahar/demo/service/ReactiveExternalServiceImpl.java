@@ -0,0 +1,104 @@
+package com.bahar.demo.service;
+
+import com.bahar.demo.config.ReactiveProperties;
+import com.bahar.demo.downstream.Downstream;
+import com.bahar.demo.executor.NamedExecutorRegistry;
+import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreaker;
+import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreakerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
+
+/**
+ * پیاده‌سازی ReactiveExternalService
+ * -------------------------
+ * ترتیب لایه‌ها برای هر درخواست:
+ *  فراخوانی downstream → Retry.backoff (نمایی + jitter، روی timer رآکتور) → ReactiveCircuitBreaker → fallback
+ *
+ * نکته‌ها:
+ *  - retry داخل circuit breaker است، پس هر درخواست فقط یک نتیجه در sliding window ثبت می‌کند.
+ *  - callAsync retry رآکتور ندارد: asyncProcess خودش (AsyncRetryDecorator / NonBlockingRetry) تلاش مجدد
+ *    می‌کند و یک لایه‌ی دوم تعداد تلاش‌ها را ضرب می‌کرد (۳ × ۳ = ۹ فراخوانی downstream).
+ *  - circuit breaker با نام demo.reactive.circuitBreakerName از همان CircuitBreakerRegistry
+ *    (تنظیمات resilience4j در yml) گرفته می‌شود؛ instance جداگانه است تا باز شدن مدار مسیر MVC
+ *    این مسیر را قطع نکند (و برعکس). TimeLimiter هم با همین نام از resilience4j.timelimiter خوانده می‌شود.
+ *  - callSync همان Downstream.callSync مسیر MVC را صدا می‌زند (شبیه‌ساز یا HTTP، demo.downstream.mode)،
+ *    روی executor اختصاصی "externalService" تا فراخوانی مسدودکننده event loop را نگیرد.
+ */
+@Service
+public class ReactiveExternalServiceImpl implements ReactiveExternalService {
+
+    private final ExternalService externalService;
+    private final Downstream downstream;
+    private final Scheduler downstreamScheduler;
+    private final ReactiveCircuitBreaker circuitBreaker;
+    private final RetryBackoffSpec retry;
+
+    /**
+     * @param externalService     سرویس اصلی (برای asyncProcess، processWithCallback و پیام‌های fallback)
+     * @param downstream          downstream مسیر sync (همان Bean مسیر MVC)
+     * @param executors           executorهای نام‌دار؛ callSync روی "externalService" اجرا می‌شود
+     * @param circuitBreakerFactory factory رآکتیو Spring Cloud CircuitBreaker (Resilience4j)
+     * @param properties          تنظیمات demo.reactive
+     */
+    public ReactiveExternalServiceImpl(ExternalService externalService,
+                                       Downstream downstream,
+                                       NamedExecutorRegistry executors,
+                                       ReactiveCircuitBreakerFactory<?, ?> circuitBreakerFactory,
+                                       ReactiveProperties properties) {
+        this.externalService = externalService;
+        this.downstream = downstream;
+        this.downstreamScheduler = Schedulers.fromExecutorService(
+                executors.executor(ExternalServiceImpl.EXECUTOR_NAME), ExternalServiceImpl.EXECUTOR_NAME);
+        this.circuitBreaker = circuitBreakerFactory.create(properties.getCircuitBreakerName());
+        ReactiveProperties.Retry retryProperties = properties.getRetry();
+        this.retry = Retry.backoff(retryProperties.getMaxRetries(), retryProperties.getMinBackoff())
+                .maxBackoff(retryProperties.getMaxBackoff())
+                .jitter(retryProperties.getJitter())
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    /**
+     * callSync
+     * -------------------------
+     * تلاش روی downstream به‌صورت lazy (Mono.fromCallable) انجام می‌شود تا هر resubscribe
+     * در retry یک فراخوانی جدید Downstream.callSync باشد؛ subscribeOn آن را از event loop خارج می‌کند.
+     */
+    @Override
+    public Mono<String> callSync() {
+        Mono<String> attempt = Mono.fromCallable(downstream::callSync).subscribeOn(downstreamScheduler);
+        return circuitBreaker.run(attempt.retryWhen(retry),
+                throwable -> Mono.just(externalService.fallbackMethod(asException(throwable))));
+    }
+
+    /**
+     * callAsync
+     * -------------------------
+     * Mono.defer تا asyncProcess() فقط هنگام subscribe شروع شود؛ retry در خود asyncProcess انجام می‌شود.
+     */
+    @Override
+    public Mono<String> callAsync() {
+        Mono<String> call = Mono.defer(() -> Mono.fromFuture(externalService.asyncProcess()));
+        return circuitBreaker.run(call.map(externalService::onSuccess),
+                throwable -> Mono.just(externalService.onError(throwable)));
+    }
+
+    /**
+     * callback
+     * -------------------------
+     * Consumer سرویس مستقیماً به sink::success وصل می‌شود؛ هیچ threadی منتظر نمی‌ماند.
+     */
+    @Override
+    public Mono<String> callback() {
+        Mono<String> bridged = Mono.create(sink -> externalService.processWithCallback(sink::success));
+        return circuitBreaker.run(bridged,
+                throwable -> Mono.just(externalService.fallbackMethod(asException(throwable))));
+    }
+
+    private static Exception asException(Throwable throwable) {
+        return throwable instanceof Exception exception ? exception : new RuntimeException(throwable);
+    }
+}
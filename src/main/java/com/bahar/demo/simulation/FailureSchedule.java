@@ -0,0 +1,59 @@
+package com.bahar.demo.simulation;
+
+/**
+ * FailureSchedule
+ * -------------------------
+ * تصمیم قطعی (deterministic) درباره‌ی شکست یا موفقیت تلاش شماره‌ی n.
+ * نتیجه فقط به شماره‌ی تلاش (و seed) بستگی دارد، نه به ترتیب اجرای threadها؛
+ * بنابراین تحت هم‌زمانی بالا هم الگو دقیقاً قابل تکرار است.
+ * پیاده‌سازی‌ها stateless و بدون تخصیص حافظه هستند.
+ */
+@FunctionalInterface
+public interface FailureSchedule {
+
+    /**
+     * @param attempt شماره‌ی تلاش (از ۱ شروع می‌شود)
+     * @return true اگر این تلاش باید شکست بخورد
+     */
+    boolean shouldFail(long attempt);
+
+    /** تلاش‌های فرد شکست، زوج موفق (رفتار قدیمی callExternalApiSync) */
+    static FailureSchedule alternating() {
+        return attempt -> (attempt & 1L) == 1L;
+    }
+
+    /** هیچ‌وقت شکست نمی‌خورد */
+    static FailureSchedule never() {
+        return attempt -> false;
+    }
+
+    /** همیشه شکست می‌خورد */
+    static FailureSchedule always() {
+        return attempt -> true;
+    }
+
+    /**
+     * شکست تصادفیِ قابل تکرار
+     * -------------------------
+     * به جای Math.random()، شماره‌ی تلاش با seed ترکیب و با SplitMix64 هش می‌شود؛
+     * پس با seed یکسان، دنباله‌ی شکست/موفقیت در هر اجرا یکسان است.
+     *
+     * @param seed        seed دنباله
+     * @param failureRate احتمال شکست بین ۰ و ۱
+     */
+    static FailureSchedule seeded(long seed, double failureRate) {
+        return attempt -> toUnitInterval(mix(seed + attempt * 0x9E3779B97F4A7C15L)) < failureRate;
+    }
+
+    /** تابع mix در SplitMix64 */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /** ۵۳ بیت بالای عدد → double در بازه‌ی [0, 1) */
+    private static double toUnitInterval(long bits) {
+        return (bits >>> 11) * 0x1.0p-53;
+    }
+}
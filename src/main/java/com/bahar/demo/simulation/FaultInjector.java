@@ -0,0 +1,187 @@
+package com.bahar.demo.simulation;
+
+import com.bahar.demo.config.SimulatorProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * FaultInjector
+ * -------------------------
+ * downstream شبیه‌سازی‌شده‌ی thread-safe برای تست resilience:
+ *  - هر endpoint یک شماره‌ی تلاش یکتا (AtomicLong) دارد؛ هیچ update‌ای گم نمی‌شود
+ *  - شکست/موفقیت هر تلاش را FailureSchedule به‌صورت قطعی تعیین می‌کند (seedable)
+ *  - تأخیر هر تلاش را LatencyModel بر حسب تعداد فراخوانی‌های هم‌زمان همان endpoint تعیین می‌کند
+ *  - شمارنده‌های موفقیت/شکست از نوع LongAdder (striped) هستند تا زیر بار زیاد contention نداشته باشند
+ *  - Endpoint یک بار resolve و نگه داشته می‌شود؛ مسیر موفقیت هیچ تخصیص حافظه‌ای ندارد
+ *
+ * نکته: شماره‌ی تلاش عمداً AtomicLong است نه LongAdder، چون الگوی قطعی (مثلاً فرد/زوج)
+ * به یک دنباله‌ی یکتا نیاز دارد؛ فقط آمار (که مجموع آن مهم است) striped شده است.
+ */
+public class FaultInjector implements MeterBinder {
+
+    private final SimulatorProperties properties;
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private volatile MeterRegistry meterRegistry;
+
+    /**
+     * @param properties تنظیمات demo.simulator
+     */
+    public FaultInjector(SimulatorProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * ساخت نمونه با تنظیمات پیش‌فرض (برای Unit Test و استفاده بدون Spring)
+     */
+    public static FaultInjector withDefaults() {
+        return new FaultInjector(new SimulatorProperties());
+    }
+
+    /**
+     * دریافت (یا ساخت) endpoint
+     * -------------------------
+     * اگر endpoint در demo.simulator.endpoints تنظیم شده باشد، آن تنظیمات اعمال می‌شود؛
+     * وگرنه مقدار پیش‌فرضی که فراخواننده داده است.
+     *
+     * @param name            نام endpoint
+     * @param defaultSchedule زمان‌بندی پیش‌فرض
+     * @param defaultRate     نرخ شکست پیش‌فرض (برای RANDOM)
+     * @return handle قابل نگه‌داری برای فراخوانی‌های بعدی
+     */
+    public Endpoint endpoint(String name, SimulatorProperties.Schedule defaultSchedule, double defaultRate) {
+        return endpoints.computeIfAbsent(name, key -> {
+            SimulatorProperties.Endpoint spec = properties.getEndpoints()
+                    .getOrDefault(key, new SimulatorProperties.Endpoint(defaultSchedule, defaultRate));
+            Endpoint endpoint = new Endpoint(key, toSchedule(spec), toLatencyModel(spec));
+            MeterRegistry registry = meterRegistry;
+            if (registry != null) {
+                endpoint.bindTo(registry);
+            }
+            return endpoint;
+        });
+    }
+
+    private FailureSchedule toSchedule(SimulatorProperties.Endpoint spec) {
+        return switch (spec.getSchedule()) {
+            case ALTERNATING -> FailureSchedule.alternating();
+            case RANDOM -> FailureSchedule.seeded(properties.getSeed(), spec.getFailureRate());
+            case NEVER -> FailureSchedule.never();
+            case ALWAYS -> FailureSchedule.always();
+        };
+    }
+
+    private static LatencyModel toLatencyModel(SimulatorProperties.Endpoint spec) {
+        if (spec.getLatency().isZero()) {
+            return LatencyModel.none();
+        }
+        return spec.getCapacity() > 0
+                ? LatencyModel.capacity(spec.getLatency(), spec.getCapacity())
+                : LatencyModel.fixed(spec.getLatency());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.meterRegistry = registry;
+        endpoints.values().forEach(endpoint -> endpoint.bindTo(registry));
+    }
+
+    /**
+     * یک endpoint شبیه‌سازی‌شده
+     * -------------------------
+     * استفاده: {@code endpoint.awaitLatency(); long attempt = endpoint.nextAttempt(); if (endpoint.fails(attempt)) throw ...}
+     */
+    public static final class Endpoint {
+
+        private final String name;
+        private final FailureSchedule schedule;
+        private final LatencyModel latencyModel;
+        private final boolean delayed;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicLong attempts = new AtomicLong();
+        private final LongAdder successes = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+
+        Endpoint(String name, FailureSchedule schedule, LatencyModel latencyModel) {
+            this.name = name;
+            this.schedule = schedule;
+            this.latencyModel = latencyModel;
+            this.delayed = latencyModel.latencyNanos(1) > 0;
+        }
+
+        /**
+         * اعمال تأخیر مدل روی thread فراخوان (بدون تأخیر → بدون هیچ کاری)
+         * -------------------------
+         * تأخیر بر اساس تعداد فراخوانی‌های هم‌زمان در لحظه‌ی ورود حساب می‌شود.
+         * با interrupt، انتظار زودتر تمام می‌شود و وضعیت interrupt حفظ می‌شود.
+         */
+        public void awaitLatency() {
+            if (!delayed) {
+                return;
+            }
+            long nanos = latencyModel.latencyNanos(inFlight.incrementAndGet());
+            try {
+                long deadline = System.nanoTime() + nanos;
+                long remaining = nanos;
+                while (remaining > 0 && !Thread.currentThread().isInterrupted()) {
+                    LockSupport.parkNanos(remaining);
+                    remaining = deadline - System.nanoTime();
+                }
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        /**
+         * @return شماره‌ی یکتای تلاش بعدی (از ۱)
+         */
+        public long nextAttempt() {
+            return attempts.incrementAndGet();
+        }
+
+        /**
+         * اعمال زمان‌بندی و ثبت نتیجه در آمار
+         *
+         * @param attempt شماره‌ی تلاش گرفته‌شده از nextAttempt()
+         * @return true اگر این تلاش باید شکست بخورد
+         */
+        public boolean fails(long attempt) {
+            if (schedule.shouldFail(attempt)) {
+                failures.increment();
+                return true;
+            }
+            successes.increment();
+            return false;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public long successCount() {
+            return successes.sum();
+        }
+
+        public long failureCount() {
+            return failures.sum();
+        }
+
+        private void bindTo(MeterRegistry registry) {
+            FunctionCounter.builder("demo.simulator.calls", successes, LongAdder::sum)
+                    .tag("endpoint", name)
+                    .tag("outcome", "success")
+                    .register(registry);
+            FunctionCounter.builder("demo.simulator.calls", failures, LongAdder::sum)
+                    .tag("endpoint", name)
+                    .tag("outcome", "failure")
+                    .register(registry);
+        }
+    }
+}
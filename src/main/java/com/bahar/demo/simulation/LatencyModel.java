@@ -0,0 +1,48 @@
+package com.bahar.demo.simulation;
+
+import java.time.Duration;
+
+/**
+ * LatencyModel
+ * -------------------------
+ * تأخیر شبیه‌سازی‌شده‌ی downstream بر حسب تعداد فراخوانی‌های هم‌زمان.
+ * مثل FailureSchedule قطعی و بدون تخصیص حافظه است؛ فقط به ورودی بستگی دارد.
+ */
+@FunctionalInterface
+public interface LatencyModel {
+
+    /**
+     * @param concurrency تعداد فراخوانی‌های در حال اجرا (شامل همین فراخوانی، از ۱)
+     * @return تأخیر این فراخوانی بر حسب نانوثانیه
+     */
+    long latencyNanos(int concurrency);
+
+    /** بدون تأخیر (رفتار پیش‌فرض endpointها) */
+    static LatencyModel none() {
+        return concurrency -> 0L;
+    }
+
+    /** تأخیر ثابت، مستقل از بار */
+    static LatencyModel fixed(Duration latency) {
+        long nanos = latency.toNanos();
+        return concurrency -> nanos;
+    }
+
+    /**
+     * downstream با ظرفیت محدود (processor sharing)
+     * -------------------------
+     * تا capacity فراخوانی هم‌زمان، هر فراخوانی baseLatency طول می‌کشد؛
+     * بیش از آن، ظرفیت بین همه تقسیم می‌شود و تأخیر به نسبت concurrency / capacity بالا می‌رود
+     * (همان صف‌شدنی که محدودکننده‌ی تطبیقی باید جلویش را بگیرد).
+     *
+     * @param baseLatency تأخیر بدون بار
+     * @param capacity    تعداد فراخوانی هم‌زمانی که downstream بدون کند شدن سرویس می‌دهد (≥ ۱)
+     */
+    static LatencyModel capacity(Duration baseLatency, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be >= 1");
+        }
+        long base = baseLatency.toNanos();
+        return concurrency -> concurrency <= capacity ? base : base * concurrency / capacity;
+    }
+}
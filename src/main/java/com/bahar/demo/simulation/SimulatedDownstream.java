@@ -0,0 +1,81 @@
+package com.bahar.demo.simulation;
+
+import com.bahar.demo.config.SimulatorProperties.Schedule;
+import com.bahar.demo.deadline.Deadline;
+import com.bahar.demo.deadline.DeadlineContext;
+import com.bahar.demo.downstream.Downstream;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * SimulatedDownstream
+ * -------------------------
+ * downstream پیش‌فرض (demo.downstream.mode=simulated): بدون I/O، روی endpointهای FaultInjector
+ *  - "callSync" (پیش‌فرض ALTERNATING: فرد شکست / زوج موفق)
+ *  - "async"    (پیش‌فرض RANDOM با ۵۰٪ شکست) روی executor اختصاصی "externalService"
+ * تأخیر هر دو طبق LatencyModel همان endpoint (demo.simulator.endpoints.*.latency/capacity).
+ */
+public class SimulatedDownstream implements Downstream {
+
+    private final FaultInjector.Endpoint syncEndpoint;
+    private final FaultInjector.Endpoint asyncEndpoint;
+    private final Executor asyncExecutor;
+
+    /**
+     * @param faultInjector downstream شبیه‌سازی‌شده (demo.simulator)
+     * @param asyncExecutor executor اختصاصی مسیر async
+     */
+    public SimulatedDownstream(FaultInjector faultInjector, Executor asyncExecutor) {
+        this(faultInjector.endpoint("callSync", Schedule.ALTERNATING, 0),
+                faultInjector.endpoint("async", Schedule.RANDOM, 0.5), asyncExecutor);
+    }
+
+    /**
+     * @param syncEndpoint  endpoint مسیر sync
+     * @param asyncEndpoint endpoint مسیر async
+     * @param asyncExecutor executor مسیر async
+     */
+    public SimulatedDownstream(FaultInjector.Endpoint syncEndpoint, FaultInjector.Endpoint asyncEndpoint,
+                               Executor asyncExecutor) {
+        this.syncEndpoint = syncEndpoint;
+        this.asyncEndpoint = asyncEndpoint;
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    @Override
+    public String callSync() {
+        syncEndpoint.awaitLatency();
+        long attempt = syncEndpoint.nextAttempt();
+        if (syncEndpoint.fails(attempt)) {
+            throw new RuntimeException("❌ External API failed on attempt " + attempt);
+        }
+        return "✅ Success on attempt " + attempt;
+    }
+
+    /**
+     * کاری که تا نوبت اجرایش deadline آن گذشته باشد اجرا نمی‌شود و با TimeoutException تمام می‌شود؛
+     * executor اشباع (rejectionPolicy=ABORT) → Future ناموفق با RejectedExecutionException.
+     */
+    @Override
+    public CompletableFuture<String> callAsync() {
+        Deadline deadline = DeadlineContext.current();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                if (deadline.isExpired()) {
+                    throw new CompletionException(new TimeoutException("Request deadline exceeded"));
+                }
+                asyncEndpoint.awaitLatency();
+                if (asyncEndpoint.fails(asyncEndpoint.nextAttempt())) {
+                    throw new RuntimeException("❌ شکست خورد!");
+                }
+                return "✅ موفق شد!";
+            }, asyncExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.bahar.demo.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StartupBenchmark
+ * -------------------------
+ * نقطه‌ی ورود بنچمارک شروع (mvn -Pstartup package -DskipTests، سپس mvn -Pstartup exec:exec):
+ * هر حالت چند بار در یک JVM جدا اجرا می‌شود و زمان از شروع process تا اولین پاسخ موفق /api/callSync
+ * (بدنه با ✅، نه fallback) اندازه گرفته می‌شود. بعد از آن چند فراخوانی دیگر باید یک پاسخ fallback بدهند
+ * (زمان‌بندی ALTERNATING شبیه‌ساز) تا ثابت شود fallback مبتنی بر annotation در همان حالت (مثلاً AOT) کار می‌کند.
+ *
+ * حالت‌ها (--variants با کاما):
+ *  - jar          → jar اجرایی معمولی (مبنا)
+ *  - aot          → jar باز‌شده با -Dspring.aot.enabled=true
+ *  - aot-cds      → به‌علاوه‌ی آرشیو CDS (application.jsa کنار jar باز‌شده)
+ *  - aot-cds-lazy → به‌علاوه‌ی پروفایل fast-startup (lazy initialization)
+ *
+ * آرگومان‌ها به شکل --key=value: jar، extracted (مسیر jar باز‌شده)، variants، runs (پیش‌فرض ۵)،
+ * timeout (هر اجرا، پیش‌فرض 60s) و out (پیش‌فرض target/startup/report.json).
+ * اگر در یک حالت پاسخ موفق یا fallback دیده نشود، exit code برابر ۱ است.
+ */
+public final class StartupBenchmark {
+
+    private static final String SUCCESS_PREFIX = "✅";
+    private static final String FALLBACK_PREFIX = "⚠️ Fallback response because: ";
+
+    private StartupBenchmark() {
+    }
+
+    /** نتیجه‌ی یک حالت: زمان‌ها به میلی‌ثانیه، مرتب‌شده */
+    record VariantReport(String variant, List<String> command, List<Long> timeToFirstSuccessMillis,
+                         long minMillis, long medianMillis, long maxMillis, boolean fallbackVerified) {
+    }
+
+    record Report(String startedAt, String javaVersion, int processors, List<VariantReport> variants) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("expected --key=value but got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        Path jar = Path.of(required(options, "jar"));
+        Path extracted = Path.of(required(options, "extracted"));
+        List<String> variants = List.of(options.getOrDefault("variants", "jar,aot,aot-cds,aot-cds-lazy").split(","));
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        Duration timeout = Duration.parse("PT" + options.getOrDefault("timeout", "60s"));
+        Path out = Path.of(options.getOrDefault("out", "target/startup/report.json"));
+
+        String startedAt = Instant.now().toString();
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        List<VariantReport> reports = new ArrayList<>();
+        boolean failed = false;
+        for (String variant : variants) {
+            List<Long> times = new ArrayList<>();
+            boolean fallbackVerified = true;
+            List<String> command = List.of();
+            for (int run = 0; run < runs; run++) {
+                int port = freePort();
+                command = command(variant, jar, extracted, port);
+                Run result = measure(client, command, port, timeout);
+                if (result.timeToFirstSuccessNanos() < 0) {
+                    System.out.println(variant + ": no successful /api/callSync within " + timeout);
+                    failed = true;
+                    break;
+                }
+                times.add(TimeUnit.NANOSECONDS.toMillis(result.timeToFirstSuccessNanos()));
+                fallbackVerified &= result.fallbackSeen();
+            }
+            if (times.isEmpty()) {
+                continue;
+            }
+            times.sort(null);
+            failed |= !fallbackVerified;
+            reports.add(new VariantReport(variant, command, times, times.get(0), times.get(times.size() / 2),
+                    times.get(times.size() - 1), fallbackVerified));
+        }
+
+        Report report = new Report(startedAt, System.getProperty("java.version"),
+                Runtime.getRuntime().availableProcessors(), reports);
+        Files.createDirectories(out.toAbsolutePath().getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(out.toFile(), report);
+        System.out.println("startup report: " + out.toAbsolutePath());
+        reports.forEach(variant -> System.out.printf("%-14s first success: min %6dms  median %6dms  max %6dms  fallback %s%n",
+                variant.variant(), variant.minMillis(), variant.medianMillis(), variant.maxMillis(),
+                variant.fallbackVerified() ? "ok" : "NOT SEEN"));
+        if (failed) {
+            System.exit(1);
+        }
+    }
+
+    private static List<String> command(String variant, Path jar, Path extracted, int port) {
+        Path java = Path.of(System.getProperty("java.home"), "bin", "java");
+        List<String> command = new ArrayList<>(List.of(java.toString()));
+        switch (variant) {
+            case "jar" -> command.addAll(List.of("-jar", jar.toString()));
+            case "aot" -> command.addAll(List.of("-Dspring.aot.enabled=true", "-jar", extracted.toString()));
+            case "aot-cds" -> command.addAll(List.of(cds(extracted), "-Dspring.aot.enabled=true",
+                    "-jar", extracted.toString()));
+            case "aot-cds-lazy" -> command.addAll(List.of(cds(extracted), "-Dspring.aot.enabled=true",
+                    "-Dspring.profiles.active=fast-startup", "-jar", extracted.toString()));
+            default -> throw new IllegalArgumentException("unknown variant " + variant
+                    + " (expected jar, aot, aot-cds or aot-cds-lazy)");
+        }
+        command.addAll(Arrays.asList("--server.port=" + port, "--logging.level.root=WARN"));
+        return command;
+    }
+
+    private static String cds(Path extracted) {
+        Path archive = extracted.resolveSibling("application.jsa");
+        if (!Files.exists(archive)) {
+            throw new IllegalStateException(archive + " not found; build with mvn -Pstartup package first");
+        }
+        return "-XX:SharedArchiveFile=" + archive;
+    }
+
+    private record Run(long timeToFirstSuccessNanos, boolean fallbackSeen) {
+    }
+
+    private static Run measure(HttpClient client, List<String> command, int port, Duration timeout)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/callSync"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            long firstSuccess = -1;
+            long deadline = start + timeout.toNanos();
+            while (firstSuccess < 0 && System.nanoTime() - deadline < 0 && process.isAlive()) {
+                if (SUCCESS_PREFIX.equals(prefixOf(call(client, request)))) {
+                    firstSuccess = System.nanoTime() - start;
+                } else {
+                    Thread.sleep(5);
+                }
+            }
+            boolean fallbackSeen = false;
+            for (int i = 0; i < 4 && firstSuccess >= 0 && !fallbackSeen; i++) {
+                fallbackSeen = FALLBACK_PREFIX.equals(prefixOf(call(client, request)));
+            }
+            return new Run(firstSuccess, fallbackSeen);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    /** بدنه‌ی پاسخ 200، یا null اگر سرور هنوز آماده نیست */
+    private static String call(HttpClient client, HttpRequest request) throws InterruptedException {
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            return response.statusCode() == 200 ? response.body() : null;
+        } catch (IOException e) {
+            return null; // هنوز در حال شروع (connection refused) یا timeout
+        }
+    }
+
+    private static String prefixOf(String body) {
+        if (body == null) {
+            return null;
+        }
+        if (body.startsWith(SUCCESS_PREFIX)) {
+            return SUCCESS_PREFIX;
+        }
+        return body.startsWith(FALLBACK_PREFIX) ? FALLBACK_PREFIX : null;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String required(Map<String, String> options, String key) {
+        String value = options.get(key);
+        if (value == null) {
+            throw new IllegalArgumentException("missing --" + key);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,69 @@
+package com.bahar.demo.cache;
+
+import com.bahar.demo.config.FallbackCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test برای LastKnownGoodCache
+ * ----------------------------------
+ * زمان با یک Ticker دستی جلو می‌رود (بدون sleep):
+ *  - پیام fallback با آخرین پاسخ موفق و عمر آن
+ *  - بعد از TTL مقدار سرو نمی‌شود
+ *  - تعداد کلیدها از maximumSize بیشتر نمی‌ماند
+ */
+class LastKnownGoodCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final FallbackCacheProperties properties = new FallbackCacheProperties();
+
+    private LastKnownGoodCache cache() {
+        return new LastKnownGoodCache(properties, nanos::get);
+    }
+
+    @Test
+    void withLastKnownGood_shouldAppendCachedValueAndStaleness() {
+        LastKnownGoodCache cache = cache();
+        assertEquals("⚠️ fallback", cache.withLastKnownGood("op", "⚠️ fallback"));
+
+        cache.put("op", "✅ ok");
+        nanos.addAndGet(Duration.ofSeconds(12).toNanos());
+
+        assertEquals("⚠️ fallback → last known good: ✅ ok (stale 12s)",
+                cache.withLastKnownGood("op", "⚠️ fallback"));
+    }
+
+    @Test
+    void get_shouldExpireAfterTtl() {
+        properties.setTtl(Duration.ofSeconds(30));
+        LastKnownGoodCache cache = cache();
+        cache.put("op", "✅ ok");
+
+        nanos.addAndGet(Duration.ofSeconds(29).toNanos());
+        assertTrue(cache.get("op").isPresent());
+        nanos.addAndGet(Duration.ofSeconds(2).toNanos());
+        assertTrue(cache.get("op").isEmpty());
+    }
+
+    @Test
+    void put_shouldStayWithinMaximumSize_andExposeMetrics() {
+        properties.setMaximumSize(10);
+        LastKnownGoodCache cache = cache();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        for (int i = 0; i < 1_000; i++) {
+            cache.put("op-" + i, "v" + i);
+        }
+        cache.get("op-999");
+        cache.cleanUp();
+
+        assertTrue(registry.get("cache.size").tag("cache", "lastKnownGood").gauge().value() <= 10);
+        assertTrue(registry.get("cache.evictions").tag("cache", "lastKnownGood").functionCounter().count() > 0);
+    }
+}
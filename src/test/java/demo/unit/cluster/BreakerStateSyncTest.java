@@ -0,0 +1,163 @@
+package com.bahar.demo.cluster;
+
+import com.bahar.demo.config.BreakerSyncProperties;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test برای BreakerStateSync
+ * ----------------------------------
+ * دو replica («a» و «b») با registry جدا روی یک کانال in-process؛ زمان با ساعت دستی جلو می‌رود:
+ *  - باز شدن مدار یک replica، مدار دیگری را هم باز می‌کند (بدون انتشار دوباره)
+ *  - آمار تجمیعی: شکست‌های کمتر از minimumNumberOfCalls در هر replica با هم مدار را باز می‌کنند
+ *  - probe هماهنگ: فقط یک replica HALF_OPEN می‌شود و موفقیت آن همه را CLOSED می‌کند؛ شکست آن lease را آزاد می‌کند
+ *  - ادعای هم‌زمان probe با شناسه‌ی کوچک‌تر برنده است و پیام قدیمی (sequence کوچک‌تر) دور ریخته می‌شود
+ */
+class BreakerStateSyncTest {
+
+    private static final String NAME = "externalService";
+
+    private final String channel = UUID.randomUUID().toString();
+    private final AtomicLong nanos = new AtomicLong();
+    private final CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+            .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+            .slidingWindowSize(10)
+            .minimumNumberOfCalls(10)
+            .failureRateThreshold(50)
+            .waitDurationInOpenState(Duration.ofSeconds(5))
+            .permittedNumberOfCallsInHalfOpenState(1)
+            .build();
+
+    private final Replica a = new Replica("a");
+    private final Replica b = new Replica("b");
+
+    /** یک replica: registry، transport و sync خودش */
+    private final class Replica {
+
+        final CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        final CircuitBreaker breaker = registry.circuitBreaker(NAME);
+        final InProcessBreakerStateTransport transport = new InProcessBreakerStateTransport(channel);
+        final BreakerStateSync sync;
+        final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+
+        Replica(String id) {
+            BreakerSyncProperties properties = new BreakerSyncProperties();
+            properties.setInstanceId(id);
+            properties.setBreakers(List.of(NAME));
+            properties.setPublishInterval(Duration.ofHours(1));
+            sync = new BreakerStateSync(properties, registry, transport, nanos::get);
+            sync.bindTo(meters);
+        }
+
+        void fail(int times) {
+            for (int i = 0; i < times; i++) {
+                try {
+                    breaker.executeRunnable(() -> {
+                        throw new IllegalStateException("boom");
+                    });
+                } catch (RuntimeException ignored) {
+                    // شکست یا CallNotPermittedException
+                }
+            }
+        }
+
+        double counter(String name, String tag, String value) {
+            return meters.get(name).tag(tag, value).functionCounter().count();
+        }
+
+        void close() {
+            sync.shutdown();
+            transport.close();
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        a.close();
+        b.close();
+    }
+
+    @Test
+    void openOnOneReplica_shouldOpenTheOther() {
+        a.fail(10);
+
+        assertEquals(CircuitBreaker.State.OPEN, a.breaker.getState());
+        assertEquals(CircuitBreaker.State.OPEN, b.breaker.getState());
+        assertEquals(0, b.breaker.getMetrics().getNumberOfFailedCalls());
+        assertEquals(1.0, b.counter("demo.breaker.sync.transitions", "cause", "remote_open"));
+        assertEquals(0.0, b.counter("demo.breaker.sync.messages", "direction", "sent"));
+    }
+
+    @Test
+    void aggregatedStats_shouldOpenBeforeEachReplicaReachesMinimumCalls() {
+        a.fail(5);
+        b.fail(5);
+        assertEquals(CircuitBreaker.State.CLOSED, a.breaker.getState());
+        assertEquals(CircuitBreaker.State.CLOSED, b.breaker.getState());
+
+        a.sync.publishStats();
+
+        assertEquals(CircuitBreaker.State.OPEN, b.breaker.getState());
+        assertEquals(CircuitBreaker.State.OPEN, a.breaker.getState());
+        assertEquals(1.0, b.counter("demo.breaker.sync.transitions", "cause", "fleet_open"));
+    }
+
+    @Test
+    void halfOpenProbe_shouldBeCoordinatedAndCloseTheFleet() {
+        a.fail(10);
+        a.breaker.transitionToHalfOpenState();
+        b.breaker.transitionToHalfOpenState();
+
+        assertEquals(CircuitBreaker.State.OPEN, b.breaker.getState());
+        assertEquals(1.0, b.counter("demo.breaker.sync.transitions", "cause", "probe_yield"));
+
+        a.breaker.executeSupplier(() -> "✅ ok");
+
+        assertEquals(CircuitBreaker.State.CLOSED, a.breaker.getState());
+        assertEquals(CircuitBreaker.State.CLOSED, b.breaker.getState());
+    }
+
+    @Test
+    void failedProbe_shouldReleaseTheLease() {
+        a.fail(10);
+        a.breaker.transitionToHalfOpenState();
+        a.fail(1);
+        assertEquals(CircuitBreaker.State.OPEN, a.breaker.getState());
+
+        b.breaker.transitionToHalfOpenState();
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, b.breaker.getState());
+        a.breaker.transitionToHalfOpenState();
+        assertEquals(CircuitBreaker.State.OPEN, a.breaker.getState());
+    }
+
+    @Test
+    void concurrentClaim_lowerIdWins_andStaleMessagesAreDropped() {
+        b.breaker.transitionToOpenState();
+        b.breaker.transitionToHalfOpenState();
+        InProcessBreakerStateTransport raw = new InProcessBreakerStateTransport(channel);
+        try {
+            raw.publish(new BreakerStateMessage("0", 2, NAME, BreakerStateMessage.Kind.TRANSITION,
+                    CircuitBreaker.State.OPEN, CircuitBreaker.State.HALF_OPEN, 0, 0, 0));
+            assertEquals(CircuitBreaker.State.OPEN, b.breaker.getState());
+
+            raw.publish(new BreakerStateMessage("0", 1, NAME, BreakerStateMessage.Kind.TRANSITION,
+                    CircuitBreaker.State.HALF_OPEN, CircuitBreaker.State.CLOSED, 0, 0, 0));
+            assertEquals(CircuitBreaker.State.OPEN, b.breaker.getState());
+            assertEquals(1.0, b.counter("demo.breaker.sync.messages", "direction", "dropped"));
+        } finally {
+            raw.close();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.bahar.demo.controller;
+
+import com.bahar.demo.config.CallbackStreamProperties;
+import com.bahar.demo.service.ExternalService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit Test برای CallbackStreamController
+ * ----------------------------------
+ * جریان بدون سرور و با سرویس mock (callback فوری) مستقیماً با StepVerifier مصرف می‌شود:
+ *  - مشترکی که demand نمی‌دهد فقط bufferSize نتیجه‌ی آخر (به علاوه‌ی یک نتیجه‌ی prefetch) را می‌گیرد
+ *  - heartbeat بین نتیجه‌ها به صورت comment فرستاده می‌شود
+ */
+class CallbackStreamControllerTest {
+
+    private static CallbackStreamController controller(CallbackStreamProperties properties) {
+        ExternalService externalService = mock(ExternalService.class);
+        doAnswer(invocation -> {
+            Consumer<String> callback = invocation.getArgument(0);
+            callback.accept("✅ کار با موفقیت انجام شد!");
+            return null;
+        }).when(externalService).processWithCallback(any());
+        return new CallbackStreamController(externalService, properties);
+    }
+
+    @Test
+    void stream_shouldKeepOnlyNewestResults_whenSubscriberIsSlow() {
+        CallbackStreamProperties properties = new CallbackStreamProperties();
+        properties.setInterval(Duration.ofMillis(5));
+        properties.setBufferSize(4);
+
+        StepVerifier.create(controller(properties).stream(), 0)
+                .thenAwait(Duration.ofMillis(300))
+                .thenRequest(5)
+                // یک نتیجه از قبل در prefetch ادغام با heartbeat نگه داشته شده؛ بعد از آن فقط ۴ نتیجه‌ی آخر
+                .assertNext(event -> assertEquals("1", event.id()))
+                .assertNext(event -> {
+                    assertEquals(CallbackStreamController.CALLBACK_EVENT, event.event());
+                    assertTrue(Long.parseLong(event.id()) > 5, "oldest results should be dropped, got id " + event.id());
+                })
+                .expectNextCount(3)
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void stream_shouldInterleaveHeartbeats() {
+        CallbackStreamProperties properties = new CallbackStreamProperties();
+        properties.setInterval(Duration.ofHours(1));
+        properties.setHeartbeat(Duration.ofMillis(50));
+
+        StepVerifier.create(controller(properties).stream())
+                .assertNext(event -> {
+                    assertEquals("1", event.id());
+                    assertEquals("✅ کار با موفقیت انجام شد!", event.data());
+                })
+                .assertNext(event -> {
+                    assertEquals(CallbackStreamController.HEARTBEAT_COMMENT, event.comment());
+                    assertNull(event.data());
+                })
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void stream_shouldComplete_afterMaxDuration() {
+        CallbackStreamProperties properties = new CallbackStreamProperties();
+        properties.setInterval(Duration.ofMillis(20));
+        properties.setMaxDuration(Duration.ofMillis(200));
+
+        ServerSentEvent<String> last = controller(properties).stream().blockLast(Duration.ofSeconds(5));
+
+        assertNotNull(last);
+    }
+}
@@ -0,0 +1,163 @@
+package com.bahar.demo.downstream;
+
+import com.bahar.demo.config.DownstreamProperties;
+import com.bahar.demo.deadline.Deadline;
+import com.bahar.demo.deadline.DeadlineContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test برای HttpDownstream
+ * ----------------------------------
+ * در برابر یک stub server محلی Reactor Netty (پورت تصادفی) که اتصال‌های باز شده را می‌شمارد:
+ *  - keep-alive: فراخوانی‌های پشت‌سرهم از یک اتصال استفاده می‌کنند
+ *  - H2C: فراخوانی‌های هم‌زمان روی یک اتصال multiplex می‌شوند
+ *  - پاسخ 5xx، readTimeout، deadline و پاسخ بزرگ → شکست با نوع استثناء مناسب
+ *  - pool پر → RejectedExecutionException (نه شکست downstream)
+ */
+class HttpDownstreamTest {
+
+    private final AtomicInteger connections = new AtomicInteger();
+    private DisposableServer server;
+    private HttpDownstream downstream;
+
+    @AfterEach
+    void tearDown() {
+        if (downstream != null) {
+            downstream.shutdown();
+        }
+        if (server != null) {
+            server.disposeNow();
+        }
+    }
+
+    private DownstreamProperties start(HttpProtocol... protocols) {
+        server = HttpServer.create()
+                .port(0)
+                .protocol(protocols)
+                .doOnChannelInit((observer, channel, remoteAddress) -> connections.incrementAndGet())
+                .route(routes -> routes
+                        .get("/ok", (request, response) -> response.sendString(Mono.just("✅ pong"), UTF_8))
+                        .get("/slow", (request, response) -> response.sendString(
+                                Mono.just("✅ slow").delayElement(Duration.ofMillis(300)), UTF_8))
+                        .get("/unavailable", (request, response) -> response.status(503).sendString(Mono.just("down")))
+                        .get("/large", (request, response) -> response.sendString(Mono.just("x".repeat(10_000)))))
+                .bindNow();
+        DownstreamProperties properties = new DownstreamProperties();
+        properties.setMode(DownstreamProperties.Mode.HTTP);
+        properties.setBaseUrl("http://localhost:" + server.port());
+        properties.setSyncPath("/ok");
+        properties.setAsyncPath("/ok");
+        return properties;
+    }
+
+    @Test
+    void callSync_shouldReturnBody_andReuseKeepAliveConnection() {
+        downstream = new HttpDownstream(start(HttpProtocol.HTTP11));
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals("✅ pong", downstream.callSync());
+        }
+
+        // برگشت اتصال به pool async است؛ گاهی فراخوانی بعدی زودتر یک اتصال دوم باز می‌کند
+        assertTrue(connections.get() <= 3, connections.get() + " connections for 20 calls");
+    }
+
+    @Test
+    void callAsync_shouldMultiplexConcurrentCallsOverOneConnection_withH2c() {
+        DownstreamProperties properties = start(HttpProtocol.H2C);
+        properties.setProtocol(DownstreamProperties.Protocol.H2C);
+        properties.setAsyncPath("/slow");
+        properties.setMaxConnections(1);
+        downstream = new HttpDownstream(properties);
+
+        List<CompletableFuture<String>> futures = IntStream.range(0, 10)
+                .mapToObj(i -> downstream.callAsync())
+                .toList();
+
+        futures.forEach(future -> assertEquals("✅ slow", future.join()));
+        assertEquals(1, connections.get());
+    }
+
+    @Test
+    void callSync_shouldFailWithStatus_onServerError() {
+        DownstreamProperties properties = start(HttpProtocol.HTTP11);
+        properties.setSyncPath("/unavailable");
+        downstream = new HttpDownstream(properties);
+
+        DownstreamException e = assertThrows(DownstreamException.class, downstream::callSync);
+
+        assertEquals(503, e.status());
+    }
+
+    @Test
+    void callAsync_shouldTimeOut_whenResponseIsSlowerThanReadTimeout() {
+        DownstreamProperties properties = start(HttpProtocol.HTTP11);
+        properties.setAsyncPath("/slow");
+        properties.setReadTimeout(Duration.ofMillis(50));
+        downstream = new HttpDownstream(properties);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> downstream.callAsync().get());
+
+        assertInstanceOf(TimeoutException.class, e.getCause());
+    }
+
+    @Test
+    void callSync_shouldRespectRequestDeadline() {
+        DownstreamProperties properties = start(HttpProtocol.HTTP11);
+        properties.setSyncPath("/slow");
+        downstream = new HttpDownstream(properties);
+
+        DownstreamException e = assertThrows(DownstreamException.class,
+                () -> DeadlineContext.callWith(Deadline.after(Duration.ofMillis(50)), downstream::callSync));
+
+        assertInstanceOf(TimeoutException.class, e.getCause());
+    }
+
+    @Test
+    void callSync_shouldFail_whenResponseExceedsMaxSize() {
+        DownstreamProperties properties = start(HttpProtocol.HTTP11);
+        properties.setSyncPath("/large");
+        properties.setMaxResponseSize(DataSize.ofKilobytes(1));
+        downstream = new HttpDownstream(properties);
+
+        DownstreamException e = assertThrows(DownstreamException.class, downstream::callSync);
+
+        assertTrue(e.getMessage().contains("larger than"), e.getMessage());
+    }
+
+    @Test
+    void callAsync_shouldRejectWithoutCountingAsFailure_whenPoolIsExhausted() {
+        DownstreamProperties properties = start(HttpProtocol.HTTP11);
+        properties.setAsyncPath("/slow");
+        properties.setMaxConnections(1);
+        properties.setPendingAcquireMaxCount(1);
+        downstream = new HttpDownstream(properties);
+
+        CompletableFuture<String> first = downstream.callAsync();
+        CompletableFuture<String> queued = downstream.callAsync();
+        CompletableFuture<String> rejected = downstream.callAsync();
+
+        ExecutionException e = assertThrows(ExecutionException.class, rejected::get);
+        assertInstanceOf(RejectedExecutionException.class, e.getCause());
+        assertEquals("✅ slow", first.join());
+        assertEquals("✅ slow", queued.join());
+    }
+}
@@ -0,0 +1,250 @@
+package com.bahar.demo.events;
+
+import com.bahar.demo.config.AsyncRetryProperties;
+import com.bahar.demo.config.ResilienceEventProperties;
+import com.bahar.demo.resilience.NonBlockingRetry;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test برای ResilienceEventPipeline
+ * ----------------------------------
+ * exporter ساختگی یک کپی از هر رویداد نگه می‌دارد:
+ *  - چند producer هم‌زمان: همه‌ی رویدادها با sequence پیوسته و به ترتیب هر producer export می‌شوند
+ *  - ring پر (exporter گیرکرده) → رویداد جدید دور ریخته و شمرده می‌شود، producer منتظر نمی‌ماند
+ *  - رویدادهای breaker، retry در registry و retry غیرمسدودکننده‌ی async ثبت می‌شوند
+ *  - خط NDJSON (با escape و UTF-8) JSON معتبر است
+ *  - pipeline غیرفعال هم هنگام shutdown exporter را می‌بندد
+ */
+class ResilienceEventPipelineTest {
+
+    /** کپی فیلدهای یک رویداد (خانه‌ی ring بعد از export دوباره استفاده می‌شود) */
+    private record Captured(long sequence, ResilienceEvent.Type type, String source, String detail, int attempt) {
+    }
+
+    private final List<Captured> captured = new CopyOnWriteArrayList<>();
+    private final List<ResilienceEventPipeline> pipelines = new ArrayList<>();
+
+    private ResilienceEventPipeline pipeline(int bufferSize, ResilienceEventExporter exporter) {
+        ResilienceEventProperties properties = new ResilienceEventProperties();
+        properties.setBufferSize(bufferSize);
+        properties.setBatchSize(64);
+        properties.setIdleWait(Duration.ofMillis(1));
+        ResilienceEventPipeline pipeline = new ResilienceEventPipeline(properties, exporter);
+        pipelines.add(pipeline);
+        return pipeline;
+    }
+
+    private final ResilienceEventExporter capturing = new ResilienceEventExporter() {
+        @Override
+        public void export(ResilienceEvent event) {
+            captured.add(new Captured(event.getSequence(), event.getType(), event.getSource(), event.getDetail(),
+                    event.getAttempt()));
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        pipelines.forEach(ResilienceEventPipeline::shutdown);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() - deadline < 0, "timed out");
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void concurrentProducers_shouldExportEveryEventInOrder() throws InterruptedException {
+        ResilienceEventPipeline pipeline = pipeline(1 << 16, capturing);
+        int producers = 4;
+        int perProducer = 10_000;
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            String source = "producer-" + p;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    pipeline.record(ResilienceEvent.Type.ERROR, source, null, i, 0);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        await(() -> captured.size() == producers * perProducer);
+        int[] next = new int[producers];
+        for (int i = 0; i < captured.size(); i++) {
+            Captured event = captured.get(i);
+            assertEquals(i, event.sequence());
+            int producer = event.source().charAt(event.source().length() - 1) - '0';
+            assertEquals(next[producer]++, event.attempt());
+        }
+    }
+
+    @Test
+    void fullRing_shouldDropInsteadOfBlocking() throws InterruptedException {
+        CountDownLatch stuck = new CountDownLatch(1);
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        ResilienceEventPipeline pipeline = pipeline(4, new ResilienceEventExporter() {
+            @Override
+            public void export(ResilienceEvent event) throws IOException {
+                try {
+                    stuck.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                capturing.export(event);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+        pipeline.bindTo(meters);
+
+        for (int i = 0; i < 20; i++) {
+            pipeline.record(ResilienceEvent.Type.RETRY, "externalService", null, i, 0);
+        }
+        double dropped = meters.get("demo.events").tag("outcome", "dropped").functionCounter().count();
+        assertTrue(dropped >= 16, "dropped " + dropped);
+        stuck.countDown();
+
+        await(() -> meters.get("demo.events").tag("outcome", "exported").functionCounter().count() == 20 - dropped);
+        assertEquals(0.0, meters.get("demo.events.backlog").gauge().value());
+    }
+
+    @Test
+    void registryAndAsyncRetryEvents_shouldBeRecorded() throws InterruptedException {
+        ResilienceEventPipeline pipeline = pipeline(1024, capturing);
+        CircuitBreakerRegistry breakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(2)
+                .minimumNumberOfCalls(2)
+                .build());
+        RetryRegistry retries = RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(2)
+                .waitDuration(Duration.ofMillis(1))
+                .build());
+        AsyncRetryProperties asyncRetryProperties = new AsyncRetryProperties();
+        asyncRetryProperties.setMaxAttempts(2);
+        asyncRetryProperties.setBaseDelay(Duration.ofMillis(1));
+        NonBlockingRetry asyncRetry = new NonBlockingRetry(asyncRetryProperties);
+        pipeline.recordEventsOf(breakers);
+        pipeline.recordEventsOf(retries);
+        pipeline.recordEventsOf(asyncRetry);
+
+        CircuitBreaker breaker = breakers.circuitBreaker("externalService");
+        for (int i = 0; i < 3; i++) {
+            assertThrows(RuntimeException.class, () -> breaker.executeRunnable(() -> {
+                throw new IllegalStateException("boom");
+            }));
+        }
+        assertThrows(IllegalStateException.class, () -> retries.retry("externalService").executeRunnable(() -> {
+            throw new IllegalStateException("boom");
+        }));
+        CompletableFuture<String> async = asyncRetry.execute(() ->
+                CompletableFuture.failedFuture(new IllegalStateException("boom")));
+        assertThrows(Exception.class, async::join);
+        asyncRetry.shutdown();
+
+        await(() -> captured.size() == 8);
+        assertEquals(List.of(
+                new Captured(0, ResilienceEvent.Type.ERROR, "externalService", "java.lang.IllegalStateException", 0),
+                new Captured(1, ResilienceEvent.Type.ERROR, "externalService", "java.lang.IllegalStateException", 0),
+                new Captured(2, ResilienceEvent.Type.STATE_TRANSITION, "externalService", "CLOSED_TO_OPEN", 0),
+                new Captured(3, ResilienceEvent.Type.NOT_PERMITTED, "externalService", null, 0),
+                new Captured(4, ResilienceEvent.Type.RETRY, "externalService", "java.lang.IllegalStateException", 1),
+                new Captured(5, ResilienceEvent.Type.RETRY_EXHAUSTED, "externalService",
+                        "java.lang.IllegalStateException", 2),
+                new Captured(6, ResilienceEvent.Type.RETRY, ResilienceEventPipeline.ASYNC_RETRY,
+                        "java.lang.IllegalStateException", 1),
+                new Captured(7, ResilienceEvent.Type.RETRY_EXHAUSTED, ResilienceEventPipeline.ASYNC_RETRY,
+                        "java.lang.IllegalStateException", 2)).toString(),
+                captured.toString());
+    }
+
+    @Test
+    void disabledPipeline_shouldStillCloseExporterOnShutdown() {
+        AtomicInteger closed = new AtomicInteger();
+        ResilienceEventProperties properties = new ResilienceEventProperties();
+        properties.setEnabled(false);
+        ResilienceEventPipeline pipeline = new ResilienceEventPipeline(properties, new ResilienceEventExporter() {
+            @Override
+            public void export(ResilienceEvent event) {
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+                closed.incrementAndGet();
+            }
+        });
+
+        pipeline.record(ResilienceEvent.Type.ERROR, "externalService", null, 0, 0);
+        pipeline.shutdown();
+
+        assertEquals(1, closed.get());
+    }
+
+    @Test
+    void ndjsonLine_shouldBeValidJson() throws IOException {
+        ResilienceEvent event = new ResilienceEvent();
+        event.set(7, 1_760_000_000_000L, ResilienceEvent.Type.FALLBACK, "callExternalApiSync",
+                "quote \" backslash \\ newline \n persian سلام emoji 😀", 3, -5);
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+
+        NdjsonEventExporter.encode(event, buffer);
+
+        String line = new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+        assertTrue(line.endsWith("}\n"));
+        JsonNode json = new ObjectMapper().readTree(line);
+        assertEquals(7, json.get("seq").asLong());
+        assertEquals(1_760_000_000_000L, json.get("ts").asLong());
+        assertEquals("FALLBACK", json.get("type").asText());
+        assertEquals(event.getDetail(), json.get("detail").asText());
+        assertEquals(3, json.get("attempt").asInt());
+        assertEquals(-5, json.get("durationNanos").asLong());
+    }
+}
@@ -0,0 +1,56 @@
+package com.bahar.demo.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test برای RollingFileEventExporter
+ * ----------------------------------
+ *  - فایل جاری از maxFileBytes (تقریباً) بزرگ‌تر نمی‌شود و به فایل شماره‌دار منتقل می‌شود
+ *  - فقط maxFiles فایل می‌ماند و فایل‌های مانده آخرین رویدادها را به ترتیب دارند
+ */
+class RollingFileEventExporterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void export_shouldRollAndKeepOnlyMaxFiles() throws IOException {
+        RollingFileEventExporter exporter = new RollingFileEventExporter(directory, "events", 2_000, 3, 0);
+        ResilienceEvent event = new ResilienceEvent();
+        for (int i = 0; i < 200; i++) {
+            event.set(i, 1_760_000_000_000L, ResilienceEvent.Type.ERROR, "externalService",
+                    "java.lang.IllegalStateException", 0, 1_000);
+            exporter.export(event);
+            if (i % 10 == 9) {
+                exporter.flush();
+            }
+        }
+        exporter.close();
+
+        assertTrue(Files.exists(exporter.file(0)));
+        assertTrue(Files.exists(exporter.file(2)));
+        assertFalse(Files.exists(exporter.file(3)));
+        List<Long> sequences = new ArrayList<>();
+        ObjectMapper mapper = new ObjectMapper();
+        for (int index = 2; index >= 0; index--) {
+            assertTrue(Files.size(exporter.file(index)) <= 2_000 + 2_000 / 10);
+            for (String line : Files.readAllLines(exporter.file(index))) {
+                sequences.add(mapper.readTree(line).get("seq").asLong());
+            }
+        }
+        assertEquals(199L, sequences.get(sequences.size() - 1));
+        for (int i = 1; i < sequences.size(); i++) {
+            assertEquals(sequences.get(i - 1) + 1, sequences.get(i));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.bahar.demo.executor;
+
+import com.bahar.demo.config.CallbackExecutorProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test برای BoundedCallbackExecutor
+ * ----------------------------------
+ * بررسی سقف in-flight، مسیر reject و تخلیه‌ی graceful هنگام shutdown.
+ */
+class BoundedCallbackExecutorTest {
+
+    private static BoundedCallbackExecutor executor(int maxInFlight) {
+        CallbackExecutorProperties properties = new CallbackExecutorProperties();
+        properties.setMaxInFlight(maxInFlight);
+        properties.setShutdownTimeout(Duration.ofSeconds(2));
+        return new BoundedCallbackExecutor(properties);
+    }
+
+    /**
+     * وقتی به سقف maxInFlight برسیم، task بعدی باید فوراً رد شود
+     * و بعد از آزاد شدن ظرفیت دوباره پذیرفته شود.
+     */
+    @Test
+    void tryExecute_shouldRejectWhenInFlightLimitReached() throws InterruptedException {
+        BoundedCallbackExecutor executor = executor(2);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(2);
+        Runnable blocking = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                done.countDown();
+            }
+        };
+
+        assertTrue(executor.tryExecute(blocking));
+        assertTrue(executor.tryExecute(blocking));
+        assertFalse(executor.tryExecute(() -> { }), "سومین task باید رد شود");
+        assertEquals(2, executor.inFlight());
+
+        release.countDown();
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+        // آزاد شدن permit بعد از پایان task انجام می‌شود
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (executor.inFlight() > 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertTrue(executor.tryExecute(() -> { }));
+        executor.shutdown();
+    }
+
+    /**
+     * shutdown باید منتظر کارهای در جریان بماند و بعد از آن کار جدید نپذیرد.
+     */
+    @Test
+    void shutdown_shouldDrainInFlightTasksAndRejectNewOnes() {
+        BoundedCallbackExecutor executor = executor(10);
+        AtomicInteger completed = new AtomicInteger();
+        for (int i = 0; i < 5; i++) {
+            executor.tryExecute(() -> {
+                try {
+                    Thread.sleep(100);
+                    completed.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        executor.shutdown();
+
+        assertEquals(5, completed.get());
+        assertFalse(executor.tryExecute(() -> { }));
+    }
+}
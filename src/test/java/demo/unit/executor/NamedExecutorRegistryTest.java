@@ -0,0 +1,104 @@
+package com.bahar.demo.executor;
+
+import com.bahar.demo.config.ExecutorsProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test برای NamedExecutorRegistry
+ * ----------------------------------
+ * بررسی ادغام تنظیمات instance با defaults، استفاده از همه‌ی threadها با صف محدود و اعمال rejection policy.
+ */
+class NamedExecutorRegistryTest {
+
+    /**
+     * executor با نام یکسان باید یک نمونه باشد و تنظیمات instance روی defaults اعمال شود.
+     */
+    @Test
+    void executor_shouldMergeInstanceSpecWithDefaults() {
+        ExecutorsProperties properties = new ExecutorsProperties();
+        ExecutorsProperties.Spec spec = new ExecutorsProperties.Spec();
+        spec.setMaxPoolSize(7);
+        properties.getInstances().put("downstreamA", spec);
+        NamedExecutorRegistry registry = new NamedExecutorRegistry(properties);
+
+        ExecutorService executor = registry.executor("downstreamA");
+
+        assertSame(executor, registry.executor("downstreamA"));
+        ThreadPoolExecutor pool = assertInstanceOf(ThreadPoolExecutor.class, executor);
+        assertEquals(7, pool.getMaximumPoolSize());
+        assertEquals(properties.getDefaults().getQueueCapacity(),
+                pool.getQueue().remainingCapacity());
+        registry.shutdown();
+    }
+
+    /**
+     * با صف ARRAY، همه‌ی maxPoolSize thread قبل از صف گرفتن کار اجرا می‌کنند (نه فقط corePoolSize).
+     */
+    @Test
+    void executor_shouldRunMaxPoolSizeTasksBeforeQueueing_withBoundedQueue() throws InterruptedException {
+        ExecutorsProperties properties = new ExecutorsProperties();
+        ExecutorsProperties.Spec spec = new ExecutorsProperties.Spec();
+        spec.setCorePoolSize(2);
+        spec.setMaxPoolSize(6);
+        spec.setQueueCapacity(100);
+        properties.getInstances().put("bounded", spec);
+        NamedExecutorRegistry registry = new NamedExecutorRegistry(properties);
+        CountDownLatch started = new CountDownLatch(6);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = registry.executor("bounded");
+        for (int i = 0; i < 6; i++) {
+            executor.execute(() -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        assertTrue(started.await(5, TimeUnit.SECONDS), "only " + (6 - started.getCount()) + " tasks started");
+        ThreadPoolExecutor pool = registry.pool("bounded").orElseThrow();
+        assertEquals(0, pool.getQueue().size());
+        assertTrue(pool.allowsCoreThreadTimeOut());
+        release.countDown();
+        registry.shutdown();
+    }
+
+    /**
+     * با صف SYNCHRONOUS و یک thread، task دوم باید با ABORT رد شود.
+     */
+    @Test
+    void executor_shouldApplyAbortPolicyWhenSaturated() {
+        ExecutorsProperties properties = new ExecutorsProperties();
+        ExecutorsProperties.Spec spec = new ExecutorsProperties.Spec();
+        spec.setCorePoolSize(1);
+        spec.setMaxPoolSize(1);
+        spec.setQueueType(ExecutorsProperties.QueueType.SYNCHRONOUS);
+        properties.getInstances().put("tiny", spec);
+        NamedExecutorRegistry registry = new NamedExecutorRegistry(properties);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = registry.executor("tiny");
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+        release.countDown();
+        registry.shutdown();
+    }
+}
@@ -0,0 +1,171 @@
+package com.bahar.demo.fallback;
+
+import com.bahar.demo.cache.LastKnownGoodCache;
+import com.bahar.demo.config.FallbackCacheProperties;
+import com.bahar.demo.config.FallbackChainProperties;
+import com.bahar.demo.deadline.Deadline;
+import com.bahar.demo.deadline.DeadlineContext;
+import com.bahar.demo.downstream.Downstream;
+import com.bahar.demo.downstream.DownstreamException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test برای FallbackChain
+ * ----------------------------------
+ * منبع دوم ساختگی با پاسخ قابل تعویض (آماده، ناموفق یا هرگز کامل‌نشده) و بار دستی:
+ *  - مدار باز: آخرین پاسخ موفق، در نبود آن منبع دوم، در شکست آن پاسخ ثابت
+ *  - timeout و خطای business منبع دوم را صدا نمی‌زنند؛ business حتی آخرین پاسخ موفق را هم نه
+ *  - بار بیشتر از maxLoad → منبع دوم رد می‌شود
+ *  - انتظار منبع دوم به budget و deadline باقی‌مانده‌ی درخواست محدود است
+ *  - دسته‌بندی استثناءها در FailureKind
+ */
+class FallbackChainTest {
+
+    private static final String KEY = "callExternalApiSync";
+    private static final String MESSAGE = "⚠️ Fallback response because: down";
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final LastKnownGoodCache cache = new LastKnownGoodCache(new FallbackCacheProperties(), nanos::get);
+    private final AtomicInteger secondaryCalls = new AtomicInteger();
+    private volatile Supplier<CompletableFuture<String>> secondaryResponse =
+            () -> CompletableFuture.completedFuture("✅ secondary");
+    private volatile double load;
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+
+    private final Downstream secondary = new Downstream() {
+        @Override
+        public String callSync() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<String> callAsync() {
+            secondaryCalls.incrementAndGet();
+            return secondaryResponse.get();
+        }
+    };
+
+    private FallbackChain chain() {
+        FallbackChainProperties properties = new FallbackChainProperties();
+        properties.getSecondary().setBudget(Duration.ofMillis(50));
+        properties.setStaticDefault("📦 default");
+        FallbackChain chain = new FallbackChain(properties, cache, secondary, () -> load);
+        chain.bindTo(meters);
+        return chain;
+    }
+
+    private static CallNotPermittedException circuitOpen() {
+        return CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults("externalService"));
+    }
+
+    private double served(String failure, String tier) {
+        return meters.get("demo.fallback").tag("failure", failure).tag("tier", tier).functionCounter().count();
+    }
+
+    private double skipped(String reason) {
+        return meters.get("demo.fallback.skipped").tag("reason", reason).functionCounter().count();
+    }
+
+    @Test
+    void circuitOpen_shouldWalkCachedThenSecondaryThenStatic() {
+        FallbackChain chain = chain();
+
+        assertEquals(MESSAGE + " → secondary: ✅ secondary", chain.fallback(KEY, MESSAGE, circuitOpen()));
+
+        secondaryResponse = () -> CompletableFuture.failedFuture(new IllegalStateException("secondary down"));
+        assertEquals(MESSAGE + " → default: 📦 default", chain.fallback(KEY, MESSAGE, circuitOpen()));
+
+        cache.put(KEY, "✅ ok");
+        assertEquals(MESSAGE + " → last known good: ✅ ok (stale 0s)", chain.fallback(KEY, MESSAGE, circuitOpen()));
+        assertEquals(2, secondaryCalls.get());
+        assertEquals(1.0, served("circuit_open", "secondary"));
+        assertEquals(1.0, served("circuit_open", "static"));
+        assertEquals(1.0, served("circuit_open", "cached"));
+        assertEquals(1.0, skipped("secondary_failed"));
+    }
+
+    @Test
+    void timeoutAndBusinessErrors_shouldStayOnLocalTiers() {
+        FallbackChain chain = chain();
+
+        assertEquals(MESSAGE + " → default: 📦 default",
+                chain.fallback(KEY, MESSAGE, new TimeoutException("Request deadline exceeded")));
+        cache.put(KEY, "✅ ok");
+        assertEquals(MESSAGE + " → default: 📦 default",
+                chain.fallback(KEY, MESSAGE, new DownstreamException(404, "not found")));
+
+        assertEquals(0, secondaryCalls.get());
+        assertEquals(1.0, served("timeout", "static"));
+        assertEquals(1.0, served("business", "static"));
+    }
+
+    @Test
+    void highLoad_shouldSkipSecondary() {
+        FallbackChain chain = chain();
+        load = 0.9;
+
+        assertEquals(MESSAGE + " → default: 📦 default", chain.fallback(KEY, MESSAGE, new RuntimeException("down")));
+
+        assertEquals(0, secondaryCalls.get());
+        assertEquals(1.0, skipped("secondary_load"));
+        assertEquals(0.9, meters.get("demo.fallback.load").gauge().value());
+    }
+
+    @Test
+    void secondaryWait_shouldBeBoundedByBudgetAndDeadline() {
+        FallbackChain chain = chain();
+        CompletableFuture<String> hanging = new CompletableFuture<>();
+        secondaryResponse = () -> hanging;
+
+        long start = System.nanoTime();
+        assertEquals(MESSAGE + " → default: 📦 default", chain.fallback(KEY, MESSAGE, circuitOpen()));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(elapsedMillis >= 40 && elapsedMillis < 1_000, "waited " + elapsedMillis + "ms");
+        assertTrue(hanging.isCancelled());
+        assertEquals(1.0, skipped("secondary_timeout"));
+
+        String result = DeadlineContext.callWith(Deadline.after(Duration.ZERO),
+                () -> chain.fallback(KEY, MESSAGE, circuitOpen()));
+        assertEquals(MESSAGE + " → default: 📦 default", result);
+        assertEquals(1, secondaryCalls.get());
+        assertEquals(1.0, skipped("secondary_budget"));
+    }
+
+    @Test
+    void lastKnownGoodOnly_shouldKeepPreviousBehaviour() {
+        FallbackChain chain = FallbackChain.lastKnownGoodOnly(cache);
+
+        assertEquals(MESSAGE, chain.fallback(KEY, MESSAGE, circuitOpen()));
+        cache.put(KEY, "✅ ok");
+        assertEquals(MESSAGE + " → last known good: ✅ ok (stale 0s)",
+                chain.fallback(KEY, MESSAGE, new DownstreamException(404, "not found")));
+    }
+
+    @Test
+    void failureKind_shouldClassifyExceptions() {
+        assertEquals(FailureKind.CIRCUIT_OPEN, FailureKind.of(new CompletionException(circuitOpen())));
+        assertEquals(FailureKind.REJECTED, FailureKind.of(BulkheadFullException.createBulkheadFullException(
+                Bulkhead.ofDefaults("externalServiceSync"))));
+        assertEquals(FailureKind.TIMEOUT, FailureKind.of(new DownstreamException("read timeout",
+                new TimeoutException("Downstream read timeout after 2s"))));
+        assertEquals(FailureKind.BUSINESS, FailureKind.of(new DownstreamException(422, "invalid")));
+        assertEquals(FailureKind.ERROR, FailureKind.of(new DownstreamException(503, "unavailable")));
+        assertEquals(FailureKind.ERROR, FailureKind.of(new RuntimeException("❌ External API failed on attempt 1")));
+    }
+}
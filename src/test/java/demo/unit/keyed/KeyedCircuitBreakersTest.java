@@ -0,0 +1,138 @@
+package com.bahar.demo.keyed;
+
+import com.bahar.demo.config.KeyedBreakerProperties;
+import com.bahar.demo.downstream.Downstream;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test برای KeyedCircuitBreakers
+ * ----------------------------------
+ * downstream ساختگی فقط برای tenant «bad» شکست می‌خورد؛ زمان با یک Ticker دستی جلو می‌رود:
+ *  - مدار «bad» باز می‌شود و «good» همچنان بسته می‌ماند (sync و async)
+ *  - بدون کلید، فقط downstream اصلی فراخوانی می‌شود (بدون ساخت breaker)
+ *  - breaker بیکار حذف می‌شود و تعداد breakerها از maximumSize بیشتر نمی‌ماند
+ */
+class KeyedCircuitBreakersTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final KeyedBreakerProperties properties = new KeyedBreakerProperties();
+    private final CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+            .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+            .slidingWindowSize(4)
+            .minimumNumberOfCalls(4)
+            .failureRateThreshold(50)
+            .waitDurationInOpenState(Duration.ofSeconds(5))
+            .build();
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    /** downstream که فقط برای کلید «bad» شکست می‌خورد */
+    private final Downstream downstream = new Downstream() {
+        @Override
+        public String callSync() {
+            calls.incrementAndGet();
+            if (BreakerKeyContext.current().filter("bad"::equals).isPresent()) {
+                throw new IllegalStateException("boom");
+            }
+            return "✅ ok";
+        }
+
+        @Override
+        public CompletableFuture<String> callAsync() {
+            try {
+                return CompletableFuture.completedFuture(callSync());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+    };
+
+    private KeyedCircuitBreakers breakers() {
+        return new KeyedCircuitBreakers(properties, config, nanos::get);
+    }
+
+    private static <T> T as(String key, Supplier<T> call) {
+        try (BreakerKeyContext.Scope ignored = BreakerKeyContext.open(key)) {
+            return call.get();
+        }
+    }
+
+    @Test
+    void failingKey_shouldOpenOnlyItsOwnBreaker() {
+        KeyedCircuitBreakers breakers = breakers();
+        Downstream guarded = breakers.decorate(downstream);
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(IllegalStateException.class, () -> as("bad", guarded::callSync));
+            assertEquals("✅ ok", as("good", guarded::callSync));
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, breakers.forKey("bad").getState());
+        assertEquals(CircuitBreaker.State.CLOSED, breakers.forKey("good").getState());
+
+        int before = calls.get();
+        assertThrows(CallNotPermittedException.class, () -> as("bad", guarded::callSync));
+        assertEquals(before, calls.get(), "open breaker must not reach the downstream");
+        assertEquals("✅ ok", as("good", guarded::callSync));
+    }
+
+    @Test
+    void asyncCalls_shouldBeRecordedPerKey() {
+        KeyedCircuitBreakers breakers = breakers();
+        Downstream guarded = breakers.decorate(downstream);
+
+        for (int i = 0; i < 4; i++) {
+            CompletableFuture<String> failed = as("bad", guarded::callAsync);
+            assertThrows(CompletionException.class, failed::join);
+        }
+
+        CompletableFuture<String> rejected = as("bad", guarded::callAsync);
+        CompletionException error = assertThrows(CompletionException.class, rejected::join);
+        assertInstanceOf(CallNotPermittedException.class, error.getCause());
+        assertEquals("✅ ok", as("good", guarded::callAsync).join());
+    }
+
+    @Test
+    void withoutKey_orDisabled_shouldPassThrough() {
+        KeyedCircuitBreakers breakers = breakers();
+        assertEquals("✅ ok", breakers.decorate(downstream).callSync());
+        assertEquals(0, breakers.size());
+
+        Downstream same = KeyedCircuitBreakers.disabled().decorate(downstream);
+        assertSame(downstream, same);
+    }
+
+    @Test
+    void idleBreakers_shouldBeEvicted_andSizeBounded() {
+        properties.setIdleTimeout(Duration.ofMinutes(1));
+        properties.setMaximumSize(10);
+        KeyedCircuitBreakers breakers = breakers();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        breakers.bindTo(registry);
+
+        for (int i = 0; i < 1_000; i++) {
+            breakers.forKey("tenant-" + i);
+        }
+        breakers.cleanUp();
+        assertTrue(breakers.size() <= 10);
+        assertTrue(registry.get("cache.evictions").tag("cache", "keyedCircuitBreakers").functionCounter().count() > 0);
+        assertEquals(breakers.size(), registry.get("demo.keyed.breakers").tag("state", "closed").gauge().value());
+
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+        breakers.cleanUp();
+        assertEquals(0, breakers.size());
+    }
+}
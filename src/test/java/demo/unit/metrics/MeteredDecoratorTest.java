@@ -0,0 +1,106 @@
+package com.bahar.demo.metrics;
+
+import com.bahar.demo.service.ExternalService;
+import com.bahar.demo.service.ExternalServiceImpl;
+import com.bahar.demo.service.ForwardingExternalService;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test برای MeteredDecorator
+ * ----------------------------------
+ * downstream ساختگی نتیجه‌ها را از صف برمی‌گرداند؛ برای هر نتیجه Timer درست (method/outcome/executor) یک بار ثبت می‌شود.
+ */
+class MeteredDecoratorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Deque<String> syncResults = new ArrayDeque<>();
+    private final Deque<CompletableFuture<String>> asyncResults = new ArrayDeque<>();
+    private final Deque<String> callbackResults = new ArrayDeque<>();
+
+    private final ExternalService service = new MeteredDecorator(registry).decorate(
+            new ForwardingExternalService(new ExternalServiceImpl()) {
+                @Override
+                public String callExternalApiSync() {
+                    String result = syncResults.poll();
+                    if (result == null) {
+                        throw new IllegalStateException("down");
+                    }
+                    return result;
+                }
+
+                @Override
+                public CompletableFuture<String> asyncProcess() {
+                    return asyncResults.poll();
+                }
+
+                @Override
+                public void processWithCallback(Consumer<String> callback) {
+                    callback.accept(callbackResults.poll());
+                }
+            });
+
+    private long count(String method, String outcome) {
+        Timer timer = registry.get(MeteredDecorator.METRIC).tag("method", method).tag("outcome", outcome).timer();
+        return timer.count();
+    }
+
+    @Test
+    void callExternalApiSync_shouldTagSuccessFallbackAndFailure() {
+        syncResults.add("✅ Success on attempt 2");
+        syncResults.add(ExternalServiceImpl.FALLBACK_PREFIX + "open");
+
+        service.callExternalApiSync();
+        service.callExternalApiSync();
+        assertThrows(IllegalStateException.class, service::callExternalApiSync);
+
+        assertEquals(1, count("callExternalApiSync", "success"));
+        assertEquals(1, count("callExternalApiSync", "fallback"));
+        assertEquals(1, count("callExternalApiSync", "failure"));
+        assertEquals("caller", registry.get(MeteredDecorator.METRIC).tag("method", "callExternalApiSync")
+                .timer().getId().getTag("executor"));
+    }
+
+    @Test
+    void asyncProcess_shouldTagNotPermitted_onRejectionAndOpenCircuit() {
+        asyncResults.add(CompletableFuture.failedFuture(
+                BulkheadFullException.createBulkheadFullException(Bulkhead.ofDefaults("test"))));
+        asyncResults.add(CompletableFuture.failedFuture(CallNotPermittedException.createCallNotPermittedException(
+                CircuitBreaker.ofDefaults("externalServiceAsync"))));
+        asyncResults.add(CompletableFuture.completedFuture("✅ ok"));
+
+        assertThrows(Exception.class, () -> service.asyncProcess().join());
+        assertThrows(Exception.class, () -> service.asyncProcess().join());
+        service.asyncProcess().join();
+
+        assertEquals(2, count("asyncProcess", "not_permitted"));
+        assertEquals(1, count("asyncProcess", "success"));
+    }
+
+    @Test
+    void processWithCallback_shouldClassifyDeliveredMessage() {
+        callbackResults.add("✅ done");
+        callbackResults.add(ExternalServiceImpl.CALLBACK_REJECTED);
+        callbackResults.add("❌ خطا در پردازش");
+
+        for (int i = 0; i < 3; i++) {
+            service.processWithCallback(message -> { });
+        }
+
+        assertEquals(1, count("processWithCallback", "success"));
+        assertEquals(1, count("processWithCallback", "not_permitted"));
+        assertEquals(1, count("processWithCallback", "failure"));
+    }
+}
@@ -0,0 +1,203 @@
+package com.bahar.demo.resilience;
+
+import com.bahar.demo.config.AdaptiveLimitProperties;
+import com.bahar.demo.simulation.LatencyModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test برای AdaptiveConcurrencyLimiter
+ * ----------------------------------
+ * شبیه‌سازی گسسته با ساعت دستی (بدون sleep): N کلاینت در حلقه‌ی بسته، downstream با
+ * LatencyModel.capacity (تا capacity تأخیر ثابت، بیشتر از آن تأخیر به نسبت بار).
+ *  - سقف نزدیک ظرفیت واقعی می‌نشیند و تأخیر محدود می‌ماند؛ بار اضافه رد می‌شود
+ *  - با نصف شدن ظرفیت، سقف پایین می‌آید؛ با برگشت ظرفیت دوباره بالا می‌رود
+ *  - بار کم سقف را بالا نمی‌برد
+ *  - اندازه‌گیری دوباره‌ی minRtt زیر بار ثابت هیچ درخواستی را رد نمی‌کند (سقف نصف می‌شود، نه minLimit)
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final Duration BASE_LATENCY = Duration.ofMillis(10);
+
+    /** ساعت دستی؛ فقط با advance جلو می‌رود */
+    private static final class ManualClock extends Clock {
+        private volatile long millis = 1_000_000;
+
+        void advance(Duration duration) {
+            millis += duration.toMillis();
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+
+    /** فراخوانی در حال اجرا در downstream شبیه‌سازی‌شده */
+    private record InFlight(long completesAt, AdaptiveConcurrencyLimiter.Permit permit) {
+    }
+
+    /** downstream + کلاینت‌های حلقه‌ی بسته، با گام ۱ میلی‌ثانیه */
+    private static final class Simulation {
+        final ManualClock clock = new ManualClock();
+        final AdaptiveConcurrencyLimiter limiter;
+        final PriorityQueue<InFlight> running = new PriorityQueue<>((a, b) -> Long.compare(a.completesAt, b.completesAt));
+        final int clients;
+        LatencyModel model;
+        long completed;
+        long shed;
+        long latencyMillisSum;
+        int lowestLimit = Integer.MAX_VALUE;
+
+        Simulation(AdaptiveLimitProperties properties, int clients, LatencyModel model) {
+            this.limiter = new AdaptiveConcurrencyLimiter(properties, clock);
+            this.clients = clients;
+            this.model = model;
+        }
+
+        void run(Duration duration) {
+            long end = clock.millis() + duration.toMillis();
+            while (clock.millis() < end) {
+                while (!running.isEmpty() && running.peek().completesAt <= clock.millis()) {
+                    running.poll().permit.onSuccess();
+                }
+                // کلاینت‌های بیکار (رد شده یا پاسخ گرفته) دوباره درخواست می‌دهند
+                for (int idle = clients - running.size(); idle > 0; idle--) {
+                    Optional<AdaptiveConcurrencyLimiter.Permit> permit = limiter.tryAcquire();
+                    if (permit.isEmpty()) {
+                        shed++;
+                        break;
+                    }
+                    long latency = Math.max(1, Duration.ofNanos(model.latencyNanos(running.size() + 1)).toMillis());
+                    running.add(new InFlight(clock.millis() + latency, permit.get()));
+                    completed++;
+                    latencyMillisSum += latency;
+                }
+                lowestLimit = Math.min(lowestLimit, limiter.limit());
+                clock.advance(Duration.ofMillis(1));
+            }
+        }
+
+        double averageLatencyMillis() {
+            return (double) latencyMillisSum / Math.max(1, completed);
+        }
+
+        void resetStats() {
+            completed = 0;
+            shed = 0;
+            latencyMillisSum = 0;
+        }
+    }
+
+    private static AdaptiveLimitProperties properties() {
+        AdaptiveLimitProperties properties = new AdaptiveLimitProperties();
+        properties.setMinRttInterval(Duration.ofSeconds(30));
+        return properties;
+    }
+
+    @Test
+    void limit_shouldSettleNearDownstreamCapacity_andShedExcessLoad() {
+        Simulation simulation = new Simulation(properties(), 100, LatencyModel.capacity(BASE_LATENCY, 20));
+
+        simulation.run(Duration.ofSeconds(20));
+        assertFalse(simulation.limiter.isMeasuringMinRtt());
+        assertEquals(BASE_LATENCY, simulation.limiter.minRtt());
+
+        simulation.resetStats();
+        simulation.run(Duration.ofSeconds(5));
+        int limit = simulation.limiter.limit();
+        assertTrue(limit >= 20 && limit <= 40, "limit " + limit);
+        assertTrue(simulation.averageLatencyMillis() < 2 * BASE_LATENCY.toMillis(),
+                "average latency " + simulation.averageLatencyMillis());
+        assertTrue(simulation.shed > 0);
+    }
+
+    @Test
+    void limit_shouldFollowCapacityDown_andBackUp() {
+        Simulation simulation = new Simulation(properties(), 100, LatencyModel.capacity(BASE_LATENCY, 20));
+        simulation.run(Duration.ofSeconds(20));
+        int atFullCapacity = simulation.limiter.limit();
+
+        simulation.model = LatencyModel.capacity(BASE_LATENCY, 10);
+        simulation.run(Duration.ofSeconds(15));
+        int atHalfCapacity = simulation.limiter.limit();
+        assertTrue(atHalfCapacity < atFullCapacity, atHalfCapacity + " < " + atFullCapacity);
+        assertTrue(atHalfCapacity >= 10 && atHalfCapacity <= 20, "limit " + atHalfCapacity);
+
+        simulation.model = LatencyModel.capacity(BASE_LATENCY, 20);
+        simulation.run(Duration.ofSeconds(15));
+        assertTrue(simulation.limiter.limit() >= 20, "limit " + simulation.limiter.limit());
+    }
+
+    @Test
+    void limit_shouldNotGrow_underLightLoad() {
+        Simulation simulation = new Simulation(properties(), 3, LatencyModel.capacity(BASE_LATENCY, 20));
+
+        simulation.run(Duration.ofSeconds(10));
+
+        assertEquals(20, simulation.limiter.limit());
+        assertEquals(0, simulation.shed);
+    }
+
+    @Test
+    void minRttReprobe_shouldNotShedSteadyLoad() {
+        AdaptiveLimitProperties properties = properties();
+        properties.setMinRttInterval(Duration.ofSeconds(5));
+        Simulation simulation = new Simulation(properties, 8, LatencyModel.capacity(BASE_LATENCY, 20));
+
+        simulation.run(Duration.ofSeconds(22)); // شروع + چهار اندازه‌گیری دوباره
+
+        assertEquals(0, simulation.shed);
+        assertEquals(10, simulation.lowestLimit); // نصف سقف ۲۰ هنگام اندازه‌گیری دوباره
+        assertEquals(20, simulation.limiter.limit());
+        assertEquals(BASE_LATENCY, simulation.limiter.minRtt());
+    }
+
+    @Test
+    void tryAcquire_shouldStartAtInitialLimit_andExportMetrics() {
+        AdaptiveConcurrencyLimiter limiter = AdaptiveConcurrencyLimiter.withDefaults();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        limiter.bindTo(registry);
+
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            permits.add(limiter.tryAcquire().orElseThrow());
+        }
+        assertTrue(limiter.tryAcquire().isEmpty());
+        assertTrue(limiter.isMeasuringMinRtt());
+        assertEquals(20, registry.get("demo.adaptive.inflight").gauge().value());
+
+        permits.get(0).onFailure();
+        permits.get(0).onSuccess(); // تکرار بی‌اثر است
+        assertEquals(19, limiter.inFlight());
+        assertEquals(1, registry.get("demo.adaptive.calls").tag("outcome", "shed").functionCounter().count());
+        assertEquals(1, registry.get("demo.adaptive.calls").tag("outcome", "failure").functionCounter().count());
+        assertEquals(20, registry.get("demo.adaptive.limit").gauge().value());
+    }
+}
@@ -0,0 +1,130 @@
+package com.bahar.demo.resilience;
+
+import com.bahar.demo.deadline.Deadline;
+import com.bahar.demo.deadline.DeadlineContext;
+import com.bahar.demo.service.ExternalService;
+import com.bahar.demo.service.ExternalServiceImpl;
+import com.bahar.demo.service.ForwardingExternalService;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test برای DeadlineDecorator
+ * ----------------------------------
+ * downstream ساختگی هرگز پاسخ نمی‌دهد، پس فقط timeout/deadline می‌تواند درخواست را تمام کند:
+ *  - deadline کوتاه‌تر از TimeLimiter → TimeoutException و cancel شدن Future زیرین
+ *  - بدون deadline → سقف TimeLimiter اعمال می‌شود
+ *  - callback دقیقاً یک بار (fallback در deadline، پاسخ دیرهنگام دور ریخته می‌شود)
+ */
+class DeadlineDecoratorTest {
+
+    private final TimeLimiterRegistry registry = TimeLimiterRegistry.of(TimeLimiterConfig.custom()
+            .timeoutDuration(Duration.ofMillis(300))
+            .cancelRunningFuture(true)
+            .build());
+    private final DeadlineDecorator decorator = new DeadlineDecorator(registry);
+    private final AtomicInteger timeouts = new AtomicInteger();
+
+    private final CompletableFuture<String> pending = new CompletableFuture<>();
+    private final AtomicReference<Consumer<String>> pendingCallback = new AtomicReference<>();
+    private final AtomicInteger asyncCalls = new AtomicInteger();
+
+    /** downstream که هیچ‌وقت خودش کامل نمی‌شود */
+    private final ExternalService hanging = new ForwardingExternalService(new ExternalServiceImpl()) {
+        @Override
+        public CompletableFuture<String> asyncProcess() {
+            asyncCalls.incrementAndGet();
+            return pending;
+        }
+
+        @Override
+        public void processWithCallback(Consumer<String> callback) {
+            pendingCallback.set(callback);
+        }
+    };
+
+    private final ExternalService service = decorator.decorate(hanging);
+
+    {
+        registry.timeLimiter(DeadlineDecorator.INSTANCE).getEventPublisher().onTimeout(e -> timeouts.incrementAndGet());
+    }
+
+    @AfterEach
+    void tearDown() {
+        decorator.shutdown();
+    }
+
+    /** cancel بعد از تکمیل نتیجه و روی thread زمان‌بند انجام می‌شود */
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(1).toNanos();
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    @Test
+    void asyncProcess_shouldTimeOutAtRequestDeadline_andCancelUnderlyingWork() throws InterruptedException {
+        CompletableFuture<String> result = DeadlineContext.callWith(Deadline.after(Duration.ofMillis(50)),
+                service::asyncProcess);
+
+        CompletionException e = assertThrows(CompletionException.class, result::join);
+        assertInstanceOf(TimeoutException.class, e.getCause());
+        assertEquals("Request deadline exceeded", e.getCause().getMessage());
+        awaitTrue(pending::isCancelled);
+        assertEquals(1, timeouts.get());
+    }
+
+    @Test
+    void asyncProcess_shouldApplyTimeLimiterCap_withoutRequestDeadline() {
+        long start = System.nanoTime();
+
+        CompletionException e = assertThrows(CompletionException.class, () -> service.asyncProcess().join());
+
+        assertTrue(e.getCause().getMessage().contains("TimeLimiter 'externalServiceAsync'"));
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 250);
+    }
+
+    @Test
+    void asyncProcess_shouldNotStartWork_whenDeadlineAlreadyExpired() {
+        CompletableFuture<String> result = DeadlineContext.callWith(Deadline.after(Duration.ZERO),
+                service::asyncProcess);
+
+        assertTrue(result.isCompletedExceptionally());
+        assertEquals(0, asyncCalls.get());
+    }
+
+    @Test
+    void processWithCallback_shouldDeliverFallbackOnceAtDeadline_andDropLateResult() throws InterruptedException {
+        List<String> delivered = new CopyOnWriteArrayList<>();
+        CompletableFuture<String> first = new CompletableFuture<>();
+
+        DeadlineContext.callWith(Deadline.after(Duration.ofMillis(50)), () -> {
+            service.processWithCallback(message -> {
+                delivered.add(message);
+                first.complete(message);
+            });
+            return null;
+        });
+
+        assertEquals("⚠️ Fallback response because: Request deadline exceeded", first.join());
+        pendingCallback.get().accept("✅ late");
+        Thread.sleep(50);
+        assertEquals(List.of("⚠️ Fallback response because: Request deadline exceeded"), delivered);
+    }
+}
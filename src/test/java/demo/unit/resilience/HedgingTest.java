@@ -0,0 +1,172 @@
+package com.bahar.demo.resilience;
+
+import com.bahar.demo.config.HedgingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test برای Hedging
+ * ----------------------------------
+ * هر تلاش یک Future دستی است که تست خودش کامل می‌کند (تأخیر hedge ثابت ۵۰ms):
+ *  - تلاش کند → hedge بعد از تأخیر، اولین موفقیت برنده و تلاش دیگر cancel می‌شود
+ *  - تلاش سریع یا شکست پیش از تأخیر → بدون hedge
+ *  - بودجه‌ی تمام‌شده یا مدار غیر CLOSED → بدون hedge
+ *  - تأخیر تطبیقی = percentile تأخیر موفق اخیر در بازه‌ی [minDelay, maxDelay]
+ */
+class HedgingTest {
+
+    private final HedgingProperties properties = new HedgingProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicBoolean breakersClosed = new AtomicBoolean(true);
+    private final List<CompletableFuture<String>> attempts = new CopyOnWriteArrayList<>();
+    private Hedging hedging;
+
+    {
+        properties.setDelay(Duration.ofMillis(50));
+    }
+
+    private Hedging hedging() {
+        hedging = new Hedging(properties, breakersClosed::get);
+        hedging.bindTo(meterRegistry);
+        return hedging;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (hedging != null) {
+            hedging.shutdown();
+        }
+    }
+
+    private CompletableFuture<String> call() {
+        return hedging.execute(() -> {
+            CompletableFuture<String> attempt = new CompletableFuture<>();
+            attempts.add(attempt);
+            return attempt;
+        });
+    }
+
+    private double outcome(String outcome) {
+        return meterRegistry.get("demo.hedging.calls").tag("outcome", outcome).functionCounter().count();
+    }
+
+    private void awaitAttempts(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (attempts.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(count, attempts.size());
+    }
+
+    @Test
+    void slowPrimary_shouldBeHedged_andLoserCancelled() throws Exception {
+        hedging();
+        CompletableFuture<String> result = call();
+        awaitAttempts(2);
+
+        attempts.get(1).complete("hedge");
+
+        assertEquals("hedge", result.join());
+        assertTrue(attempts.get(0).isCancelled());
+        assertEquals(1, outcome("hedge_won"));
+    }
+
+    @Test
+    void fastPrimary_orEarlyFailure_shouldNotBeHedged() throws Exception {
+        hedging();
+        CompletableFuture<String> fast = call();
+        attempts.get(0).complete("ok");
+        CompletableFuture<String> failing = call();
+        attempts.get(1).completeExceptionally(new IllegalStateException("boom"));
+
+        assertEquals("ok", fast.join());
+        CompletionException error = assertThrows(CompletionException.class, failing::join);
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+        Thread.sleep(150);
+        assertEquals(2, attempts.size());
+        assertEquals(2, outcome("not_needed"));
+    }
+
+    @Test
+    void failedPrimary_afterHedge_shouldWaitForHedge_andFailOnlyWhenBothFail() throws Exception {
+        hedging();
+        CompletableFuture<String> result = call();
+        awaitAttempts(2);
+
+        attempts.get(0).completeExceptionally(new IllegalStateException("first"));
+        assertFalse(result.isDone());
+        attempts.get(1).completeExceptionally(new IllegalStateException("second"));
+
+        CompletionException error = assertThrows(CompletionException.class, result::join);
+        assertEquals("first", error.getCause().getMessage());
+        assertEquals(1, outcome("failed"));
+    }
+
+    @Test
+    void exhaustedBudget_shouldSkipHedge() throws Exception {
+        properties.setBudget(0);
+        properties.setBudgetBurst(1);
+        hedging();
+
+        CompletableFuture<String> first = call();
+        awaitAttempts(2);
+        attempts.get(1).complete("hedge");
+        assertEquals("hedge", first.join());
+
+        CompletableFuture<String> second = call();
+        Thread.sleep(150);
+        assertEquals(3, attempts.size());
+        assertEquals(1, outcome("skipped_budget"));
+        attempts.get(2).complete("primary");
+        assertEquals("primary", second.join());
+    }
+
+    @Test
+    void breakerNotClosed_shouldSkipHedge() throws Exception {
+        breakersClosed.set(false);
+        hedging();
+
+        CompletableFuture<String> result = call();
+        Thread.sleep(150);
+
+        assertEquals(1, attempts.size());
+        assertEquals(1, outcome("skipped_breaker"));
+        attempts.get(0).complete("primary");
+        assertEquals("primary", result.join());
+    }
+
+    @Test
+    void adaptiveDelay_shouldFollowPercentileWithinBounds() {
+        properties.setDelay(null);
+        properties.setMinSamples(50);
+        properties.setMinDelay(Duration.ofMillis(5));
+        properties.setMaxDelay(Duration.ofMillis(500));
+        hedging();
+        assertEquals(Duration.ofMillis(500).toNanos(), hedging.delayNanos());
+
+        List<CompletableFuture<String>> calls = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            Executor delayed = CompletableFuture.delayedExecutor(i, TimeUnit.MILLISECONDS);
+            calls.add(hedging.execute(() -> CompletableFuture.supplyAsync(() -> "ok", delayed)));
+        }
+        calls.forEach(CompletableFuture::join);
+        hedging.refreshDelay();
+
+        long delayMillis = TimeUnit.NANOSECONDS.toMillis(hedging.delayNanos());
+        assertTrue(delayMillis >= 90 && delayMillis < 300, "p95 delay was " + delayMillis + "ms");
+        assertEquals(100, outcome("not_needed"));
+    }
+}
@@ -0,0 +1,79 @@
+package com.bahar.demo.resilience;
+
+import com.bahar.demo.cache.LastKnownGoodCache;
+import com.bahar.demo.keyed.BreakerKeyContext;
+import com.bahar.demo.service.ExternalService;
+import com.bahar.demo.service.ExternalServiceImpl;
+import com.bahar.demo.service.ForwardingExternalService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test برای LastKnownGoodDecorator
+ * ----------------------------------
+ * downstream ساختگی نتیجه‌ها را به ترتیب از یک صف برمی‌گرداند:
+ *  - شکست بدون پاسخ موفق قبلی → همان خطا
+ *  - شکست بعد از یک موفقیت → پاسخ fallback با آخرین پاسخ موفق
+ *  - پاسخ موفق یک tenant به شکست tenant دیگر سرو نمی‌شود
+ */
+class LastKnownGoodDecoratorTest {
+
+    private final LastKnownGoodCache cache = LastKnownGoodCache.withDefaults();
+    private final Deque<CompletableFuture<String>> results = new ArrayDeque<>();
+
+    private final ExternalService service = new LastKnownGoodDecorator(cache).decorate(
+            new ForwardingExternalService(new ExternalServiceImpl()) {
+                @Override
+                public CompletableFuture<String> asyncProcess() {
+                    return results.poll();
+                }
+            });
+
+    @Test
+    void asyncProcess_shouldPropagateFailure_whenNothingCached() {
+        results.add(CompletableFuture.failedFuture(new RuntimeException("down")));
+
+        CompletionException e = assertThrows(CompletionException.class, () -> service.asyncProcess().join());
+
+        assertEquals("down", e.getCause().getMessage());
+    }
+
+    @Test
+    void asyncProcess_shouldServeLastKnownGood_afterFailure() {
+        results.addAll(List.of(
+                CompletableFuture.completedFuture("✅ fresh"),
+                CompletableFuture.failedFuture(new CompletionException(new RuntimeException("down")))));
+
+        assertEquals("✅ fresh", service.asyncProcess().join());
+        String fallback = service.asyncProcess().join();
+
+        assertTrue(fallback.startsWith("⚠️ Fallback response because: down → last known good: ✅ fresh (stale "),
+                fallback);
+    }
+
+    @Test
+    void asyncProcess_shouldNotServeAnotherTenantsLastKnownGood() {
+        results.addAll(List.of(
+                CompletableFuture.completedFuture("✅ acme"),
+                CompletableFuture.failedFuture(new RuntimeException("down")),
+                CompletableFuture.failedFuture(new RuntimeException("down"))));
+
+        try (BreakerKeyContext.Scope ignored = BreakerKeyContext.open("acme")) {
+            assertEquals("✅ acme", service.asyncProcess().join());
+        }
+        try (BreakerKeyContext.Scope ignored = BreakerKeyContext.open("globex")) {
+            CompletionException e = assertThrows(CompletionException.class, () -> service.asyncProcess().join());
+            assertEquals("down", e.getCause().getMessage());
+        }
+        try (BreakerKeyContext.Scope ignored = BreakerKeyContext.open("acme")) {
+            assertTrue(service.asyncProcess().join().contains("→ last known good: ✅ acme"));
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.bahar.demo.resilience;
+
+import io.github.resilience4j.core.metrics.Metrics.Outcome;
+import io.github.resilience4j.core.metrics.Snapshot;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test برای LockFreeSlidingTimeWindowMetrics
+ * ----------------------------------
+ * با یک Clock دستی (بدون sleep):
+ *  - نرخ شکست و کندی مثل Resilience4j بر حسب درصد
+ *  - bucketهای قدیمی‌تر از پنجره کنار گذاشته می‌شوند
+ *  - ثبت هم‌زمان از چند thread هیچ نتیجه‌ای را گم نمی‌کند
+ *  - مجموع نگه‌داشته‌شده بعد از چند دور پنجره با جمع bucketهای داخل پنجره برابر می‌ماند
+ */
+class LockFreeSlidingTimeWindowMetricsTest {
+
+    /** ساعت دستی؛ فقط با advance جلو می‌رود */
+    private static final class ManualClock extends Clock {
+        private volatile long millis = 1_000_000;
+
+        void advance(Duration duration) {
+            millis += duration.toMillis();
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+
+    private final ManualClock clock = new ManualClock();
+    private final LockFreeSlidingTimeWindowMetrics metrics = new LockFreeSlidingTimeWindowMetrics(3, clock);
+
+    @Test
+    void record_shouldComputeFailureAndSlowCallRates() {
+        metrics.record(10, TimeUnit.MILLISECONDS, Outcome.SUCCESS);
+        metrics.record(10, TimeUnit.MILLISECONDS, Outcome.ERROR);
+        metrics.record(1500, TimeUnit.MILLISECONDS, Outcome.SLOW_SUCCESS);
+        Snapshot snapshot = metrics.record(1500, TimeUnit.MILLISECONDS, Outcome.SLOW_ERROR);
+
+        assertEquals(4, snapshot.getTotalNumberOfCalls());
+        assertEquals(2, snapshot.getNumberOfFailedCalls());
+        assertEquals(50f, snapshot.getFailureRate());
+        assertEquals(50f, snapshot.getSlowCallRate());
+        assertEquals(1, snapshot.getNumberOfSlowSuccessfulCalls());
+        assertEquals(1, snapshot.getNumberOfSlowFailedCalls());
+        assertEquals(Duration.ofMillis(3020), snapshot.getTotalDuration());
+    }
+
+    @Test
+    void getSnapshot_shouldDropBucketsOlderThanWindow() {
+        metrics.record(1, TimeUnit.MILLISECONDS, Outcome.ERROR);
+        clock.advance(Duration.ofSeconds(1));
+        metrics.record(1, TimeUnit.MILLISECONDS, Outcome.SUCCESS);
+        clock.advance(Duration.ofSeconds(1));
+        assertEquals(2, metrics.getSnapshot().getTotalNumberOfCalls());
+
+        clock.advance(Duration.ofSeconds(1)); // ثانیه‌ی اول از پنجره‌ی ۳ ثانیه‌ای خارج شد
+        Snapshot snapshot = metrics.getSnapshot();
+        assertEquals(1, snapshot.getTotalNumberOfCalls());
+        assertEquals(0f, snapshot.getFailureRate());
+
+        clock.advance(Duration.ofSeconds(10));
+        metrics.record(1, TimeUnit.MILLISECONDS, Outcome.SUCCESS); // همان اندیس‌ها دوباره استفاده می‌شوند
+        assertEquals(1, metrics.getSnapshot().getTotalNumberOfCalls());
+    }
+
+    @Test
+    void record_shouldNotLoseResults_underConcurrentWriters() throws InterruptedException {
+        int threads = 8;
+        int perThread = 10_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    metrics.record(1, TimeUnit.MILLISECONDS, i % 4 == 0 ? Outcome.ERROR : Outcome.SUCCESS);
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        Snapshot snapshot = metrics.getSnapshot();
+        assertEquals(threads * perThread, snapshot.getTotalNumberOfCalls());
+        assertEquals(25f, snapshot.getFailureRate());
+    }
+
+    @Test
+    void runningTotals_shouldMatchWindow_afterManyRotations() {
+        for (int second = 0; second < 20; second++) {
+            if (second > 0) {
+                clock.advance(Duration.ofSeconds(1));
+            }
+            for (int i = 0; i <= second % 4; i++) {
+                metrics.record(1, TimeUnit.MILLISECONDS, i == 0 ? Outcome.ERROR : Outcome.SUCCESS);
+            }
+        }
+        // پنجره = ثانیه‌های ۱۷، ۱۸ و ۱۹ → ۲ + ۳ + ۴ ثبت، در هر ثانیه یک شکست
+        Snapshot snapshot = metrics.getSnapshot();
+        assertEquals(2 + 3 + 4, snapshot.getTotalNumberOfCalls());
+        assertEquals(3, snapshot.getNumberOfFailedCalls());
+
+        clock.advance(Duration.ofSeconds(3)); // کل پنجره بدون ثبت گذشت
+        assertEquals(0, metrics.getSnapshot().getTotalNumberOfCalls());
+    }
+}
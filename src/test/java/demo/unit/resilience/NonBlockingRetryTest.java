@@ -0,0 +1,129 @@
+package com.bahar.demo.resilience;
+
+import com.bahar.demo.config.AsyncRetryProperties;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test برای NonBlockingRetry
+ * ----------------------------------
+ *  - execute بلافاصله برمی‌گردد و تلاش‌های بعدی روی زمان‌بند اجرا می‌شوند
+ *  - استثناء ignoreشده و deadline باعث توقف فوری retry می‌شوند
+ *  - فاصله‌های decorrelated jitter همیشه بین baseDelay و maxDelay می‌مانند
+ */
+class NonBlockingRetryTest {
+
+    private final AsyncRetryProperties properties = new AsyncRetryProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private NonBlockingRetry retry;
+
+    private NonBlockingRetry retry() {
+        retry = new NonBlockingRetry(properties);
+        retry.bindTo(meterRegistry);
+        return retry;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (retry != null) {
+            retry.shutdown();
+        }
+    }
+
+    private double outcome(String outcome) {
+        return meterRegistry.get("demo.async.retry.calls").tag("outcome", outcome).functionCounter().count();
+    }
+
+    /** دو شکست اول، سپس موفقیت؛ فراخواننده منتظر backoff نمی‌ماند */
+    @Test
+    void execute_shouldRetryOnSchedulerWithoutBlockingCaller() {
+        properties.setBaseDelay(Duration.ofMillis(50));
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<String> result = retry().execute(() -> calls.incrementAndGet() < 3
+                ? CompletableFuture.failedFuture(new RuntimeException("boom"))
+                : CompletableFuture.completedFuture("ok"));
+
+        assertFalse(result.isDone());
+        assertEquals(1, calls.get());
+        assertEquals("ok", result.join());
+        assertEquals(3, calls.get());
+        assertEquals(1, outcome("success_after_retry"));
+        assertEquals(1, meterRegistry.get("demo.async.retry.attempts").tag("attempt", "3").functionCounter().count());
+    }
+
+    @Test
+    void execute_shouldReturnLastError_whenAttemptsExhausted() {
+        properties.setBaseDelay(Duration.ofMillis(1));
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<String> result = retry().execute(() ->
+                CompletableFuture.failedFuture(new RuntimeException("attempt " + calls.incrementAndGet())));
+
+        CompletionException e = assertThrows(CompletionException.class, result::join);
+        assertEquals("attempt 3", e.getCause().getMessage());
+        assertEquals(1, outcome("exhausted"));
+    }
+
+    @Test
+    void execute_shouldNotRetryIgnoredExceptions() {
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<String> result = retry().execute(() -> {
+            calls.incrementAndGet();
+            return CompletableFuture.failedFuture(BulkheadFullException.createBulkheadFullException(
+                    Bulkhead.ofDefaults("test")));
+        });
+
+        CompletionException e = assertThrows(CompletionException.class, result::join);
+        assertInstanceOf(BulkheadFullException.class, e.getCause());
+        assertEquals(1, calls.get());
+        assertEquals(1, outcome("not_retryable"));
+    }
+
+    @Test
+    void execute_shouldStop_whenNextAttemptWouldPassDeadline() {
+        properties.setBaseDelay(Duration.ofMillis(200));
+        properties.setDeadline(Duration.ofMillis(50));
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<String> result = retry().execute(() -> {
+            calls.incrementAndGet();
+            return CompletableFuture.failedFuture(new RuntimeException("slow downstream"));
+        });
+
+        assertThrows(CompletionException.class, result::join);
+        assertEquals(1, calls.get());
+        assertEquals(1, outcome("deadline_exceeded"));
+    }
+
+    @Test
+    void nextDelay_shouldStayWithinBaseAndCap_andSpreadOut() {
+        SplittableRandom random = new SplittableRandom(42);
+        long base = 100, max = 1_000;
+        long previous = base;
+        long distinct = 0;
+        long last = -1;
+        for (int i = 0; i < 1_000; i++) {
+            long delay = NonBlockingRetry.nextDelay(previous, base, max, random);
+            assertTrue(delay >= base && delay <= Math.min(max, previous * 3), "delay " + delay);
+            if (delay != last) {
+                distinct++;
+            }
+            last = delay;
+            previous = delay;
+        }
+        assertTrue(distinct > 900, "jitter should not produce synchronized delays");
+    }
+}
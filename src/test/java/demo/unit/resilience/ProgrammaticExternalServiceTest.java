@@ -0,0 +1,115 @@
+package com.bahar.demo.resilience;
+
+import com.bahar.demo.service.ExternalServiceImpl;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test برای ProgrammaticExternalService
+ * ----------------------------------
+ * رفتار زنجیره‌ی از پیش ساخته‌شده باید با نسخه‌ی annotation یکسان باشد:
+ *  - شکست → fallback (داخل Retry؛ پس retry انجام نمی‌شود)
+ *  - موفقیت → همان پیام سرویس
+ *  - مدار باز → fallback با پیام CallNotPermittedException
+ *  - bulkhead/rate limiter پر → fallback فوری (sync) یا Future ناموفق (async)، بدون ثبت در CircuitBreaker
+ *  - swap → فراخوانی بعدی از CircuitBreaker جدید عبور می‌کند
+ */
+class ProgrammaticExternalServiceTest {
+
+    private final CircuitBreaker circuitBreaker = CircuitBreaker.of("test", CircuitBreakerConfig.custom()
+            .slidingWindowSize(5)
+            .minimumNumberOfCalls(3)
+            .failureRateThreshold(60)
+            .ignoreExceptions(BulkheadFullException.class, RequestNotPermitted.class)
+            .build());
+
+    private final Retry retry = Retry.of("test", RetryConfig.custom()
+            .maxAttempts(3)
+            .waitDuration(Duration.ofMillis(10))
+            .build());
+
+    private final Bulkhead syncBulkhead = Bulkhead.of("sync", BulkheadConfig.custom()
+            .maxConcurrentCalls(10)
+            .maxWaitDuration(Duration.ZERO)
+            .build());
+
+    private final RateLimiter asyncRateLimiter = RateLimiter.of("async", RateLimiterConfig.custom()
+            .limitForPeriod(1)
+            .limitRefreshPeriod(Duration.ofMinutes(1))
+            .timeoutDuration(Duration.ZERO)
+            .build());
+
+    private final ProgrammaticExternalService service = new ProgrammaticExternalService(
+            new ExternalServiceImpl(), circuitBreaker, retry,
+            RateLimiter.ofDefaults("sync"), syncBulkhead,
+            CircuitBreaker.ofDefaults("async"), asyncRateLimiter, Bulkhead.ofDefaults("async"));
+
+    @Test
+    void callExternalApiSync_shouldFallbackThenSucceed_likeAnnotatedVersion() {
+        assertEquals("⚠️ Fallback response because: ❌ External API failed on attempt 1",
+                service.callExternalApiSync());
+        assertEquals("✅ Success on attempt 2", service.callExternalApiSync());
+        assertEquals(0, retry.getMetrics().getNumberOfSuccessfulCallsWithRetryAttempt());
+        assertEquals(1, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    void callExternalApiSync_shouldFallbackWithoutCallingTarget_whenCircuitOpen() {
+        circuitBreaker.transitionToForcedOpenState();
+
+        String result = service.callExternalApiSync();
+
+        assertTrue(result.startsWith("⚠️ Fallback response because: "));
+        assertTrue(result.contains("does not permit further calls"));
+        assertEquals(1, circuitBreaker.getMetrics().getNumberOfNotPermittedCalls());
+    }
+
+    @Test
+    void callExternalApiSync_shouldFallbackImmediately_whenBulkheadFull() {
+        syncBulkhead.changeConfig(BulkheadConfig.from(syncBulkhead.getBulkheadConfig())
+                .maxConcurrentCalls(0)
+                .build());
+
+        String result = service.callExternalApiSync();
+
+        assertTrue(result.startsWith("⚠️ Fallback response because: Bulkhead 'sync' is full"));
+        assertEquals(0, circuitBreaker.getMetrics().getNumberOfBufferedCalls());
+        assertEquals(0, retry.getMetrics().getNumberOfFailedCallsWithRetryAttempt());
+    }
+
+    @Test
+    void asyncProcess_shouldFailFast_whenRateLimitExhausted() {
+        service.asyncProcess().handle((r, e) -> r).join();
+
+        CompletableFuture<String> rejected = service.asyncProcess();
+
+        ExecutionException e = assertThrows(ExecutionException.class, rejected::get);
+        assertInstanceOf(RequestNotPermitted.class, e.getCause());
+    }
+
+    @Test
+    void swap_shouldUseNewBreakerForNextCall() {
+        CircuitBreaker replacement = CircuitBreaker.ofDefaults("replacement");
+        replacement.transitionToForcedOpenState();
+
+        service.swap(replacement, retry);
+
+        assertTrue(service.callExternalApiSync().contains("CircuitBreaker 'replacement' is FORCED_OPEN"));
+        assertEquals(0, circuitBreaker.getMetrics().getNumberOfBufferedCalls());
+    }
+}
@@ -0,0 +1,145 @@
+package com.bahar.demo.resilience;
+
+import com.bahar.demo.resilience.ResilienceConfigReloader.BreakerSettings;
+import com.bahar.demo.resilience.ResilienceConfigReloader.RetrySettings;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test برای ResilienceConfigReloader و ResilienceConfigFileWatcher
+ * ----------------------------------
+ *  - تعویض اتمیک config بدون از دست رفتن وضعیت (carryOverState) یا با شروع تازه
+ *  - ورودی نامعتبر → هیچ instanceی تعویض نمی‌شود
+ *  - تغییر فایل properties بدون restart اعمال می‌شود
+ *  - مسیر بدون پوشه‌ی والد (مثلاً "/") رد می‌شود
+ */
+class ResilienceConfigReloaderTest {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+            .slidingWindowSize(10)
+            .minimumNumberOfCalls(10)
+            .failureRateThreshold(60)
+            .build());
+    private final RetryRegistry retryRegistry = RetryRegistry.of(RetryConfig.custom()
+            .maxAttempts(3)
+            .waitDuration(Duration.ofMillis(500))
+            .build());
+    private final ResilienceConfigReloader reloader = new ResilienceConfigReloader(circuitBreakerRegistry, retryRegistry);
+
+    private final CircuitBreaker original = circuitBreakerRegistry.circuitBreaker("svc");
+
+    {
+        retryRegistry.retry("svc");
+    }
+
+    private static BreakerSettings failureRate(float threshold) {
+        return new BreakerSettings(threshold, null, null, null, null, null, null);
+    }
+
+    private void record(int failures, int successes) {
+        for (int i = 0; i < failures; i++) {
+            original.onError(0, TimeUnit.NANOSECONDS, new RuntimeException("boom"));
+        }
+        for (int i = 0; i < successes; i++) {
+            original.onSuccess(0, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Test
+    void reloadCircuitBreaker_shouldSwapConfig_andCarryOverWindow() {
+        record(4, 4);
+
+        CircuitBreaker replacement = reloader.reloadCircuitBreaker("svc", failureRate(40), true);
+
+        assertSame(replacement, circuitBreakerRegistry.circuitBreaker("svc"));
+        assertEquals(40, replacement.getCircuitBreakerConfig().getFailureRateThreshold());
+        assertEquals(10, replacement.getCircuitBreakerConfig().getSlidingWindowSize());
+        assertEquals(8, replacement.getMetrics().getNumberOfBufferedCalls());
+        assertEquals(4, replacement.getMetrics().getNumberOfFailedCalls());
+        assertEquals(CircuitBreaker.State.CLOSED, replacement.getState());
+    }
+
+    @Test
+    void reloadCircuitBreaker_shouldKeepOpenState_orStartFresh() {
+        record(10, 0);
+        assertEquals(CircuitBreaker.State.OPEN, original.getState());
+
+        assertEquals(CircuitBreaker.State.OPEN,
+                reloader.reloadCircuitBreaker("svc", failureRate(90), true).getState());
+        CircuitBreaker fresh = reloader.reloadCircuitBreaker("svc", failureRate(90), false);
+        assertEquals(CircuitBreaker.State.CLOSED, fresh.getState());
+        assertEquals(0, fresh.getMetrics().getNumberOfBufferedCalls());
+    }
+
+    @Test
+    void reloadAll_shouldSwapNothing_whenAnySettingIsInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> reloader.reloadAll(
+                Map.of("svc", failureRate(40)),
+                Map.of("svc", new RetrySettings(0, null)),
+                true));
+
+        assertSame(original, circuitBreakerRegistry.circuitBreaker("svc"));
+        assertEquals(3, retryRegistry.retry("svc").getRetryConfig().getMaxAttempts());
+        assertThrows(IllegalArgumentException.class,
+                () -> reloader.reloadCircuitBreaker("missing", failureRate(40), true));
+    }
+
+    @Test
+    void reloadRetry_shouldSwapAttemptsAndWait() {
+        reloader.reloadRetry("svc", new RetrySettings(5, Duration.ofMillis(50)));
+
+        RetryConfig config = retryRegistry.retry("svc").getRetryConfig();
+        assertEquals(5, config.getMaxAttempts());
+        assertEquals(50L, config.getIntervalBiFunction().apply(1, null));
+    }
+
+    @Test
+    void fileWatcher_shouldRejectPathWithoutParentDirectory() {
+        Path root = Path.of("/").toAbsolutePath().getRoot();
+        assertThrows(IllegalArgumentException.class, () -> new ResilienceConfigFileWatcher(root, reloader, true));
+    }
+
+    @Test
+    void fileWatcher_shouldApplyFileOnStart_andOnChange(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("resilience.properties");
+        Files.writeString(file, "svc.circuitbreaker.failureRateThreshold=40\n");
+        ResilienceConfigFileWatcher watcher = new ResilienceConfigFileWatcher(file, reloader, true);
+        try {
+            watcher.start();
+            assertEquals(40, circuitBreakerRegistry.circuitBreaker("svc").getCircuitBreakerConfig()
+                    .getFailureRateThreshold());
+
+            Files.writeString(file, "svc.circuitbreaker.failureRateThreshold=40\nsvc.retry.maxAttempts=2\n");
+            awaitTrue(() -> retryRegistry.retry("svc").getRetryConfig().getMaxAttempts() == 2);
+
+            CircuitBreaker beforeInvalid = circuitBreakerRegistry.circuitBreaker("svc");
+            Files.writeString(file, "svc.circuitbreaker.failureRateThreshold=30\nsvc.retry.unknown=1\n");
+            watcher.reload();
+            assertSame(beforeInvalid, circuitBreakerRegistry.circuitBreaker("svc"));
+        } finally {
+            watcher.shutdown();
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
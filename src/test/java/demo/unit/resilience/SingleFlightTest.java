@@ -0,0 +1,197 @@
+package com.bahar.demo.resilience;
+
+import com.bahar.demo.config.SingleFlightProperties;
+import com.bahar.demo.service.ExternalService;
+import com.bahar.demo.service.ExternalServiceImpl;
+import com.bahar.demo.service.ForwardingExternalService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test برای SingleFlight
+ * ----------------------------------
+ *  - فراخوانی‌های هم‌زمان با کلید یکسان فقط یک فراخوانی واقعی دارند (sync و async)
+ *  - شکست فراخوانی مشترک به همه‌ی فراخواننده‌ها می‌رسد
+ *  - cancel یک فراخواننده‌ی async فراخوانی مشترک را cancel نمی‌کند
+ *  - با پنجره‌ی micro-batch، فراخوانی‌های پشت‌سرهم هم ادغام می‌شوند
+ *  - فراخوانی داخل SingleFlight.independent از SingleFlightDecorator بدون ادغام عبور می‌کند
+ */
+class SingleFlightTest {
+
+    private final SingleFlightProperties properties = new SingleFlightProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newFixedThreadPool(16);
+    private SingleFlight singleFlight;
+
+    private SingleFlight singleFlight() {
+        singleFlight = new SingleFlight(properties);
+        singleFlight.bindTo(meterRegistry);
+        return singleFlight;
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        if (singleFlight != null) {
+            singleFlight.shutdown();
+        }
+    }
+
+    private double role(String role) {
+        return meterRegistry.get("demo.single.flight.calls").tag("role", role).functionCounter().count();
+    }
+
+    /** leader تا رسیدن همه‌ی followerها بلاک می‌ماند */
+    @Test
+    void executeSync_shouldShareOneCallAcrossConcurrentCallers() throws Exception {
+        SingleFlight flight = singleFlight();
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            results.add(callers.submit(() -> flight.executeSync("op", () -> {
+                calls.incrementAndGet();
+                await(release);
+                return "✅ shared";
+            })));
+        }
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (role("follower") < 15 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertEquals("✅ shared", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+        assertEquals(1, role("leader"));
+        assertEquals(0, flight.inFlight());
+    }
+
+    @Test
+    void executeSync_shouldPropagateLeaderFailureToFollowers() throws Exception {
+        SingleFlight flight = singleFlight();
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = callers.submit(() -> flight.executeSync("op", () -> {
+            await(release);
+            throw new IllegalStateException("down");
+        }));
+        while (flight.inFlight() == 0) {
+            Thread.sleep(1);
+        }
+        Future<String> follower = callers.submit(() -> flight.executeSync("op", () -> "never called"));
+        while (role("follower") < 1) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        for (Future<String> result : List.of(leader, follower)) {
+            Exception e = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+        }
+    }
+
+    @Test
+    void execute_shouldShareOneCall_andIsolateCancellation() {
+        SingleFlight flight = singleFlight();
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<String> downstream = new CompletableFuture<>();
+
+        CompletableFuture<String> first = flight.execute("op", () -> {
+            calls.incrementAndGet();
+            return downstream;
+        });
+        CompletableFuture<String> second = flight.execute("op", () -> {
+            calls.incrementAndGet();
+            return downstream;
+        });
+        first.cancel(true);
+        downstream.complete("✅ shared");
+
+        assertEquals("✅ shared", second.join());
+        assertFalse(downstream.isCancelled());
+        assertEquals(1, calls.get());
+
+        flight.execute("op", () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("✅ next");
+        }).join();
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void decorator_shouldNotCoalesceIndependentCalls() {
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<String> downstream = new CompletableFuture<>();
+        ExternalService service = new SingleFlightDecorator(singleFlight()).decorate(
+                new ForwardingExternalService(new ExternalServiceImpl()) {
+                    @Override
+                    public CompletableFuture<String> asyncProcess() {
+                        calls.incrementAndGet();
+                        return downstream;
+                    }
+                });
+
+        service.asyncProcess();
+        service.asyncProcess();
+        assertEquals(1, calls.get());
+
+        SingleFlight.independent(service::asyncProcess);
+        SingleFlight.independent(service::asyncProcess);
+        assertEquals(3, calls.get());
+        assertFalse(SingleFlight.isIndependent());
+        assertEquals(1.0, role("follower"));
+        downstream.complete("✅ done");
+    }
+
+    @Test
+    void execute_shouldUnwrapFailure() {
+        CompletableFuture<String> result = singleFlight().execute("op",
+                () -> CompletableFuture.failedFuture(new CompletionException(new IllegalStateException("down"))));
+
+        CompletionException e = assertThrows(CompletionException.class, result::join);
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+
+    @Test
+    void execute_shouldBatchSequentialCalls_withinWindow() {
+        properties.setWindow(Duration.ofMillis(100));
+        SingleFlight flight = singleFlight();
+        AtomicInteger calls = new AtomicInteger();
+
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            results.add(flight.execute("op", () -> CompletableFuture.completedFuture(calls.incrementAndGet())));
+        }
+
+        results.forEach(result -> assertEquals(1, result.join()));
+        assertEquals(1, calls.get());
+        assertEquals(4, role("follower"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
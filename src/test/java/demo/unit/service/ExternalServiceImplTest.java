@@ -1,5 +1,6 @@
 package com.bahar.demo.service;
 
+import com.bahar.demo.keyed.BreakerKeyContext;
 import org.junit.jupiter.api.Test;
 
 import java.util.concurrent.CompletableFuture;
@@ -63,6 +64,47 @@ class ExternalServiceImplTest {
         assertTrue(fb.contains("boom"));
     }
 
+    /**
+     * fallbackWithLastKnownGood()
+     * ----------------------------------
+     * هدف: قبل از هر موفقیت فقط پیام fallback، بعد از آن همراه با آخرین پاسخ موفق.
+     */
+    @Test
+    void fallbackWithLastKnownGood_shouldServeLastSuccessfulResult() {
+        RuntimeException boom = new RuntimeException("boom");
+        assertEquals(service.fallbackMethod(boom), service.fallbackWithLastKnownGood(boom));
+
+        assertThrows(RuntimeException.class, service::callExternalApiSync);
+        String success = service.callExternalApiSync();
+
+        String fb = service.fallbackWithLastKnownGood(boom);
+        assertTrue(fb.startsWith("⚠️ Fallback response because: boom → last known good: " + success));
+        assertTrue(fb.endsWith("(stale 0s)"));
+    }
+
+    /**
+     * fallbackWithLastKnownGood() با کلید tenant
+     * ----------------------------------
+     * هدف: پاسخ موفق یک tenant در fallback tenant دیگر (یا درخواست بدون tenant) سرو نشود.
+     */
+    @Test
+    void fallbackWithLastKnownGood_shouldNotServeAnotherTenantsResult() {
+        RuntimeException boom = new RuntimeException("boom");
+        assertThrows(RuntimeException.class, service::callExternalApiSync);
+        String success;
+        try (BreakerKeyContext.Scope ignored = BreakerKeyContext.open("acme")) {
+            success = service.callExternalApiSync();
+        }
+
+        try (BreakerKeyContext.Scope ignored = BreakerKeyContext.open("globex")) {
+            assertEquals(service.fallbackMethod(boom), service.fallbackWithLastKnownGood(boom));
+        }
+        assertEquals(service.fallbackMethod(boom), service.fallbackWithLastKnownGood(boom));
+        try (BreakerKeyContext.Scope ignored = BreakerKeyContext.open("acme")) {
+            assertTrue(service.fallbackWithLastKnownGood(boom).contains("→ last known good: " + success));
+        }
+    }
+
     /**
      * processWithCallback(Consumer)
      * ----------------------------------
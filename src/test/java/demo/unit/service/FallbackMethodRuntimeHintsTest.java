@@ -0,0 +1,41 @@
+package com.bahar.demo.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test برای FallbackMethodRuntimeHints
+ * ----------------------------------
+ * متد fallback که resilience4j با reflection و از روی نام پیدا می‌کند باید در build با AOT قابل فراخوانی بماند:
+ *  - fallbackWithLastKnownGood (نام fallbackMethod روی callExternalApiSync) → invoke
+ *  - متدهای دارای annotation resilience4j → introspect
+ */
+class FallbackMethodRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @Test
+    void registerHints_shouldCoverFallbackAndAnnotatedMethods() throws Exception {
+        new FallbackMethodRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(ExternalServiceImpl.class.getDeclaredMethod("fallbackWithLastKnownGood", Exception.class))
+                .invoke()
+                .test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(ExternalServiceImpl.class.getDeclaredMethod("callExternalApiSync"))
+                .introspect()
+                .test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(ExternalServiceImpl.class.getDeclaredMethod("asyncProcess"))
+                .introspect()
+                .test(hints));
+        assertFalse(RuntimeHintsPredicates.reflection()
+                .onMethod(ExternalServiceImpl.class.getDeclaredMethod("call"))
+                .introspect()
+                .test(hints));
+    }
+}
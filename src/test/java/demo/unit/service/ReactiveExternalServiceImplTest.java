@@ -0,0 +1,82 @@
+package com.bahar.demo.service;
+
+import com.bahar.demo.config.ReactiveProperties;
+import com.bahar.demo.downstream.Downstream;
+import com.bahar.demo.executor.NamedExecutorRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.circuitbreaker.resilience4j.ReactiveResilience4JCircuitBreakerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test برای ReactiveExternalServiceImpl
+ * ----------------------------------
+ * با ExternalService ساختگی و circuit breaker پیش‌فرض Resilience4j:
+ *  - callSync از Downstream مشترک، خارج از thread فراخوان، با retry رآکتور
+ *  - callAsync روی asyncProcess شکست‌خورده retry رآکتور اضافه نمی‌کند (retry مال خود asyncProcess است)
+ */
+class ReactiveExternalServiceImplTest {
+
+    private final AtomicInteger syncCalls = new AtomicInteger();
+    private final AtomicReference<Thread> syncThread = new AtomicReference<>();
+    private final AtomicInteger asyncCalls = new AtomicInteger();
+
+    /** تلاش اول شکست، بعدی موفق */
+    private final Downstream downstream = new Downstream() {
+        @Override
+        public String callSync() {
+            syncThread.set(Thread.currentThread());
+            int attempt = syncCalls.incrementAndGet();
+            if (attempt == 1) {
+                throw new RuntimeException("❌ External API failed on attempt 1");
+            }
+            return "✅ Success on attempt " + attempt;
+        }
+
+        @Override
+        public CompletableFuture<String> callAsync() {
+            throw new UnsupportedOperationException();
+        }
+    };
+
+    private final ExternalService externalService = new ForwardingExternalService(new ExternalServiceImpl()) {
+        @Override
+        public CompletableFuture<String> asyncProcess() {
+            asyncCalls.incrementAndGet();
+            return CompletableFuture.failedFuture(new RuntimeException("❌ down"));
+        }
+    };
+
+    private ReactiveExternalServiceImpl service() {
+        ReactiveProperties properties = new ReactiveProperties();
+        properties.getRetry().setMinBackoff(Duration.ofMillis(1));
+        return new ReactiveExternalServiceImpl(externalService, downstream, NamedExecutorRegistry.withDefaults(),
+                new ReactiveResilience4JCircuitBreakerFactory(CircuitBreakerRegistry.ofDefaults(),
+                        TimeLimiterRegistry.ofDefaults()),
+                properties);
+    }
+
+    @Test
+    void callSync_shouldRetryDownstreamOffCallerThread() {
+        String result = service().callSync().block(Duration.ofSeconds(5));
+
+        assertEquals("✅ Success on attempt 2", result);
+        assertEquals(2, syncCalls.get());
+        assertNotSame(Thread.currentThread(), syncThread.get());
+    }
+
+    @Test
+    void callAsync_shouldNotAddReactorRetryOnTopOfAsyncProcess() {
+        String result = service().callAsync().block(Duration.ofSeconds(5));
+
+        assertEquals(externalService.onError(new RuntimeException("❌ down")), result);
+        assertEquals(1, asyncCalls.get());
+    }
+}
@@ -0,0 +1,93 @@
+package com.bahar.demo.simulation;
+
+import com.bahar.demo.config.SimulatorProperties;
+import com.bahar.demo.config.SimulatorProperties.Schedule;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test برای FaultInjector
+ * ----------------------------------
+ * بررسی اینکه زیر هم‌زمانی بالا هیچ تلاشی گم نمی‌شود و زمان‌بندی قطعی می‌ماند.
+ */
+class FaultInjectorTest {
+
+    /**
+     * با ۱۶ thread و زمان‌بندی ALTERNATING، دقیقاً نیمی از تلاش‌ها باید شکست بخورند.
+     */
+    @Test
+    void alternatingSchedule_shouldStayExactUnderConcurrency() throws InterruptedException {
+        FaultInjector.Endpoint endpoint = FaultInjector.withDefaults()
+                .endpoint("callSync", Schedule.ALTERNATING, 0);
+        int threads = 16;
+        int callsPerThread = 10_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < callsPerThread; i++) {
+                    endpoint.fails(endpoint.nextAttempt());
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        long total = (long) threads * callsPerThread;
+        assertEquals(total / 2, endpoint.successCount());
+        assertEquals(total / 2, endpoint.failureCount());
+    }
+
+    /**
+     * دو FaultInjector با seed یکسان باید دنباله‌ی یکسان تولید کنند.
+     */
+    @Test
+    void seededSchedule_shouldBeReproducible() {
+        SimulatorProperties properties = new SimulatorProperties();
+        properties.setSeed(7);
+        FaultInjector.Endpoint first = new FaultInjector(properties).endpoint("async", Schedule.RANDOM, 0.5);
+        FaultInjector.Endpoint second = new FaultInjector(properties).endpoint("async", Schedule.RANDOM, 0.5);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(first.fails(first.nextAttempt()), second.fails(second.nextAttempt()));
+        }
+        // نرخ شکست باید نزدیک ۵۰٪ باشد
+        assertTrue(first.failureCount() > 400 && first.failureCount() < 600);
+    }
+
+    /**
+     * مدل تأخیر تنظیم‌شده در demo.simulator: تا capacity تأخیر پایه، بیشتر از آن به نسبت هم‌زمانی.
+     */
+    @Test
+    void latencyModel_shouldDelayCalls_andGrowBeyondCapacity() {
+        SimulatorProperties.Endpoint spec = new SimulatorProperties.Endpoint(Schedule.NEVER, 0);
+        spec.setLatency(Duration.ofMillis(20));
+        spec.setCapacity(2);
+        SimulatorProperties properties = new SimulatorProperties();
+        properties.getEndpoints().put("async", spec);
+        FaultInjector.Endpoint endpoint = new FaultInjector(properties).endpoint("async", Schedule.RANDOM, 0.5);
+
+        long start = System.nanoTime();
+        endpoint.awaitLatency();
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 20);
+
+        LatencyModel model = LatencyModel.capacity(Duration.ofMillis(20), 2);
+        assertEquals(Duration.ofMillis(20).toNanos(), model.latencyNanos(2));
+        assertEquals(Duration.ofMillis(80).toNanos(), model.latencyNanos(8));
+        assertEquals(0, LatencyModel.none().latencyNanos(100));
+    }
+}
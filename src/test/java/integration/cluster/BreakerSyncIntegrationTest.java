@@ -0,0 +1,83 @@
+package com.bahar.demo.cluster;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Integration Test برای اشتراک وضعیت breaker (demo.breaker-sync با transport in-process)
+ * ------------------------------------------
+ * یک replica ساختگی روی همان کانال in-process پیام می‌فرستد و می‌گیرد؛ روی سرور واقعی (RANDOM_PORT):
+ *  - اپلیکیشن آمار پنجره‌ی breakerهای سراسری را دوره‌ای منتشر می‌کند
+ *  - OPEN از replica دیگر مدار externalService را بدون هیچ شکست محلی باز می‌کند و /api/callSync پاسخ fallback می‌دهد
+ *  - probe موفق replica دیگر (HALF_OPEN → CLOSED) مدار را دوباره می‌بندد
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "demo.breaker-sync.enabled=true",
+                "demo.breaker-sync.transport=in-process",
+                "demo.breaker-sync.channel=breaker-sync-it",
+                "demo.breaker-sync.publish-interval=100ms"
+        })
+class BreakerSyncIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private WebClient.Builder webClientBuilder;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private BreakerStateSync breakerStateSync;
+
+    private String callSync() {
+        return webClientBuilder.baseUrl("http://localhost:" + port).build()
+                .get().uri("/api/callSync")
+                .retrieve()
+                .bodyToMono(String.class)
+                .block(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void peerTransitions_shouldDriveTheLocalBreaker() throws InterruptedException {
+        BlockingQueue<BreakerStateMessage> fromApp = new LinkedBlockingQueue<>();
+        InProcessBreakerStateTransport peer = new InProcessBreakerStateTransport("breaker-sync-it");
+        peer.subscribe(message -> {
+            if (message.instanceId().equals(breakerStateSync.getInstanceId())) {
+                fromApp.add(message);
+            }
+        });
+        try {
+            BreakerStateMessage stats = fromApp.poll(5, TimeUnit.SECONDS);
+            assertThat(stats, notNullValue());
+            assertThat(stats.kind(), is(BreakerStateMessage.Kind.STATS));
+
+            CircuitBreaker breaker = circuitBreakerRegistry.circuitBreaker("externalService");
+            peer.publish(new BreakerStateMessage("peer", 1, "externalService", BreakerStateMessage.Kind.TRANSITION,
+                    CircuitBreaker.State.CLOSED, CircuitBreaker.State.OPEN, 20, 20, 0));
+            assertThat(breaker.getState(), is(CircuitBreaker.State.OPEN));
+            assertThat(callSync(), allOf(startsWith("⚠️ Fallback response because: "), containsString("externalService")));
+
+            peer.publish(new BreakerStateMessage("peer", 2, "externalService", BreakerStateMessage.Kind.TRANSITION,
+                    CircuitBreaker.State.HALF_OPEN, CircuitBreaker.State.CLOSED, 0, 0, 0));
+            assertThat(breaker.getState(), is(CircuitBreaker.State.CLOSED));
+        } finally {
+            peer.close();
+        }
+    }
+}
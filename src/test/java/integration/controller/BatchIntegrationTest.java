@@ -0,0 +1,112 @@
+package com.bahar.demo.controller;
+
+import com.bahar.demo.controller.BatchController.BatchOperation;
+import com.bahar.demo.controller.BatchController.BatchResult;
+import com.bahar.demo.config.SimulatorProperties.Schedule;
+import com.bahar.demo.service.ExternalServiceImpl;
+import com.bahar.demo.simulation.FaultInjector;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Integration Test برای POST /api/batch
+ * ------------------------------------------
+ * روی سرور واقعی (RANDOM_PORT) پاسخ NDJSON خط‌به‌خط با WebClient خوانده می‌شود:
+ *  - برای هر عملیات دقیقاً یک نتیجه با همان id، هر کدام با فراخوانی جداگانه به downstream (بدون ادغام
+ *    single-flight)؛ downstream همیشه موفق و سقف تطبیقی خاموش است تا هر نتیجه پاسخ واقعی همان عملیات باشد
+ *  - بودجه‌ی صفر → همه‌ی عملیات‌ها ERROR بدون شروع کار
+ *  - دسته‌ی خالی → 400
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "demo.simulator.endpoints.async.schedule=NEVER",
+        "demo.adaptive-limit.enabled=false"
+})
+class BatchIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private WebClient.Builder webClientBuilder;
+
+    @Autowired
+    private FaultInjector faultInjector;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private double followers() {
+        return meterRegistry.get("demo.single.flight.calls").tag("role", "follower").functionCounter().count();
+    }
+
+    private List<BatchResult> post(List<BatchOperation> operations, String timeoutMs) {
+        return webClientBuilder.baseUrl("http://localhost:" + port).build()
+                .post().uri("/api/batch")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .headers(h -> {
+                    if (timeoutMs != null) {
+                        h.set("X-Request-Timeout-Ms", timeoutMs);
+                    }
+                })
+                .bodyValue(operations)
+                .retrieve()
+                .bodyToFlux(BatchResult.class)
+                .collectList()
+                .block(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void batch_shouldStreamOneResultPerOperation() {
+        List<BatchOperation> operations = IntStream.range(0, 40)
+                .mapToObj(i -> new BatchOperation("op-" + i))
+                .toList();
+
+        FaultInjector.Endpoint downstream = faultInjector.endpoint("async", Schedule.RANDOM, 0.5);
+        long downstreamCallsBefore = downstream.successCount() + downstream.failureCount();
+        double followersBefore = followers();
+
+        List<BatchResult> results = post(operations, null);
+
+        assertThat(results, hasSize(40));
+        Set<String> ids = results.stream().map(BatchResult::id).collect(Collectors.toSet());
+        assertThat(ids, is(operations.stream().map(BatchOperation::id).collect(Collectors.toSet())));
+        assertThat(results.stream().map(BatchResult::status).toList(), everyItem(is(BatchResult.SUCCESS)));
+        assertThat(results.stream().map(BatchResult::message).toList(),
+                everyItem(allOf(startsWith("🎉 SUCCESS"), not(containsString(ExternalServiceImpl.FALLBACK_PREFIX)))));
+        assertThat(followers(), is(followersBefore));
+        assertThat(downstream.successCount() + downstream.failureCount() - downstreamCallsBefore,
+                greaterThanOrEqualTo(40L));
+    }
+
+    @Test
+    void batch_shouldFailEveryItem_whenBudgetAlreadySpent() {
+        List<BatchResult> results = post(List.of(new BatchOperation(null), new BatchOperation(null)), "0");
+
+        assertThat(results, hasSize(2));
+        assertThat(results.stream().map(BatchResult::id).toList(), containsInAnyOrder("0", "1"));
+        assertThat(results.stream().map(BatchResult::status).toList(), everyItem(is(BatchResult.ERROR)));
+    }
+
+    @Test
+    void batch_shouldRejectEmptyBatch() {
+        WebClientResponseException e = assertThrows(WebClientResponseException.class, () -> post(List.of(), null));
+
+        assertThat(e.getStatusCode().value(), is(400));
+    }
+}
@@ -0,0 +1,55 @@
+package com.bahar.demo.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Integration Test برای GET /api/callback/stream
+ * ------------------------------------------
+ * روی سرور واقعی (RANDOM_PORT) یک اتصال SSE با WebClient باز می‌شود و بدون poll،
+ * چند نتیجه‌ی processWithCallback و heartbeat روی همان اتصال دریافت می‌شود.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "demo.callback-stream.interval=100ms",
+        "demo.callback-stream.heartbeat=200ms"
+})
+class CallbackStreamIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private WebClient.Builder webClientBuilder;
+
+    @Test
+    void stream_shouldDeliverManyCallbackResultsAndHeartbeats_overOneConnection() {
+        List<ServerSentEvent<String>> events = webClientBuilder.baseUrl("http://localhost:" + port).build()
+                .get().uri("/api/callback/stream")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .retrieve()
+                .bodyToFlux(new ParameterizedTypeReference<ServerSentEvent<String>>() {
+                })
+                .takeUntil(event -> "5".equals(event.id()))
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        List<ServerSentEvent<String>> results = events.stream()
+                .filter(event -> CallbackStreamController.CALLBACK_EVENT.equals(event.event()))
+                .toList();
+        assertThat(results.stream().map(ServerSentEvent::id).toList(), contains("1", "2", "3", "4", "5"));
+        assertThat(results.stream().map(ServerSentEvent::data).toList(), everyItem(not(emptyOrNullString())));
+        assertThat(events.stream().map(ServerSentEvent::comment).toList(), hasItem(CallbackStreamController.HEARTBEAT_COMMENT));
+    }
+}
@@ -0,0 +1,63 @@
+package com.bahar.demo.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Integration Test برای deadline درخواست (header X-Request-Timeout-Ms)
+ * ------------------------------------------
+ * روی سرور واقعی (RANDOM_PORT) تا کل مسیر filter → controller → decoratorها → executor اجرا شود:
+ *  - /api/callback با بودجه‌ی ۱۰۰ms زودتر از کار ۵۰۰ms سرویس با fallback پاسخ می‌دهد
+ *  - /api/callAsync با بودجه‌ی صفر بدون شروع کار با ERROR پاسخ می‌دهد
+ *  - بدون header همان رفتار قبلی (بودجه‌ی پیش‌فرض ۵s) حفظ می‌شود
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class DeadlineIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private WebClient.Builder webClientBuilder;
+
+    private String get(String path, String timeoutMs) {
+        return webClientBuilder.baseUrl("http://localhost:" + port).build()
+                .get().uri(path)
+                .headers(h -> {
+                    if (timeoutMs != null) {
+                        h.set("X-Request-Timeout-Ms", timeoutMs);
+                    }
+                })
+                .retrieve()
+                .bodyToMono(String.class)
+                .block(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void callback_shouldFallBackAtRequestDeadline() {
+        String body = get("/api/callback", "100");
+
+        assertThat(body, is("⚠️ Fallback response because: Request deadline exceeded"));
+    }
+
+    @Test
+    void callAsync_shouldFailFast_whenBudgetAlreadySpent() {
+        String body = get("/api/callAsync", "0");
+
+        assertThat(body, containsString("ERROR"));
+        assertThat(body, containsString("Request deadline exceeded"));
+    }
+
+    @Test
+    void callback_shouldCompleteNormally_withDefaultBudget() {
+        assertThat(get("/api/callback", null), anyOf(containsString("✅"), containsString("❌")));
+    }
+}
@@ -0,0 +1,81 @@
+package com.bahar.demo.controller;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.hamcrest.Matcher;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Integration Test: MVC در برابر Reactive زیر درخواست‌های هم‌زمان
+ * ------------------------------------------
+ * اپلیکیشن روی پورت تصادفی بالا می‌آید و برای هر جفت endpoint (/api/... و /reactive/...)
+ * CONCURRENT_REQUESTS درخواست هم‌زمان با WebClient ارسال می‌شود. downstream همیشه موفق و سقف تطبیقی
+ * خاموش است، پس هر دو مسیر باید همه‌ی درخواست‌ها را با پاسخ موفق جواب دهند؛ یک fallback
+ * (مثلاً timeout در TimeLimiter مسیر reactive یا رد bulkhead) یعنی آن مسیر زیر هم‌زمانی کم آورده است.
+ *
+ * مقایسه‌ی throughput و زمان پاسخ اینجا نیست (به سخت‌افزار بستگی دارد)؛ با LoadHarness انجام می‌شود:
+ * --endpoints=/api/callSync,/reactive/callSync
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "demo.simulator.endpoints.callSync.schedule=NEVER",
+        "demo.simulator.endpoints.async.schedule=NEVER",
+        "demo.adaptive-limit.enabled=false"
+})
+class MvcVsReactiveIntegrationTest {
+
+    private static final int CONCURRENT_REQUESTS = 50;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private WebClient.Builder webClientBuilder;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Test
+    void callSync_mvcAndReactive_shouldServeConcurrentRequestsWithoutFallback() {
+        assertAllSucceed("/api/callSync", "/reactive/callSync", startsWith("✅ Success"));
+    }
+
+    @Test
+    void callAsync_mvcAndReactive_shouldServeConcurrentRequestsWithoutFallback() {
+        assertAllSucceed("/api/callAsync", "/reactive/callAsync", startsWith("🎉 SUCCESS"));
+    }
+
+    @Test
+    void callback_mvcAndReactive_shouldServeConcurrentRequestsWithoutFallback() {
+        assertAllSucceed("/api/callback", "/reactive/callback", startsWith("✅"));
+    }
+
+    private void assertAllSucceed(String mvcPath, String reactivePath, Matcher<String> success) {
+        List<String> mvc = run(mvcPath);
+        List<String> reactive = run(reactivePath);
+
+        assertThat(mvc, hasSize(CONCURRENT_REQUESTS));
+        assertThat(reactive, hasSize(CONCURRENT_REQUESTS));
+        assertThat(mvc, everyItem(success));
+        assertThat(reactive, everyItem(success));
+    }
+
+    private List<String> run(String path) {
+        circuitBreakerRegistry.getAllCircuitBreakers().forEach(CircuitBreaker::reset);
+        WebClient client = webClientBuilder.baseUrl("http://localhost:" + port).build();
+        return Flux.range(0, CONCURRENT_REQUESTS)
+                .flatMap(i -> client.get().uri(path).retrieve().bodyToMono(String.class), CONCURRENT_REQUESTS)
+                .collectList()
+                .block(Duration.ofSeconds(30));
+    }
+}
@@ -0,0 +1,85 @@
+package com.bahar.demo.downstream;
+
+import com.bahar.demo.service.ExternalService;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Integration Test برای demo.downstream.mode=http
+ * ------------------------------------------
+ * کل Context با HttpDownstream در برابر یک stub server محلی بالا می‌آید؛
+ * CircuitBreaker مسیر sync روی I/O واقعی اجرا می‌شود:
+ *  - stub سالم → پاسخ stub بدون fallback (sync و async)
+ *  - stub با 503 → درخواست HTTP واقعی فرستاده می‌شود، شکست در مدار ثبت می‌شود و fallback برمی‌گردد
+ */
+@SpringBootTest
+class HttpDownstreamIntegrationTest {
+
+    private static final AtomicBoolean HEALTHY = new AtomicBoolean(true);
+    private static final AtomicInteger SYNC_REQUESTS = new AtomicInteger();
+    private static final DisposableServer STUB = HttpServer.create()
+            .port(0)
+            .route(routes -> routes
+                    .get("/sync", (request, response) -> {
+                        SYNC_REQUESTS.incrementAndGet();
+                        return HEALTHY.get()
+                                ? response.sendString(Mono.just("✅ stub sync"), UTF_8)
+                                : response.status(503).sendString(Mono.just("maintenance"), UTF_8);
+                    })
+                    .get("/async", (request, response) -> response.sendString(Mono.just("✅ stub async"), UTF_8)))
+            .bindNow();
+
+    @DynamicPropertySource
+    static void downstream(DynamicPropertyRegistry registry) {
+        registry.add("demo.downstream.mode", () -> "http");
+        registry.add("demo.downstream.baseUrl", () -> "http://localhost:" + STUB.port());
+    }
+
+    @AfterAll
+    static void stopStub() {
+        STUB.disposeNow();
+    }
+
+    @Autowired
+    private ExternalService service;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Test
+    void healthyStub_shouldBeCalledOverHttp() throws Exception {
+        HEALTHY.set(true);
+
+        assertThat(service.callExternalApiSync(), is("✅ stub sync"));
+        assertThat(service.asyncProcess().get(), is("✅ stub async"));
+    }
+
+    @Test
+    void failingStub_shouldBeRecordedByCircuitBreaker_andFallBack() {
+        HEALTHY.set(false);
+        int requestsBefore = SYNC_REQUESTS.get();
+        long failedBefore = circuitBreakerRegistry.circuitBreaker("externalService").getMetrics().getNumberOfFailedCalls();
+
+        String result = service.callExternalApiSync();
+
+        assertThat(result, containsString("Downstream responded 503"));
+        assertThat(SYNC_REQUESTS.get() - requestsBefore, greaterThanOrEqualTo(1));
+        assertThat(circuitBreakerRegistry.circuitBreaker("externalService").getMetrics().getNumberOfFailedCalls(),
+                greaterThan((int) failedBefore));
+    }
+}
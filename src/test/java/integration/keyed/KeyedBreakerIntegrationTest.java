@@ -0,0 +1,62 @@
+package com.bahar.demo.keyed;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Integration Test برای breakerهای کلیددار (header X-Tenant-Id)
+ * ------------------------------------------
+ * downstream شبیه‌سازی‌شده‌ی callSync همیشه شکست می‌خورد؛ روی سرور واقعی (RANDOM_PORT):
+ *  - بعد از minimumNumberOfCalls شکست، مدار tenant «acme» باز می‌شود و پاسخ بدون فراخوانی downstream fallback است
+ *  - مدار سراسری externalService هنوز بسته است و tenant دیگر مدار بسته‌ی خودش را دارد
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "demo.simulator.endpoints.callSync.schedule=ALWAYS")
+class KeyedBreakerIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private WebClient.Builder webClientBuilder;
+
+    @Autowired
+    private KeyedCircuitBreakers keyedBreakers;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    private String callSync(String tenant) {
+        return webClientBuilder.baseUrl("http://localhost:" + port).build()
+                .get().uri("/api/callSync")
+                .header("X-Tenant-Id", tenant)
+                .retrieve()
+                .bodyToMono(String.class)
+                .block(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void failingTenant_shouldOpenOnlyItsOwnBreaker() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(callSync("acme"), startsWith("⚠️ Fallback response because: "));
+        }
+
+        assertThat(keyedBreakers.forKey("acme").getState(), is(CircuitBreaker.State.OPEN));
+        assertThat(callSync("acme"), containsString("externalService:acme"));
+        assertThat(circuitBreakerRegistry.circuitBreaker("externalService").getState(), is(CircuitBreaker.State.CLOSED));
+
+        callSync("globex");
+        assertThat(keyedBreakers.forKey("globex").getState(), is(CircuitBreaker.State.CLOSED));
+        assertThat(keyedBreakers.forKey("globex").getMetrics().getNumberOfFailedCalls(), is(1));
+    }
+}
@@ -0,0 +1,51 @@
+package com.bahar.demo.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Integration Test برای endpoint /actuator/prometheus
+ * ------------------------------------------
+ * بعد از یک فراخوانی /api/callSync، Timer "demo.external.calls" با bucketهای histogram
+ * و تگ‌های method/outcome/executor در خروجی Prometheus دیده می‌شود.
+ * (@AutoConfigureObservability: در تست‌ها registryهای export مثل Prometheus به‌طور پیش‌فرض خاموش‌اند)
+ */
+@AutoConfigureObservability
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class PrometheusEndpointIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private WebClient.Builder webClientBuilder;
+
+    private String get(String path) {
+        return webClientBuilder.baseUrl("http://localhost:" + port).build()
+                .get().uri(path)
+                .retrieve()
+                .bodyToMono(String.class)
+                .block(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void prometheus_shouldExposeLatencyHistogramPerMethod() {
+        get("/api/callSync");
+
+        String scrape = get("/actuator/prometheus");
+
+        assertThat(scrape, containsString("demo_external_calls_seconds_bucket{"));
+        assertThat(scrape, containsString("method=\"callExternalApiSync\""));
+        assertThat(scrape, containsString("executor=\"caller\""));
+        assertThat(scrape, containsString("demo_async_retry_attempts_total{attempt=\"1\""));
+    }
+}
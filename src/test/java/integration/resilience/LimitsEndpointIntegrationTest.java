@@ -0,0 +1,92 @@
+package com.bahar.demo.resilience;
+
+import com.bahar.demo.cache.LastKnownGoodCache;
+import com.bahar.demo.service.ExternalService;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.concurrent.CompletionException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Integration Test برای bulkhead/rate limiter مسیرهای sync و async و endpoint /actuator/limits
+ * ------------------------------------------
+ * سقف‌ها از طریق LimitsEndpoint در زمان اجرا تغییر می‌کنند و روی Bean واقعی (proxy با annotationها)
+ * بررسی می‌شوند؛ بعد از هر تست مقادیر application.yml برگردانده می‌شوند.
+ */
+@SpringBootTest
+class LimitsEndpointIntegrationTest {
+
+    @Autowired
+    private LimitsEndpoint endpoint;
+
+    @Autowired
+    private ExternalService service;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private LastKnownGoodCache lastKnownGood;
+
+    @AfterEach
+    void restoreConfiguredLimits() {
+        endpoint.update("externalServiceSync", 100, null, null);
+        endpoint.update("externalServiceAsync", 200, null, null);
+        endpoint.update("externalService", null, null, 32);
+    }
+
+    @Test
+    void limits_shouldListConfiguredInstances() {
+        LimitsEndpoint.Limits limits = endpoint.limits();
+
+        assertThat(limits.bulkheads().get("externalServiceSync").maxConcurrentCalls(), is(100));
+        assertThat(limits.bulkheads().get("externalServiceAsync").maxConcurrentCalls(), is(200));
+        assertThat(limits.rateLimiters().get("externalServiceSync").limitForPeriod(), is(500));
+        assertThat(limits.executors().get("externalService").maxPoolSize(), is(32));
+    }
+
+    @Test
+    void callExternalApiSync_shouldFallbackWithoutTrippingBreaker_whenSyncBulkheadFull() {
+        circuitBreakerRegistry.circuitBreaker("externalService").reset();
+        endpoint.update("externalServiceSync", 0, null, null);
+
+        String result = service.callExternalApiSync();
+
+        assertThat(result, startsWith("⚠️ Fallback response because: Bulkhead 'externalServiceSync' is full"));
+        assertThat(circuitBreakerRegistry.circuitBreaker("externalService").getMetrics().getNumberOfBufferedCalls(),
+                is(0));
+    }
+
+    @Test
+    void asyncProcess_shouldFailFast_whenAsyncBulkheadFull() {
+        lastKnownGood.invalidateAll(); // بدون پاسخ موفق قبلی، رد به onError می‌رسد
+        endpoint.update("externalServiceAsync", 0, null, null);
+
+        CompletionException e = assertThrows(CompletionException.class, () -> service.asyncProcess().join());
+
+        assertThat(e.getCause(), instanceOf(BulkheadFullException.class));
+    }
+
+    @Test
+    void update_shouldResizeExecutorPool_andRejectUnknownNames() {
+        LimitsEndpoint.Limits limits = endpoint.update("externalService", null, null, 4);
+
+        assertThat(limits.executors().get("externalService").maxPoolSize(), is(4));
+        assertThat(limits.executors().get("externalService").corePoolSize(), is(4));
+
+        limits = endpoint.update("externalService", null, null, 40); // صف محدود: core همراه max بالا می‌رود
+        assertThat(limits.executors().get("externalService").corePoolSize(), is(40));
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.update("missing", 1, null, null));
+        assertThrows(InvalidEndpointRequestException.class,
+                () -> endpoint.update("externalServiceSync", null, 0, null));
+    }
+}
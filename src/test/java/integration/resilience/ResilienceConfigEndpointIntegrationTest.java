@@ -0,0 +1,76 @@
+package com.bahar.demo.resilience;
+
+import com.bahar.demo.service.ExternalService;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Integration Test برای endpoint /actuator/resilienceconfig
+ * ------------------------------------------
+ * تعویض تنظیمات breaker/retry روی Context واقعی؛ proxy سرویس از فراخوانی بعدی instance جدید را به کار می‌برد.
+ * بعد از هر تست مقادیر application.yml برگردانده می‌شوند.
+ * "file:" خالی در application.yml یعنی ناظر فایل ساخته نمی‌شود.
+ */
+@SpringBootTest
+class ResilienceConfigEndpointIntegrationTest {
+
+    @Autowired
+    private ResilienceConfigEndpoint endpoint;
+
+    @Autowired
+    private ExternalService service;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private ObjectProvider<ResilienceConfigFileWatcher> fileWatcher;
+
+    @AfterEach
+    void restoreConfiguredValues() {
+        endpoint.update("externalService", 60f, 10, 20, Duration.ofSeconds(5), 2, 80f, Duration.ofSeconds(1),
+                3, Duration.ofMillis(500), false);
+    }
+
+    @Test
+    void update_shouldSwapBreakerUsedByAnnotatedService() {
+        ResilienceConfigEndpoint.Configs configs = endpoint.update("externalService", 40f, null, null,
+                Duration.ofSeconds(10), null, null, null, 2, null, null);
+
+        assertThat(configs.circuitBreakers().get("externalService").failureRateThreshold(), is(40f));
+        assertThat(configs.circuitBreakers().get("externalService").waitDurationInOpenStateMillis(), is(10_000L));
+        assertThat(configs.retries().get("externalService").maxAttempts(), is(2));
+
+        CircuitBreaker swapped = circuitBreakerRegistry.circuitBreaker("externalService");
+        int before = swapped.getMetrics().getNumberOfBufferedCalls();
+        service.callExternalApiSync();
+        assertThat(swapped.getMetrics().getNumberOfBufferedCalls(), greaterThan(before));
+    }
+
+    @Test
+    void update_shouldRejectInvalidValues_andUnknownNames() {
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.update("externalService", 150f,
+                null, null, null, null, null, null, null, null, null));
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.update("missing", 40f,
+                null, null, null, null, null, null, null, null, null));
+
+        assertThat(endpoint.configs().circuitBreakers().get("externalService").failureRateThreshold(), is(60f));
+    }
+
+    @Test
+    void blankReloadFile_shouldNotStartFileWatcher() {
+        assertThat(fileWatcher.getIfAvailable(), is(nullValue()));
+    }
+}
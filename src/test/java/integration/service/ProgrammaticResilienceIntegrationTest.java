@@ -0,0 +1,60 @@
+package com.bahar.demo.service;
+
+import com.bahar.demo.resilience.ProgrammaticExternalService;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Integration Test برای حالت demo.resilience.mode=programmatic
+ * ------------------------------------------
+ * زنجیره‌ی Bean تزریق‌شده باید ProgrammaticExternalService را داشته باشد (بدون proxy AOP)
+ * و همان CircuitBreaker تعریف‌شده در application.yml را به‌روز کند.
+ */
+@SpringBootTest(properties = "demo.resilience.mode=programmatic")
+class ProgrammaticResilienceIntegrationTest {
+
+    @Autowired
+    private ExternalService service;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    /**
+     * لایه‌های بیرونی (retry، deadline، ...) ممکن است دور آن پیچیده شده باشند؛
+     * زنجیره پیمایش می‌شود: هیچ لایه‌ای proxy نیست و درونی‌ترین سرویس، خود ExternalServiceImpl است.
+     */
+    @Test
+    void service_shouldBeWrappedWithoutAopProxy() {
+        List<ExternalService> layers = new ArrayList<>();
+        ExternalService current = service;
+        layers.add(current);
+        while (current instanceof ForwardingExternalService forwarding) {
+            current = forwarding.getDelegate();
+            layers.add(current);
+        }
+
+        assertThat(layers, hasItem(instanceOf(ProgrammaticExternalService.class)));
+        assertThat(layers.stream().filter(AopUtils::isAopProxy).toList(), empty());
+        assertThat(current, instanceOf(ExternalServiceImpl.class));
+    }
+
+    @Test
+    void callExternalApiSync_shouldSucceedOrFallback_andRecordInConfiguredBreaker() {
+        circuitBreakerRegistry.circuitBreaker("externalService").reset();
+
+        String result = service.callExternalApiSync();
+
+        assertThat(result, anyOf(containsString("✅ Success"), containsString("⚠️ Fallback")));
+        assertThat(circuitBreakerRegistry.circuitBreaker("externalService").getMetrics().getNumberOfBufferedCalls(),
+                is(1));
+    }
+}